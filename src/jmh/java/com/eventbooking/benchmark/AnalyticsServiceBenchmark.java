@@ -0,0 +1,53 @@
+package com.eventbooking.benchmark;
+
+import com.eventbooking.entity.enums.ReservationStatus;
+import com.eventbooking.service.AnalyticsService;
+import com.eventbooking.service.dto.DashboardFilter;
+import com.eventbooking.service.dto.DashboardStats;
+import com.eventbooking.service.dto.RankingEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Statistiques du tableau de bord administrateur
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalyticsServiceBenchmark {
+
+    @Benchmark
+    public DashboardStats getDashboardStats(BenchmarkContext context) {
+        return context.getBean(AnalyticsService.class).getDashboardStats();
+    }
+
+    @Benchmark
+    public List<RankingEntry> getTopEvents(BenchmarkContext context) {
+        return context.getBean(AnalyticsService.class).getTopEvents(5);
+    }
+
+    @Benchmark
+    public List<RankingEntry> getTopClients(BenchmarkContext context) {
+        return context.getBean(AnalyticsService.class).getTopClients(5);
+    }
+
+    @Benchmark
+    public Map<ReservationStatus, Long> getReservationsByStatus(BenchmarkContext context) {
+        return context.getBean(AnalyticsService.class).getReservationsByStatus(new DashboardFilter());
+    }
+
+    @Benchmark
+    public Map<YearMonth, Double> getRevenueByMonth(BenchmarkContext context) {
+        return context.getBean(AnalyticsService.class).getRevenueByMonth(12);
+    }
+}
@@ -0,0 +1,127 @@
+package com.eventbooking.benchmark;
+
+import com.eventbooking.EventBookingApplication;
+import com.eventbooking.service.impl.EventSearchIndex;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.AnnotationConfigServletWebApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockServletContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Contexte Spring partagé par les benchmarks : couche JPA sur une base H2 fichier
+ * neuve à chaque exécution, alimentée selon les volumes (jmh.users, jmh.events, jmh.reservations).
+ * Aucune donnée d'un run précédent (ou d'un autre commit) ne fausse la mesure.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkContext {
+
+    static final String USERS = "jmh.users";
+    static final String EVENTS = "jmh.events";
+    static final String RESERVATIONS = "jmh.reservations";
+
+    private ConfigurableApplicationContext context;
+
+    // Fichier de la base de ce run, supprimé à la fin
+    private Path databaseFile;
+
+    // Plages d'identifiants du jeu de données (contiguës, voir BenchmarkDataSeeder)
+    long firstClientId;
+    long lastClientId;
+    long firstEventId;
+    long lastEventId;
+
+    @Setup
+    public void start() {
+        String name = "eventdb-" + UUID.randomUUID();
+        databaseFile = Paths.get("target", "jmh", name + ".mv.db");
+
+        context = new SpringApplicationBuilder(EventBookingApplication.class)
+                // Contexte web sans serveur (comme @SpringBootTest) : Vaadin et la sécurité exigent un contexte servlet
+                .web(WebApplicationType.SERVLET)
+                .contextFactory(type -> {
+                    AnnotationConfigServletWebApplicationContext webContext = new AnnotationConfigServletWebApplicationContext();
+                    webContext.setServletContext(new MockServletContext());
+                    return webContext;
+                })
+                // Arguments de ligne de commande : prioritaires sur application.properties
+                .run(
+                        "--spring.datasource.url=jdbc:h2:file:./target/jmh/" + name,
+                        "--spring.sql.init.mode=never",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        // Pas d'expiration des places bloquées du jeu de données pendant la mesure
+                        "--reservation.hold.ttl=P3650D",
+                        "--logging.level.root=WARN");
+
+        JdbcTemplate jdbcTemplate = getBean(JdbcTemplate.class);
+        BenchmarkDataSeeder.seed(jdbcTemplate, users(), events(), reservations());
+        getBean(EventSearchIndex.class).rebuild();
+
+        firstClientId = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM users WHERE role = 'CLIENT'", Long.class);
+        lastClientId = jdbcTemplate.queryForObject(
+                "SELECT MAX(id) FROM users WHERE role = 'CLIENT'", Long.class);
+        firstEventId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM events", Long.class);
+        lastEventId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM events", Long.class);
+    }
+
+    @TearDown
+    public void stop() throws IOException {
+        context.close();
+        Files.deleteIfExists(databaseFile);
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    // Identifiants consécutifs, comme une page de cartes d'événements
+    List<Long> eventPage(long offset, int size) {
+        List<Long> ids = new ArrayList<>(size);
+        long span = lastEventId - firstEventId + 1;
+        for (int i = 0; i < size; i++) {
+            ids.add(firstEventId + Math.floorMod(offset + i, span));
+        }
+        return ids;
+    }
+
+    // Événement publié : le seeder met en brouillon un événement sur 20
+    long publishedEventId(long n) {
+        long x = 1 + Math.floorMod(n, lastEventId - firstEventId + 1);
+        if (x % 20 == 0) {
+            x--;
+        }
+        return firstEventId + x - 1;
+    }
+
+    long clientId(long n) {
+        return firstClientId + Math.floorMod(n, lastClientId - firstClientId + 1);
+    }
+
+    static int users() {
+        return Integer.getInteger(USERS, 100_000);
+    }
+
+    static int events() {
+        return Integer.getInteger(EVENTS, 10_000);
+    }
+
+    static int reservations() {
+        return Integer.getInteger(RESERVATIONS, 1_000_000);
+    }
+}
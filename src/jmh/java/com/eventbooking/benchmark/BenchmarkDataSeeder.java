@@ -0,0 +1,79 @@
+package com.eventbooking.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Alimentation ensembliste (INSERT ... SELECT FROM SYSTEM_RANGE) de la base de benchmark.
+ * Les identifiants sont explicites et contigus : 1 % d'organisateurs puis les clients,
+ * 95 % d'événements publiés à venir, réservations réparties sur tous les clients.
+ */
+final class BenchmarkDataSeeder {
+
+    private BenchmarkDataSeeder() {
+    }
+
+    // Base neuve attendue (schéma créé par Hibernate, tables vides)
+    static void seed(JdbcTemplate jdbcTemplate, int users, int events, int reservations) {
+        int organizers = Math.max(1, users / 100);
+        int clients = Math.max(1, users - organizers);
+        // Capacité confortable : les réservations de création ne doivent pas épuiser le stock
+        int capacity = Math.max(1000, 5 * reservations / Math.max(1, events));
+
+        jdbcTemplate.update("INSERT INTO users (id, nom, prenom, email, password, role, date_inscription, actif) " +
+                "SELECT X, 'Nom' || X, 'Prenom' || X, 'bench' || X || '@bench.ma', 'password', " +
+                "CASE WHEN X <= " + organizers + " THEN 'ORGANIZER' ELSE 'CLIENT' END, " +
+                "DATEADD('HOUR', -X, CURRENT_TIMESTAMP), TRUE " +
+                "FROM SYSTEM_RANGE(1, " + (organizers + clients) + ")");
+        long firstUserId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM users", Long.class);
+
+        jdbcTemplate.update("INSERT INTO events (id, titre, description, categorie, date_debut, date_fin, lieu, ville, " +
+                "capacite_max, places_restantes, prix_unitaire, organisateur_id, statut, date_creation) " +
+                "SELECT X, " +
+                "CASE MOD(X, 5) WHEN 0 THEN 'Concert' WHEN 1 THEN 'Pièce de théâtre' WHEN 2 THEN 'Conférence' " +
+                "WHEN 3 THEN 'Match' ELSE 'Festival' END || ' ' || X, " +
+                "'Description de l''événement numéro ' || X, " +
+                "CASE MOD(X, 5) WHEN 0 THEN 'CONCERT' WHEN 1 THEN 'THEATRE' WHEN 2 THEN 'CONFERENCE' " +
+                "WHEN 3 THEN 'SPORT' ELSE 'AUTRE' END, " +
+                "DATEADD('DAY', 1 + MOD(X, 365), CURRENT_TIMESTAMP), " +
+                "DATEADD('HOUR', 3, DATEADD('DAY', 1 + MOD(X, 365), CURRENT_TIMESTAMP)), " +
+                "'Salle ' || MOD(X, 200), " +
+                "CASE MOD(X, 6) WHEN 0 THEN 'Casablanca' WHEN 1 THEN 'Rabat' WHEN 2 THEN 'Marrakech' " +
+                "WHEN 3 THEN 'Fès' WHEN 4 THEN 'Tanger' ELSE 'Agadir' END, " +
+                capacity + ", " + capacity + ", 50.0 + MOD(X, 10) * 25, " + firstUserId + " + MOD(X, " + organizers + "), " +
+                "CASE WHEN MOD(X, 20) = 0 THEN 'BROUILLON' ELSE 'PUBLIE' END, " +
+                "DATEADD('DAY', -MOD(X, 365), CURRENT_TIMESTAMP) " +
+                "FROM SYSTEM_RANGE(1, " + events + ")");
+        long firstEventId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM events", Long.class);
+        long firstClientId = firstUserId + organizers;
+
+        jdbcTemplate.update("INSERT INTO reservations (id, utilisateur_id, evenement_id, nombre_places, montant_total, " +
+                "date_reservation, statut, code_reservation) " +
+                "SELECT X, " + firstClientId + " + MOD(X * 7, " + clients + "), " +
+                firstEventId + " + MOD(X, " + events + "), 1 + MOD(X, 4), (1 + MOD(X, 4)) * 50.0, " +
+                "DATEADD('MINUTE', -X, CURRENT_TIMESTAMP), " +
+                "CASE MOD(X, 3) WHEN 0 THEN 'EN_ATTENTE' WHEN 1 THEN 'CONFIRMEE' ELSE 'ANNULEE' END, " +
+                "'BENCH-' || X " +
+                "FROM SYSTEM_RANGE(1, " + reservations + ")");
+
+        // Même initialisation des compteurs et du stock que data.sql
+        jdbcTemplate.update("UPDATE events e SET " +
+                "places_confirmees = COALESCE((SELECT SUM(r.nombre_places) FROM reservations r " +
+                "WHERE r.evenement_id = e.id AND r.statut = 'CONFIRMEE'), 0), " +
+                "places_en_attente = COALESCE((SELECT SUM(r.nombre_places) FROM reservations r " +
+                "WHERE r.evenement_id = e.id AND r.statut = 'EN_ATTENTE'), 0), " +
+                "montant_confirme = COALESCE((SELECT SUM(r.montant_total) FROM reservations r " +
+                "WHERE r.evenement_id = e.id AND r.statut = 'CONFIRMEE'), 0)");
+        jdbcTemplate.update("UPDATE events SET places_restantes = capacite_max - places_confirmees - places_en_attente");
+
+        // Identifiants explicites : les séquences des entités reprennent après eux
+        restartSequence(jdbcTemplate, "users_seq", organizers + clients);
+        restartSequence(jdbcTemplate, "events_seq", events);
+        restartSequence(jdbcTemplate, "reservations_seq", reservations);
+
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private static void restartSequence(JdbcTemplate jdbcTemplate, String sequence, long lastId) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (lastId + 1));
+    }
+}
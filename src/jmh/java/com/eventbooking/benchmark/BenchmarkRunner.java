@@ -0,0 +1,32 @@
+package com.eventbooking.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Point d'entrée des benchmarks (profil Maven "jmh").
+ * Les volumes jmh.users / jmh.events / jmh.reservations sont transmis aux JVM forkées ;
+ * le résultat JSON (jmh.result) permet de comparer deux commits.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : "com.eventbooking.benchmark.*";
+        String result = System.getProperty("jmh.result", "target/jmh-result.json");
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result)
+                .jvmArgsAppend(
+                        "-D" + BenchmarkContext.USERS + "=" + BenchmarkContext.users(),
+                        "-D" + BenchmarkContext.EVENTS + "=" + BenchmarkContext.events(),
+                        "-D" + BenchmarkContext.RESERVATIONS + "=" + BenchmarkContext.reservations())
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,86 @@
+package com.eventbooking.benchmark;
+
+import com.eventbooking.entity.Event;
+import com.eventbooking.entity.Reservation;
+import com.eventbooking.entity.User;
+import com.eventbooking.entity.enums.ReservationStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Insertion JPA de 100 000 réservations en une transaction : batchSize=1 reproduit une insertion
+// par aller-retour, batchSize=50 le regroupement configuré (hibernate.jdbc.batch_size)
+// Mesuré sur H2 fichier embarqué (1 cœur, 2 000 utilisateurs / 200 événements), ms par lot de 100 000 :
+//   IDENTITY (commit précédent) : batchSize=1 11 322 ± 5 374, batchSize=50 13 287 ± 5 552
+//   séquences pooled-lo         : batchSize=1 10 978 ± 5 887, batchSize=50 11 181 ± 7 120
+// Sans aller-retour réseau, l'écart reste dans le bruit ; le gain attendu vient d'une base distante.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkInsertBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    // Vidage du contexte de persistance : la mémoire reste bornée quel que soit le volume
+    private static final int FLUSH_EVERY = 1_000;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    private long run;
+
+    @Benchmark
+    public int insertReservations(BenchmarkContext context) {
+        EntityManager entityManager = context.getBean(EntityManagerFactory.class).createEntityManager();
+        try {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            entityManager.getTransaction().begin();
+            long prefix = run++;
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < ROWS; i++) {
+                Reservation reservation = new Reservation();
+                reservation.setUtilisateur(entityManager.getReference(User.class, context.clientId(i)));
+                reservation.setEvenement(entityManager.getReference(Event.class, context.publishedEventId(i)));
+                reservation.setNombrePlaces(1);
+                reservation.setMontantTotal(50.0);
+                reservation.setDateReservation(now);
+                reservation.setStatut(ReservationStatus.ANNULEE);
+                reservation.setCodeReservation("BULK-" + prefix + "-" + i);
+                entityManager.persist(reservation);
+                if ((i + 1) % FLUSH_EVERY == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            entityManager.getTransaction().commit();
+            return ROWS;
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    // Réservations annulées, sans effet sur le stock : retirées pour ne pas grossir la base partagée
+    @TearDown(Level.Invocation)
+    public void deleteInserted(BenchmarkContext context) {
+        context.getBean(JdbcTemplate.class).update("DELETE FROM reservations WHERE code_reservation LIKE 'BULK-%'");
+    }
+}
@@ -0,0 +1,55 @@
+package com.eventbooking.benchmark;
+
+import com.eventbooking.entity.Event;
+import com.eventbooking.service.EventService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Places disponibles (unitaire et par page de cartes) et recherche d'événements
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventServiceBenchmark {
+
+    private static final int PAGE_SIZE = 12;
+
+    // Mot exact, plusieurs mots, préfixe (saisie en cours) et faute de frappe
+    @State(Scope.Benchmark)
+    public static class SearchQuery {
+
+        @Param({"concert", "conference rabat", "festiv", "marakech"})
+        public String keyword;
+    }
+
+    @Benchmark
+    public int getAvailablePlaces(BenchmarkContext context) {
+        long n = ThreadLocalRandom.current().nextLong(Long.MAX_VALUE);
+        return context.getBean(EventService.class).getAvailablePlaces(context.publishedEventId(n));
+    }
+
+    @Benchmark
+    public Map<Long, Integer> getAvailablePlacesForPage(BenchmarkContext context) {
+        long offset = ThreadLocalRandom.current().nextLong(Long.MAX_VALUE);
+        return context.getBean(EventService.class).getAvailablePlaces(context.eventPage(offset, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<Event> searchEvents(BenchmarkContext context, SearchQuery query) {
+        return context.getBean(EventService.class).searchEvents(query.keyword);
+    }
+}
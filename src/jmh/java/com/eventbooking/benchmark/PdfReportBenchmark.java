@@ -0,0 +1,95 @@
+package com.eventbooking.benchmark;
+
+import com.eventbooking.entity.Event;
+import com.eventbooking.entity.Reservation;
+import com.eventbooking.entity.User;
+import com.eventbooking.entity.enums.EventCategory;
+import com.eventbooking.entity.enums.ReservationStatus;
+import com.eventbooking.service.PdfRenderingService;
+import com.eventbooking.service.dto.ReservationExportRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Rapport PDF des réservations (10k lignes par défaut) écrit vers un flux vide (sans contexte Spring)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PdfReportBenchmark {
+
+    @Param({"10000"})
+    public int rows;
+
+    private final PdfRenderingService pdfRenderingService = new PdfRenderingService();
+    private List<ReservationExportRow> reservations;
+    private Reservation single;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Event> events = new ArrayList<>();
+        for (int e = 0; e < 50; e++) {
+            Event event = new Event();
+            event.setId((long) e);
+            event.setTitre("Événement de référence numéro " + e);
+            event.setCategorie(EventCategory.values()[e % EventCategory.values().length]);
+            event.setDateDebut(now.plusDays(e));
+            event.setLieu("Salle " + e);
+            event.setVille("Casablanca");
+            events.add(event);
+        }
+
+        reservations = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            reservations.add(new ReservationExportRow((long) i, "RES-BENCH" + i, "Prénom" + i, "Nom" + i,
+                    "client" + i + "@bench.local", null, events.get(i % events.size()).getTitre(),
+                    1 + i % 4, 150.0 * (1 + i % 4), now.minusMinutes(i),
+                    ReservationStatus.values()[i % ReservationStatus.values().length], null));
+        }
+
+        User client = new User();
+        client.setId(0L);
+        client.setPrenom("Prénom0");
+        client.setNom("Nom0");
+        client.setEmail("client0@bench.local");
+
+        single = new Reservation();
+        single.setId(0L);
+        single.setUtilisateur(client);
+        single.setEvenement(events.get(0));
+        single.setNombrePlaces(1);
+        single.setMontantTotal(150.0);
+        single.setDateReservation(now);
+        single.setStatut(ReservationStatus.CONFIRMEE);
+        single.setCodeReservation("RES-BENCH0");
+    }
+
+    @Benchmark
+    public void reservationReport() throws IOException {
+        pdfRenderingService.writeReservationReport(reservations, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void receipt() throws IOException {
+        pdfRenderingService.writeReceipt(single, OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,39 @@
+package com.eventbooking.benchmark;
+
+import com.eventbooking.util.ReservationCodeGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Débit du générateur de codes, seul et partagé entre 8 threads (sans contexte Spring)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReservationCodeGeneratorBenchmark {
+
+    private final ReservationCodeGenerator generator = new ReservationCodeGenerator(1);
+
+    @Benchmark
+    @Threads(1)
+    public String generateCode() {
+        return generator.generateCode();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String generateCodeContended() {
+        return generator.generateCode();
+    }
+}
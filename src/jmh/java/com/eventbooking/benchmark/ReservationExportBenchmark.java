@@ -0,0 +1,29 @@
+package com.eventbooking.benchmark;
+
+import com.eventbooking.service.ReservationExportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+// Export CSV complet de toutes les réservations seedées (-Djmh.reservations=1000000 pour le cas du million),
+// à lancer avec -prof gc pour vérifier que l'allocation par ligne reste constante
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx256m")
+public class ReservationExportBenchmark {
+
+    @Benchmark
+    public long exportAllToCsv(BenchmarkContext context) throws IOException {
+        return context.getBean(ReservationExportService.class).writeCsv(null, null, OutputStream.nullOutputStream());
+    }
+}
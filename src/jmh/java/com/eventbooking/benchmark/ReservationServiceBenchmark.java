@@ -0,0 +1,84 @@
+package com.eventbooking.benchmark;
+
+import com.eventbooking.entity.Reservation;
+import com.eventbooking.service.ReservationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Création (blocage des places) et confirmation d'une réservation
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReservationServiceBenchmark {
+
+    // Réservations en attente préparées avant chaque itération de confirmReservation
+    @State(Scope.Thread)
+    public static class PendingReservations {
+
+        private static final int POOL_SIZE = 20_000;
+
+        final Deque<Long> ids = new ArrayDeque<>();
+
+        @Setup(Level.Iteration)
+        public void fill(BenchmarkContext context) {
+            ReservationService reservationService = context.getBean(ReservationService.class);
+            ids.clear();
+            while (ids.size() < POOL_SIZE) {
+                Reservation reservation = tryCreate(context, reservationService);
+                if (reservation != null) {
+                    ids.add(reservation.getId());
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void createReservation(BenchmarkContext context, Blackhole blackhole) {
+        blackhole.consume(tryCreate(context, context.getBean(ReservationService.class)));
+    }
+
+    @Benchmark
+    public void confirmReservation(BenchmarkContext context, PendingReservations pending, Blackhole blackhole) {
+        ReservationService reservationService = context.getBean(ReservationService.class);
+        Long id = pending.ids.poll();
+        if (id == null) {
+            // Réserve épuisée : la mesure inclut alors la création
+            Reservation reservation;
+            do {
+                reservation = tryCreate(context, reservationService);
+            } while (reservation == null);
+            id = reservation.getId();
+        }
+        blackhole.consume(reservationService.confirmReservation(id));
+    }
+
+    // Couple client/événement tiré au hasard ; null si le client a déjà réservé cet événement
+    private static Reservation tryCreate(BenchmarkContext context, ReservationService reservationService) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try {
+            return reservationService.createReservation(
+                    context.publishedEventId(random.nextLong(Long.MAX_VALUE)),
+                    context.clientId(random.nextLong(Long.MAX_VALUE)),
+                    1, null);
+        } catch (IllegalStateException e) {
+            return null;
+        }
+    }
+}
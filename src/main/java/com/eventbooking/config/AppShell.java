@@ -0,0 +1,9 @@
+package com.eventbooking.config;
+
+import com.vaadin.flow.component.page.AppShellConfigurator;
+import com.vaadin.flow.component.page.Push;
+
+// Push serveur (WebSocket) : les traitements en arrière-plan mettent à jour les vues via UI.access
+@Push
+public class AppShell implements AppShellConfigurator {
+}
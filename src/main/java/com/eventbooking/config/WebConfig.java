@@ -1,10 +1,13 @@
 package com.eventbooking.config;
 
+import com.eventbooking.service.FileStorageService;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
@@ -14,9 +17,19 @@ public class WebConfig implements WebMvcConfigurer {
         // Configuration pour servir les fichiers uploadés depuis le dossier uploads/
         String uploadPath = Paths.get("uploads").toAbsolutePath().toString();
 
+        // Store adressé par contenu (ab/cd/<sha256>.ext) : cache immuable, ETag fort tiré du nom
+        registry.addResourceHandler("/uploads/??/??/*")
+                .addResourceLocations("file:" + uploadPath + "/")
+                .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                .setEtagGenerator(resource -> {
+                    String contentHash = FileStorageService.contentHashOf(resource.getFilename());
+                    return contentHash != null ? "\"" + contentHash + "\"" : null;
+                });
+
+        // Anciens noms, réécrits sur place : même politique que FileController (une heure, revalidation)
         registry.addResourceHandler("/uploads/**")
                 .addResourceLocations("file:" + uploadPath + "/")
-                .setCachePeriod(3600);
+                .setCacheControl(CacheControl.maxAge(1, TimeUnit.HOURS).cachePublic());
 
         // Configuration pour les ressources statiques du classpath
         registry.addResourceHandler("/static/**")
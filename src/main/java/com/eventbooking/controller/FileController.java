@@ -1,47 +1,133 @@
 package com.eventbooking.controller;
 
+import com.eventbooking.service.FileStorageService;
+import com.eventbooking.service.ImageDerivativeService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/files")
 public class FileController {
 
+    // Attributs de requête du transfert sendfile de Tomcat
+    private static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
     @Value("${file.upload-dir:./uploads}")
     private String uploadDir;
 
+    @Autowired
+    private ImageDerivativeService imageDerivativeService;
+
+    // ?size=thumbnail|card|detail : déclinaison redimensionnée si disponible, sinon l'original
     @GetMapping("/uploads/{filename:.+}")
-    public ResponseEntity<Resource> serveFile(@PathVariable String filename) {
+    public ResponseEntity<Resource> serveFile(@PathVariable String filename,
+                                              @RequestParam(required = false) String size,
+                                              HttpServletRequest request,
+                                              HttpServletResponse response) {
+        return serve(filename, size, request, response);
+    }
+
+    // Store adressé par contenu : /uploads/ab/cd/<sha256>.ext
+    @GetMapping("/uploads/{shard1:[0-9a-f]{2}}/{shard2:[0-9a-f]{2}}/{filename:.+}")
+    public ResponseEntity<Resource> serveStoredFile(@PathVariable String shard1,
+                                                    @PathVariable String shard2,
+                                                    @PathVariable String filename,
+                                                    @RequestParam(required = false) String size,
+                                                    HttpServletRequest request,
+                                                    HttpServletResponse response) {
+        return serve(shard1 + "/" + shard2 + "/" + filename, size, request, response);
+    }
+
+    private ResponseEntity<Resource> serve(String filename, String size,
+                                           HttpServletRequest request, HttpServletResponse response) {
         try {
-            Path file = Paths.get(uploadDir).resolve(filename);
-            Resource resource = new UrlResource(file.toUri());
-
-            if (resource.exists() || resource.isReadable()) {
-                String contentType = determineContentType(filename);
-                return ResponseEntity.ok()
-                        .contentType(MediaType.parseMediaType(contentType))
-                        .header(HttpHeaders.CONTENT_DISPOSITION,
-                                "inline; filename=\"" + resource.getFilename() + "\"")
-                        .body(resource);
-            } else {
+            Optional<ImageDerivativeService.Size> requestedSize = ImageDerivativeService.Size.fromParameter(size);
+            Optional<Path> derivative = requestedSize
+                    .flatMap(s -> imageDerivativeService.findDerivative(filename, s));
+            Path file = derivative.orElse(Paths.get(uploadDir).resolve(filename));
+
+            if (!Files.isRegularFile(file)) {
                 return ResponseEntity.notFound().build();
             }
+
+            long length = Files.size(file);
+            long lastModified = Files.getLastModifiedTime(file).toMillis();
+            String fileName = file.getFileName().toString();
+            String contentHash = FileStorageService.contentHashOf(fileName);
+
+            // ETag fort pour un nom dérivé du contenu, sinon taille + date de modification
+            String etag = contentHash != null
+                    ? "\"" + contentHash + "\""
+                    : "W/\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.parseMediaType(determineContentType(fileName)));
+            headers.set(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + fileName + "\"");
+            headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+            headers.setETag(etag);
+            headers.setLastModified(lastModified);
+            headers.setCacheControl(cacheControl(contentHash != null, requestedSize.isPresent() && derivative.isEmpty()));
+
+            // Revalidation : 304 sans corps
+            if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+            }
+
+            // Plages d'octets : réponse 206 (une ou plusieurs plages) produite par Spring MVC
+            if (request.getHeader(HttpHeaders.RANGE) != null) {
+                return ResponseEntity.ok().headers(headers).body(new FileSystemResource(file));
+            }
+
+            // Corps complet : transfert zéro copie par le conteneur (sendfile) quand il le permet
+            if (!"HEAD".equals(request.getMethod())
+                    && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+                request.setAttribute(SENDFILE_FILENAME_ATTR, file.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START_ATTR, 0L);
+                request.setAttribute(SENDFILE_END_ATTR, length);
+                return ResponseEntity.ok().headers(headers).contentLength(length).build();
+            }
+
+            return ResponseEntity.ok().headers(headers).body(new FileSystemResource(file));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
     }
 
+    // Nom adressé par contenu : immuable ; original servi à la place d'une déclinaison pas encore prête : à revalider
+    private CacheControl cacheControl(boolean contentAddressed, boolean derivativePending) {
+        if (derivativePending) {
+            return CacheControl.noCache();
+        }
+        if (contentAddressed) {
+            return CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+        }
+        return CacheControl.maxAge(1, TimeUnit.HOURS).cachePublic();
+    }
+
     private String determineContentType(String filename) {
         if (filename.endsWith(".jpg") || filename.endsWith(".jpeg")) {
             return "image/jpeg";
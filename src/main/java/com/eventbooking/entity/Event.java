@@ -6,13 +6,23 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "events")
+// Plans de chargement : l'organisateur n'est lu que par les grilles, cartes et caches d'événements
+@NamedEntityGraph(name = Event.GRID_ROW, attributeNodes = @NamedAttributeNode("organisateur"))
+@Table(name = "events", indexes = {
+        @Index(name = "idx_events_statut_date_debut", columnList = "statut, date_debut"),
+        @Index(name = "idx_events_organisateur", columnList = "organisateur_id")
+})
 public class Event {
+    public static final String GRID_ROW = "Event.gridRow";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Séquence allouée par blocs de 50 : pas d'aller-retour par insertion, batchs JDBC possibles
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "events_id")
+    @SequenceGenerator(name = "events_id", sequenceName = "events_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -32,10 +42,29 @@ public class Event {
     private String lieu;
     private String ville;
     private Integer capaciteMax;
+
+    // Stock de places non bloquées ; modifié uniquement par UPDATE conditionnel (SeatInventoryService)
+    @Column(updatable = false)
+    private Integer placesRestantes;
+
+    // Compteurs des réservations (places confirmées, places en attente, montant confirmé) ;
+    // modifiés uniquement par UPDATE relatif, dans la transaction du changement de statut
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Integer placesConfirmees = 0;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Integer placesEnAttente = 0;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Double montantConfirme = 0.0;
+
     private Double prixUnitaire;
     private String imageUrl;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "organisateur_id")
     private User organisateur;
 
@@ -64,6 +93,14 @@ public class Event {
     public void setVille(String ville) { this.ville = ville; }
     public Integer getCapaciteMax() { return capaciteMax; }
     public void setCapaciteMax(Integer capaciteMax) { this.capaciteMax = capaciteMax; }
+    public Integer getPlacesRestantes() { return placesRestantes; }
+    public void setPlacesRestantes(Integer placesRestantes) { this.placesRestantes = placesRestantes; }
+    public Integer getPlacesConfirmees() { return placesConfirmees; }
+    public void setPlacesConfirmees(Integer placesConfirmees) { this.placesConfirmees = placesConfirmees; }
+    public Integer getPlacesEnAttente() { return placesEnAttente; }
+    public void setPlacesEnAttente(Integer placesEnAttente) { this.placesEnAttente = placesEnAttente; }
+    public Double getMontantConfirme() { return montantConfirme; }
+    public void setMontantConfirme(Double montantConfirme) { this.montantConfirme = montantConfirme; }
     public Double getPrixUnitaire() { return prixUnitaire; }
     public void setPrixUnitaire(Double prixUnitaire) { this.prixUnitaire = prixUnitaire; }
     public String getImageUrl() { return imageUrl; }
@@ -7,17 +7,39 @@ import jakarta.validation.constraints.Min;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reservations")
+// Plans de chargement par usage : grilles (client + événement), reçu (avec l'organisateur),
+// tableaux de bord (événement seul)
+@NamedEntityGraph(name = Reservation.GRID_ROW, attributeNodes = {
+        @NamedAttributeNode("utilisateur"),
+        @NamedAttributeNode("evenement")
+})
+@NamedEntityGraph(name = Reservation.RECEIPT, attributeNodes = {
+        @NamedAttributeNode("utilisateur"),
+        @NamedAttributeNode(value = "evenement", subgraph = "evenement")
+}, subgraphs = @NamedSubgraph(name = "evenement", attributeNodes = @NamedAttributeNode("organisateur")))
+@NamedEntityGraph(name = Reservation.DASHBOARD, attributeNodes = @NamedAttributeNode("evenement"))
+@Table(name = "reservations", indexes = {
+        // Places par événement et statut : nombre_places inclus pour éviter la lecture de la table
+        @Index(name = "idx_reservations_evenement_statut", columnList = "evenement_id, statut, nombre_places"),
+        @Index(name = "idx_reservations_utilisateur_statut", columnList = "utilisateur_id, statut"),
+        // Expiration des réservations en attente et agrégats par période
+        @Index(name = "idx_reservations_statut_date", columnList = "statut, date_reservation")
+})
 public class Reservation {
+    public static final String GRID_ROW = "Reservation.gridRow";
+    public static final String RECEIPT = "Reservation.receipt";
+    public static final String DASHBOARD = "Reservation.dashboard";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservations_id")
+    @SequenceGenerator(name = "reservations_id", sequenceName = "reservations_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "utilisateur_id")
     private User utilisateur;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "evenement_id")
     private Event evenement;
 
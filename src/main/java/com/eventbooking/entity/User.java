@@ -7,10 +7,13 @@
     import java.time.LocalDateTime;
 
     @Entity
-    @Table(name = "users")
+    @Table(name = "users", indexes = {
+            @Index(name = "idx_users_role_actif", columnList = "role, actif")
+    })
     public class User {
         @Id
-        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id")
+        @SequenceGenerator(name = "users_id", sequenceName = "users_seq", allocationSize = 50)
         private Long id;
 
         @NotBlank
@@ -3,47 +3,83 @@ package com.eventbooking.repository;
 import com.eventbooking.entity.Event;
 import com.eventbooking.entity.enums.EventCategory;
 import com.eventbooking.entity.enums.EventStatus;
+import com.eventbooking.service.dto.EventCardRow;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, Long> {
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
+
+    // Organisateur LAZY : les méthodes qui alimentent cartes, grilles et caches chargent le plan Event.gridRow
+
+    @Override
+    @EntityGraph(Event.GRID_ROW)
+    Optional<Event> findById(Long id);
+
+    @Override
+    @EntityGraph(Event.GRID_ROW)
+    List<Event> findAll();
+
+    @Override
+    @EntityGraph(Event.GRID_ROW)
+    List<Event> findAllById(Iterable<Long> ids);
+
+    @Override
+    @EntityGraph(Event.GRID_ROW)
+    Page<Event> findAll(Specification<Event> spec, Pageable pageable);
 
     // Trouver les événements par organisateur
+    @EntityGraph(Event.GRID_ROW)
     List<Event> findByOrganisateurId(Long organisateurId);
 
     // Trouver les événements par statut
+    @EntityGraph(Event.GRID_ROW)
     List<Event> findByStatut(EventStatus statut);
 
     // Trouver les événements par catégorie
+    @EntityGraph(Event.GRID_ROW)
     List<Event> findByCategorie(EventCategory categorie);
 
     // Trouver les événements par ville
+    @EntityGraph(Event.GRID_ROW)
     List<Event> findByVille(String ville);
 
     // Trouver les événements publiés et à venir
+    @EntityGraph(Event.GRID_ROW)
     @Query("SELECT e FROM Event e WHERE e.statut = 'PUBLIE' AND e.dateDebut > :currentDate ORDER BY e.dateDebut ASC")
     List<Event> findUpcomingPublishedEvents(@Param("currentDate") LocalDateTime currentDate);
 
     // Trouver les événements publiés par catégorie
+    @EntityGraph(Event.GRID_ROW)
     @Query("SELECT e FROM Event e WHERE e.statut = 'PUBLIE' AND e.categorie = :category AND e.dateDebut > :currentDate ORDER BY e.dateDebut ASC")
     List<Event> findPublishedEventsByCategory(@Param("category") EventCategory category,
                                               @Param("currentDate") LocalDateTime currentDate);
 
     // Trouver les événements par titre (recherche)
+    @EntityGraph(Event.GRID_ROW)
     @Query("SELECT e FROM Event e WHERE e.statut = 'PUBLIE' AND LOWER(e.titre) LIKE LOWER(CONCAT('%', :titre, '%'))")
     List<Event> findByTitreContainingIgnoreCase(@Param("titre") String titre);
 
     // Compter les événements par statut
     Long countByStatut(EventStatus statut);
 
+    long countByOrganisateurId(Long organisateurId);
+
     // Trouver les événements entre deux dates
+    @EntityGraph(Event.GRID_ROW)
     @Query("SELECT e FROM Event e WHERE e.dateDebut BETWEEN :startDate AND :endDate AND e.statut = 'PUBLIE'")
     List<Event> findEventsBetweenDates(@Param("startDate") LocalDateTime startDate,
                                        @Param("endDate") LocalDateTime endDate);
@@ -52,4 +88,160 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     @Query("SELECT COUNT(e) > 0 FROM Event e WHERE e.titre = :titre AND e.dateDebut = :dateDebut")
     boolean existsByTitreAndDateDebut(@Param("titre") String titre,
                                       @Param("dateDebut") LocalDateTime dateDebut);
-}
\ No newline at end of file
+
+    // Compter les événements publiés et à venir
+    @Query("SELECT COUNT(e) FROM Event e WHERE e.statut = 'PUBLIE' AND e.dateDebut > :currentDate")
+    long countUpcomingPublishedEvents(@Param("currentDate") LocalDateTime currentDate);
+
+    // ==================== AGRÉGATS POUR LES TABLEAUX DE BORD ====================
+
+    // Nombre d'événements par statut (date de création dans la période ; borne null = pas de borne)
+    @Query("SELECT e.statut, COUNT(e) FROM Event e WHERE (:from IS NULL OR e.dateCreation >= :from) " +
+           "AND (:to IS NULL OR e.dateCreation <= :to) GROUP BY e.statut")
+    List<Object[]> countGroupByStatut(@Param("from") LocalDateTime from,
+                                      @Param("to") LocalDateTime to);
+
+    // Nombre d'événements par catégorie (date de création dans la période ; borne null = pas de borne)
+    @Query("SELECT e.categorie, COUNT(e) FROM Event e WHERE (:from IS NULL OR e.dateCreation >= :from) " +
+           "AND (:to IS NULL OR e.dateCreation <= :to) GROUP BY e.categorie")
+    List<Object[]> countGroupByCategorie(@Param("from") LocalDateTime from,
+                                         @Param("to") LocalDateTime to);
+
+    // Nombre d'événements créés par mois (année, mois, total)
+    @Query("SELECT YEAR(e.dateCreation), MONTH(e.dateCreation), COUNT(e) FROM Event e " +
+           "WHERE e.dateCreation BETWEEN :from AND :to GROUP BY YEAR(e.dateCreation), MONTH(e.dateCreation)")
+    List<Object[]> countGroupByCreationMonth(@Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to);
+
+    // Derniers événements créés (tableau de bord : sans l'organisateur)
+    List<Event> findTop10ByOrderByDateCreationDesc();
+
+    // Classement des événements d'un statut par nombre de réservations (id, titre, capacité, total)
+    @Query("SELECT e.id, e.titre, e.capaciteMax, COUNT(r) FROM Event e LEFT JOIN Reservation r ON r.evenement = e " +
+           "WHERE e.statut = :statut GROUP BY e.id, e.titre, e.capaciteMax ORDER BY COUNT(r) DESC, e.id ASC")
+    List<Object[]> findTopByReservationCount(@Param("statut") EventStatus statut, Pageable pageable);
+
+    // ==================== CARTES ET GRILLES ====================
+
+    // Colonnes affichées seulement (organisateur aplati), sans entité gérée par la session
+    String CARD_ROW = "SELECT new com.eventbooking.service.dto.EventCardRow(e.id, e.titre, e.description, " +
+            "e.categorie, e.dateDebut, e.dateFin, e.lieu, e.ville, e.capaciteMax, e.placesRestantes, " +
+            "e.placesConfirmees, e.placesEnAttente, e.prixUnitaire, e.imageUrl, e.statut, e.dateCreation, o.prenom, o.nom, o.email) " +
+            "FROM Event e LEFT JOIN e.organisateur o ";
+
+    @Query(CARD_ROW + "WHERE e.statut = 'PUBLIE' AND e.dateDebut > :currentDate ORDER BY e.dateDebut ASC")
+    List<EventCardRow> findUpcomingPublishedRows(@Param("currentDate") LocalDateTime currentDate);
+
+    @Query(CARD_ROW + "WHERE o.id = :organisateurId ORDER BY e.id")
+    List<EventCardRow> findRowsByOrganisateurId(@Param("organisateurId") Long organisateurId);
+
+    // Filtres de la grille d'administration (pattern : voir SearchPattern), partagés par les lignes et le comptage
+    String ROW_FILTER = "WHERE (:categorie IS NULL OR e.categorie = :categorie) AND (:statut IS NULL OR e.statut = :statut) " +
+            "AND (:pattern IS NULL OR LOWER(e.titre) LIKE :pattern OR LOWER(e.lieu) LIKE :pattern " +
+            "OR LOWER(e.ville) LIKE :pattern)";
+
+    // Page et tri de la grille appliqués par Pageable, sans requête de comptage (voir countRows)
+    @Query(CARD_ROW + ROW_FILTER)
+    List<EventCardRow> findRows(@Param("pattern") String pattern,
+                                @Param("categorie") EventCategory categorie,
+                                @Param("statut") EventStatus statut,
+                                Pageable pageable);
+
+    @Query("SELECT COUNT(e) FROM Event e " + ROW_FILTER)
+    long countRows(@Param("pattern") String pattern,
+                   @Param("categorie") EventCategory categorie,
+                   @Param("statut") EventStatus statut);
+
+    // ==================== STOCK DE PLACES ====================
+
+    // Places restantes lues directement en base (sans passer par l'entité en cache)
+    @Query("SELECT e.placesRestantes FROM Event e WHERE e.id = :eventId")
+    Integer findPlacesRestantesById(@Param("eventId") Long eventId);
+
+    // Même stock pour une page de cartes : (id événement, places restantes) en une requête
+    @Query("SELECT e.id, e.placesRestantes FROM Event e WHERE e.id IN :eventIds")
+    List<Object[]> findPlacesRestantesByIds(@Param("eventIds") Collection<Long> eventIds);
+
+    // Décrément conditionnel : 0 ligne modifiée si le stock est insuffisant
+    @Modifying
+    @Query("UPDATE Event e SET e.placesRestantes = e.placesRestantes - :places " +
+           "WHERE e.id = :eventId AND e.placesRestantes >= :places")
+    int decrementPlacesRestantes(@Param("eventId") Long eventId,
+                                 @Param("places") int places);
+
+    // Restitution de places (annulation, expiration, suppression)
+    @Modifying
+    @Query("UPDATE Event e SET e.placesRestantes = e.placesRestantes + :places WHERE e.id = :eventId")
+    int incrementPlacesRestantes(@Param("eventId") Long eventId,
+                                 @Param("places") int places);
+
+    // ==================== COMPTEURS DE RÉSERVATIONS ====================
+
+    // Deltas appliqués dans la transaction qui change le statut de la réservation
+    @Modifying
+    @Query("UPDATE Event e SET e.placesConfirmees = e.placesConfirmees + :confirmees, " +
+           "e.placesEnAttente = e.placesEnAttente + :enAttente, " +
+           "e.montantConfirme = e.montantConfirme + CAST(:montant AS Double) WHERE e.id = :eventId")
+    int addToReservationCounters(@Param("eventId") Long eventId,
+                                 @Param("confirmees") int confirmees,
+                                 @Param("enAttente") int enAttente,
+                                 @Param("montant") double montant);
+
+    @Query("SELECT e.placesConfirmees FROM Event e WHERE e.id = :eventId")
+    Integer findPlacesConfirmeesById(@Param("eventId") Long eventId);
+
+    @Query("SELECT COALESCE(SUM(e.montantConfirme), 0) FROM Event e")
+    Double sumMontantConfirme();
+
+    @Query("SELECT COALESCE(SUM(e.montantConfirme), 0) FROM Event e WHERE e.organisateur.id = :organizerId")
+    Double sumMontantConfirmeByOrganisateurId(@Param("organizerId") Long organizerId);
+
+    // Événements dont les compteurs ou le stock de places divergent des réservations :
+    // (id, places confirmées, places en attente, montant confirmé, places restantes) recalculés depuis la table des réservations
+    @Query("SELECT e.id, " +
+           "COALESCE(SUM(CASE WHEN r.statut = 'CONFIRMEE' THEN r.nombrePlaces ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN r.statut = 'EN_ATTENTE' THEN r.nombrePlaces ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN r.statut = 'CONFIRMEE' THEN r.montantTotal ELSE 0.0 END), 0.0), " +
+           "e.capaciteMax - COALESCE(SUM(CASE WHEN r.statut IN ('CONFIRMEE', 'EN_ATTENTE') THEN r.nombrePlaces ELSE 0 END), 0) " +
+           "FROM Event e LEFT JOIN Reservation r ON r.evenement = e " +
+           "GROUP BY e.id, e.capaciteMax, e.placesRestantes, e.placesConfirmees, e.placesEnAttente, e.montantConfirme " +
+           "HAVING e.placesConfirmees <> COALESCE(SUM(CASE WHEN r.statut = 'CONFIRMEE' THEN r.nombrePlaces ELSE 0 END), 0) " +
+           "OR e.placesEnAttente <> COALESCE(SUM(CASE WHEN r.statut = 'EN_ATTENTE' THEN r.nombrePlaces ELSE 0 END), 0) " +
+           "OR ABS(e.montantConfirme - COALESCE(SUM(CASE WHEN r.statut = 'CONFIRMEE' THEN r.montantTotal ELSE 0.0 END), 0.0)) > 0.005 " +
+           "OR e.placesRestantes IS NULL " +
+           "OR e.placesRestantes <> e.capaciteMax - COALESCE(SUM(CASE WHEN r.statut IN ('CONFIRMEE', 'EN_ATTENTE') THEN r.nombrePlaces ELSE 0 END), 0)")
+    List<Object[]> findReservationCounterMismatches();
+
+    // Recalcul complet des compteurs et du stock de places d'un événement en une instruction
+    @Modifying
+    @Query("UPDATE Event e SET " +
+           "e.placesRestantes = e.capaciteMax - CAST((SELECT COALESCE(SUM(r.nombrePlaces), 0) FROM Reservation r " +
+           "WHERE r.evenement.id = e.id AND r.statut IN ('CONFIRMEE', 'EN_ATTENTE')) AS Integer), " +
+           "e.placesConfirmees = CAST((SELECT COALESCE(SUM(r.nombrePlaces), 0) FROM Reservation r " +
+           "WHERE r.evenement.id = e.id AND r.statut = 'CONFIRMEE') AS Integer), " +
+           "e.placesEnAttente = CAST((SELECT COALESCE(SUM(r.nombrePlaces), 0) FROM Reservation r " +
+           "WHERE r.evenement.id = e.id AND r.statut = 'EN_ATTENTE') AS Integer), " +
+           "e.montantConfirme = (SELECT COALESCE(SUM(r.montantTotal), 0.0) FROM Reservation r " +
+           "WHERE r.evenement.id = e.id AND r.statut = 'CONFIRMEE') " +
+           "WHERE e.id = :eventId")
+    int recomputeReservationCounters(@Param("eventId") Long eventId);
+
+    // ==================== SUPPRESSION ====================
+
+    // Suppression sans chargement préalable ; 0 si l'événement n'existe pas
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Event e WHERE e.id = :eventId")
+    int deleteEventById(@Param("eventId") Long eventId);
+
+    // ==================== IMAGES ====================
+
+    // Compteur de références d'un fichier du store d'uploads
+    boolean existsByImageUrl(String imageUrl);
+
+    @Query("SELECT DISTINCT e.imageUrl FROM Event e WHERE e.imageUrl LIKE '/uploads/%'")
+    List<String> findUploadedImageUrls();
+
+    @Modifying
+    @Query("UPDATE Event e SET e.imageUrl = :newUrl WHERE e.imageUrl = :oldUrl")
+    int updateImageUrl(@Param("oldUrl") String oldUrl, @Param("newUrl") String newUrl);
+}
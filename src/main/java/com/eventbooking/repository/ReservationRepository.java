@@ -2,25 +2,64 @@ package com.eventbooking.repository;
 
 import com.eventbooking.entity.Reservation;
 import com.eventbooking.entity.enums.ReservationStatus;
+import com.eventbooking.service.dto.ReservationExportRow;
+import com.eventbooking.service.dto.ReservationRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+public interface ReservationRepository extends JpaRepository<Reservation, Long>, JpaSpecificationExecutor<Reservation> {
 
-    List<Reservation> findByUtilisateurId(Long userId);
+    // Associations LAZY : chaque méthode renvoyant des entités déclare le plan de chargement de son usage
 
-    List<Reservation> findByEvenementId(Long eventId);
+    // Détail et reçu : client, événement et organisateur
+    @Override
+    @EntityGraph(Reservation.RECEIPT)
+    Optional<Reservation> findById(Long id);
+
+    @EntityGraph(Reservation.RECEIPT)
+    Optional<Reservation> findByCodeReservation(String codeReservation);
+
+    // Grilles : client et événement
+    @Override
+    @EntityGraph(Reservation.GRID_ROW)
+    List<Reservation> findAll();
+
+    @Override
+    @EntityGraph(Reservation.GRID_ROW)
+    Page<Reservation> findAll(Specification<Reservation> spec, Pageable pageable);
+
+    @Override
+    @EntityGraph(Reservation.GRID_ROW)
+    List<Reservation> findAll(Specification<Reservation> spec, Sort sort);
 
+    @EntityGraph(Reservation.GRID_ROW)
+    List<Reservation> findByUtilisateurId(Long userId);
+
+    @EntityGraph(Reservation.GRID_ROW)
     List<Reservation> findByStatut(ReservationStatus statut);
 
-    Optional<Reservation> findByCodeReservation(String codeReservation);
+    // Tableaux de bord : événement seul
+    @EntityGraph(Reservation.DASHBOARD)
+    List<Reservation> findByEvenementId(Long eventId);
 
     // Méthodes de comptage
     Long countByUtilisateurId(Long userId);
@@ -47,21 +86,133 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
                                                            @Param("eventId") Long eventId,
                                                            @Param("statusList") List<ReservationStatus> statusList);
 
+    // Événements (parmi une liste) réservés par un utilisateur
+    @Query("SELECT DISTINCT r.evenement.id FROM Reservation r WHERE r.utilisateur.id = :userId " +
+           "AND r.evenement.id IN :eventIds AND r.statut IN :statusList")
+    List<Long> findReservedEventIds(@Param("userId") Long userId,
+                                    @Param("eventIds") Collection<Long> eventIds,
+                                    @Param("statusList") List<ReservationStatus> statusList);
+
     // Réservations à venir d'un utilisateur
+    @EntityGraph(Reservation.DASHBOARD)
     @Query("SELECT r FROM Reservation r WHERE r.utilisateur.id = :userId AND r.evenement.dateDebut > :currentDate ORDER BY r.evenement.dateDebut ASC")
     List<Reservation> findUpcomingReservationsByUser(@Param("userId") Long userId,
                                                      @Param("currentDate") LocalDateTime currentDate);
 
     // Historique des réservations d'un utilisateur
+    @EntityGraph(Reservation.DASHBOARD)
     @Query("SELECT r FROM Reservation r WHERE r.utilisateur.id = :userId AND r.evenement.dateDebut <= :currentDate ORDER BY r.evenement.dateDebut DESC")
     List<Reservation> findPastReservationsByUser(@Param("userId") Long userId,
                                                  @Param("currentDate") LocalDateTime currentDate);
 
     // Réservations confirmées pour un événement (méthode existante)
+    @EntityGraph(Reservation.GRID_ROW)
     @Query("SELECT r FROM Reservation r WHERE r.evenement.id = :eventId AND r.statut = 'CONFIRMEE'")
     List<Reservation> findConfirmedReservationsByEvent(@Param("eventId") Long eventId);
 
     // Nombre de places confirmées pour un événement (méthode existante)
     @Query("SELECT SUM(r.nombrePlaces) FROM Reservation r WHERE r.evenement.id = :eventId AND r.statut = 'CONFIRMEE'")
     Integer countConfirmedPlacesByEvent(@Param("eventId") Long eventId);
-}
\ No newline at end of file
+
+    // ==================== AGRÉGATS POUR LES TABLEAUX DE BORD ====================
+
+    // Nombre de réservations par statut sur une période (borne null = pas de borne)
+    @Query("SELECT r.statut, COUNT(r) FROM Reservation r WHERE (:from IS NULL OR r.dateReservation >= :from) " +
+           "AND (:to IS NULL OR r.dateReservation <= :to) GROUP BY r.statut")
+    List<Object[]> countGroupByStatut(@Param("from") LocalDateTime from,
+                                      @Param("to") LocalDateTime to);
+
+    // Montant des réservations par statut (statut, somme)
+    @Query("SELECT r.statut, SUM(r.montantTotal) FROM Reservation r GROUP BY r.statut")
+    List<Object[]> sumMontantTotalGroupByStatut();
+
+    // Revenu confirmé par catégorie d'événement sur une période (borne null = pas de borne)
+    @Query("SELECT r.evenement.categorie, SUM(r.montantTotal) FROM Reservation r " +
+           "WHERE r.statut = :statut AND (:from IS NULL OR r.dateReservation >= :from) " +
+           "AND (:to IS NULL OR r.dateReservation <= :to) GROUP BY r.evenement.categorie")
+    List<Object[]> sumMontantTotalGroupByCategorie(@Param("statut") ReservationStatus statut,
+                                                   @Param("from") LocalDateTime from,
+                                                   @Param("to") LocalDateTime to);
+
+    // Revenu par mois (année, mois, somme) sur une période
+    @Query("SELECT YEAR(r.dateReservation), MONTH(r.dateReservation), SUM(r.montantTotal) FROM Reservation r " +
+           "WHERE r.statut = :statut AND r.dateReservation BETWEEN :from AND :to " +
+           "GROUP BY YEAR(r.dateReservation), MONTH(r.dateReservation)")
+    List<Object[]> sumMontantTotalGroupByMonth(@Param("statut") ReservationStatus statut,
+                                               @Param("from") LocalDateTime from,
+                                               @Param("to") LocalDateTime to);
+
+    // Nombre de réservations par jour (année, mois, jour, total) sur une période (borne null = pas de borne)
+    @Query("SELECT YEAR(r.dateReservation), MONTH(r.dateReservation), DAY(r.dateReservation), COUNT(r) FROM Reservation r " +
+           "WHERE r.dateReservation IS NOT NULL AND (:from IS NULL OR r.dateReservation >= :from) " +
+           "AND (:to IS NULL OR r.dateReservation <= :to) " +
+           "GROUP BY YEAR(r.dateReservation), MONTH(r.dateReservation), DAY(r.dateReservation)")
+    List<Object[]> countGroupByDay(@Param("from") LocalDateTime from,
+                                   @Param("to") LocalDateTime to);
+
+    // Dernières réservations
+    @EntityGraph(Reservation.GRID_ROW)
+    List<Reservation> findTop10ByOrderByDateReservationDesc();
+
+    // ==================== STOCK DE PLACES ====================
+
+    // Réservations d'un statut donné antérieures à une date (id, id événement, places)
+    @Query("SELECT r.id, r.evenement.id, r.nombrePlaces FROM Reservation r " +
+           "WHERE r.statut = :statut AND r.dateReservation < :before")
+    List<Object[]> findHoldsByStatutBefore(@Param("statut") ReservationStatus statut,
+                                           @Param("before") LocalDateTime before);
+
+    // Transition de statut conditionnelle : 0 ligne modifiée si le statut a changé entre-temps
+    @Modifying
+    @Query("UPDATE Reservation r SET r.statut = :to WHERE r.id = :id AND r.statut = :from")
+    int updateStatut(@Param("id") Long id,
+                     @Param("from") ReservationStatus from,
+                     @Param("to") ReservationStatus to);
+
+    // Suppression ensembliste : une seule requête, sans charger les réservations
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Reservation r WHERE r.evenement.id = :eventId")
+    int deleteAllByEvenementIdInBulk(@Param("eventId") Long eventId);
+
+    // ==================== LIGNES DES GRILLES ====================
+
+    // Colonnes affichées seulement, sans entité gérée par la session
+    String ROW_JOINS = "FROM Reservation r LEFT JOIN r.utilisateur u LEFT JOIN r.evenement e ";
+
+    String RESERVATION_ROW = "SELECT new com.eventbooking.service.dto.ReservationRow(r.id, r.codeReservation, " +
+            "u.prenom, u.nom, u.email, e.id, e.titre, e.dateDebut, e.lieu, e.ville, r.nombrePlaces, r.montantTotal, " +
+            "r.dateReservation, r.statut, r.commentaire) " + ROW_JOINS;
+
+    // Filtres de la grille et des exports (pattern : voir SearchPattern), partagés par les lignes, le curseur
+    // d'export et le comptage
+    String ROW_FILTER = "WHERE (:statut IS NULL OR r.statut = :statut) " +
+            "AND (:pattern IS NULL OR LOWER(r.codeReservation) LIKE :pattern OR LOWER(u.nom) LIKE :pattern " +
+            "OR LOWER(u.prenom) LIKE :pattern OR LOWER(u.email) LIKE :pattern OR LOWER(e.titre) LIKE :pattern) ";
+
+    @Query(RESERVATION_ROW + "WHERE u.id = :userId ORDER BY r.id")
+    List<ReservationRow> findRowsByUtilisateurId(@Param("userId") Long userId);
+
+    // Page et tri de la grille appliqués par Pageable, sans requête de comptage (voir countRows)
+    @Query(RESERVATION_ROW + ROW_FILTER)
+    List<ReservationRow> findRows(@Param("pattern") String pattern,
+                                  @Param("statut") ReservationStatus statut,
+                                  Pageable pageable);
+
+    @Query("SELECT COUNT(r) " + ROW_JOINS + ROW_FILTER)
+    long countRows(@Param("pattern") String pattern,
+                   @Param("statut") ReservationStatus statut);
+
+    // ==================== EXPORT ====================
+
+    // Mêmes filtres que la grille ; curseur en lecture seule parcouru
+    // par lots de fetchSize lignes (à consommer dans une transaction, puis fermer)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.eventbooking.service.dto.ReservationExportRow(r.id, r.codeReservation, u.prenom, u.nom, " +
+           "u.email, u.telephone, e.titre, r.nombrePlaces, r.montantTotal, r.dateReservation, r.statut, r.commentaire) " +
+           ROW_JOINS + ROW_FILTER + "ORDER BY r.id")
+    Stream<ReservationExportRow> streamExportRows(@Param("pattern") String pattern,
+                                                  @Param("statut") ReservationStatus statut);
+}
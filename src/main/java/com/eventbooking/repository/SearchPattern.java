@@ -0,0 +1,12 @@
+package com.eventbooking.repository;
+
+public final class SearchPattern {
+
+    private SearchPattern() {
+    }
+
+    // Paramètre :pattern des filtres de grille (LIKE insensible à la casse) ; null = pas de filtre
+    public static String of(String keyword) {
+        return keyword == null || keyword.isBlank() ? null : "%" + keyword.trim().toLowerCase() + "%";
+    }
+}
@@ -2,17 +2,55 @@ package com.eventbooking.repository;
 
 import com.eventbooking.entity.User;
 import com.eventbooking.entity.enums.UserRole;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
     List<User> findByRole(UserRole role);
     List<User> findByActif(Boolean actif);
     Long countByRole(UserRole role);
+    Long countByActif(Boolean actif);
+
+    // Filtres de la grille d'administration (pattern : voir SearchPattern), partagés par la page et le comptage
+    String PAGE_FILTER = "WHERE (:role IS NULL OR u.role = :role) " +
+            "AND (:pattern IS NULL OR LOWER(u.nom) LIKE :pattern OR LOWER(u.prenom) LIKE :pattern " +
+            "OR LOWER(u.email) LIKE :pattern)";
+
+    // Page et tri de la grille appliqués par Pageable, sans requête de comptage (voir countPage)
+    @Query("SELECT u FROM User u " + PAGE_FILTER)
+    List<User> findPage(@Param("pattern") String pattern,
+                        @Param("role") UserRole role,
+                        Pageable pageable);
+
+    @Query("SELECT COUNT(u) FROM User u " + PAGE_FILTER)
+    long countPage(@Param("pattern") String pattern,
+                   @Param("role") UserRole role);
+
+    // Nombre d'utilisateurs par rôle (inscrits dans la période ; borne null = pas de borne)
+    @Query("SELECT u.role, COUNT(u) FROM User u WHERE (:from IS NULL OR u.dateInscription >= :from) " +
+           "AND (:to IS NULL OR u.dateInscription <= :to) GROUP BY u.role")
+    List<Object[]> countGroupByRole(@Param("from") LocalDateTime from,
+                                    @Param("to") LocalDateTime to);
+
+    // Nombre d'inscriptions par mois (année, mois, total)
+    @Query("SELECT YEAR(u.dateInscription), MONTH(u.dateInscription), COUNT(u) FROM User u " +
+           "WHERE u.dateInscription BETWEEN :from AND :to GROUP BY YEAR(u.dateInscription), MONTH(u.dateInscription)")
+    List<Object[]> countGroupByInscriptionMonth(@Param("from") LocalDateTime from,
+                                                @Param("to") LocalDateTime to);
+
+    // Classement des utilisateurs d'un rôle par nombre de réservations (id, prénom, nom, total)
+    @Query("SELECT u.id, u.prenom, u.nom, COUNT(r) FROM User u LEFT JOIN Reservation r ON r.utilisateur = u " +
+           "WHERE u.role = :role GROUP BY u.id, u.prenom, u.nom ORDER BY COUNT(r) DESC, u.id ASC")
+    List<Object[]> findTopByReservationCount(@Param("role") UserRole role, Pageable pageable);
 }
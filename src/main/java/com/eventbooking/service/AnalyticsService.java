@@ -0,0 +1,45 @@
+package com.eventbooking.service;
+
+import com.eventbooking.entity.Event;
+import com.eventbooking.entity.Reservation;
+import com.eventbooking.entity.enums.EventCategory;
+import com.eventbooking.entity.enums.EventStatus;
+import com.eventbooking.entity.enums.ReservationStatus;
+import com.eventbooking.entity.enums.UserRole;
+import com.eventbooking.service.dto.DashboardFilter;
+import com.eventbooking.service.dto.DashboardStats;
+import com.eventbooking.service.dto.RankingEntry;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+public interface AnalyticsService {
+
+    // Chiffres clés (totaux et répartitions par statut / rôle)
+    DashboardStats getDashboardStats();
+
+    // Répartitions sur la période du filtre (filtre null = toute période)
+    Map<EventCategory, Long> getEventsByCategory(DashboardFilter filter);
+    Map<EventStatus, Long> getEventsByStatus(DashboardFilter filter);
+    Map<ReservationStatus, Long> getReservationsByStatus(DashboardFilter filter);
+    Map<UserRole, Long> getUsersByRole(DashboardFilter filter);
+    Map<EventCategory, Double> getRevenueByCategory(DashboardFilter filter);
+    Map<DayOfWeek, Long> getReservationsByDayOfWeek(DashboardFilter filter);
+
+    // Séries temporelles sur les N derniers mois / semaines (mois courant inclus)
+    Map<YearMonth, Long> getEventsCreatedByMonth(int months);
+    Map<YearMonth, Long> getNewUsersByMonth(int months);
+    Map<YearMonth, Double> getRevenueByMonth(int months);
+    Map<LocalDate, Long> getReservationsByWeek(int weeks);
+
+    // Activité récente
+    List<Event> getRecentEvents();
+    List<Reservation> getRecentReservations();
+
+    // Classements par nombre de réservations (une requête chacun)
+    List<RankingEntry> getTopEvents(int limit);
+    List<RankingEntry> getTopClients(int limit);
+}
@@ -2,18 +2,24 @@ package com.eventbooking.service;
 
 import com.eventbooking.entity.Event;
 import com.eventbooking.entity.enums.EventCategory;
+import com.eventbooking.entity.enums.EventStatus;
+import com.eventbooking.service.dto.EventCardRow;
+import org.springframework.data.domain.Pageable;
 
+import java.io.InputStream;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface EventService {
 
     // Méthodes de base
     Event createEvent(Event event);
-    Event createEventWithImage(Event event, String base64Image);
+    Event createEventWithImage(Event event, InputStream image);
 
     Event updateEvent(Long id, Event event);
-    Event updateEventWithImage(Long id, Event event, String base64Image);
+    Event updateEventWithImage(Long id, Event event, InputStream image);
 
     void deleteEvent(Long id);
     void deleteEventWithImage(Long id);
@@ -25,15 +31,25 @@ public interface EventService {
     List<Event> getEventsByOrganisateur(Long organisateurId);
     List<Event> getEventsByOrganizer(Long organizerId); // Alias pour getEventsByOrganisateur
     List<Event> getUpcomingEventsByOrganisateur(Long organisateurId);
+    // Lignes en lecture seule de la grille « Mes événements »
+    List<EventCardRow> getEventRowsByOrganizer(Long organizerId);
 
-    // Méthodes de filtrage
-    List<Event> getPublishedEvents();
-    List<Event> getUpcomingEvents();
+    // Méthodes de filtrage (cartes publiées : lignes en lecture seule de l'instantané partagé)
+    List<EventCardRow> getPublishedEvents();
+    List<EventCardRow> getUpcomingEvents();
     List<Event> getEventsByCategory(EventCategory category);
     List<Event> getEventsByCategory(String category); // Méthode avec String
     List<Event> getEventsByVille(String ville);
     List<Event> searchEvents(String keyword);
     List<Event> searchEventsByTitre(String titre);
+    // Événements de la liste correspondant à la recherche, du plus pertinent au moins pertinent
+    // (liste inchangée si la recherche est vide)
+    List<EventCardRow> rankBySearch(List<EventCardRow> events, String keyword);
+
+    // Recherche (mot-clé, catégorie et statut optionnels) pour les grilles d'administration
+    long countEvents(String keyword, EventCategory category, EventStatus status);
+    // Même recherche, colonnes de la grille seulement ; une page sans comptage (voir countEvents)
+    List<EventCardRow> findEventRows(String keyword, EventCategory category, EventStatus status, Pageable pageable);
 
     // Méthodes de gestion d'état
     Event publishEvent(Long id);
@@ -41,6 +57,8 @@ public interface EventService {
 
     // Statistiques
     int getAvailablePlaces(Long eventId);
+    // Places disponibles de plusieurs événements en une requête (clé : id de l'événement)
+    Map<Long, Integer> getAvailablePlaces(Collection<Long> eventIds);
     long getTotalEventsCount();
     long getPublishedEventsCount();
     long getOrganizerEventsCount(Long organizerId);
@@ -0,0 +1,402 @@
+package com.eventbooking.service;
+
+import com.eventbooking.entity.enums.EventCategory;
+import com.eventbooking.entity.enums.EventStatus;
+import com.eventbooking.entity.enums.ReservationStatus;
+import com.eventbooking.entity.enums.UserRole;
+import com.eventbooking.service.dto.DashboardFilter;
+import com.eventbooking.service.dto.DashboardStats;
+import com.eventbooking.service.dto.ExportJob;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Exports exécutés hors du thread de requête Vaadin : file bornée, quelques threads dédiés,
+ * fichiers produits dans un répertoire de spool et supprimés après expiration.
+ * Les vues s'abonnent aux changements d'état des exports de leur utilisateur.
+ */
+@Service
+public class ExportJobService {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter FILE_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd-HHmm");
+
+    // Intervalle minimal entre deux notifications de progression d'un même export
+    private static final long PROGRESS_NOTIFY_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    @Autowired
+    private ReservationExportService reservationExportService;
+
+    @Autowired
+    private PdfRenderingService pdfRenderingService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Value("${export.spool-dir:exports}")
+    private String spoolDir;
+
+    @Value("${export.ttl:PT24H}")
+    private Duration ttl;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    // Dernière notification de progression par export (System.nanoTime)
+    private final Map<String, Long> lastProgressNotification = new ConcurrentHashMap<>();
+
+    // Abonnés par utilisateur (une entrée par vue ouverte)
+    private final Map<Long, List<Consumer<ExportJob>>> listeners = new ConcurrentHashMap<>();
+
+    public ExportJobService(@Value("${export.jobs.threads:2}") int threads,
+                            @Value("${export.jobs.queue-capacity:20}") int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "export-jobs-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ==================== SOUMISSION ====================
+
+    public ExportJob submitReservationsCsv(Long ownerId, String keyword, ReservationStatus statut) {
+        ExportJob job = newJob(ExportJob.Type.CSV, "Réservations (CSV)", ownerId, "reservations", ".csv");
+        return submit(job, output -> {
+            job.setTotal(reservationExportService.countRows(keyword, statut));
+            reservationExportService.writeCsv(keyword, statut, output, processed -> progress(job, processed));
+        });
+    }
+
+    public ExportJob submitReservationsPdf(Long ownerId, String keyword, ReservationStatus statut) {
+        ExportJob job = newJob(ExportJob.Type.PDF, "Réservations (PDF)", ownerId, "reservations", ".pdf");
+        return submit(job, output -> {
+            job.setTotal(reservationExportService.countRows(keyword, statut));
+            reservationExportService.writePdf(keyword, statut, output, processed -> progress(job, processed));
+        });
+    }
+
+    public ExportJob submitStatisticsReport(Long ownerId, DashboardFilter filter) {
+        ExportJob job = newJob(ExportJob.Type.STATISTIQUES, "Rapport statistiques (PDF)", ownerId, "rapport", ".pdf");
+        return submit(job, output -> {
+            Map<String, Map<String, String>> sections = buildStatisticsSections(job, filter);
+            pdfRenderingService.writeStatisticsReport("Rapport & Statistiques", periodLabel(filter), sections, output);
+        });
+    }
+
+    // ==================== CONSULTATION ====================
+
+    // Exports de l'utilisateur, du plus récent au plus ancien
+    public List<ExportJob> getJobs(Long ownerId) {
+        return jobs.values().stream()
+                .filter(job -> job.getOwnerId().equals(ownerId))
+                .sorted(Comparator.comparing(ExportJob::getDateCreation).reversed())
+                .collect(Collectors.toList());
+    }
+
+    // Fichier d'un export terminé, uniquement pour son propriétaire
+    public Optional<Path> getArtifact(String jobId, Long ownerId) {
+        ExportJob job = jobs.get(jobId);
+        if (job == null || !job.getOwnerId().equals(ownerId) || job.getStatus() != ExportJob.Status.TERMINE) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(job.getFile()).filter(Files::exists);
+    }
+
+    public void addListener(Long ownerId, Consumer<ExportJob> listener) {
+        listeners.computeIfAbsent(ownerId, id -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    public void removeListener(Long ownerId, Consumer<ExportJob> listener) {
+        listeners.computeIfPresent(ownerId, (id, list) -> {
+            list.remove(listener);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    // ==================== NETTOYAGE ====================
+
+    /**
+     * Supprime les exports expirés et les fichiers du spool qui ne correspondent plus à aucun export
+     * (redémarrage, export interrompu)
+     */
+    @Scheduled(fixedDelayString = "${export.cleanup-interval:PT10M}")
+    public void purgeExpired() {
+        LocalDateTime limit = LocalDateTime.now().minus(ttl);
+        jobs.values().removeIf(job -> {
+            if (!job.isFinished() || job.getDateFin() == null || job.getDateFin().isAfter(limit)) {
+                return false;
+            }
+            deleteQuietly(job.getFile());
+            return true;
+        });
+
+        Path directory = spoolDirectory();
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        Set<String> known = jobs.keySet();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                if (!known.contains(jobIdOf(file))) {
+                    deleteQuietly(file);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Nettoyage du spool d'exports impossible: " + e.getMessage());
+        }
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    @FunctionalInterface
+    private interface ExportTask {
+        void write(OutputStream output) throws IOException;
+    }
+
+    private ExportJob newJob(ExportJob.Type type, String label, Long ownerId, String baseName, String extension) {
+        if (ownerId == null) {
+            throw new IllegalArgumentException("Utilisateur requis pour lancer un export");
+        }
+        String fileName = baseName + "-" + FILE_DATE_FORMATTER.format(LocalDateTime.now()) + extension;
+        return new ExportJob(UUID.randomUUID().toString(), type, label, ownerId, fileName);
+    }
+
+    private ExportJob submit(ExportJob job, ExportTask task) {
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, task));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw new IllegalStateException("Trop d'exports en cours, veuillez réessayer dans quelques instants");
+        }
+        notifyListeners(job);
+        return job;
+    }
+
+    private void run(ExportJob job, ExportTask task) {
+        job.setStatus(ExportJob.Status.EN_COURS);
+        notifyListeners(job);
+
+        Path directory = spoolDirectory();
+        Path temp = directory.resolve(job.getId() + ".part");
+        Path target = directory.resolve(job.getId() + extensionOf(job.getFileName()));
+        try {
+            Files.createDirectories(directory);
+            try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024)) {
+                task.write(output);
+            }
+            // Le fichier n'apparaît sous son nom définitif qu'une fois complet
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            job.setFile(target);
+            job.setStatus(ExportJob.Status.TERMINE);
+        } catch (Exception e) {
+            System.err.println("Échec de l'export " + job.getId() + ": " + e.getMessage());
+            deleteQuietly(temp);
+            job.setError(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            job.setStatus(ExportJob.Status.ECHEC);
+        }
+        job.setDateFin(LocalDateTime.now());
+        lastProgressNotification.remove(job.getId());
+        notifyListeners(job);
+    }
+
+    // Appelé par le thread d'export toutes les N lignes ; notifications espacées pour ne pas saturer les vues
+    private void progress(ExportJob job, long processed) {
+        job.setProcessed(processed);
+        long now = System.nanoTime();
+        Long last = lastProgressNotification.get(job.getId());
+        if (last == null || now - last >= PROGRESS_NOTIFY_NANOS) {
+            lastProgressNotification.put(job.getId(), now);
+            notifyListeners(job);
+        }
+    }
+
+    private void notifyListeners(ExportJob job) {
+        List<Consumer<ExportJob>> subscribers = listeners.get(job.getOwnerId());
+        if (subscribers == null) {
+            return;
+        }
+        for (Consumer<ExportJob> listener : subscribers) {
+            try {
+                listener.accept(job);
+            } catch (RuntimeException e) {
+                System.err.println("Notification d'export ignorée: " + e.getMessage());
+            }
+        }
+    }
+
+    private Map<String, Map<String, String>> buildStatisticsSections(ExportJob job, DashboardFilter filter) {
+        Map<String, Map<String, String>> sections = new LinkedHashMap<>();
+        job.setTotal(7);
+
+        DashboardStats stats = analyticsService.getDashboardStats();
+        Map<String, String> keyFigures = new LinkedHashMap<>();
+        keyFigures.put("Utilisateurs", String.valueOf(stats.getTotalUsers()));
+        keyFigures.put("Utilisateurs actifs", String.valueOf(stats.getActiveUsers()));
+        keyFigures.put("Événements", String.valueOf(stats.getTotalEvents()));
+        keyFigures.put("Événements à venir", String.valueOf(stats.getUpcomingEvents()));
+        keyFigures.put("Réservations", String.valueOf(stats.getTotalReservations()));
+        keyFigures.put("Revenu total", formatAmount(stats.getTotalRevenue()));
+        sections.put("Chiffres clés", keyFigures);
+        progress(job, 1);
+
+        Map<String, String> byCategory = new LinkedHashMap<>();
+        analyticsService.getEventsByCategory(filter).forEach((category, count) ->
+                byCategory.put(categoryLabel(category), String.valueOf(count)));
+        sections.put("Événements par catégorie", byCategory);
+        progress(job, 2);
+
+        Map<String, String> byEventStatus = new LinkedHashMap<>();
+        analyticsService.getEventsByStatus(filter).forEach((status, count) ->
+                byEventStatus.put(eventStatusLabel(status), String.valueOf(count)));
+        sections.put("Événements par statut", byEventStatus);
+        progress(job, 3);
+
+        Map<String, String> byReservationStatus = new LinkedHashMap<>();
+        analyticsService.getReservationsByStatus(filter).forEach((status, count) ->
+                byReservationStatus.put(reservationStatusLabel(status), String.valueOf(count)));
+        sections.put("Réservations par statut", byReservationStatus);
+        progress(job, 4);
+
+        Map<String, String> byRole = new LinkedHashMap<>();
+        analyticsService.getUsersByRole(filter).forEach((role, count) ->
+                byRole.put(roleLabel(role), String.valueOf(count)));
+        sections.put("Utilisateurs par rôle", byRole);
+        progress(job, 5);
+
+        Map<String, String> revenueByCategory = new LinkedHashMap<>();
+        analyticsService.getRevenueByCategory(filter).forEach((category, revenue) ->
+                revenueByCategory.put(categoryLabel(category), formatAmount(revenue)));
+        sections.put("Revenus par catégorie", revenueByCategory);
+        progress(job, 6);
+
+        Map<String, String> revenueByMonth = new LinkedHashMap<>();
+        for (Map.Entry<YearMonth, Double> entry : analyticsService.getRevenueByMonth(6).entrySet()) {
+            revenueByMonth.put(String.format("%02d/%d", entry.getKey().getMonthValue(), entry.getKey().getYear()),
+                    formatAmount(entry.getValue()));
+        }
+        sections.put("Revenus des 6 derniers mois", revenueByMonth);
+        progress(job, 7);
+
+        return sections;
+    }
+
+    private String periodLabel(DashboardFilter filter) {
+        if (filter == null || (filter.getDateFrom() == null && filter.getDateTo() == null)) {
+            return "Toute période";
+        }
+        if (filter.getDateFrom() == null) {
+            return "Jusqu'au " + DATE_FORMATTER.format(filter.getDateTo());
+        }
+        if (filter.getDateTo() == null) {
+            return "Depuis le " + DATE_FORMATTER.format(filter.getDateFrom());
+        }
+        return "Du " + DATE_FORMATTER.format(filter.getDateFrom()) + " au " + DATE_FORMATTER.format(filter.getDateTo());
+    }
+
+    private String formatAmount(Double amount) {
+        return String.format("%.2f MAD", amount != null ? amount : 0.0);
+    }
+
+    private Path spoolDirectory() {
+        return Paths.get(spoolDir).toAbsolutePath().normalize();
+    }
+
+    private String extensionOf(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot >= 0 ? fileName.substring(dot) : "";
+    }
+
+    private String jobIdOf(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.indexOf('.');
+        return dot >= 0 ? name.substring(0, dot) : name;
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.err.println("Suppression impossible de " + file + ": " + e.getMessage());
+        }
+    }
+
+    // Libellés sans émoji : les polices standard du PDF ne les contiennent pas
+    private String categoryLabel(EventCategory category) {
+        return switch (category) {
+            case CONCERT -> "Concert";
+            case THEATRE -> "Théâtre";
+            case CONFERENCE -> "Conférence";
+            case SPORT -> "Sport";
+            case AUTRE -> "Autre";
+        };
+    }
+
+    private String eventStatusLabel(EventStatus status) {
+        return switch (status) {
+            case BROUILLON -> "Brouillon";
+            case PUBLIE -> "Publié";
+            case ANNULE -> "Annulé";
+            case TERMINE -> "Terminé";
+        };
+    }
+
+    private String reservationStatusLabel(ReservationStatus status) {
+        return switch (status) {
+            case EN_ATTENTE -> "En attente";
+            case CONFIRMEE -> "Confirmée";
+            case ANNULEE -> "Annulée";
+        };
+    }
+
+    private String roleLabel(UserRole role) {
+        return switch (role) {
+            case ADMIN -> "Administrateur";
+            case ORGANIZER -> "Organisateur";
+            case CLIENT -> "Client";
+        };
+    }
+}
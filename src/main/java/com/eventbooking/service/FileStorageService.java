@@ -1,16 +1,32 @@
 package com.eventbooking.service;
 
+import com.eventbooking.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.util.Base64;
-import java.util.UUID;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Service
 public class FileStorageService {
@@ -18,16 +34,57 @@ public class FileStorageService {
     @Value("${file.upload-dir:uploads}")
     private String uploadDir;
 
+    @Value("${file.spool-dir:upload-spool}")
+    private String spoolDir;
+
     @Value("${app.base-url:http://localhost:8080}")
     private String baseUrl;
 
+    @Value("${file.max-image-size:5MB}")
+    private DataSize maxImageSize;
+
+    @Autowired
+    private ImageDerivativeService imageDerivativeService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    private static final String UPLOADS_PREFIX = "/uploads/";
+
+    private static final Pattern CONTENT_ADDRESSED_URL =
+            Pattern.compile("/uploads/[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}(\\.[a-z0-9]+)?");
+
+    private static final Pattern CONTENT_ADDRESSED_NAME =
+            Pattern.compile("([0-9a-f]{64}(?:_[a-z]+)?)(\\.[a-z0-9]+)?");
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    // Octets nécessaires pour reconnaître tous les formats (RIFF....WEBP)
+    private static final int MAGIC_HEADER_LENGTH = 12;
+
+    private static final int URL_LOCK_STRIPES = 64;
+
+    // URL -> transactions en cours qui vont référencer ce fichier
+    private final Map<String, Integer> pendingReferences = new ConcurrentHashMap<>();
+
+    // Verrous par URL (répartis sur un nombre fixe de verrous) : l'ajout d'un fichier au store
+    // et la vérification avant suppression ne peuvent pas s'entrelacer
+    private final Object[] urlLocks = new Object[URL_LOCK_STRIPES];
+
+    {
+        for (int i = 0; i < urlLocks.length; i++) {
+            urlLocks[i] = new Object();
+        }
+    }
+
     /**
-     * Créer le dossier d'upload s'il n'existe pas
+     * Créer le dossier d'upload et le dossier de réception s'ils n'existent pas
      */
     private void ensureUploadDirectoryExists() throws IOException {
-        Path uploadPath = Paths.get(uploadDir);
-        if (!Files.exists(uploadPath)) {
-            Files.createDirectories(uploadPath);
+        for (Path directory : new Path[] {Paths.get(uploadDir), Paths.get(spoolDir)}) {
+            if (!Files.exists(directory)) {
+                Files.createDirectories(directory);
+            }
         }
     }
 
@@ -35,88 +92,239 @@ public class FileStorageService {
      * Sauvegarde un fichier multipart (upload classique)
      */
     public String storeFile(MultipartFile file) throws IOException {
-        ensureUploadDirectoryExists();
-
-        // Générer un nom de fichier unique
         String originalFileName = file.getOriginalFilename();
         String fileExtension = "";
 
         if (originalFileName != null && originalFileName.contains(".")) {
-            fileExtension = originalFileName.substring(originalFileName.lastIndexOf("."));
+            fileExtension = originalFileName.substring(originalFileName.lastIndexOf(".")).toLowerCase();
         }
 
-        String uniqueFileName = UUID.randomUUID().toString() + fileExtension;
-        Path targetLocation = Paths.get(uploadDir).resolve(uniqueFileName);
-
-        // Copier le fichier
-        Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+        try (InputStream content = file.getInputStream()) {
+            return store(content, fileExtension, false);
+        }
+    }
 
-        // Retourner le chemin relatif
-        return "/uploads/" + uniqueFileName;
+    /**
+     * Sauvegarde une image en flux continu, sans la charger en mémoire.
+     * Le type est vérifié sur les premiers octets (JPEG, PNG, GIF, WebP) et la taille
+     * pendant la copie ; une image déjà présente (même contenu) n'est pas dupliquée.
+     */
+    public String storeImage(InputStream content) throws IOException {
+        return store(content, null, true);
     }
 
     /**
-     * Sauvegarde une image en base64
+     * Stockage adressé par contenu : uploads/ab/cd/abcd…(SHA-256).ext
+     * Le fichier est reçu dans le dossier de réception, qui n'est pas servi, et n'apparaît
+     * dans le store qu'une fois complet et validé (déplacement atomique).
      */
-    public String storeBase64Image(String base64Image, String prefix) throws IOException {
+    private String store(InputStream content, String extension, boolean image) throws IOException {
         ensureUploadDirectoryExists();
 
-        if (base64Image == null || base64Image.isEmpty()) {
+        Path uploadPath = Paths.get(uploadDir);
+        Path tempFile = Files.createTempFile(Paths.get(spoolDir), "upload_", ".tmp");
+        try {
+            MessageDigest digest = newDigest();
+            try (ReadableByteChannel source = Channels.newChannel(content);
+                 FileChannel target = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                String detected = copy(source, target, digest, image);
+                if (image) {
+                    extension = detected;
+                }
+            }
+
+            String contentHash = HexFormat.of().formatHex(digest.digest());
+            String relativePath = contentHash.substring(0, 2) + "/" + contentHash.substring(2, 4) + "/" +
+                    contentHash + extension;
+            String fileUrl = UPLOADS_PREFIX + relativePath;
+
+            synchronized (lockFor(fileUrl)) {
+                // Protège le fichier d'une suppression concurrente tant que la transaction n'est pas terminée
+                holdReference(fileUrl);
+
+                Path blob = uploadPath.resolve(relativePath);
+                if (!Files.exists(blob)) {
+                    Files.createDirectories(blob.getParent());
+                    Files.move(tempFile, blob, StandardCopyOption.ATOMIC_MOVE);
+                    if (image) {
+                        // Miniature, carte et détail préparées en arrière-plan
+                        imageDerivativeService.generateAsync(relativePath, contentHash);
+                    }
+                }
+            }
+
+            // Retourner le chemin relatif
+            return fileUrl;
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Reprend un fichier de l'ancien dossier à plat dans le store ; null si le fichier n'existe plus
+     */
+    public String importLegacyFile(String fileUrl) throws IOException {
+        Path legacyFile = Paths.get(uploadDir).resolve(fileUrl.substring(UPLOADS_PREFIX.length()));
+        if (!Files.isRegularFile(legacyFile)) {
             return null;
         }
 
-        try {
-            // Extraire le type MIME et les données
-            String[] parts = base64Image.split(",");
-            String mimeType = parts[0].split(";")[0].split(":")[1];
-            String extension = getExtensionFromMimeType(mimeType);
-            String data = parts[1];
+        String fileName = legacyFile.getFileName().toString();
+        String extension = fileName.contains(".") ? fileName.substring(fileName.lastIndexOf(".")).toLowerCase() : "";
+        try (InputStream content = Files.newInputStream(legacyFile)) {
+            return store(content, extension, false);
+        }
+    }
 
-            // Générer un nom de fichier unique
-            String uniqueFileName = (prefix != null ? prefix + "_" : "") +
-                    UUID.randomUUID().toString() + extension;
+    public static boolean isContentAddressed(String fileUrl) {
+        return fileUrl != null && CONTENT_ADDRESSED_URL.matcher(fileUrl).matches();
+    }
 
-            // Décoder et sauvegarder
-            byte[] imageBytes = Base64.getDecoder().decode(data);
-            Path filePath = Paths.get(uploadDir).resolve(uniqueFileName);
-            Files.write(filePath, imageBytes);
+    /**
+     * Empreinte portée par un nom de fichier du store ou d'une déclinaison (hash[_taille].ext) ;
+     * null pour un ancien nom sans rapport avec le contenu
+     */
+    public static String contentHashOf(String fileName) {
+        if (fileName == null) {
+            return null;
+        }
+        Matcher matcher = CONTENT_ADDRESSED_NAME.matcher(fileName);
+        return matcher.matches() ? matcher.group(1) : null;
+    }
 
-            // Retourner le chemin relatif
-            return "/uploads/" + uniqueFileName;
-        } catch (Exception e) {
-            throw new IOException("Erreur lors du traitement de l'image base64", e);
+    /**
+     * Copie par blocs en calculant l'empreinte ; pour une image, retourne l'extension
+     * déduite de la signature du fichier
+     */
+    private String copy(ReadableByteChannel source, FileChannel target, MessageDigest digest,
+                        boolean image) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(COPY_BUFFER_SIZE);
+
+        String extension = null;
+        if (image) {
+            // Lire au moins l'en-tête avant de valider le type
+            while (buffer.position() < MAGIC_HEADER_LENGTH && source.read(buffer) >= 0) {
+                // lecture de l'en-tête
+            }
+            extension = detectImageExtension(buffer);
+            if (extension == null) {
+                throw new IOException("Format d'image non supporté (JPEG, PNG, GIF ou WebP attendu)");
+            }
+        } else {
+            source.read(buffer);
         }
+
+        long written = 0;
+        do {
+            buffer.flip();
+            written += buffer.remaining();
+            if (image && written > maxImageSize.toBytes()) {
+                throw new IOException("Image trop volumineuse (maximum " + maxImageSize.toMegabytes() + " Mo)");
+            }
+            digest.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                target.write(buffer);
+            }
+            buffer.clear();
+        } while (source.read(buffer) >= 0);
+
+        return extension;
     }
 
     /**
-     * Supprime un fichier
+     * Reconnaît le format d'image à partir des octets magiques
      */
-    public boolean deleteFile(String fileUrl) throws IOException {
-        if (fileUrl == null || !fileUrl.contains("/uploads/")) {
-            return false;
+    private String detectImageExtension(ByteBuffer header) {
+        if (startsWith(header, 0, 0xFF, 0xD8, 0xFF)) {
+            return ".jpg";
+        }
+        if (startsWith(header, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return ".png";
+        }
+        if (startsWith(header, 0, 'G', 'I', 'F', '8')) {
+            return ".gif";
+        }
+        if (startsWith(header, 0, 'R', 'I', 'F', 'F') && startsWith(header, 8, 'W', 'E', 'B', 'P')) {
+            return ".webp";
         }
+        return null;
+    }
 
-        String fileName = fileUrl.substring(fileUrl.lastIndexOf("/") + 1);
-        Path filePath = Paths.get(uploadDir, fileName);
+    private boolean startsWith(ByteBuffer buffer, int offset, int... signature) {
+        if (buffer.position() < offset + signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if ((buffer.get(offset + i) & 0xFF) != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
 
-        if (Files.exists(filePath)) {
-            return Files.deleteIfExists(filePath);
+    private MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
-        return false;
     }
 
     /**
-     * Convertit le type MIME en extension
+     * Supprime un fichier s'il n'est plus référencé par aucun événement.
+     * Dans une transaction, la vérification a lieu après le commit.
      */
-    private String getExtensionFromMimeType(String mimeType) {
-        return switch (mimeType) {
-            case "image/jpeg" -> ".jpg";
-            case "image/png" -> ".png";
-            case "image/gif" -> ".gif";
-            case "image/webp" -> ".webp";
-            case "image/svg+xml" -> ".svg";
-            default -> ".jpg";
-        };
+    public boolean deleteFile(String fileUrl) throws IOException {
+        if (fileUrl == null || !fileUrl.contains(UPLOADS_PREFIX)) {
+            return false;
+        }
+
+        String relativeUrl = fileUrl.substring(fileUrl.indexOf(UPLOADS_PREFIX));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    try {
+                        deleteIfUnreferenced(relativeUrl);
+                    } catch (IOException e) {
+                        System.err.println("Fichier non supprimé " + relativeUrl + " : " + e.getMessage());
+                    }
+                }
+            });
+            return true;
+        }
+        return deleteIfUnreferenced(relativeUrl);
+    }
+
+    private boolean deleteIfUnreferenced(String fileUrl) throws IOException {
+        // Même verrou que store() : un upload du même contenu ne peut pas réutiliser le fichier
+        // entre la vérification et la suppression
+        synchronized (lockFor(fileUrl)) {
+            if (pendingReferences.containsKey(fileUrl) || eventRepository.existsByImageUrl(fileUrl)) {
+                return false;
+            }
+
+            String relativePath = fileUrl.substring(UPLOADS_PREFIX.length());
+            imageDerivativeService.evict(relativePath);
+            return Files.deleteIfExists(Paths.get(uploadDir).resolve(relativePath));
+        }
+    }
+
+    private Object lockFor(String fileUrl) {
+        return urlLocks[Math.floorMod(fileUrl.hashCode(), urlLocks.length)];
+    }
+
+    private void holdReference(String fileUrl) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        pendingReferences.merge(fileUrl, 1, Integer::sum);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                pendingReferences.computeIfPresent(fileUrl, (url, count) -> count > 1 ? count - 1 : null);
+            }
+        });
     }
 
     /**
@@ -127,13 +335,6 @@ public class FileStorageService {
         return contentType != null && contentType.startsWith("image/");
     }
 
-    /**
-     * Vérifie si une chaîne est une image base64
-     */
-    public boolean isBase64Image(String str) {
-        return str != null && str.startsWith("data:image/");
-    }
-
     /**
      * Récupère le chemin complet d'un fichier
      */
@@ -1,223 +1,477 @@
 package com.eventbooking.service;
 
+import com.eventbooking.entity.Event;
 import com.eventbooking.entity.Reservation;
+import com.eventbooking.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+/**
+ * Reçus HTML générés à partir d'un gabarit précompilé (templates/receipt.html) :
+ * les fragments statiques sont encodés une seule fois en UTF-8, les champs dynamiques
+ * sont échappés et écrits directement dans un tampon réutilisé par thread.
+ * Le rendu est mis en cache par réservation et par version de son contenu ; la date de
+ * génération et l'identifiant du document restent hors du cache et sont écrits à chaque envoi.
+ */
 @Service
 public class HtmlReceiptService {
 
-    public String generateReceiptHtml(Reservation reservation) {
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
-
-        String lieu = reservation.getEvenement().getLieu() != null ?
-                reservation.getEvenement().getLieu() + ", " + reservation.getEvenement().getVille() :
-                reservation.getEvenement().getVille();
-
-        double prixUnitaire = reservation.getMontantTotal() / reservation.getNombrePlaces();
-
-        String telephone = reservation.getUtilisateur().getTelephone() != null ?
-                reservation.getUtilisateur().getTelephone() : "Non renseigné";
-
-        String commentSection = reservation.getCommentaire() != null && !reservation.getCommentaire().isEmpty() ?
-                "<p><strong>Commentaire:</strong> " + reservation.getCommentaire() + "</p>" : "";
-
-        String html = "<!DOCTYPE html>\n" +
-                "<html>\n" +
-                "<head>\n" +
-                "    <meta charset='UTF-8'>\n" +
-                "    <title>Reçu de Réservation - " + reservation.getCodeReservation() + "</title>\n" +
-                "    <style>\n" +
-                "        @media print {\n" +
-                "            .no-print { display: none !important; }\n" +
-                "            body { margin: 0; padding: 0; }\n" +
-                "            .receipt { box-shadow: none; }\n" +
-                "            .print-button { display: none; }\n" +
-                "        }\n" +
-                "        body { font-family: 'Arial', sans-serif; margin: 0; padding: 20px; background: #f5f5f5; }\n" +
-                "        .receipt { max-width: 800px; margin: 0 auto; background: white; padding: 40px; border-radius: 10px; box-shadow: 0 4px 20px rgba(0,0,0,0.1); }\n" +
-                "        .header { text-align: center; border-bottom: 2px solid #667eea; padding-bottom: 20px; margin-bottom: 30px; }\n" +
-                "        .header h1 { color: #667eea; margin: 0 0 10px 0; font-size: 32px; }\n" +
-                "        .company-info { color: #666; line-height: 1.6; }\n" +
-                "        .company-name { font-weight: bold; color: #333; font-size: 18px; }\n" +
-                "        .section { margin-bottom: 30px; }\n" +
-                "        .section-title { color: #667eea; border-bottom: 2px solid #e0e0e0; padding-bottom: 10px; margin-bottom: 20px; font-size: 20px; }\n" +
-                "        table { width: 100%; border-collapse: collapse; margin-bottom: 20px; }\n" +
-                "        th { background: #f8f9fa; padding: 12px 15px; text-align: left; font-weight: bold; border: 1px solid #ddd; color: #555; }\n" +
-                "        td { padding: 12px 15px; border: 1px solid #ddd; color: #333; }\n" +
-                "        .total-row { background: #667eea; color: white; }\n" +
-                "        .total-row th, .total-row td { border-color: #5566bb; font-weight: bold; font-size: 16px; }\n" +
-                "        .footer { text-align: center; margin-top: 50px; padding-top: 30px; border-top: 2px solid #e0e0e0; color: #666; }\n" +
-                "        .print-button { background: linear-gradient(135deg, #667eea 0%, #764ba2 100%); color: white; padding: 12px 30px; border: none; border-radius: 8px; cursor: pointer; margin: 20px 0; font-size: 16px; font-weight: bold; transition: all 0.3s; }\n" +
-                "        .print-button:hover { transform: translateY(-2px); box-shadow: 0 6px 12px rgba(102, 126, 234, 0.3); }\n" +
-                "        .conditions { background: #f8f9fa; padding: 20px; border-radius: 8px; border-left: 4px solid #667eea; }\n" +
-                "        .conditions ul { margin: 10px 0; padding-left: 20px; }\n" +
-                "        .conditions li { margin-bottom: 8px; color: #555; }\n" +
-                "        .highlight { background: #fff8e1; padding: 15px; border-radius: 8px; border: 1px solid #ffd54f; margin: 20px 0; }\n" +
-                "        .highlight-code { font-family: 'Courier New', monospace; font-size: 24px; font-weight: bold; color: #667eea; letter-spacing: 2px; }\n" +
-                "        .generation-date { color: #999; font-size: 12px; text-align: center; margin-top: 20px; }\n" +
-                "        .watermark { position: fixed; top: 50%; left: 50%; transform: translate(-50%, -50%) rotate(-45deg); font-size: 100px; color: rgba(102, 126, 234, 0.1); pointer-events: none; z-index: -1; font-weight: bold; }\n" +
-                "    </style>\n" +
-                "</head>\n" +
-                "<body>\n" +
-                "    <div class='watermark'>EventBooking</div>\n" +
-                "    \n" +
-                "    <div class='receipt'>\n" +
-                "        <div class='header'>\n" +
-                "            <h1>REÇU DE RÉSERVATION</h1>\n" +
-                "            <p class='company-name'>EventBooking</p>\n" +
-                "            <p class='company-info'>\n" +
-                "                123 Avenue Mohammed V, Casablanca<br>\n" +
-                "                Tél: +212 5 22 00 00 00 | Email: contact@eventbooking.ma<br>\n" +
-                "                Site web: www.eventbooking.ma\n" +
-                "            </p>\n" +
-                "        </div>\n" +
-                "        \n" +
-                "        <div class='highlight'>\n" +
-                "            <p style='margin: 0 0 10px 0; color: #555;'><strong>Code de réservation:</strong></p>\n" +
-                "            <p class='highlight-code'>" + reservation.getCodeReservation() + "</p>\n" +
-                "        </div>\n" +
-                "        \n" +
-                "        <div class='section'>\n" +
-                "            <h3 class='section-title'>INFORMATIONS DE LA RÉSERVATION</h3>\n" +
-                "            <table>\n" +
-                "                <tr>\n" +
-                "                    <th style='width: 30%;'>Date de réservation:</th>\n" +
-                "                    <td>" + reservation.getDateReservation().format(dateFormatter) + "</td>\n" +
-                "                </tr>\n" +
-                "                <tr>\n" +
-                "                    <th>Statut:</th>\n" +
-                "                    <td><span style='color: #38a169; font-weight: bold;'>✓ " + reservation.getStatut() + "</span></td>\n" +
-                "                </tr>\n" +
-                "            </table>\n" +
-                "        </div>\n" +
-                "        \n" +
-                "        <div class='section'>\n" +
-                "            <h3 class='section-title'>DÉTAILS DE L'ÉVÉNEMENT</h3>\n" +
-                "            <table>\n" +
-                "                <tr>\n" +
-                "                    <th style='width: 30%;'>Événement:</th>\n" +
-                "                    <td>" + reservation.getEvenement().getTitre() + "</td>\n" +
-                "                </tr>\n" +
-                "                <tr>\n" +
-                "                    <th>Date et heure:</th>\n" +
-                "                    <td>" + reservation.getEvenement().getDateDebut().format(dateFormatter) + "</td>\n" +
-                "                </tr>\n" +
-                "                <tr>\n" +
-                "                    <th>Lieu:</th>\n" +
-                "                    <td>" + lieu + "</td>\n" +
-                "                </tr>\n" +
-                "                <tr>\n" +
-                "                    <th>Catégorie:</th>\n" +
-                "                    <td><span style='background: #e0e7ff; color: #4f46e5; padding: 4px 10px; border-radius: 12px; font-size: 12px;'>" +
-                reservation.getEvenement().getCategorie() + "</span></td>\n" +
-                "                </tr>\n" +
-                "                <tr>\n" +
-                "                    <th>Organisateur:</th>\n" +
-                "                    <td>" + (reservation.getEvenement().getOrganisateur() != null ?
-                reservation.getEvenement().getOrganisateur().getNom() + " " +
-                        reservation.getEvenement().getOrganisateur().getPrenom() : "Non spécifié") + "</td>\n" +
-                "                </tr>\n" +
-                "            </table>\n" +
-                "        </div>\n" +
-                "        \n" +
-                "        <div class='section'>\n" +
-                "            <h3 class='section-title'>DÉTAILS DE PAIEMENT</h3>\n" +
-                "            <table>\n" +
-                "                <tr>\n" +
-                "                    <th style='width: 30%;'>Nombre de places:</th>\n" +
-                "                    <td>" + reservation.getNombrePlaces() + " place" + (reservation.getNombrePlaces() > 1 ? "s" : "") + "</td>\n" +
-                "                </tr>\n" +
-                "                <tr>\n" +
-                "                    <th>Prix unitaire:</th>\n" +
-                "                    <td>" + String.format("%.2f", prixUnitaire) + " MAD</td>\n" +
-                "                </tr>\n" +
-                "                <tr class='total-row'>\n" +
-                "                    <th>TOTAL:</th>\n" +
-                "                    <td style='text-align: right; font-size: 20px;'>" + String.format("%.2f", reservation.getMontantTotal()) + " MAD</td>\n" +
-                "                </tr>\n" +
-                "            </table>\n" +
-                "            <p style='color: #666; font-size: 13px; text-align: right; margin-top: -10px;'>\n" +
-                "                Toutes taxes comprises\n" +
-                "            </p>\n" +
-                "        </div>\n" +
-                "        \n" +
-                "        <div class='section'>\n" +
-                "            <h3 class='section-title'>INFORMATIONS DU CLIENT</h3>\n" +
-                "            <table>\n" +
-                "                <tr>\n" +
-                "                    <th style='width: 30%;'>Nom complet:</th>\n" +
-                "                    <td>" + reservation.getUtilisateur().getPrenom() + " " + reservation.getUtilisateur().getNom() + "</td>\n" +
-                "                </tr>\n" +
-                "                <tr>\n" +
-                "                    <th>Email:</th>\n" +
-                "                    <td>" + reservation.getUtilisateur().getEmail() + "</td>\n" +
-                "                </tr>\n" +
-                "                <tr>\n" +
-                "                    <th>Téléphone:</th>\n" +
-                "                    <td>" + telephone + "</td>\n" +
-                "                </tr>\n" +
-                "                <tr>\n" +
-                "                    <th>ID Client:</th>\n" +
-                "                    <td>" + reservation.getUtilisateur().getId() + "</td>\n" +
-                "                </tr>\n" +
-                "            </table>\n" +
-                "        </div>\n" +
-                "        \n" +
-                "        <div class='section'>\n" +
-                "            <h3 class='section-title'>CONDITIONS ET REMARQUES</h3>\n" +
-                "            <div class='conditions'>\n" +
-                "                <ul>\n" +
-                "                    <li>Ce reçu est valable comme justificatif de paiement.</li>\n" +
-                "                    <li>Présentez ce reçu à l'entrée de l'événement.</li>\n" +
-                "                    <li>Les réservations sont confirmées après paiement.</li>\n" +
-                "                    <li>Les annulations sont acceptées jusqu'à 48h avant l'événement.</li>\n" +
-                "                    <li>En cas d'annulation, veuillez contacter notre service client.</li>\n" +
-                "                    <li>Le non-respect des horaires peut entraîner le refus d'entrée.</li>\n" +
-                "                </ul>\n" +
-                "                " + commentSection + "\n" +
-                "                <p style='margin-top: 15px; color: #666; font-style: italic;'>\n" +
-                "                    <strong>Note:</strong> Conservez ce reçu jusqu'à la fin de l'événement.\n" +
-                "                </p>\n" +
-                "            </div>\n" +
-                "        </div>\n" +
-                "        \n" +
-                "        <div class='footer'>\n" +
-                "            <button class='print-button no-print' onclick='window.print()'>📄 Imprimer le reçu</button>\n" +
-                "            <p style='font-size: 18px; color: #667eea; font-weight: bold; margin: 20px 0;'>\n" +
-                "                Merci pour votre confiance !\n" +
-                "            </p>\n" +
-                "            <p style='color: #666; line-height: 1.6;'>\n" +
-                "                EventBooking - Votre plateforme d'événements préférée<br>\n" +
-                "                Service client disponible du lundi au vendredi, 9h-18h\n" +
-                "            </p>\n" +
-                "            <p class='generation-date'>\n" +
-                "                Document généré le " + java.time.LocalDateTime.now().format(dateFormatter) + "<br>\n" +
-                "                ID du document: REC-" + reservation.getId() + "-" + System.currentTimeMillis() + "\n" +
-                "            </p>\n" +
-                "        </div>\n" +
-                "    </div>\n" +
-                "    \n" +
-                "    <script>\n" +
-                "        // Auto-print option (uncomment if needed)\n" +
-                "        // window.onload = function() {\n" +
-                "        //     window.print();\n" +
-                "        // }\n" +
-                "        \n" +
-                "        // Copy to clipboard function\n" +
-                "        function copyReservationCode() {\n" +
-                "            const code = '" + reservation.getCodeReservation() + "';\n" +
-                "            navigator.clipboard.writeText(code).then(function() {\n" +
-                "                alert('Code copié dans le presse-papier: ' + code);\n" +
-                "            }, function(err) {\n" +
-                "                console.error('Erreur lors de la copie: ', err);\n" +
-                "            });\n" +
-                "        }\n" +
-                "    </script>\n" +
-                "</body>\n" +
-                "</html>";
+    private static final String TEMPLATE = "templates/receipt.html";
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{(\\w+)}}");
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    private static final byte[] COMMENT_OPEN = utf8("<p><strong>Commentaire:</strong> ");
+    private static final byte[] COMMENT_CLOSE = utf8("</p>");
+    private static final byte[] PLACE = utf8(" place");
+    private static final byte[] PLACES = utf8(" places");
+    private static final byte[] NOT_SPECIFIED = utf8("Non spécifié");
+    private static final byte[] NOT_PROVIDED = utf8("Non renseigné");
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    // Au-delà, le tampon du thread n'est pas conservé (reçu anormalement long)
+    private static final int MAX_RETAINED_BUFFER = 256 * 1024;
+
+    // Champs dynamiques reconnus dans le gabarit
+    private enum Field {
+        CODE, CODE_JS, DATE_RESERVATION, STATUT, TITRE, DATE_DEBUT, LIEU, CATEGORIE, ORGANISATEUR,
+        PLACES, PRIX_UNITAIRE, TOTAL, CLIENT, EMAIL, TELEPHONE, CLIENT_ID, COMMENTAIRE,
+        DATE_GENERATION, DOCUMENT_ID;
+
+        // Valeur propre à chaque envoi, jamais mise en cache
+        boolean isVolatile() {
+            return this == DATE_GENERATION || this == DOCUMENT_ID;
+        }
+
+        static Field fromPlaceholder(String name) {
+            // dateReservation -> DATE_RESERVATION
+            return valueOf(name.replaceAll("([a-z])([A-Z])", "$1_$2").toUpperCase());
+        }
+    }
+
+    // Gabarit compilé : fragments[i], champ[i], fragments[i + 1], ...
+    private final byte[][] fragments;
+    private final Field[] fields;
+
+    private final int maxCachedReceipts;
+    private final Map<Long, RenderedReceipt> cache = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<ReceiptBuffer> buffers = ThreadLocal.withInitial(ReceiptBuffer::new);
 
+    public HtmlReceiptService(@Value("${receipt.cache.max-entries:2000}") int maxCachedReceipts) {
+        this.maxCachedReceipts = maxCachedReceipts;
+
+        String template;
+        try (InputStream input = new ClassPathResource(TEMPLATE).getInputStream()) {
+            template = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Gabarit de reçu introuvable : " + TEMPLATE, e);
+        }
+
+        List<byte[]> compiledFragments = new ArrayList<>();
+        List<Field> compiledFields = new ArrayList<>();
+        Matcher matcher = PLACEHOLDER.matcher(template);
+        int start = 0;
+        while (matcher.find()) {
+            compiledFragments.add(utf8(template.substring(start, matcher.start())));
+            compiledFields.add(Field.fromPlaceholder(matcher.group(1)));
+            start = matcher.end();
+        }
+        compiledFragments.add(utf8(template.substring(start)));
+
+        this.fragments = compiledFragments.toArray(new byte[0][]);
+        this.fields = compiledFields.toArray(new Field[0]);
+    }
+
+    public String generateReceiptHtml(Reservation reservation) {
+        RenderedReceipt rendered = render(reservation);
+        ReceiptBuffer buffer = buffers.get();
+        buffer.reset();
+        LocalDateTime generatedAt = LocalDateTime.now();
+        int start = 0;
+        for (int i = 0; i < rendered.holeOffsets.length; i++) {
+            buffer.write(rendered.bytes, start, rendered.holeOffsets[i]);
+            writeVolatileField(buffer, rendered.holeFields[i], reservation, generatedAt);
+            start = rendered.holeOffsets[i];
+        }
+        buffer.write(rendered.bytes, start, rendered.bytes.length);
+        String html = new String(buffer.bytes, 0, buffer.count, StandardCharsets.UTF_8);
+        if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+            buffers.remove();
+        }
         return html;
     }
-}
\ No newline at end of file
+
+    /**
+     * Écrit le reçu encodé en UTF-8 (réponse HTTP, archive de reçus...) sans copie du contenu en cache
+     */
+    public void writeReceipt(Reservation reservation, OutputStream output) throws IOException {
+        RenderedReceipt rendered = render(reservation);
+        ReceiptBuffer buffer = buffers.get();
+        LocalDateTime generatedAt = LocalDateTime.now();
+        int start = 0;
+        for (int i = 0; i < rendered.holeOffsets.length; i++) {
+            output.write(rendered.bytes, start, rendered.holeOffsets[i] - start);
+            buffer.reset();
+            writeVolatileField(buffer, rendered.holeFields[i], reservation, generatedAt);
+            output.write(buffer.bytes, 0, buffer.count);
+            start = rendered.holeOffsets[i];
+        }
+        output.write(rendered.bytes, start, rendered.bytes.length - start);
+    }
+
+    public void evict(Long reservationId) {
+        cache.remove(reservationId);
+    }
+
+    // ==================== RENDU ====================
+
+    private RenderedReceipt render(Reservation reservation) {
+        long version = version(reservation);
+        RenderedReceipt cached = reservation.getId() != null ? cache.get(reservation.getId()) : null;
+        if (cached != null && cached.version == version) {
+            return cached;
+        }
+
+        // Champs propres à chaque envoi : seule leur position est conservée dans le rendu en cache
+        ReceiptBuffer buffer = buffers.get();
+        buffer.reset();
+        List<Integer> holeOffsets = new ArrayList<>(2);
+        List<Field> holeFields = new ArrayList<>(2);
+        for (int i = 0; i < fields.length; i++) {
+            buffer.write(fragments[i]);
+            if (fields[i].isVolatile()) {
+                holeOffsets.add(buffer.count);
+                holeFields.add(fields[i]);
+            } else {
+                writeField(buffer, fields[i], reservation);
+            }
+        }
+        buffer.write(fragments[fields.length]);
+
+        RenderedReceipt rendered = new RenderedReceipt(version, buffer.toByteArray(),
+                holeOffsets.stream().mapToInt(Integer::intValue).toArray(), holeFields.toArray(new Field[0]));
+        if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+            buffers.remove();
+        }
+
+        if (reservation.getId() != null) {
+            if (cache.size() >= maxCachedReceipts && !cache.containsKey(reservation.getId())) {
+                evictOne();
+            }
+            cache.put(reservation.getId(), rendered);
+        }
+        return rendered;
+    }
+
+    private void writeField(ReceiptBuffer buffer, Field field, Reservation reservation) {
+        Event event = reservation.getEvenement();
+        User client = reservation.getUtilisateur();
+
+        switch (field) {
+            case CODE -> buffer.writeHtml(reservation.getCodeReservation());
+            case CODE_JS -> buffer.writeJs(reservation.getCodeReservation());
+            case DATE_RESERVATION -> buffer.writeDate(reservation.getDateReservation());
+            case STATUT -> buffer.writeHtml(String.valueOf(reservation.getStatut()));
+            case TITRE -> buffer.writeHtml(event.getTitre());
+            case DATE_DEBUT -> buffer.writeDate(event.getDateDebut());
+            case LIEU -> {
+                if (event.getLieu() != null) {
+                    buffer.writeHtml(event.getLieu());
+                    buffer.writeAscii(", ");
+                }
+                buffer.writeHtml(event.getVille());
+            }
+            case CATEGORIE -> buffer.writeHtml(String.valueOf(event.getCategorie()));
+            case ORGANISATEUR -> {
+                User organisateur = event.getOrganisateur();
+                if (organisateur != null) {
+                    buffer.writeHtml(organisateur.getNom());
+                    buffer.writeAscii(" ");
+                    buffer.writeHtml(organisateur.getPrenom());
+                } else {
+                    buffer.write(NOT_SPECIFIED);
+                }
+            }
+            case PLACES -> {
+                buffer.writeLong(reservation.getNombrePlaces());
+                buffer.write(reservation.getNombrePlaces() > 1 ? PLACES : PLACE);
+            }
+            case PRIX_UNITAIRE -> buffer.writeAmount(reservation.getMontantTotal() / reservation.getNombrePlaces());
+            case TOTAL -> buffer.writeAmount(reservation.getMontantTotal());
+            case CLIENT -> {
+                buffer.writeHtml(client.getPrenom());
+                buffer.writeAscii(" ");
+                buffer.writeHtml(client.getNom());
+            }
+            case EMAIL -> buffer.writeHtml(client.getEmail());
+            case TELEPHONE -> {
+                if (client.getTelephone() != null) {
+                    buffer.writeHtml(client.getTelephone());
+                } else {
+                    buffer.write(NOT_PROVIDED);
+                }
+            }
+            case CLIENT_ID -> buffer.writeHtml(String.valueOf(client.getId()));
+            case COMMENTAIRE -> {
+                if (reservation.getCommentaire() != null && !reservation.getCommentaire().isEmpty()) {
+                    buffer.write(COMMENT_OPEN);
+                    buffer.writeHtml(reservation.getCommentaire());
+                    buffer.write(COMMENT_CLOSE);
+                }
+            }
+            default -> {
+                // DATE_GENERATION, DOCUMENT_ID : écrits à l'envoi (writeVolatileField)
+            }
+        }
+    }
+
+    private void writeVolatileField(ReceiptBuffer buffer, Field field, Reservation reservation, LocalDateTime generatedAt) {
+        if (field == Field.DATE_GENERATION) {
+            buffer.writeDate(generatedAt);
+        } else if (field == Field.DOCUMENT_ID) {
+            buffer.writeAscii("REC-");
+            buffer.writeHtml(String.valueOf(reservation.getId()));
+            buffer.writeAscii("-");
+            buffer.writeLong(System.currentTimeMillis());
+        }
+    }
+
+    // Empreinte de tout ce qui apparaît dans le reçu : un changement de statut, de montant,
+    // d'événement ou de coordonnées du client produit une nouvelle version
+    private long version(Reservation reservation) {
+        Event event = reservation.getEvenement();
+        User client = reservation.getUtilisateur();
+        User organisateur = event.getOrganisateur();
+
+        long h = 1;
+        h = mix(h, Objects.hashCode(reservation.getCodeReservation()));
+        h = mix(h, Objects.hashCode(reservation.getDateReservation()));
+        h = mix(h, Objects.hashCode(reservation.getStatut()));
+        h = mix(h, Objects.hashCode(reservation.getNombrePlaces()));
+        h = mix(h, Objects.hashCode(reservation.getMontantTotal()));
+        h = mix(h, Objects.hashCode(reservation.getCommentaire()));
+        h = mix(h, Objects.hashCode(event.getId()));
+        h = mix(h, Objects.hashCode(event.getTitre()));
+        h = mix(h, Objects.hashCode(event.getDateDebut()));
+        h = mix(h, Objects.hashCode(event.getLieu()));
+        h = mix(h, Objects.hashCode(event.getVille()));
+        h = mix(h, Objects.hashCode(event.getCategorie()));
+        h = mix(h, organisateur != null ? Objects.hash(organisateur.getNom(), organisateur.getPrenom()) : 0);
+        h = mix(h, Objects.hashCode(client.getId()));
+        h = mix(h, Objects.hashCode(client.getPrenom()));
+        h = mix(h, Objects.hashCode(client.getNom()));
+        h = mix(h, Objects.hashCode(client.getEmail()));
+        h = mix(h, Objects.hashCode(client.getTelephone()));
+        return h;
+    }
+
+    private static long mix(long h, int value) {
+        h ^= value;
+        h *= 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+
+    // Éviction approximative : le cache sert surtout les reçus consultés à la suite
+    private void evictOne() {
+        Iterator<Long> keys = cache.keySet().iterator();
+        if (keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static byte[] utf8(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // ==================== CLASSES INTERNES ====================
+
+    // Reçu rendu sans ses champs volatils : holeOffsets[i] est la position où écrire holeFields[i]
+    private static final class RenderedReceipt {
+        private final long version;
+        private final byte[] bytes;
+        private final int[] holeOffsets;
+        private final Field[] holeFields;
+
+        RenderedReceipt(long version, byte[] bytes, int[] holeOffsets, Field[] holeFields) {
+            this.version = version;
+            this.bytes = bytes;
+            this.holeOffsets = holeOffsets;
+            this.holeFields = holeFields;
+        }
+    }
+
+    // Tampon d'octets extensible ; les caractères sont encodés en UTF-8 à la volée
+    private static final class ReceiptBuffer {
+        private byte[] bytes = new byte[16 * 1024];
+        private int count;
+        private final StringBuilder dateBuilder = new StringBuilder(16);
+
+        void reset() {
+            count = 0;
+        }
+
+        int capacity() {
+            return bytes.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, count);
+        }
+
+        void write(byte[] chunk) {
+            write(chunk, 0, chunk.length);
+        }
+
+        // Octets chunk[from, to)
+        void write(byte[] chunk, int from, int to) {
+            int length = to - from;
+            ensureCapacity(length);
+            System.arraycopy(chunk, from, bytes, count, length);
+            count += length;
+        }
+
+        void writeAscii(String text) {
+            ensureCapacity(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                bytes[count++] = (byte) text.charAt(i);
+            }
+        }
+
+        void writeHtml(String text) {
+            if (text == null) {
+                return;
+            }
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '&' -> writeAscii("&amp;");
+                    case '<' -> writeAscii("&lt;");
+                    case '>' -> writeAscii("&gt;");
+                    case '"' -> writeAscii("&quot;");
+                    case '\'' -> writeAscii("&#39;");
+                    default -> i = writeChar(text, i);
+                }
+            }
+        }
+
+        // Chaîne JavaScript entre apostrophes dans un bloc <script>
+        void writeJs(String text) {
+            if (text == null) {
+                return;
+            }
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c < 0x20 || c == '\'' || c == '"' || c == '\\' || c == '<' || c == '>' || c == '&'
+                        || c == '\u2028' || c == '\u2029') {
+                    writeAscii("\\u");
+                    ensureCapacity(4);
+                    for (int shift = 12; shift >= 0; shift -= 4) {
+                        bytes[count++] = (byte) HEX[(c >> shift) & 0xF];
+                    }
+                } else {
+                    i = writeChar(text, i);
+                }
+            }
+        }
+
+        void writeDate(TemporalAccessor date) {
+            if (date == null) {
+                return;
+            }
+            dateBuilder.setLength(0);
+            DATE_FORMATTER.formatTo(date, dateBuilder);
+            for (int i = 0; i < dateBuilder.length(); i++) {
+                i = writeChar(dateBuilder, i);
+            }
+        }
+
+        void writeLong(long value) {
+            if (value < 0) {
+                writeAscii("-");
+                value = -value;
+            }
+            ensureCapacity(20);
+            int digits = 1;
+            for (long v = value / 10; v > 0; v /= 10) {
+                digits++;
+            }
+            for (int i = count + digits - 1; i >= count; i--) {
+                bytes[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            count += digits;
+        }
+
+        // Montant à deux décimales, arrondi comme %.2f
+        void writeAmount(double amount) {
+            if (Double.isNaN(amount) || Double.isInfinite(amount)) {
+                writeAscii(Double.toString(amount));
+                return;
+            }
+            long cents = Math.round(Math.abs(amount) * 100);
+            if (amount < 0 && cents != 0) {
+                writeAscii("-");
+            }
+            writeLong(cents / 100);
+            writeAscii(".");
+            long remainder = cents % 100;
+            ensureCapacity(2);
+            bytes[count++] = (byte) ('0' + remainder / 10);
+            bytes[count++] = (byte) ('0' + remainder % 10);
+        }
+
+        // Encode le caractère (ou la paire de substitution) en position i ; retourne le dernier index lu
+        private int writeChar(CharSequence text, int i) {
+            char c = text.charAt(i);
+            ensureCapacity(4);
+            if (c < 0x80) {
+                bytes[count++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[count++] = (byte) (0xC0 | (c >> 6));
+                bytes[count++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(i + 1));
+                bytes[count++] = (byte) (0xF0 | (codePoint >> 18));
+                bytes[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                bytes[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                bytes[count++] = (byte) (0x80 | (codePoint & 0x3F));
+                return i + 1;
+            } else if (Character.isSurrogate(c)) {
+                bytes[count++] = '?';
+            } else {
+                bytes[count++] = (byte) (0xE0 | (c >> 12));
+                bytes[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[count++] = (byte) (0x80 | (c & 0x3F));
+            }
+            return i;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (count + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, count + extra));
+            }
+        }
+    }
+}
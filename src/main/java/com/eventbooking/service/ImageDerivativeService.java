@@ -0,0 +1,295 @@
+package com.eventbooking.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Déclinaisons redimensionnées des images uploadées (miniature, carte, détail).
+ * Générées en arrière-plan et mises en cache sur disque sous uploads/derivatives,
+ * nommées d'après l'empreinte SHA-256 du contenu original. Tant qu'une déclinaison
+ * n'est pas prête, l'original est servi. Les images trop grandes en pixels
+ * ne sont pas décodées (l'original reste servi).
+ * Une image sans déclinaison possible (WebP, trop grande) est marquée par un fichier
+ * <empreinte>.unsupported : elle n'est plus replanifiée à chaque requête.
+ * Les déclinaisons sont en JPEG (PNG si transparence) : le JDK n'a pas d'encodeur WebP
+ * et aucune dépendance d'encodage natif n'est embarquée.
+ */
+@Service
+public class ImageDerivativeService {
+
+    // Largeur maximale de chaque déclinaison (2x la taille affichée pour les écrans haute densité)
+    public enum Size {
+        THUMBNAIL(160),
+        CARD(640),
+        DETAIL(1280);
+
+        private final int maxWidth;
+
+        Size(int maxWidth) {
+            this.maxWidth = maxWidth;
+        }
+
+        public int getMaxWidth() { return maxWidth; }
+
+        // Paramètre de requête compris par FileController
+        public String query() {
+            return "?size=" + name().toLowerCase();
+        }
+
+        public static Optional<Size> fromParameter(String value) {
+            for (Size size : values()) {
+                if (size.name().equalsIgnoreCase(value)) {
+                    return Optional.of(size);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    private static final float JPEG_QUALITY = 0.82f;
+
+    private static final String LOG_PREFIX = "[image-derivatives] ";
+
+    @Value("${file.upload-dir:uploads}")
+    private String uploadDir;
+
+    // Nombre de pixels au-delà duquel l'image n'est pas décodée (4 octets par pixel en mémoire)
+    @Value("${file.image.max-pixels:40000000}")
+    private long maxPixels;
+
+    // Empreintes en cours de traitement (une seule génération par contenu)
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService executor;
+
+    public ImageDerivativeService(@Value("${file.image.derivative-threads:2}") int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "image-derivatives-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Planifie la génération des déclinaisons d'une image qui vient d'être enregistrée
+     */
+    public void generateAsync(String fileName, String contentHash) {
+        schedule(fileName, contentHash);
+    }
+
+    /**
+     * Déclinaison prête à servir ; sinon la génération est planifiée et l'original doit être servi
+     */
+    public Optional<Path> findDerivative(String fileName, Size size) {
+        String contentHash = contentHashOf(fileName);
+        if (contentHash == null) {
+            // Ancien nom sans empreinte : pas de déclinaison, l'original est servi
+            return Optional.empty();
+        }
+
+        for (String extension : new String[]{".jpg", ".png"}) {
+            Path derivative = derivativePath(contentHash, size, extension);
+            if (Files.exists(derivative)) {
+                return Optional.of(derivative);
+            }
+        }
+        schedule(fileName, contentHash);
+        return Optional.empty();
+    }
+
+    /**
+     * Oublie l'image supprimée et efface ses déclinaisons (régénérées si un autre fichier a le même contenu)
+     */
+    public void evict(String fileName) {
+        String contentHash = contentHashOf(fileName);
+        if (contentHash == null) {
+            return;
+        }
+        for (Size size : Size.values()) {
+            for (String extension : new String[]{".jpg", ".png"}) {
+                try {
+                    Files.deleteIfExists(derivativePath(contentHash, size, extension));
+                } catch (IOException ignored) {
+                    // Cache : un fichier orphelin sera écrasé à la prochaine génération
+                }
+            }
+        }
+        try {
+            Files.deleteIfExists(unsupportedMarker(contentHash));
+        } catch (IOException ignored) {
+            // Marqueur orphelin : sans effet tant qu'aucun fichier n'a ce contenu
+        }
+    }
+
+    // ==================== GÉNÉRATION ====================
+
+    private void schedule(String fileName, String contentHash) {
+        if (Files.exists(unsupportedMarker(contentHash)) || !pending.add(contentHash)) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                Path original = Paths.get(uploadDir).resolve(fileName);
+                if (!Files.exists(original)) {
+                    return;
+                }
+                generate(original, contentHash);
+            } catch (IllegalArgumentException e) {
+                // Image non déclinable (format, dimensions) : une seule trace, le marqueur empêche toute nouvelle tentative
+                markUnsupported(contentHash);
+                System.err.println(LOG_PREFIX + "pas de déclinaison pour " + fileName + " : " + e.getMessage());
+            } catch (Exception e) {
+                System.err.println(LOG_PREFIX + "déclinaisons non générées pour " + fileName + " : " + e.getMessage());
+            } finally {
+                pending.remove(contentHash);
+            }
+        });
+    }
+
+    private void generate(Path original, String contentHash) throws IOException {
+        BufferedImage source = decode(original);
+
+        boolean alpha = source.getColorModel().hasAlpha();
+        String extension = alpha ? ".png" : ".jpg";
+        Files.createDirectories(derivativesDirectory());
+
+        for (Size size : Size.values()) {
+            Path target = derivativePath(contentHash, size, extension);
+            if (Files.exists(target)) {
+                continue;
+            }
+            BufferedImage resized = resize(source, size.getMaxWidth(), alpha);
+            Path temp = Files.createTempFile(derivativesDirectory(), "derivative_", ".tmp");
+            try {
+                if (alpha) {
+                    ImageIO.write(resized, "png", temp.toFile());
+                } else {
+                    writeJpeg(resized, temp);
+                }
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    // Réduction par paliers de moitié : qualité proche du bicubique pour un coût bilinéaire
+    private BufferedImage resize(BufferedImage source, int maxWidth, boolean alpha) {
+        int targetWidth = Math.min(maxWidth, source.getWidth());
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * (targetWidth / (double) source.getWidth())));
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+
+            BufferedImage step = new BufferedImage(width, height, type);
+            Graphics2D g = step.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(current, 0, 0, width, height, null);
+            g.dispose();
+            current = step;
+        } while (width != targetWidth || height != targetHeight);
+
+        return current;
+    }
+
+    // Dimensions lues dans l'en-tête avant d'allouer l'image : une bombe de décompression est refusée
+    private BufferedImage decode(Path original) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                // Format sans décodeur dans le JDK (WebP) : l'original reste servi
+                throw new IllegalArgumentException("format sans décodeur");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    throw new IllegalArgumentException("image trop grande (" + reader.getWidth(0) + "x"
+                            + reader.getHeight(0) + " pixels)");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    private Path derivativesDirectory() {
+        return Paths.get(uploadDir).resolve("derivatives");
+    }
+
+    private Path derivativePath(String contentHash, Size size, String extension) {
+        return derivativesDirectory().resolve(contentHash + "_" + size.name().toLowerCase() + extension);
+    }
+
+    private Path unsupportedMarker(String contentHash) {
+        return derivativesDirectory().resolve(contentHash + ".unsupported");
+    }
+
+    private void markUnsupported(String contentHash) {
+        try {
+            Files.createDirectories(derivativesDirectory());
+            Files.write(unsupportedMarker(contentHash), new byte[0]);
+        } catch (IOException e) {
+            System.err.println(LOG_PREFIX + "marqueur non écrit pour " + contentHash + " : " + e.getMessage());
+        }
+    }
+
+    // Empreinte portée par le nom du fichier du store (ab/cd/<sha256>.ext) ; null pour un ancien nom
+    private static String contentHashOf(String fileName) {
+        return FileStorageService.contentHashOf(Paths.get(fileName).getFileName().toString());
+    }
+}
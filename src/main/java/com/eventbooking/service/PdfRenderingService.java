@@ -0,0 +1,509 @@
+package com.eventbooking.service;
+
+import com.eventbooking.entity.Event;
+import com.eventbooking.entity.Reservation;
+import com.eventbooking.entity.User;
+import com.eventbooking.entity.enums.ReservationStatus;
+import com.eventbooking.service.dto.ReservationExportRow;
+import com.lowagie.text.Document;
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.Element;
+import com.lowagie.text.Font;
+import com.lowagie.text.PageSize;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.Rectangle;
+import com.lowagie.text.pdf.ArabicLigaturizer;
+import com.lowagie.text.pdf.BaseFont;
+import com.lowagie.text.pdf.ColumnText;
+import com.lowagie.text.pdf.PdfContentByte;
+import com.lowagie.text.pdf.PdfTemplate;
+import com.lowagie.text.pdf.PdfWriter;
+import org.springframework.stereotype.Service;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.Map;
+
+/**
+ * Documents PDF : reçu de réservation (A4 portrait) et rapport des réservations
+ * (A4 paysage). Chaque page est envoyée sur le flux dès qu'elle est terminée ; la mise en
+ * page du tableau (colonnes, en-tête, pied de page) est calculée une seule fois.
+ * Polices DejaVu Sans embarquées (sous-ensemble des glyphes utilisés) : tout texte Unicode,
+ * y compris l'arabe, mis en forme et remis dans l'ordre d'affichage.
+ */
+@Service
+public class PdfRenderingService {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    // Chargées une fois, partagées par tous les documents
+    private static final BaseFont REGULAR = loadFont("fonts/DejaVuSans.ttf");
+    private static final BaseFont BOLD = loadFont("fonts/DejaVuSans-Bold.ttf");
+
+    private static final int PRIMARY = 0x667EEA;
+    private static final int REPORT_PRIMARY = 0x2E7D32;
+    private static final int TEXT = 0x333333;
+    private static final int MUTED = 0x666666;
+    private static final int BORDER = 0xDDDDDD;
+    private static final int STRIPE = 0xF2F2F2;
+    private static final int HIGHLIGHT = 0xFFF8E1;
+
+    private static final float MARGIN = 36;
+    private static final String ELLIPSIS = "…";
+
+    private static final Rectangle RECEIPT_PAGE = PageSize.A4;
+    private static final float A4_WIDTH = RECEIPT_PAGE.getWidth();
+    private static final float A4_HEIGHT = RECEIPT_PAGE.getHeight();
+
+    // ==================== MISE EN PAGE DU RAPPORT ====================
+
+    private static final Rectangle REPORT_PAGE = PageSize.A4.rotate();
+    private static final float REPORT_HEIGHT = REPORT_PAGE.getHeight();
+    private static final float ROW_HEIGHT = 16;
+    private static final float CELL_PADDING = 4;
+    private static final float FONT_SIZE = 8;
+    private static final float TABLE_TOP = REPORT_HEIGHT - MARGIN;
+    private static final float FIRST_TABLE_TOP = TABLE_TOP - 50;
+    private static final float TABLE_BOTTOM = MARGIN + 20;
+
+    private static final String[] HEADERS = {
+            "ID", "Code", "Client", "Email", "Événement", "Places", "Montant", "Date", "Statut"};
+    private static final float[] WIDTHS = {35, 105, 105, 140, 145, 40, 70, 72, 57};
+    private static final float[] COLUMN_X = new float[WIDTHS.length];
+    private static final float TABLE_WIDTH;
+
+    static {
+        float x = MARGIN;
+        for (int i = 0; i < WIDTHS.length; i++) {
+            COLUMN_X[i] = x;
+            x += WIDTHS[i];
+        }
+        TABLE_WIDTH = x - MARGIN;
+    }
+
+    private static final String FOOTER = "Event Booking System - Rapport généré automatiquement";
+
+    private static final String[] CONDITIONS = {
+            "• Ce reçu est valable comme justificatif de paiement.",
+            "• Présentez ce reçu à l'entrée de l'événement.",
+            "• Les annulations sont acceptées jusqu'à 48h avant l'événement."};
+
+    // ==================== REÇU ====================
+
+    /**
+     * Reçu d'une réservation sur une page A4
+     */
+    public void writeReceipt(Reservation reservation, OutputStream output) throws IOException {
+        Document document = new Document(RECEIPT_PAGE, 0, 0, 0, 0);
+        PdfContentByte page = open(document, output).getDirectContent();
+        StringBuilder text = new StringBuilder(64);
+        Event event = reservation.getEvenement();
+        User client = reservation.getUtilisateur();
+
+        float width = A4_WIDTH;
+        float center = width / 2;
+        float y = A4_HEIGHT - 60;
+
+        fill(page, PRIMARY);
+        text(page, BOLD, 22, Element.ALIGN_CENTER, center, y, "REÇU DE RÉSERVATION");
+        y -= 22;
+        fill(page, TEXT);
+        text(page, BOLD, 12, Element.ALIGN_CENTER, center, y, "EventBooking");
+        y -= 15;
+        fill(page, MUTED);
+        text(page, REGULAR, 9, Element.ALIGN_CENTER, center, y, "123 Avenue Mohammed V, Casablanca");
+        text(page, REGULAR, 9, Element.ALIGN_CENTER, center, y - 12,
+                "Tél: +212 5 22 00 00 00 | Email: contact@eventbooking.ma");
+        y -= 24;
+        line(page, PRIMARY, MARGIN, y, width - MARGIN, y, 1.5f);
+
+        y -= 50;
+        fillRect(page, HIGHLIGHT, MARGIN, y, width - 2 * MARGIN, 38);
+        fill(page, MUTED);
+        text(page, BOLD, 9, Element.ALIGN_LEFT, MARGIN + 10, y + 25, "Code de réservation :");
+        fill(page, PRIMARY);
+        text(page, BOLD, 16, Element.ALIGN_LEFT, MARGIN + 10, y + 8, reservation.getCodeReservation());
+
+        y = section(page, y - 30, "INFORMATIONS DE LA RÉSERVATION");
+        y = row(page, y, "Date de réservation", date(text, reservation.getDateReservation()));
+        y = row(page, y, "Statut", statusLabel(reservation.getStatut()));
+
+        y = section(page, y - 14, "DÉTAILS DE L'ÉVÉNEMENT");
+        y = row(page, y, "Événement", event.getTitre());
+        y = row(page, y, "Date et heure", date(text, event.getDateDebut()));
+        text.setLength(0);
+        if (event.getLieu() != null) {
+            text.append(event.getLieu()).append(", ");
+        }
+        y = row(page, y, "Lieu", text.append(event.getVille()));
+        y = row(page, y, "Catégorie", String.valueOf(event.getCategorie()));
+        User organisateur = event.getOrganisateur();
+        text.setLength(0);
+        if (organisateur != null) {
+            text.append(organisateur.getNom()).append(' ').append(organisateur.getPrenom());
+        } else {
+            text.append("Non spécifié");
+        }
+        y = row(page, y, "Organisateur", text);
+
+        y = section(page, y - 14, "DÉTAILS DE PAIEMENT");
+        text.setLength(0);
+        text.append(reservation.getNombrePlaces()).append(reservation.getNombrePlaces() > 1 ? " places" : " place");
+        y = row(page, y, "Nombre de places", text);
+        y = row(page, y, "Prix unitaire",
+                amount(text, reservation.getMontantTotal() / reservation.getNombrePlaces()));
+        fillRect(page, PRIMARY, MARGIN, y - 6, width - 2 * MARGIN, 20);
+        fill(page, 0xFFFFFF);
+        text(page, BOLD, 11, Element.ALIGN_LEFT, MARGIN + 8, y, "TOTAL");
+        text(page, BOLD, 11, Element.ALIGN_RIGHT, width - MARGIN - 8, y, amount(text, reservation.getMontantTotal()));
+        y -= 24;
+
+        y = section(page, y - 14, "INFORMATIONS DU CLIENT");
+        text.setLength(0);
+        y = row(page, y, "Nom complet", text.append(client.getPrenom()).append(' ').append(client.getNom()));
+        y = row(page, y, "Email", client.getEmail());
+        y = row(page, y, "Téléphone", client.getTelephone() != null ? client.getTelephone() : "Non renseigné");
+        if (reservation.getCommentaire() != null && !reservation.getCommentaire().isEmpty()) {
+            y = row(page, y, "Commentaire", reservation.getCommentaire());
+        }
+
+        y = section(page, y - 14, "CONDITIONS");
+        fill(page, MUTED);
+        for (String condition : CONDITIONS) {
+            text(page, REGULAR, 9, Element.ALIGN_LEFT, MARGIN + 8, y, condition);
+            y -= 13;
+        }
+
+        line(page, BORDER, MARGIN, MARGIN + 40, width - MARGIN, MARGIN + 40, 1);
+        fill(page, PRIMARY);
+        text(page, BOLD, 11, Element.ALIGN_CENTER, center, MARGIN + 22, "Merci pour votre confiance !");
+        text.setLength(0);
+        text.append("Document généré le ");
+        DATE_FORMATTER.formatTo(LocalDateTime.now(), text);
+        fill(page, 0x999999);
+        text(page, REGULAR, 8, Element.ALIGN_CENTER, center, MARGIN + 8, text);
+
+        document.close();
+    }
+
+    // ==================== RAPPORT ====================
+
+    /**
+     * Rapport tabulaire des réservations ; les lignes sont lues une seule fois,
+     * chaque page pleine est envoyée avant de lire les suivantes
+     */
+    public void writeReservationReport(Iterable<ReservationExportRow> reservations, OutputStream output) throws IOException {
+        Document document = new Document(REPORT_PAGE, 0, 0, 0, 0);
+        PdfWriter writer = open(document, output);
+        PdfContentByte page = writer.getDirectContent();
+        StringBuilder text = new StringBuilder(64);
+
+        // En-tête de tableau et pied de page écrits une fois dans le document, référencés sur chaque page
+        PdfTemplate tableHeader = tableHeader(page);
+        PdfTemplate footer = footer(page);
+
+        fill(page, REPORT_PRIMARY);
+        text(page, BOLD, 16, Element.ALIGN_LEFT, MARGIN, REPORT_HEIGHT - MARGIN - 10, "Rapport des Réservations");
+        text.append("Date d'export : ");
+        DATE_FORMATTER.formatTo(LocalDateTime.now(), text);
+        fill(page, MUTED);
+        text(page, REGULAR, 9, Element.ALIGN_LEFT, MARGIN, REPORT_HEIGHT - MARGIN - 28, text);
+
+        float y = startTable(page, tableHeader, FIRST_TABLE_TOP);
+        long count = 0;
+        long places = 0;
+        double revenue = 0;
+
+        for (ReservationExportRow reservation : reservations) {
+            if (y < TABLE_BOTTOM) {
+                endReportPage(document, writer, footer, text);
+                y = startTable(page, tableHeader, TABLE_TOP);
+            }
+            if (count % 2 == 1) {
+                fillRect(page, STRIPE, MARGIN, y - 5, TABLE_WIDTH, ROW_HEIGHT);
+            }
+            fill(page, TEXT);
+            writeRow(page, y, reservation, text);
+
+            count++;
+            places += reservation.getNombrePlaces();
+            if (reservation.getStatut() == ReservationStatus.CONFIRMEE) {
+                revenue += reservation.getMontantTotal();
+            }
+            y -= ROW_HEIGHT;
+        }
+
+        if (y < TABLE_BOTTOM + 3 * ROW_HEIGHT) {
+            endReportPage(document, writer, footer, text);
+            y = TABLE_TOP - 20;
+        }
+        line(page, REPORT_PRIMARY, MARGIN, y + 11, MARGIN + TABLE_WIDTH, y + 11, 1);
+        text.setLength(0);
+        text.append("Total : ").append(count).append(" réservation(s), ").append(places).append(" place(s)");
+        fill(page, TEXT);
+        text(page, BOLD, 9, Element.ALIGN_LEFT, MARGIN, y - 4, text);
+        text.setLength(0);
+        text.append("Revenus confirmés : ");
+        appendAmount(text, revenue);
+        text(page, BOLD, 9, Element.ALIGN_RIGHT, MARGIN + TABLE_WIDTH, y - 4, text);
+
+        writeFooter(writer, footer, text);
+        document.close();
+    }
+
+    /**
+     * Rapport de statistiques : sections de couples libellé / valeur, sur autant de pages A4 que nécessaire
+     */
+    public void writeStatisticsReport(String title, String subtitle, Map<String, Map<String, String>> sections,
+                                      OutputStream output) throws IOException {
+        Document document = new Document(RECEIPT_PAGE, 0, 0, 0, 0);
+        PdfContentByte page = open(document, output).getDirectContent();
+        StringBuilder text = new StringBuilder(64);
+
+        fill(page, PRIMARY);
+        text(page, BOLD, 18, Element.ALIGN_LEFT, MARGIN, A4_HEIGHT - 60, title);
+        text.append(subtitle).append(" - généré le ");
+        DATE_FORMATTER.formatTo(LocalDateTime.now(), text);
+        fill(page, MUTED);
+        text(page, REGULAR, 9, Element.ALIGN_LEFT, MARGIN, A4_HEIGHT - 76, text);
+        float y = A4_HEIGHT - 110;
+
+        for (Map.Entry<String, Map<String, String>> section : sections.entrySet()) {
+            // Une section ne commence pas en bas de page
+            if (y < MARGIN + 90) {
+                document.newPage();
+                y = A4_HEIGHT - 60;
+            }
+            y = section(page, y, section.getKey());
+            for (Map.Entry<String, String> line : section.getValue().entrySet()) {
+                if (y < MARGIN + 20) {
+                    document.newPage();
+                    y = A4_HEIGHT - 60;
+                }
+                y = row(page, y, line.getKey(), line.getValue());
+            }
+            y -= 14;
+        }
+
+        document.close();
+    }
+
+    private void writeRow(PdfContentByte page, float y, ReservationExportRow reservation, StringBuilder text) {
+        text.setLength(0);
+        cell(page, 0, y, text.append(reservation.getId()));
+        cell(page, 1, y, reservation.getCodeReservation());
+        text.setLength(0);
+        cell(page, 2, y, text.append(reservation.getPrenom()).append(' ').append(reservation.getNom()));
+        cell(page, 3, y, reservation.getEmail());
+        cell(page, 4, y, reservation.getTitreEvenement());
+        text.setLength(0);
+        text(page, REGULAR, FONT_SIZE, Element.ALIGN_RIGHT, COLUMN_X[5] + WIDTHS[5] - CELL_PADDING, y,
+                text.append(reservation.getNombrePlaces()));
+        text(page, REGULAR, FONT_SIZE, Element.ALIGN_RIGHT, COLUMN_X[6] + WIDTHS[6] - CELL_PADDING, y,
+                amount(text, reservation.getMontantTotal()));
+        cell(page, 7, y, date(text, reservation.getDateReservation()));
+        cell(page, 8, y, statusLabel(reservation.getStatut()));
+        text.setLength(0);
+    }
+
+    // En-tête de tableau placé en haut de la zone de contenu ; retourne la ligne de base de la première ligne
+    private float startTable(PdfContentByte page, PdfTemplate tableHeader, float top) {
+        page.addTemplate(tableHeader, 0, top - ROW_HEIGHT);
+        return top - ROW_HEIGHT - 11;
+    }
+
+    private void endReportPage(Document document, PdfWriter writer, PdfTemplate footer, StringBuilder text) {
+        writeFooter(writer, footer, text);
+        // La page terminée part vers le client
+        document.newPage();
+    }
+
+    private void writeFooter(PdfWriter writer, PdfTemplate footer, StringBuilder text) {
+        PdfContentByte page = writer.getDirectContent();
+        page.addTemplate(footer, 0, 0);
+        text.setLength(0);
+        text.append("Page ").append(writer.getPageNumber());
+        fill(page, 0x999999);
+        text(page, REGULAR, 8, Element.ALIGN_RIGHT, MARGIN + TABLE_WIDTH, MARGIN, text);
+    }
+
+    private static PdfTemplate tableHeader(PdfContentByte page) {
+        PdfTemplate header = page.createTemplate(MARGIN + TABLE_WIDTH, ROW_HEIGHT);
+        fillRect(header, REPORT_PRIMARY, MARGIN, 0, TABLE_WIDTH, ROW_HEIGHT);
+        fill(header, 0xFFFFFF);
+        for (int i = 0; i < HEADERS.length; i++) {
+            fitText(header, BOLD, FONT_SIZE, COLUMN_X[i] + CELL_PADDING, 5,
+                    WIDTHS[i] - 2 * CELL_PADDING, HEADERS[i]);
+        }
+        return header;
+    }
+
+    private static PdfTemplate footer(PdfContentByte page) {
+        PdfTemplate footer = page.createTemplate(REPORT_PAGE.getWidth(), MARGIN + 10);
+        fill(footer, 0x999999);
+        text(footer, REGULAR, 8, Element.ALIGN_LEFT, MARGIN, MARGIN, FOOTER);
+        return footer;
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    private float section(PdfContentByte page, float y, String title) {
+        fill(page, PRIMARY);
+        text(page, BOLD, 12, Element.ALIGN_LEFT, MARGIN, y, title);
+        line(page, BORDER, MARGIN, y - 5, A4_WIDTH - MARGIN, y - 5, 1);
+        return y - 22;
+    }
+
+    private float row(PdfContentByte page, float y, String label, CharSequence value) {
+        fill(page, MUTED);
+        text(page, BOLD, 10, Element.ALIGN_LEFT, MARGIN + 8, y, label);
+        fill(page, TEXT);
+        fitText(page, REGULAR, 10, MARGIN + 170, y, A4_WIDTH - 2 * MARGIN - 178, value != null ? value : "");
+        return y - 17;
+    }
+
+    private static void cell(PdfContentByte page, int column, float y, CharSequence value) {
+        fitText(page, REGULAR, FONT_SIZE, COLUMN_X[column] + CELL_PADDING, y,
+                WIDTHS[column] - 2 * CELL_PADDING, value != null ? value : "");
+    }
+
+    private static PdfWriter open(Document document, OutputStream output) throws IOException {
+        try {
+            PdfWriter writer = PdfWriter.getInstance(document, output);
+            // Le flux appartient à l'appelant (réponse HTTP, fichier d'export)
+            writer.setCloseStream(false);
+            document.open();
+            return writer;
+        } catch (DocumentException e) {
+            throw new IOException("Création du PDF impossible", e);
+        }
+    }
+
+    // Texte sur une ligne ; un texte de droite à gauche (arabe...) passe par l'algorithme bidi,
+    // qui met les lettres en forme et les remet dans l'ordre d'affichage
+    private static void text(PdfContentByte page, BaseFont font, float size, int align, float x, float y,
+                             CharSequence value) {
+        String text = value.toString();
+        if (hasRightToLeft(text)) {
+            ColumnText.showTextAligned(page, align, new Phrase(text, new Font(font, size)), x, y, 0,
+                    PdfWriter.RUN_DIRECTION_LTR, ArabicLigaturizer.ar_novowel);
+            return;
+        }
+        page.beginText();
+        page.setFontAndSize(font, size);
+        page.showTextAligned(align, text, x, y, 0);
+        page.endText();
+    }
+
+    // Texte tronqué avec "…" pour tenir dans la largeur
+    private static void fitText(PdfContentByte page, BaseFont font, float size, float x, float y, float maxWidth,
+                                CharSequence value) {
+        String text = value.toString();
+        if (font.getWidthPoint(text, size) > maxWidth) {
+            float available = maxWidth - font.getWidthPoint(ELLIPSIS, size);
+            int end = 0;
+            float used = 0;
+            while (end < text.length()) {
+                float next = used + font.getWidthPoint(text.charAt(end), size);
+                if (next > available) {
+                    break;
+                }
+                used = next;
+                end++;
+            }
+            if (end > 0 && Character.isHighSurrogate(text.charAt(end - 1))) {
+                end--;
+            }
+            text = text.substring(0, end) + ELLIPSIS;
+        }
+        text(page, font, size, Element.ALIGN_LEFT, x, y, text);
+    }
+
+    private static boolean hasRightToLeft(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            byte direction = Character.getDirectionality(text.charAt(i));
+            if (direction == Character.DIRECTIONALITY_RIGHT_TO_LEFT
+                    || direction == Character.DIRECTIONALITY_RIGHT_TO_LEFT_ARABIC) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void fill(PdfContentByte page, int rgb) {
+        page.setColorFill(new Color(rgb));
+    }
+
+    private static void fillRect(PdfContentByte page, int rgb, float x, float y, float width, float height) {
+        fill(page, rgb);
+        page.rectangle(x, y, width, height);
+        page.fill();
+    }
+
+    private static void line(PdfContentByte page, int rgb, float x1, float y1, float x2, float y2, float lineWidth) {
+        page.setColorStroke(new Color(rgb));
+        page.setLineWidth(lineWidth);
+        page.moveTo(x1, y1);
+        page.lineTo(x2, y2);
+        page.stroke();
+    }
+
+    private static BaseFont loadFont(String resource) {
+        try (InputStream font = PdfRenderingService.class.getClassLoader().getResourceAsStream(resource)) {
+            if (font == null) {
+                throw new IllegalStateException("Police introuvable : " + resource);
+            }
+            return BaseFont.createFont(resource, BaseFont.IDENTITY_H, BaseFont.EMBEDDED, true, font.readAllBytes(), null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (DocumentException e) {
+            throw new IllegalStateException("Police illisible : " + resource, e);
+        }
+    }
+
+    private static CharSequence date(StringBuilder text, TemporalAccessor date) {
+        text.setLength(0);
+        if (date != null) {
+            DATE_FORMATTER.formatTo(date, text);
+        }
+        return text;
+    }
+
+    private static CharSequence amount(StringBuilder text, Double value) {
+        text.setLength(0);
+        appendAmount(text, value != null ? value : 0);
+        return text;
+    }
+
+    // Deux décimales sans passer par String.format
+    private static void appendAmount(StringBuilder text, double value) {
+        long cents = Math.round(value * 100);
+        if (cents < 0) {
+            text.append('-');
+            cents = -cents;
+        }
+        text.append(cents / 100).append('.');
+        long remainder = cents % 100;
+        if (remainder < 10) {
+            text.append('0');
+        }
+        text.append(remainder).append(" MAD");
+    }
+
+    private static String statusLabel(ReservationStatus status) {
+        if (status == null) {
+            return "";
+        }
+        return switch (status) {
+            case EN_ATTENTE -> "En attente";
+            case CONFIRMEE -> "Confirmée";
+            case ANNULEE -> "Annulée";
+        };
+    }
+}
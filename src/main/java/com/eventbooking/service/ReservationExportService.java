@@ -0,0 +1,198 @@
+package com.eventbooking.service;
+
+import com.eventbooking.entity.enums.ReservationStatus;
+import com.eventbooking.repository.ReservationRepository;
+import com.eventbooking.repository.SearchPattern;
+import com.eventbooking.service.dto.ReservationExportRow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Exports des réservations (CSV, PDF) en flux : les lignes sont lues par curseur et écrites
+ * au fil de l'eau dans le flux de sortie, la mémoire utilisée ne dépend pas du volume.
+ */
+@Service
+public class ReservationExportService {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    private static final String CSV_HEADER =
+            "ID,Code Réservation,Client,Email,Téléphone,Événement,Places,Montant (MAD),Date Réservation,Statut,Commentaire\r\n";
+
+    private static final int PROGRESS_STEP = 1000;
+    private static final LongConsumer NO_PROGRESS = rows -> { };
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private PdfRenderingService pdfRenderingService;
+
+    /**
+     * Écrit les réservations correspondant aux filtres (mêmes critères que la grille) ;
+     * retourne le nombre de lignes exportées
+     */
+    @Transactional(readOnly = true)
+    public long writeCsv(String keyword, ReservationStatus statut, OutputStream output) throws IOException {
+        return writeCsv(keyword, statut, output, NO_PROGRESS);
+    }
+
+    // progress reçoit le nombre de lignes déjà écrites, toutes les PROGRESS_STEP lignes
+    @Transactional(readOnly = true)
+    public long writeCsv(String keyword, ReservationStatus statut, OutputStream output,
+                         LongConsumer progress) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+        // BOM : accents lisibles à l'ouverture dans Excel
+        writer.write('\uFEFF');
+        writer.write(CSV_HEADER);
+
+        long count = 0;
+        try (Stream<ReservationExportRow> rows = reservationRepository.streamExportRows(SearchPattern.of(keyword), statut)) {
+            Iterator<ReservationExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writeRow(writer, iterator.next());
+                if (++count % PROGRESS_STEP == 0) {
+                    progress.accept(count);
+                }
+            }
+        }
+
+        writer.flush();
+        progress.accept(count);
+        return count;
+    }
+
+    /**
+     * Rapport PDF des réservations filtrées, alimenté par le même curseur que l'export CSV
+     */
+    @Transactional(readOnly = true)
+    public long writePdf(String keyword, ReservationStatus statut, OutputStream output,
+                         LongConsumer progress) throws IOException {
+        long[] count = {0};
+        try (Stream<ReservationExportRow> rows = reservationRepository.streamExportRows(SearchPattern.of(keyword), statut)) {
+            Iterator<ReservationExportRow> iterator = rows.iterator();
+            pdfRenderingService.writeReservationReport(() -> new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public ReservationExportRow next() {
+                    ReservationExportRow row = iterator.next();
+                    if (++count[0] % PROGRESS_STEP == 0) {
+                        progress.accept(count[0]);
+                    }
+                    return row;
+                }
+            }, output);
+        }
+        progress.accept(count[0]);
+        return count[0];
+    }
+
+    public long countRows(String keyword, ReservationStatus statut) {
+        return reservationRepository.countRows(SearchPattern.of(keyword), statut);
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    private void writeRow(Writer writer, ReservationExportRow row) throws IOException {
+        writer.write(String.valueOf(row.getId()));
+        writer.write(',');
+        writeField(writer, row.getCodeReservation());
+        writer.write(',');
+        writer.write('"');
+        guardFormula(writer, row.getPrenom());
+        writeEscaped(writer, row.getPrenom());
+        writer.write(' ');
+        writeEscaped(writer, row.getNom());
+        writer.write('"');
+        writer.write(',');
+        writeField(writer, row.getEmail());
+        writer.write(',');
+        writeField(writer, row.getTelephone());
+        writer.write(',');
+        writeField(writer, row.getTitreEvenement());
+        writer.write(',');
+        writer.write(String.valueOf(row.getNombrePlaces()));
+        writer.write(',');
+        writeAmount(writer, row.getMontantTotal() != null ? row.getMontantTotal() : 0);
+        writer.write(',');
+        if (row.getDateReservation() != null) {
+            DATE_FORMATTER.formatTo(row.getDateReservation(), writer);
+        }
+        writer.write(',');
+        writeField(writer, statusLabel(row.getStatut()));
+        writer.write(',');
+        writeField(writer, row.getCommentaire());
+        writer.write("\r\n");
+    }
+
+    // Champ texte entre guillemets (RFC 4180) : les virgules et retours à la ligne restent dans le champ
+    private void writeField(Writer writer, String value) throws IOException {
+        writer.write('"');
+        guardFormula(writer, value);
+        writeEscaped(writer, value);
+        writer.write('"');
+    }
+
+    // Injection de formule : un tableur évaluerait =, +, - ou @ en début de cellule ; l'apostrophe force le texte
+    private void guardFormula(Writer writer, String value) throws IOException {
+        if (value != null && !value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0) {
+            writer.write('\'');
+        }
+    }
+
+    private void writeEscaped(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                writer.write(value, start, i + 1 - start);
+                writer.write('"');
+                start = i + 1;
+            }
+        }
+        writer.write(value, start, value.length() - start);
+    }
+
+    // Deux décimales avec un point, indépendamment de la locale du serveur
+    private void writeAmount(Writer writer, double value) throws IOException {
+        long cents = Math.round(value * 100);
+        if (cents < 0) {
+            writer.write('-');
+            cents = -cents;
+        }
+        writer.write(Long.toString(cents / 100));
+        writer.write('.');
+        long remainder = cents % 100;
+        writer.write((char) ('0' + remainder / 10));
+        writer.write((char) ('0' + remainder % 10));
+    }
+
+    private String statusLabel(ReservationStatus status) {
+        if (status == null) {
+            return null;
+        }
+        return switch (status) {
+            case EN_ATTENTE -> "En attente";
+            case CONFIRMEE -> "Confirmée";
+            case ANNULEE -> "Annulée";
+        };
+    }
+}
@@ -4,10 +4,14 @@ import com.eventbooking.entity.Reservation;
 import com.eventbooking.entity.User;
 import com.eventbooking.entity.Event;
 import com.eventbooking.entity.enums.ReservationStatus;
+import com.eventbooking.service.dto.ReservationRow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public interface ReservationService {
@@ -36,12 +40,21 @@ public interface ReservationService {
     // Obtenir les réservations d'un utilisateur
     List<Reservation> getReservationsByUser(Long userId);
 
+    // Lignes en lecture seule des grilles client (mes réservations, historique)
+    List<ReservationRow> getReservationRowsByUser(Long userId);
+
     // Obtenir les réservations d'un événement
     List<Reservation> getReservationsByEvent(Long eventId);
 
     // Obtenir les réservations par statut
     List<Reservation> getReservationsByStatus(ReservationStatus status);
 
+    // Recherche (mot-clé et statut optionnels) pour les grilles d'administration
+    long countReservations(String keyword, ReservationStatus status);
+
+    // Même recherche, colonnes de la grille seulement ; une page sans comptage (voir countReservations)
+    List<ReservationRow> findReservationRows(String keyword, ReservationStatus status, Pageable pageable);
+
     // Confirmer une réservation
     Reservation confirmReservation(Long reservationId);
 
@@ -76,6 +89,9 @@ public interface ReservationService {
     // Vérifier si l'utilisateur a déjà réservé cet événement
     boolean hasUserReservedEvent(Long userId, Long eventId);
 
+    // Parmi les événements donnés, ceux que l'utilisateur a déjà réservés (une seule requête)
+    Set<Long> hasUserReserved(Long userId, Collection<Long> eventIds);
+
     // Obtenir les réservations à venir d'un utilisateur
     List<Reservation> getUpcomingReservationsByUser(Long userId);
 
@@ -0,0 +1,134 @@
+package com.eventbooking.service;
+
+import com.eventbooking.repository.EventRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+/**
+ * Diffusion des places réservables (stock placesRestantes) aux vues qui affichent un événement.
+ * Les changements de stock sont regroupés par événement : au plus une lecture
+ * et une notification par intervalle, quel que soit le nombre de réservations
+ * ou de sessions abonnées.
+ */
+@Service
+public class SeatAvailabilityBroadcaster {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    private final long intervalNanos;
+
+    private final ScheduledExecutorService scheduler;
+
+    // Abonnés par événement (une entrée par carte ou vue de détail attachée)
+    private final Map<Long, List<IntConsumer>> listeners = new ConcurrentHashMap<>();
+
+    // Événements dont une diffusion est déjà planifiée
+    private final Set<Long> scheduled = ConcurrentHashMap.newKeySet();
+
+    // Dernière diffusion par événement (System.nanoTime)
+    private final Map<Long, Long> lastBroadcast = new ConcurrentHashMap<>();
+
+    public SeatAvailabilityBroadcaster(@Value("${reservation.seats.broadcast-interval:PT0.5S}") Duration interval) {
+        this.intervalNanos = interval.toNanos();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "seat-broadcast");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    public void addListener(Long eventId, IntConsumer listener) {
+        listeners.computeIfAbsent(eventId, id -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    public void removeListener(Long eventId, IntConsumer listener) {
+        listeners.computeIfPresent(eventId, (id, list) -> {
+            list.remove(listener);
+            if (list.isEmpty()) {
+                lastBroadcast.remove(id);
+                return null;
+            }
+            return list;
+        });
+    }
+
+    // À appeler dans la transaction qui modifie le stock : la diffusion part après le commit
+    public void seatsChanged(Long eventId) {
+        if (eventId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    schedule(eventId);
+                }
+            });
+        } else {
+            schedule(eventId);
+        }
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    private void schedule(Long eventId) {
+        // Personne n'affiche l'événement : rien à lire ni à envoyer
+        if (!listeners.containsKey(eventId) || !scheduled.add(eventId)) {
+            return;
+        }
+        Long last = lastBroadcast.get(eventId);
+        long delay = last == null ? 0 : Math.max(0, last + intervalNanos - System.nanoTime());
+        scheduler.schedule(() -> broadcast(eventId), delay, TimeUnit.NANOSECONDS);
+    }
+
+    private void broadcast(Long eventId) {
+        // Retiré avant la lecture : un changement pendant la diffusion en planifie une nouvelle
+        scheduled.remove(eventId);
+        List<IntConsumer> subscribers = listeners.get(eventId);
+        if (subscribers == null) {
+            return;
+        }
+        lastBroadcast.put(eventId, System.nanoTime());
+
+        // Même stock que celui décrémenté à la réservation : une confirmation ne le change pas
+        Integer availablePlaces;
+        try {
+            availablePlaces = eventRepository.findPlacesRestantesById(eventId);
+        } catch (RuntimeException e) {
+            System.err.println("Places disponibles illisibles pour l'événement " + eventId + ": " + e.getMessage());
+            return;
+        }
+        if (availablePlaces == null) {
+            return;
+        }
+
+        for (IntConsumer listener : subscribers) {
+            try {
+                listener.accept(availablePlaces);
+            } catch (RuntimeException e) {
+                System.err.println("Notification de places ignorée: " + e.getMessage());
+            }
+        }
+    }
+}
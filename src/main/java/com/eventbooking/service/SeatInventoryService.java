@@ -0,0 +1,27 @@
+package com.eventbooking.service;
+
+import com.eventbooking.entity.enums.ReservationStatus;
+
+public interface SeatInventoryService {
+
+    // Bloque atomiquement des places ; false si le stock est insuffisant
+    boolean acquire(Long eventId, int places);
+
+    // Restitue des places au stock de l'événement
+    void release(Long eventId, int places);
+
+    // Répercute un changement de capacité sur le stock (delta négatif refusé si déjà réservé)
+    void adjustCapacity(Long eventId, int delta);
+
+    // Places encore disponibles à la réservation
+    int getRemainingPlaces(Long eventId);
+
+    // Annule les réservations en attente dont le délai de blocage est dépassé ; retourne leur nombre
+    int expirePendingHolds();
+
+    // Répercute un changement de statut sur les compteurs de l'événement (from null : création)
+    void recordTransition(Long eventId, int places, double montant, ReservationStatus from, ReservationStatus to);
+
+    // Compare les compteurs aux réservations et recalcule ceux qui divergent ; retourne le nombre d'événements corrigés
+    int reconcileCounters();
+}
@@ -2,6 +2,8 @@ package com.eventbooking.service;
 
 import com.eventbooking.entity.User;
 import com.eventbooking.entity.enums.UserRole;
+import org.springframework.data.domain.Pageable;
+
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +31,11 @@ public interface UserService {
 
     List<User> getActiveUsers();
 
+    // Recherche paginée (mot-clé et rôle optionnels) pour les grilles d'administration, une page sans comptage (voir countUsers)
+    List<User> findUsers(String keyword, UserRole role, Pageable pageable);
+
+    long countUsers(String keyword, UserRole role);
+
     boolean changePassword(Long userId, String oldPassword, String newPassword);
 
     boolean resetPassword(String email, String newPassword);
@@ -0,0 +1,72 @@
+package com.eventbooking.service.dto;
+
+import com.eventbooking.entity.enums.EventStatus;
+import com.eventbooking.entity.enums.ReservationStatus;
+import com.eventbooking.entity.enums.UserRole;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+public class DashboardStats {
+    private long totalUsers;
+    private long activeUsers;
+    private Map<UserRole, Long> usersByRole = new EnumMap<>(UserRole.class);
+
+    private long totalEvents;
+    private long upcomingEvents;
+    private Map<EventStatus, Long> eventsByStatus = new EnumMap<>(EventStatus.class);
+
+    private long totalReservations;
+    private Map<ReservationStatus, Long> reservationsByStatus = new EnumMap<>(ReservationStatus.class);
+
+    private double totalRevenue;
+    private Map<ReservationStatus, Double> revenueByStatus = new EnumMap<>(ReservationStatus.class);
+
+    // Getters et Setters
+    public long getTotalUsers() { return totalUsers; }
+    public void setTotalUsers(long totalUsers) { this.totalUsers = totalUsers; }
+
+    public long getActiveUsers() { return activeUsers; }
+    public void setActiveUsers(long activeUsers) { this.activeUsers = activeUsers; }
+
+    public Map<UserRole, Long> getUsersByRole() { return usersByRole; }
+    public void setUsersByRole(Map<UserRole, Long> usersByRole) { this.usersByRole = usersByRole; }
+
+    public long getTotalEvents() { return totalEvents; }
+    public void setTotalEvents(long totalEvents) { this.totalEvents = totalEvents; }
+
+    public long getUpcomingEvents() { return upcomingEvents; }
+    public void setUpcomingEvents(long upcomingEvents) { this.upcomingEvents = upcomingEvents; }
+
+    public Map<EventStatus, Long> getEventsByStatus() { return eventsByStatus; }
+    public void setEventsByStatus(Map<EventStatus, Long> eventsByStatus) { this.eventsByStatus = eventsByStatus; }
+
+    public long getTotalReservations() { return totalReservations; }
+    public void setTotalReservations(long totalReservations) { this.totalReservations = totalReservations; }
+
+    public Map<ReservationStatus, Long> getReservationsByStatus() { return reservationsByStatus; }
+    public void setReservationsByStatus(Map<ReservationStatus, Long> reservationsByStatus) { this.reservationsByStatus = reservationsByStatus; }
+
+    public double getTotalRevenue() { return totalRevenue; }
+    public void setTotalRevenue(double totalRevenue) { this.totalRevenue = totalRevenue; }
+
+    public Map<ReservationStatus, Double> getRevenueByStatus() { return revenueByStatus; }
+    public void setRevenueByStatus(Map<ReservationStatus, Double> revenueByStatus) { this.revenueByStatus = revenueByStatus; }
+
+    // Méthodes utilitaires
+    public long getUsersCount(UserRole role) {
+        return usersByRole.getOrDefault(role, 0L);
+    }
+
+    public long getEventsCount(EventStatus status) {
+        return eventsByStatus.getOrDefault(status, 0L);
+    }
+
+    public long getReservationsCount(ReservationStatus status) {
+        return reservationsByStatus.getOrDefault(status, 0L);
+    }
+
+    public double getRevenue(ReservationStatus status) {
+        return revenueByStatus.getOrDefault(status, 0.0);
+    }
+}
@@ -0,0 +1,90 @@
+package com.eventbooking.service.dto;
+
+import com.eventbooking.entity.enums.EventCategory;
+import com.eventbooking.entity.enums.EventStatus;
+
+import java.time.LocalDateTime;
+
+// Événement affiché par les cartes et les grilles (projection en lecture seule, organisateur aplati)
+public class EventCardRow {
+    private final Long id;
+    private final String titre;
+    private final String description;
+    private final EventCategory categorie;
+    private final LocalDateTime dateDebut;
+    private final LocalDateTime dateFin;
+    private final String lieu;
+    private final String ville;
+    private final Integer capaciteMax;
+    private final Integer placesRestantes;
+    private final Integer placesConfirmees;
+    private final Integer placesEnAttente;
+    private final Double prixUnitaire;
+    private final String imageUrl;
+    private final EventStatus statut;
+    private final LocalDateTime dateCreation;
+    private final String organisateurPrenom;
+    private final String organisateurNom;
+    private final String organisateurEmail;
+
+    public EventCardRow(Long id, String titre, String description, EventCategory categorie,
+                        LocalDateTime dateDebut, LocalDateTime dateFin, String lieu, String ville,
+                        Integer capaciteMax, Integer placesRestantes, Integer placesConfirmees, Integer placesEnAttente,
+                        Double prixUnitaire, String imageUrl, EventStatus statut,
+                        LocalDateTime dateCreation, String organisateurPrenom, String organisateurNom,
+                        String organisateurEmail) {
+        this.id = id;
+        this.titre = titre;
+        this.description = description;
+        this.categorie = categorie;
+        this.dateDebut = dateDebut;
+        this.dateFin = dateFin;
+        this.lieu = lieu;
+        this.ville = ville;
+        this.capaciteMax = capaciteMax;
+        this.placesRestantes = placesRestantes;
+        this.placesConfirmees = placesConfirmees;
+        this.placesEnAttente = placesEnAttente;
+        this.prixUnitaire = prixUnitaire;
+        this.imageUrl = imageUrl;
+        this.statut = statut;
+        this.dateCreation = dateCreation;
+        this.organisateurPrenom = organisateurPrenom;
+        this.organisateurNom = organisateurNom;
+        this.organisateurEmail = organisateurEmail;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getTitre() { return titre; }
+    public String getDescription() { return description; }
+    public EventCategory getCategorie() { return categorie; }
+    public LocalDateTime getDateDebut() { return dateDebut; }
+    public LocalDateTime getDateFin() { return dateFin; }
+    public String getLieu() { return lieu; }
+    public String getVille() { return ville; }
+    public Integer getCapaciteMax() { return capaciteMax; }
+    public Integer getPlacesRestantes() { return placesRestantes; }
+    public Integer getPlacesConfirmees() { return placesConfirmees; }
+    public Integer getPlacesEnAttente() { return placesEnAttente; }
+    public Double getPrixUnitaire() { return prixUnitaire; }
+    public String getImageUrl() { return imageUrl; }
+    public EventStatus getStatut() { return statut; }
+    public LocalDateTime getDateCreation() { return dateCreation; }
+    public String getOrganisateurPrenom() { return organisateurPrenom; }
+    public String getOrganisateurNom() { return organisateurNom; }
+    public String getOrganisateurEmail() { return organisateurEmail; }
+
+    // Places réservables, lues telles quelles sur la ligne de l'événement
+    public int getAvailablePlaces() {
+        return placesRestantes != null ? placesRestantes : 0;
+    }
+
+    // Places réservées (confirmées ou en attente), lues sur les compteurs de l'événement
+    public int getReservedPlaces() {
+        return (placesConfirmees != null ? placesConfirmees : 0) + (placesEnAttente != null ? placesEnAttente : 0);
+    }
+
+    // Pas d'organisateur : événement importé ou organisateur supprimé
+    public boolean hasOrganisateur() { return organisateurEmail != null || organisateurNom != null; }
+}
@@ -0,0 +1,72 @@
+package com.eventbooking.service.dto;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+// Export exécuté en arrière-plan ; l'état est mis à jour par le thread d'export et lu par les vues
+public class ExportJob {
+
+    public enum Type { CSV, PDF, STATISTIQUES }
+
+    public enum Status { EN_ATTENTE, EN_COURS, TERMINE, ECHEC }
+
+    private final String id;
+    private final Type type;
+    private final String label;
+    private final Long ownerId;
+    private final String fileName;
+    private final LocalDateTime dateCreation = LocalDateTime.now();
+
+    private volatile Status status = Status.EN_ATTENTE;
+    private volatile long total;
+    private volatile long processed;
+    private volatile Path file;
+    private volatile LocalDateTime dateFin;
+    private volatile String error;
+
+    public ExportJob(String id, Type type, String label, Long ownerId, String fileName) {
+        this.id = id;
+        this.type = type;
+        this.label = label;
+        this.ownerId = ownerId;
+        this.fileName = fileName;
+    }
+
+    // Getters et Setters
+    public String getId() { return id; }
+    public Type getType() { return type; }
+    public String getLabel() { return label; }
+    public Long getOwnerId() { return ownerId; }
+    public String getFileName() { return fileName; }
+    public LocalDateTime getDateCreation() { return dateCreation; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public long getProcessed() { return processed; }
+    public void setProcessed(long processed) { this.processed = processed; }
+
+    public Path getFile() { return file; }
+    public void setFile(Path file) { this.file = file; }
+
+    public LocalDateTime getDateFin() { return dateFin; }
+    public void setDateFin(LocalDateTime dateFin) { this.dateFin = dateFin; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    // Méthodes utilitaires
+    public double getProgress() {
+        if (status == Status.TERMINE) {
+            return 1;
+        }
+        return total > 0 ? Math.min(1, processed / (double) total) : 0;
+    }
+
+    public boolean isFinished() {
+        return status == Status.TERMINE || status == Status.ECHEC;
+    }
+}
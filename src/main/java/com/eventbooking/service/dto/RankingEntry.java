@@ -0,0 +1,36 @@
+package com.eventbooking.service.dto;
+
+public class RankingEntry {
+    private Long id;
+    private String label;
+    private long reservationCount;
+    private Integer capacity; // Capacité de l'événement (null pour un client)
+
+    // Constructeurs
+    public RankingEntry() {}
+
+    public RankingEntry(Long id, String label, long reservationCount, Integer capacity) {
+        this.id = id;
+        this.label = label;
+        this.reservationCount = reservationCount;
+        this.capacity = capacity;
+    }
+
+    // Getters et Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getLabel() { return label; }
+    public void setLabel(String label) { this.label = label; }
+
+    public long getReservationCount() { return reservationCount; }
+    public void setReservationCount(long reservationCount) { this.reservationCount = reservationCount; }
+
+    public Integer getCapacity() { return capacity; }
+    public void setCapacity(Integer capacity) { this.capacity = capacity; }
+
+    // Méthodes utilitaires
+    public double getFillRate() {
+        return capacity != null && capacity > 0 ? reservationCount * 100.0 / capacity : 0;
+    }
+}
@@ -0,0 +1,52 @@
+package com.eventbooking.service.dto;
+
+import com.eventbooking.entity.enums.ReservationStatus;
+
+import java.time.LocalDateTime;
+
+// Ligne d'export d'une réservation (projection, sans entité gérée par la session)
+public class ReservationExportRow {
+    private final Long id;
+    private final String codeReservation;
+    private final String prenom;
+    private final String nom;
+    private final String email;
+    private final String telephone;
+    private final String titreEvenement;
+    private final Integer nombrePlaces;
+    private final Double montantTotal;
+    private final LocalDateTime dateReservation;
+    private final ReservationStatus statut;
+    private final String commentaire;
+
+    public ReservationExportRow(Long id, String codeReservation, String prenom, String nom, String email,
+                                String telephone, String titreEvenement, Integer nombrePlaces, Double montantTotal,
+                                LocalDateTime dateReservation, ReservationStatus statut, String commentaire) {
+        this.id = id;
+        this.codeReservation = codeReservation;
+        this.prenom = prenom;
+        this.nom = nom;
+        this.email = email;
+        this.telephone = telephone;
+        this.titreEvenement = titreEvenement;
+        this.nombrePlaces = nombrePlaces;
+        this.montantTotal = montantTotal;
+        this.dateReservation = dateReservation;
+        this.statut = statut;
+        this.commentaire = commentaire;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getCodeReservation() { return codeReservation; }
+    public String getPrenom() { return prenom; }
+    public String getNom() { return nom; }
+    public String getEmail() { return email; }
+    public String getTelephone() { return telephone; }
+    public String getTitreEvenement() { return titreEvenement; }
+    public Integer getNombrePlaces() { return nombrePlaces; }
+    public Double getMontantTotal() { return montantTotal; }
+    public LocalDateTime getDateReservation() { return dateReservation; }
+    public ReservationStatus getStatut() { return statut; }
+    public String getCommentaire() { return commentaire; }
+}
@@ -0,0 +1,62 @@
+package com.eventbooking.service.dto;
+
+import com.eventbooking.entity.enums.ReservationStatus;
+
+import java.time.LocalDateTime;
+
+// Ligne de réservation des grilles client et administration (projection en lecture seule)
+public class ReservationRow {
+    private final Long id;
+    private final String codeReservation;
+    private final String clientPrenom;
+    private final String clientNom;
+    private final String clientEmail;
+    private final Long evenementId;
+    private final String titreEvenement;
+    private final LocalDateTime dateDebutEvenement;
+    private final String lieu;
+    private final String ville;
+    private final Integer nombrePlaces;
+    private final Double montantTotal;
+    private final LocalDateTime dateReservation;
+    private final ReservationStatus statut;
+    private final String commentaire;
+
+    public ReservationRow(Long id, String codeReservation, String clientPrenom, String clientNom, String clientEmail,
+                          Long evenementId, String titreEvenement, LocalDateTime dateDebutEvenement, String lieu,
+                          String ville, Integer nombrePlaces, Double montantTotal, LocalDateTime dateReservation,
+                          ReservationStatus statut, String commentaire) {
+        this.id = id;
+        this.codeReservation = codeReservation;
+        this.clientPrenom = clientPrenom;
+        this.clientNom = clientNom;
+        this.clientEmail = clientEmail;
+        this.evenementId = evenementId;
+        this.titreEvenement = titreEvenement;
+        this.dateDebutEvenement = dateDebutEvenement;
+        this.lieu = lieu;
+        this.ville = ville;
+        this.nombrePlaces = nombrePlaces;
+        this.montantTotal = montantTotal;
+        this.dateReservation = dateReservation;
+        this.statut = statut;
+        this.commentaire = commentaire;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getCodeReservation() { return codeReservation; }
+    public String getClientPrenom() { return clientPrenom; }
+    public String getClientNom() { return clientNom; }
+    public String getClientEmail() { return clientEmail; }
+    public Long getEvenementId() { return evenementId; }
+    public String getTitreEvenement() { return titreEvenement; }
+    public LocalDateTime getDateDebutEvenement() { return dateDebutEvenement; }
+    public String getLieu() { return lieu; }
+    public String getVille() { return ville; }
+    public Integer getNombrePlaces() { return nombrePlaces; }
+    public Double getMontantTotal() { return montantTotal; }
+    public LocalDateTime getDateReservation() { return dateReservation; }
+    public ReservationStatus getStatut() { return statut; }
+    public String getCommentaire() { return commentaire; }
+}
@@ -0,0 +1,14 @@
+package com.eventbooking.service.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fait métier publié après le commit de la transaction qui l'a produit.
+ * Les événements ne transportent que des identifiants et des valeurs :
+ * les écouteurs relisent ce dont ils ont besoin dans leur propre transaction.
+ */
+public sealed interface DomainEvent
+        permits ReservationCreated, ReservationConfirmed, ReservationCancelled, EventPublished, EventCancelled {
+
+    LocalDateTime occurredAt();
+}
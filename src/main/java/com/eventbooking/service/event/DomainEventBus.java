@@ -0,0 +1,140 @@
+package com.eventbooking.service.event;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publication des événements métier après commit et distribution asynchrone aux écouteurs.
+ * Chaque écouteur dispose d'une file bornée et d'un thread dédié : quand sa file est pleine,
+ * le publieur attend au plus domain-events.offer-timeout puis l'événement est abandonné
+ * pour cet écouteur seulement.
+ */
+@Service
+public class DomainEventBus implements SmartInitializingSingleton {
+
+    private final ObjectProvider<DomainEventListener<?>> listenerProvider;
+    private final int queueCapacity;
+    private final long offerTimeoutNanos;
+
+    // Renseigné une fois tous les singletons créés (les écouteurs peuvent dépendre des services publieurs)
+    private volatile List<Subscription<?>> subscriptions = List.of();
+
+    public DomainEventBus(ObjectProvider<DomainEventListener<?>> listenerProvider,
+                          @Value("${domain-events.queue-capacity:1000}") int queueCapacity,
+                          @Value("${domain-events.offer-timeout:PT0.05S}") Duration offerTimeout) {
+        this.listenerProvider = listenerProvider;
+        this.queueCapacity = queueCapacity;
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<Subscription<?>> created = new ArrayList<>();
+        listenerProvider.orderedStream().forEach(listener -> created.add(new Subscription<>(listener)));
+        subscriptions = List.copyOf(created);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.forEach(subscription -> subscription.executor.shutdownNow());
+    }
+
+    /**
+     * À appeler dans la transaction qui produit l'événement : rien n'est distribué en cas de rollback
+     */
+    public void publish(DomainEvent event) {
+        // Aucun écouteur enregistré : rien à planifier après le commit
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(event);
+                }
+            });
+        } else {
+            dispatch(event);
+        }
+    }
+
+    // Nombre d'événements abandonnés (file pleine) ou en échec, tous écouteurs confondus
+    public long getDroppedCount() {
+        return subscriptions.stream().mapToLong(subscription -> subscription.dropped.get()).sum();
+    }
+
+    public long getFailedCount() {
+        return subscriptions.stream().mapToLong(subscription -> subscription.failed.get()).sum();
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    private void dispatch(DomainEvent event) {
+        for (Subscription<?> subscription : subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    private final class Subscription<E extends DomainEvent> {
+
+        private final DomainEventListener<E> listener;
+        private final String name;
+        private final ThreadPoolExecutor executor;
+        private final AtomicLong dropped = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+
+        Subscription(DomainEventListener<E> listener) {
+            this.listener = listener;
+            String simpleName = listener.getClass().getSimpleName();
+            this.name = simpleName.isEmpty() ? listener.getClass().getName() : simpleName;
+            this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "domain-events-" + name);
+                thread.setDaemon(true);
+                return thread;
+            }, (task, pool) -> {
+                // File pleine : attente bornée du publieur, puis abandon pour cet écouteur
+                try {
+                    if (!pool.isShutdown() && pool.getQueue().offer(task, offerTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                dropped.incrementAndGet();
+                System.err.println("Événement abandonné pour " + name + " (file pleine)");
+            });
+        }
+
+        void offer(DomainEvent event) {
+            Class<E> type = listener.eventType();
+            if (type.isInstance(event)) {
+                E typed = type.cast(event);
+                executor.execute(() -> deliver(typed));
+            }
+        }
+
+        private void deliver(E event) {
+            try {
+                listener.onEvent(event);
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+                System.err.println("Écouteur " + name + " en échec sur " + event + ": " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.eventbooking.service.event;
+
+/**
+ * Écouteur asynchrone d'événements métier, déclaré comme bean Spring.
+ * Chaque écouteur a sa propre file et son propre thread : un écouteur lent ou
+ * en erreur ne retarde ni la transaction d'origine ni les autres écouteurs.
+ */
+public interface DomainEventListener<E extends DomainEvent> {
+
+    // Type d'événement écouté (DomainEvent.class pour tous)
+    Class<E> eventType();
+
+    void onEvent(E event);
+}
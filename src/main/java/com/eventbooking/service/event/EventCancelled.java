@@ -0,0 +1,6 @@
+package com.eventbooking.service.event;
+
+import java.time.LocalDateTime;
+
+public record EventCancelled(Long eventId, Long organizerId, LocalDateTime occurredAt) implements DomainEvent {
+}
@@ -0,0 +1,7 @@
+package com.eventbooking.service.event;
+
+import java.time.LocalDateTime;
+
+public record ReservationCancelled(Long reservationId, Long eventId, Long userId, int places, String reason,
+                                   LocalDateTime occurredAt) implements DomainEvent {
+}
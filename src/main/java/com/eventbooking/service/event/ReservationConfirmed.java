@@ -0,0 +1,7 @@
+package com.eventbooking.service.event;
+
+import java.time.LocalDateTime;
+
+public record ReservationConfirmed(Long reservationId, Long eventId, Long userId, int places,
+                                   LocalDateTime occurredAt) implements DomainEvent {
+}
@@ -0,0 +1,7 @@
+package com.eventbooking.service.event;
+
+import java.time.LocalDateTime;
+
+public record ReservationCreated(Long reservationId, Long eventId, Long userId, int places, double montantTotal,
+                                 LocalDateTime occurredAt) implements DomainEvent {
+}
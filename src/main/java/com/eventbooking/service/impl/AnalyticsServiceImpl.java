@@ -0,0 +1,276 @@
+package com.eventbooking.service.impl;
+
+import com.eventbooking.entity.Event;
+import com.eventbooking.entity.Reservation;
+import com.eventbooking.entity.enums.EventCategory;
+import com.eventbooking.entity.enums.EventStatus;
+import com.eventbooking.entity.enums.ReservationStatus;
+import com.eventbooking.entity.enums.UserRole;
+import com.eventbooking.repository.EventRepository;
+import com.eventbooking.repository.ReservationRepository;
+import com.eventbooking.repository.UserRepository;
+import com.eventbooking.service.AnalyticsService;
+import com.eventbooking.service.dto.DashboardFilter;
+import com.eventbooking.service.dto.DashboardStats;
+import com.eventbooking.service.dto.RankingEntry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Transactional(readOnly = true)
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // ==================== CHIFFRES CLÉS ====================
+
+    @Override
+    public DashboardStats getDashboardStats() {
+        DashboardStats stats = new DashboardStats();
+
+        Map<UserRole, Long> usersByRole = getUsersByRole(null);
+        stats.setUsersByRole(usersByRole);
+        stats.setTotalUsers(userRepository.count());
+        stats.setActiveUsers(userRepository.countByActif(true));
+
+        Map<EventStatus, Long> eventsByStatus = getEventsByStatus(null);
+        stats.setEventsByStatus(eventsByStatus);
+        stats.setTotalEvents(eventRepository.count());
+        stats.setUpcomingEvents(eventRepository.countUpcomingPublishedEvents(LocalDateTime.now()));
+
+        Map<ReservationStatus, Long> reservationsByStatus = getReservationsByStatus(null);
+        stats.setReservationsByStatus(reservationsByStatus);
+        stats.setTotalReservations(reservationRepository.count());
+
+        // Montants par statut en une requête ; le revenu total reste le revenu confirmé
+        Map<ReservationStatus, Double> revenueByStatus = new EnumMap<>(ReservationStatus.class);
+        for (Object[] row : reservationRepository.sumMontantTotalGroupByStatut()) {
+            if (row[0] != null) {
+                revenueByStatus.put((ReservationStatus) row[0], toDouble(row[1]));
+            }
+        }
+        stats.setRevenueByStatus(revenueByStatus);
+        stats.setTotalRevenue(revenueByStatus.getOrDefault(ReservationStatus.CONFIRMEE, 0.0));
+
+        return stats;
+    }
+
+    // ==================== RÉPARTITIONS ====================
+
+    @Override
+    public Map<EventCategory, Long> getEventsByCategory(DashboardFilter filter) {
+        Map<EventCategory, Long> result = new EnumMap<>(EventCategory.class);
+        for (Object[] row : eventRepository.countGroupByCategorie(from(filter), to(filter))) {
+            if (row[0] != null) {
+                result.put((EventCategory) row[0], toLong(row[1]));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Map<EventStatus, Long> getEventsByStatus(DashboardFilter filter) {
+        Map<EventStatus, Long> result = new EnumMap<>(EventStatus.class);
+        for (Object[] row : eventRepository.countGroupByStatut(from(filter), to(filter))) {
+            if (row[0] != null) {
+                result.put((EventStatus) row[0], toLong(row[1]));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Map<ReservationStatus, Long> getReservationsByStatus(DashboardFilter filter) {
+        Map<ReservationStatus, Long> result = new EnumMap<>(ReservationStatus.class);
+        for (Object[] row : reservationRepository.countGroupByStatut(from(filter), to(filter))) {
+            if (row[0] != null) {
+                result.put((ReservationStatus) row[0], toLong(row[1]));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Map<UserRole, Long> getUsersByRole(DashboardFilter filter) {
+        Map<UserRole, Long> result = new EnumMap<>(UserRole.class);
+        for (Object[] row : userRepository.countGroupByRole(from(filter), to(filter))) {
+            if (row[0] != null) {
+                result.put((UserRole) row[0], toLong(row[1]));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Map<EventCategory, Double> getRevenueByCategory(DashboardFilter filter) {
+        Map<EventCategory, Double> result = new EnumMap<>(EventCategory.class);
+        for (EventCategory category : EventCategory.values()) {
+            result.put(category, 0.0);
+        }
+        for (Object[] row : reservationRepository.sumMontantTotalGroupByCategorie(
+                ReservationStatus.CONFIRMEE, from(filter), to(filter))) {
+            if (row[0] != null) {
+                result.put((EventCategory) row[0], toDouble(row[1]));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Map<DayOfWeek, Long> getReservationsByDayOfWeek(DashboardFilter filter) {
+        Map<DayOfWeek, Long> result = new EnumMap<>(DayOfWeek.class);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            result.put(day, 0L);
+        }
+        // Agrégation par jour côté base (une ligne par jour), regroupée ensuite par jour de semaine
+        for (Object[] row : reservationRepository.countGroupByDay(from(filter), to(filter))) {
+            DayOfWeek day = toDate(row).getDayOfWeek();
+            result.merge(day, toLong(row[3]), Long::sum);
+        }
+        return result;
+    }
+
+    // ==================== SÉRIES TEMPORELLES ====================
+
+    @Override
+    public Map<YearMonth, Long> getEventsCreatedByMonth(int months) {
+        Map<YearMonth, Long> result = emptyMonths(months, 0L);
+        YearMonth first = result.keySet().iterator().next();
+        for (Object[] row : eventRepository.countGroupByCreationMonth(startOf(first), LocalDateTime.now())) {
+            result.computeIfPresent(toYearMonth(row), (month, count) -> toLong(row[2]));
+        }
+        return result;
+    }
+
+    @Override
+    public Map<YearMonth, Long> getNewUsersByMonth(int months) {
+        Map<YearMonth, Long> result = emptyMonths(months, 0L);
+        YearMonth first = result.keySet().iterator().next();
+        for (Object[] row : userRepository.countGroupByInscriptionMonth(startOf(first), LocalDateTime.now())) {
+            result.computeIfPresent(toYearMonth(row), (month, count) -> toLong(row[2]));
+        }
+        return result;
+    }
+
+    @Override
+    public Map<YearMonth, Double> getRevenueByMonth(int months) {
+        Map<YearMonth, Double> result = emptyMonths(months, 0.0);
+        YearMonth first = result.keySet().iterator().next();
+        for (Object[] row : reservationRepository.sumMontantTotalGroupByMonth(
+                ReservationStatus.CONFIRMEE, startOf(first), LocalDateTime.now())) {
+            result.computeIfPresent(toYearMonth(row), (month, revenue) -> toDouble(row[2]));
+        }
+        return result;
+    }
+
+    @Override
+    public Map<LocalDate, Long> getReservationsByWeek(int weeks) {
+        // Chaque semaine est identifiée par son dernier jour : [fin - 6 jours, fin]
+        LocalDate today = LocalDate.now();
+        Map<LocalDate, Long> result = new LinkedHashMap<>();
+        for (int i = weeks - 1; i >= 0; i--) {
+            result.put(today.minusWeeks(i), 0L);
+        }
+
+        LocalDate firstDay = today.minusWeeks(weeks - 1).minusDays(6);
+        for (Object[] row : reservationRepository.countGroupByDay(firstDay.atStartOfDay(), today.atTime(23, 59, 59))) {
+            LocalDate day = toDate(row);
+            long daysFromEnd = ChronoUnit.DAYS.between(day, today);
+            LocalDate weekEnd = today.minusWeeks(daysFromEnd / 7);
+            result.computeIfPresent(weekEnd, (week, count) -> count + toLong(row[3]));
+        }
+        return result;
+    }
+
+    // ==================== ACTIVITÉ RÉCENTE ====================
+
+    @Override
+    public List<Event> getRecentEvents() {
+        return eventRepository.findTop10ByOrderByDateCreationDesc();
+    }
+
+    @Override
+    public List<Reservation> getRecentReservations() {
+        return reservationRepository.findTop10ByOrderByDateReservationDesc();
+    }
+
+    // ==================== CLASSEMENTS ====================
+
+    @Override
+    public List<RankingEntry> getTopEvents(int limit) {
+        List<RankingEntry> result = new ArrayList<>();
+        for (Object[] row : eventRepository.findTopByReservationCount(EventStatus.PUBLIE, PageRequest.of(0, limit))) {
+            result.add(new RankingEntry((Long) row[0], (String) row[1], toLong(row[3]), (Integer) row[2]));
+        }
+        return result;
+    }
+
+    @Override
+    public List<RankingEntry> getTopClients(int limit) {
+        List<RankingEntry> result = new ArrayList<>();
+        for (Object[] row : userRepository.findTopByReservationCount(UserRole.CLIENT, PageRequest.of(0, limit))) {
+            result.add(new RankingEntry((Long) row[0], row[1] + " " + row[2], toLong(row[3]), null));
+        }
+        return result;
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    // Sans période : null, la requête ne filtre pas sur la date (les lignes sans date restent comptées)
+    private LocalDateTime from(DashboardFilter filter) {
+        return filter != null && filter.hasDateRange() ? filter.getDateFromAsDateTime() : null;
+    }
+
+    private LocalDateTime to(DashboardFilter filter) {
+        return filter != null && filter.hasDateRange() ? filter.getDateToAsDateTime() : null;
+    }
+
+    private <V> Map<YearMonth, V> emptyMonths(int months, V initialValue) {
+        Map<YearMonth, V> result = new LinkedHashMap<>();
+        YearMonth current = YearMonth.now();
+        for (int i = months - 1; i >= 0; i--) {
+            result.put(current.minusMonths(i), initialValue);
+        }
+        return result;
+    }
+
+    private LocalDateTime startOf(YearMonth month) {
+        return month.atDay(1).atStartOfDay();
+    }
+
+    private YearMonth toYearMonth(Object[] row) {
+        return YearMonth.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue());
+    }
+
+    private LocalDate toDate(Object[] row) {
+        return LocalDate.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue(), ((Number) row[2]).intValue());
+    }
+
+    private long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    private double toDouble(Object value) {
+        return value != null ? ((Number) value).doubleValue() : 0.0;
+    }
+}
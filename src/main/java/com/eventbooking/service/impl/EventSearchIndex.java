@@ -0,0 +1,261 @@
+package com.eventbooking.service.impl;
+
+import com.eventbooking.entity.Event;
+import com.eventbooking.entity.enums.EventStatus;
+import com.eventbooking.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Index inversé en mémoire des événements publiés (titre, description, lieu, ville).
+ * Les termes sont normalisés sans accents ni majuscules ; chaque mot de la requête
+ * doit correspondre à un terme exact, à un préfixe (saisie en cours) ou, à défaut,
+ * à un terme à une faute de frappe près. Les résultats sont classés par score.
+ */
+@Component
+public class EventSearchIndex {
+
+    // Poids des champs dans le score
+    private static final int TITRE_WEIGHT = 4;
+    private static final int LIEU_WEIGHT = 2;
+    private static final int VILLE_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    // Multiplicateurs selon la qualité de la correspondance
+    private static final double EXACT_MATCH = 1.0;
+    private static final double PREFIX_MATCH = 0.6;
+    private static final double FUZZY_MATCH = 0.3;
+
+    private static final int FUZZY_MIN_LENGTH = 4;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    // terme -> (id événement -> poids cumulé)
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+
+    // id événement -> termes indexés (pour la mise à jour incrémentale)
+    private final Map<Long, Set<String>> documentTerms = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // ==================== CONSTRUCTION ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Event> published = eventRepository.findByStatut(EventStatus.PUBLIE);
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documentTerms.clear();
+            published.forEach(this::addDocument);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Réindexe l'événement après le commit de la transaction courante
+    public void update(Event event) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeDocument(event.getId());
+                if (event.getStatut() == EventStatus.PUBLIE) {
+                    addDocument(event);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // Retire l'événement de l'index après le commit de la transaction courante
+    public void remove(Long eventId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeDocument(eventId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // ==================== RECHERCHE ====================
+
+    // Identifiants des événements publiés correspondants, du plus pertinent au moins pertinent
+    public List<Long> search(String query) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String token : tokens) {
+                Map<Long, Double> tokenScores = scoreToken(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    // Tous les mots de la requête doivent correspondre
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((id, score) -> score + tokenScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+
+            List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<Long, Double>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.comparingByKey()));
+
+            List<Long> result = new ArrayList<>(ranked.size());
+            ranked.forEach(entry -> result.add(entry.getKey()));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Double> scoreToken(String token) {
+        Map<Long, Double> scores = new HashMap<>();
+
+        // Correspondance exacte et par préfixe (recherche au fil de la saisie)
+        for (Map.Entry<String, Map<Long, Integer>> entry
+                : postings.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            double quality = entry.getKey().equals(token) ? EXACT_MATCH : PREFIX_MATCH;
+            accumulate(scores, entry.getValue(), quality);
+        }
+
+        // Tolérance d'une faute de frappe si rien ne correspond
+        if (scores.isEmpty() && token.length() >= FUZZY_MIN_LENGTH) {
+            for (Map.Entry<String, Map<Long, Integer>> entry : postings.entrySet()) {
+                if (isWithinOneEdit(token, entry.getKey())) {
+                    accumulate(scores, entry.getValue(), FUZZY_MATCH);
+                }
+            }
+        }
+        return scores;
+    }
+
+    private void accumulate(Map<Long, Double> scores, Map<Long, Integer> documents, double quality) {
+        documents.forEach((id, weight) -> scores.merge(id, weight * quality, Double::sum));
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    private void addDocument(Event event) {
+        Map<String, Integer> weights = new HashMap<>();
+        addField(weights, event.getTitre(), TITRE_WEIGHT);
+        addField(weights, event.getLieu(), LIEU_WEIGHT);
+        addField(weights, event.getVille(), VILLE_WEIGHT);
+        addField(weights, event.getDescription(), DESCRIPTION_WEIGHT);
+
+        weights.forEach((term, weight) ->
+                postings.computeIfAbsent(term, t -> new HashMap<>()).put(event.getId(), weight));
+        documentTerms.put(event.getId(), weights.keySet());
+    }
+
+    private void addField(Map<String, Integer> weights, String text, int weight) {
+        for (String term : tokenize(text)) {
+            weights.merge(term, weight, Integer::sum);
+        }
+    }
+
+    private void removeDocument(Long eventId) {
+        Set<String> terms = documentTerms.remove(eventId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Integer> documents = postings.get(term);
+            if (documents != null) {
+                documents.remove(eventId);
+                if (documents.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    // Minuscules, sans accents (Conférence -> conference), découpage sur la ponctuation
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        Set<String> seen = new HashSet<>();
+        for (String token : SEPARATORS.split(folded.toLowerCase())) {
+            if (!token.isEmpty() && seen.add(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Distance de Levenshtein <= 1 (substitution, insertion ou suppression d'un caractère)
+    private static boolean isWithinOneEdit(String a, String b) {
+        if (Math.abs(a.length() - b.length()) > 1) {
+            return false;
+        }
+        if (a.length() > b.length()) {
+            String tmp = a;
+            a = b;
+            b = tmp;
+        }
+        int i = 0;
+        int j = 0;
+        boolean edited = false;
+        while (i < a.length() && j < b.length()) {
+            if (a.charAt(i) != b.charAt(j)) {
+                if (edited) {
+                    return false;
+                }
+                edited = true;
+                if (a.length() == b.length()) {
+                    i++;
+                }
+            } else {
+                i++;
+            }
+            j++;
+        }
+        return true;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -1,19 +1,32 @@
 package com.eventbooking.service.impl;
 
 import com.eventbooking.entity.Event;
-import com.eventbooking.entity.Reservation;
 import com.eventbooking.entity.enums.EventCategory;
 import com.eventbooking.entity.enums.EventStatus;
 import com.eventbooking.repository.EventRepository;
 import com.eventbooking.repository.ReservationRepository;
+import com.eventbooking.repository.SearchPattern;
 import com.eventbooking.service.EventService;
 import com.eventbooking.service.FileStorageService;
+import com.eventbooking.service.dto.EventCardRow;
+import com.eventbooking.service.SeatInventoryService;
+import com.eventbooking.service.event.DomainEventBus;
+import com.eventbooking.service.event.EventCancelled;
+import com.eventbooking.service.event.EventPublished;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -30,28 +43,42 @@ public class EventServiceImpl implements EventService {
     @Autowired
     private FileStorageService fileStorageService;
 
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private PublishedEventsCache publishedEventsCache;
+
+    @Autowired
+    private EventSearchIndex eventSearchIndex;
+
+    @Autowired
+    private DomainEventBus domainEventBus;
+
     // ==================== IMPLÉMENTATION DES MÉTHODES ====================
 
     @Override
     public Event createEvent(Event event) {
         event.setStatut(EventStatus.BROUILLON);
+        event.setPlacesRestantes(event.getCapaciteMax());
         event.setDateCreation(LocalDateTime.now());
         event.setDateModification(LocalDateTime.now());
-        return eventRepository.save(event);
+        return saveAndRefresh(event);
     }
 
     @Override
-    public Event createEventWithImage(Event event, String base64Image) {
+    public Event createEventWithImage(Event event, InputStream image) {
         try {
-            if (base64Image != null && !base64Image.isEmpty()) {
-                String imageUrl = fileStorageService.storeBase64Image(base64Image, "event_" + event.getTitre());
+            if (image != null) {
+                String imageUrl = fileStorageService.storeImage(image);
                 event.setImageUrl(imageUrl);
             }
 
             event.setStatut(EventStatus.BROUILLON);
+            event.setPlacesRestantes(event.getCapaciteMax());
             event.setDateCreation(LocalDateTime.now());
             event.setDateModification(LocalDateTime.now());
-            return eventRepository.save(event);
+            return saveAndRefresh(event);
         } catch (Exception e) {
             throw new RuntimeException("Erreur lors de la création de l'événement avec image", e);
         }
@@ -62,6 +89,9 @@ public class EventServiceImpl implements EventService {
         Event existingEvent = eventRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Événement non trouvé"));
 
+        adjustCapacity(existingEvent, event.getCapaciteMax());
+        EventStatus previousStatus = existingEvent.getStatut();
+
         existingEvent.setTitre(event.getTitre());
         existingEvent.setDescription(event.getDescription());
         existingEvent.setCategorie(event.getCategorie());
@@ -76,11 +106,11 @@ public class EventServiceImpl implements EventService {
         existingEvent.setStatut(event.getStatut());
         existingEvent.setDateModification(LocalDateTime.now());
 
-        return eventRepository.save(existingEvent);
+        return saveAndRefresh(existingEvent, previousStatus);
     }
 
     @Override
-    public Event updateEventWithImage(Long id, Event event, String base64Image) {
+    public Event updateEventWithImage(Long id, Event event, InputStream image) {
         Optional<Event> existingEventOpt = eventRepository.findById(id);
         if (existingEventOpt.isEmpty()) {
             throw new RuntimeException("Événement non trouvé");
@@ -88,14 +118,18 @@ public class EventServiceImpl implements EventService {
 
         Event existingEvent = existingEventOpt.get();
 
+        adjustCapacity(existingEvent, event.getCapaciteMax());
+        EventStatus previousStatus = existingEvent.getStatut();
+
         try {
-            if (base64Image != null && !base64Image.isEmpty()) {
+            if (image != null) {
+                // Nouvelle image validée et enregistrée avant de supprimer l'ancienne
+                String newImageUrl = fileStorageService.storeImage(image);
+
                 String oldImageUrl = existingEvent.getImageUrl();
                 if (oldImageUrl != null && oldImageUrl.contains("/uploads/")) {
                     fileStorageService.deleteFile(oldImageUrl);
                 }
-
-                String newImageUrl = fileStorageService.storeBase64Image(base64Image, "event_" + event.getTitre());
                 existingEvent.setImageUrl(newImageUrl);
             }
 
@@ -112,7 +146,7 @@ public class EventServiceImpl implements EventService {
             existingEvent.setStatut(event.getStatut());
             existingEvent.setDateModification(LocalDateTime.now());
 
-            return eventRepository.save(existingEvent);
+            return saveAndRefresh(existingEvent, previousStatus);
         } catch (Exception e) {
             throw new RuntimeException("Erreur lors de la mise à jour de l'événement avec image", e);
         }
@@ -120,40 +154,24 @@ public class EventServiceImpl implements EventService {
 
     @Override
     public void deleteEvent(Long id) {
-        Event event = eventRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Événement non trouvé"));
-
-        List<Reservation> reservations = reservationRepository.findByEvenementId(id);
-        if (!reservations.isEmpty()) {
-            reservationRepository.deleteAll(reservations);
-        }
-
-        eventRepository.deleteById(id);
+        deleteEventAndReservations(id);
     }
 
     @Override
     public void deleteEventWithImage(Long id) {
-        Optional<Event> eventOpt = eventRepository.findById(id);
-        if (eventOpt.isEmpty()) {
-            throw new RuntimeException("Événement non trouvé");
-        }
+        String imageUrl = eventRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Événement non trouvé"))
+                .getImageUrl();
 
-        Event event = eventOpt.get();
+        deleteEventAndReservations(id);
 
-        try {
-            String imageUrl = event.getImageUrl();
-            if (imageUrl != null && imageUrl.contains("/uploads/")) {
+        // Fichier retiré après le commit, s'il n'est plus référencé par aucun événement
+        if (imageUrl != null && imageUrl.contains("/uploads/")) {
+            try {
                 fileStorageService.deleteFile(imageUrl);
+            } catch (IOException e) {
+                throw new RuntimeException("Erreur lors de la suppression de l'événement", e);
             }
-
-            List<Reservation> reservations = reservationRepository.findByEvenementId(id);
-            if (!reservations.isEmpty()) {
-                reservationRepository.deleteAll(reservations);
-            }
-
-            eventRepository.deleteById(id);
-        } catch (Exception e) {
-            throw new RuntimeException("Erreur lors de la suppression de l'événement", e);
         }
     }
 
@@ -179,6 +197,11 @@ public class EventServiceImpl implements EventService {
         return getEventsByOrganisateur(organizerId);
     }
 
+    @Override
+    public List<EventCardRow> getEventRowsByOrganizer(Long organizerId) {
+        return eventRepository.findRowsByOrganisateurId(organizerId);
+    }
+
     @Override
     public List<Event> getUpcomingEventsByOrganisateur(Long organisateurId) {
         List<Event> events = eventRepository.findByOrganisateurId(organisateurId);
@@ -187,14 +210,17 @@ public class EventServiceImpl implements EventService {
                 .collect(Collectors.toList());
     }
 
+    // Servis depuis l'instantané en mémoire (pas de transaction ni de connexion si le cache est chaud)
     @Override
-    public List<Event> getPublishedEvents() {
-        return eventRepository.findUpcomingPublishedEvents(LocalDateTime.now());
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<EventCardRow> getPublishedEvents() {
+        return publishedEventsCache.getUpcomingPublishedEvents();
     }
 
     @Override
-    public List<Event> getUpcomingEvents() {
-        return eventRepository.findUpcomingPublishedEvents(LocalDateTime.now());
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<EventCardRow> getUpcomingEvents() {
+        return publishedEventsCache.getUpcomingPublishedEvents();
     }
 
     @Override
@@ -219,7 +245,34 @@ public class EventServiceImpl implements EventService {
 
     @Override
     public List<Event> searchEvents(String keyword) {
-        return eventRepository.findByTitreContainingIgnoreCase(keyword);
+        if (keyword == null || keyword.isBlank()) {
+            return eventRepository.findByStatut(EventStatus.PUBLIE);
+        }
+
+        // Index plein texte : identifiants classés, puis chargement en une requête dans le même ordre
+        List<Long> rankedIds = eventSearchIndex.search(keyword);
+        Map<Long, Event> eventsById = eventRepository.findAllById(rankedIds).stream()
+                .collect(Collectors.toMap(Event::getId, e -> e));
+        return rankedIds.stream()
+                .map(eventsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<EventCardRow> rankBySearch(List<EventCardRow> events, String keyword) {
+        if (keyword == null || keyword.isBlank()) {
+            return events;
+        }
+
+        // Ordre de l'index plein texte, restreint aux événements fournis
+        Map<Long, EventCardRow> eventsById = events.stream()
+                .collect(Collectors.toMap(EventCardRow::getId, e -> e, (first, second) -> first));
+        return eventSearchIndex.search(keyword).stream()
+                .map(eventsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -227,37 +280,61 @@ public class EventServiceImpl implements EventService {
         return searchEvents(titre);
     }
 
+    @Override
+    public List<EventCardRow> findEventRows(String keyword, EventCategory category, EventStatus status, Pageable pageable) {
+        return eventRepository.findRows(SearchPattern.of(keyword), category, status, Pagination.withDefaultSort(pageable));
+    }
+
+    @Override
+    public long countEvents(String keyword, EventCategory category, EventStatus status) {
+        return eventRepository.countRows(SearchPattern.of(keyword), category, status);
+    }
+
     // ==================== MÉTHODES DE GESTION D'ÉTAT ====================
 
     @Override
     public Event publishEvent(Long id) {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Événement non trouvé"));
+        EventStatus previousStatus = event.getStatut();
         event.setStatut(EventStatus.PUBLIE);
         event.setDateModification(LocalDateTime.now());
-        return eventRepository.save(event);
+        return saveAndRefresh(event, previousStatus);
     }
 
     @Override
     public Event cancelEvent(Long id) {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Événement non trouvé"));
+        EventStatus previousStatus = event.getStatut();
         event.setStatut(EventStatus.ANNULE);
         event.setDateModification(LocalDateTime.now());
-        return eventRepository.save(event);
+        return saveAndRefresh(event, previousStatus);
     }
 
     // ==================== STATISTIQUES ====================
 
     @Override
     public int getAvailablePlaces(Long eventId) {
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new RuntimeException("Événement non trouvé"));
-
-        Integer reservedPlaces = reservationRepository.countConfirmedPlacesByEvent(eventId);
-        int reserved = (reservedPlaces != null) ? reservedPlaces : 0;
+        // Stock réservable tenu par SeatInventoryService (places en attente et confirmées déduites)
+        Integer available = eventRepository.findPlacesRestantesById(eventId);
+        if (available == null) {
+            throw new RuntimeException("Événement non trouvé");
+        }
+        return available;
+    }
 
-        return event.getCapaciteMax() - reserved;
+    @Override
+    public Map<Long, Integer> getAvailablePlaces(Collection<Long> eventIds) {
+        Map<Long, Integer> result = new HashMap<>();
+        if (eventIds == null || eventIds.isEmpty()) {
+            return result;
+        }
+        // Stock réservable (places en attente et confirmées déduites), comme à la réservation
+        for (Object[] row : eventRepository.findPlacesRestantesByIds(eventIds)) {
+            result.put((Long) row[0], row[1] != null ? ((Number) row[1]).intValue() : 0);
+        }
+        return result;
     }
 
     @Override
@@ -272,7 +349,7 @@ public class EventServiceImpl implements EventService {
 
     @Override
     public long getOrganizerEventsCount(Long organizerId) {
-        return eventRepository.findByOrganisateurId(organizerId).size();
+        return eventRepository.countByOrganisateurId(organizerId);
     }
 
     @Override
@@ -285,6 +362,46 @@ public class EventServiceImpl implements EventService {
 
     @Override
     public long getUpcomingEventsCount() {
-        return eventRepository.findUpcomingPublishedEvents(LocalDateTime.now()).size();
+        return eventRepository.countUpcomingPublishedEvents(LocalDateTime.now());
+    }
+
+    // Répercute une nouvelle capacité sur le stock de places restantes
+    private void adjustCapacity(Event existingEvent, Integer newCapacity) {
+        int oldCapacity = existingEvent.getCapaciteMax() != null ? existingEvent.getCapaciteMax() : 0;
+        if (newCapacity != null && newCapacity != oldCapacity) {
+            seatInventoryService.adjustCapacity(existingEvent.getId(), newCapacity - oldCapacity);
+        }
+    }
+
+    // Enregistre l'événement puis rafraîchit le cache des événements publiés et l'index de recherche
+    private Event saveAndRefresh(Event event) {
+        Event saved = eventRepository.save(event);
+        publishedEventsCache.invalidate();
+        eventSearchIndex.update(saved);
+        return saved;
+    }
+
+    // Variante pour les changements de statut : publication ou annulation notifiées après commit
+    private Event saveAndRefresh(Event event, EventStatus previousStatus) {
+        Event saved = saveAndRefresh(event);
+        if (saved.getStatut() != previousStatus) {
+            Long organizerId = saved.getOrganisateur() != null ? saved.getOrganisateur().getId() : null;
+            if (saved.getStatut() == EventStatus.PUBLIE) {
+                domainEventBus.publish(new EventPublished(saved.getId(), organizerId, saved.getDateModification()));
+            } else if (saved.getStatut() == EventStatus.ANNULE) {
+                domainEventBus.publish(new EventCancelled(saved.getId(), organizerId, saved.getDateModification()));
+            }
+        }
+        return saved;
+    }
+
+    // Deux requêtes ensemblistes quel que soit le nombre de réservations (aucune n'est chargée)
+    private void deleteEventAndReservations(Long id) {
+        reservationRepository.deleteAllByEvenementIdInBulk(id);
+        if (eventRepository.deleteEventById(id) == 0) {
+            throw new RuntimeException("Événement non trouvé");
+        }
+        publishedEventsCache.invalidate();
+        eventSearchIndex.remove(id);
     }
-}
\ No newline at end of file
+}
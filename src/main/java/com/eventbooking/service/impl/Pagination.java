@@ -0,0 +1,19 @@
+package com.eventbooking.service.impl;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+final class Pagination {
+
+    private Pagination() {
+    }
+
+    // Tri stable par défaut pour que la pagination ne saute ni ne duplique de lignes
+    static Pageable withDefaultSort(Pageable pageable) {
+        if (pageable.isPaged() && pageable.getSort().isUnsorted()) {
+            return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("id"));
+        }
+        return pageable;
+    }
+}
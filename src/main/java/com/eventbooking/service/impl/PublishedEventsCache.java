@@ -0,0 +1,88 @@
+package com.eventbooking.service.impl;
+
+import com.eventbooking.service.dto.EventCardRow;
+import com.eventbooking.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Instantané partagé (toutes sessions) des événements publiés à venir, en lignes
+ * de carte détachées de toute session JPA.
+ * Lecture sans verrou : une liste immuable derrière une référence atomique.
+ * Invalidé après commit des écritures d'EventServiceImpl ; les événements
+ * commencés sont retirés au fil du temps sans relire la base.
+ */
+@Component
+public class PublishedEventsCache {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    // Incrémenté à chaque invalidation : un chargement commencé avant n'est pas publié
+    private final AtomicLong generation = new AtomicLong();
+
+    public List<EventCardRow> getUpcomingPublishedEvents() {
+        LocalDateTime now = LocalDateTime.now();
+        Snapshot current = snapshot.get();
+
+        if (current == null) {
+            long loadGeneration = generation.get();
+            Snapshot loaded = new Snapshot(List.copyOf(eventRepository.findUpcomingPublishedRows(now)));
+            // Une invalidation survenue pendant le chargement annule la publication
+            if (snapshot.compareAndSet(null, loaded) && generation.get() != loadGeneration) {
+                snapshot.compareAndSet(loaded, null);
+            }
+            return loaded.events();
+        }
+
+        if (current.hasStartedEvents(now)) {
+            Snapshot trimmed = current.withoutStartedEvents(now);
+            snapshot.compareAndSet(current, trimmed);
+            return trimmed.events();
+        }
+
+        return current.events();
+    }
+
+    // À appeler dans la transaction d'écriture : l'instantané est vidé après le commit
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear();
+                }
+            });
+        } else {
+            clear();
+        }
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        snapshot.set(null);
+    }
+
+    // Événements triés par date de début croissante (ordre de la requête)
+    private record Snapshot(List<EventCardRow> events) {
+
+        boolean hasStartedEvents(LocalDateTime now) {
+            return !events.isEmpty() && !events.get(0).getDateDebut().isAfter(now);
+        }
+
+        Snapshot withoutStartedEvents(LocalDateTime now) {
+            return new Snapshot(events.stream()
+                    .filter(e -> e.getDateDebut().isAfter(now))
+                    .toList());
+        }
+    }
+}
@@ -8,16 +8,26 @@ import com.eventbooking.entity.enums.EventStatus;
 import com.eventbooking.repository.ReservationRepository;
 import com.eventbooking.repository.UserRepository;
 import com.eventbooking.repository.EventRepository;
+import com.eventbooking.repository.SearchPattern;
 import com.eventbooking.service.ReservationService;
+import com.eventbooking.service.SeatInventoryService;
+import com.eventbooking.service.dto.ReservationRow;
+import com.eventbooking.service.event.DomainEventBus;
+import com.eventbooking.service.event.ReservationCancelled;
+import com.eventbooking.service.event.ReservationConfirmed;
+import com.eventbooking.service.event.ReservationCreated;
 import com.eventbooking.util.ReservationCodeGenerator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.Random;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -35,7 +45,11 @@ public class ReservationServiceImpl implements ReservationService {
     @Autowired
     private ReservationCodeGenerator codeGenerator;
 
-    private Random random = new Random();
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private DomainEventBus domainEventBus;
 
     @Override
     public Reservation createReservation(Reservation reservation) {
@@ -47,10 +61,6 @@ public class ReservationServiceImpl implements ReservationService {
             throw new IllegalArgumentException("Le nombre de places doit être au moins 1");
         }
 
-        if (!checkAvailability(reservation.getEvenement().getId(), reservation.getNombrePlaces())) {
-            throw new IllegalStateException("Places insuffisantes pour cet événement");
-        }
-
         if (reservation.getEvenement().getStatut() != EventStatus.PUBLIE) {
             throw new IllegalStateException("Impossible de réserver un événement non publié");
         }
@@ -63,6 +73,11 @@ public class ReservationServiceImpl implements ReservationService {
             throw new IllegalStateException("Vous avez déjà réservé cet événement");
         }
 
+        // Les places sont bloquées dès la création ; la transaction restitue le stock en cas d'échec
+        if (!seatInventoryService.acquire(reservation.getEvenement().getId(), reservation.getNombrePlaces())) {
+            throw new IllegalStateException("Places insuffisantes pour cet événement");
+        }
+
         Double totalAmount = calculateTotalAmount(
                 reservation.getEvenement().getId(),
                 reservation.getNombrePlaces()
@@ -72,7 +87,12 @@ public class ReservationServiceImpl implements ReservationService {
         reservation.setDateReservation(LocalDateTime.now());
         reservation.setStatut(ReservationStatus.EN_ATTENTE);
 
-        return reservationRepository.save(reservation);
+        Reservation saved = reservationRepository.save(reservation);
+        seatInventoryService.recordTransition(saved.getEvenement().getId(), saved.getNombrePlaces(), totalAmount,
+                null, ReservationStatus.EN_ATTENTE);
+        domainEventBus.publish(new ReservationCreated(saved.getId(), saved.getEvenement().getId(),
+                saved.getUtilisateur().getId(), saved.getNombrePlaces(), totalAmount, saved.getDateReservation()));
+        return saved;
     }
 
     @Override
@@ -110,6 +130,13 @@ public class ReservationServiceImpl implements ReservationService {
         Reservation reservation = reservationRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Réservation non trouvée"));
 
+        // Restituer les places encore bloquées par la réservation
+        if (reservation.getStatut() != ReservationStatus.ANNULEE
+                && reservationRepository.updateStatut(id, reservation.getStatut(), ReservationStatus.ANNULEE) == 1) {
+            seatInventoryService.release(reservation.getEvenement().getId(), reservation.getNombrePlaces());
+            recordTransition(reservation, ReservationStatus.ANNULEE);
+        }
+
         reservationRepository.deleteById(id);
     }
 
@@ -133,6 +160,11 @@ public class ReservationServiceImpl implements ReservationService {
         return reservationRepository.findByUtilisateurId(userId);
     }
 
+    @Override
+    public List<ReservationRow> getReservationRowsByUser(Long userId) {
+        return reservationRepository.findRowsByUtilisateurId(userId);
+    }
+
     @Override
     public List<Reservation> getReservationsByEvent(Long eventId) {
         return reservationRepository.findByEvenementId(eventId);
@@ -143,17 +175,51 @@ public class ReservationServiceImpl implements ReservationService {
         return reservationRepository.findByStatut(status);
     }
 
+    @Override
+    public List<ReservationRow> findReservationRows(String keyword, ReservationStatus status, Pageable pageable) {
+        return reservationRepository.findRows(SearchPattern.of(keyword), status, Pagination.withDefaultSort(pageable));
+    }
+
+    @Override
+    public long countReservations(String keyword, ReservationStatus status) {
+        return reservationRepository.countRows(SearchPattern.of(keyword), status);
+    }
+
     @Override
     public Reservation confirmReservation(Long reservationId) {
         Reservation reservation = reservationRepository.findById(reservationId)
                 .orElseThrow(() -> new IllegalArgumentException("Réservation non trouvée"));
 
-        if (!checkAvailability(reservation.getEvenement().getId(), reservation.getNombrePlaces())) {
-            throw new IllegalStateException("Places insuffisantes pour confirmer cette réservation");
+        switch (reservation.getStatut()) {
+            case CONFIRMEE -> {
+                return reservation;
+            }
+            case EN_ATTENTE -> {
+                // Les places sont déjà bloquées ; échoue si la réservation vient d'expirer
+                if (reservationRepository.updateStatut(reservationId,
+                        ReservationStatus.EN_ATTENTE, ReservationStatus.CONFIRMEE) == 0) {
+                    throw new IllegalStateException("La réservation a expiré ou a été annulée entre-temps");
+                }
+                recordTransition(reservation, ReservationStatus.CONFIRMEE);
+            }
+            case ANNULEE -> {
+                // Réservation annulée ou expirée : il faut de nouveau bloquer les places
+                if (!seatInventoryService.acquire(reservation.getEvenement().getId(), reservation.getNombrePlaces())) {
+                    throw new IllegalStateException("Places insuffisantes pour confirmer cette réservation");
+                }
+                if (reservationRepository.updateStatut(reservationId,
+                        ReservationStatus.ANNULEE, ReservationStatus.CONFIRMEE) == 0) {
+                    throw new IllegalStateException("La réservation a été modifiée entre-temps, veuillez réessayer");
+                }
+                recordTransition(reservation, ReservationStatus.CONFIRMEE);
+            }
         }
 
         reservation.setStatut(ReservationStatus.CONFIRMEE);
-        return reservationRepository.save(reservation);
+        Reservation saved = reservationRepository.save(reservation);
+        domainEventBus.publish(new ReservationConfirmed(saved.getId(), saved.getEvenement().getId(),
+                saved.getUtilisateur().getId(), saved.getNombrePlaces(), LocalDateTime.now()));
+        return saved;
     }
 
     @Override
@@ -161,22 +227,33 @@ public class ReservationServiceImpl implements ReservationService {
         Reservation reservation = reservationRepository.findById(reservationId)
                 .orElseThrow(() -> new IllegalArgumentException("Réservation non trouvée"));
 
+        if (reservation.getStatut() == ReservationStatus.ANNULEE) {
+            return reservation;
+        }
+
+        // Seul l'appel qui réalise la transition restitue les places (pas de double restitution)
+        if (reservationRepository.updateStatut(reservationId,
+                reservation.getStatut(), ReservationStatus.ANNULEE) == 0) {
+            throw new IllegalStateException("La réservation a été modifiée entre-temps, veuillez réessayer");
+        }
+        seatInventoryService.release(reservation.getEvenement().getId(), reservation.getNombrePlaces());
+        recordTransition(reservation, ReservationStatus.ANNULEE);
+
         reservation.setStatut(ReservationStatus.ANNULEE);
         if (reason != null && !reason.trim().isEmpty()) {
             reservation.setCommentaire((reservation.getCommentaire() != null ?
                     reservation.getCommentaire() + " | " : "") + "Annulation: " + reason);
         }
 
-        return reservationRepository.save(reservation);
+        Reservation saved = reservationRepository.save(reservation);
+        domainEventBus.publish(new ReservationCancelled(saved.getId(), saved.getEvenement().getId(),
+                saved.getUtilisateur().getId(), saved.getNombrePlaces(), reason, LocalDateTime.now()));
+        return saved;
     }
 
     @Override
     public boolean checkAvailability(Long eventId, Integer numberOfPlaces) {
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new IllegalArgumentException("Événement non trouvé"));
-
-        Integer reservedPlaces = getConfirmedPlacesCountByEvent(eventId);
-        int availablePlaces = event.getCapaciteMax() - (reservedPlaces != null ? reservedPlaces : 0);
+        int availablePlaces = seatInventoryService.getRemainingPlaces(eventId);
 
         return availablePlaces >= numberOfPlaces;
     }
@@ -191,12 +268,8 @@ public class ReservationServiceImpl implements ReservationService {
 
     @Override
     public String generateReservationCode() {
-        String code;
-        do {
-            code = codeGenerator.generateCode();
-        } while (reservationRepository.findByCodeReservation(code).isPresent());
-
-        return code;
+        // Unique par construction : aucune vérification en base
+        return codeGenerator.generateCode();
     }
 
     @Override
@@ -221,19 +294,19 @@ public class ReservationServiceImpl implements ReservationService {
 
     @Override
     public double getTotalRevenue() {
-        Double revenue = reservationRepository.sumMontantTotalByStatut(ReservationStatus.CONFIRMEE);
+        Double revenue = eventRepository.sumMontantConfirme();
         return revenue != null ? revenue : 0.0;
     }
 
     @Override
     public double getOrganizerRevenue(Long organizerId) {
-        Double revenue = reservationRepository.sumMontantTotalByOrganizerAndStatut(organizerId, ReservationStatus.CONFIRMEE);
+        Double revenue = eventRepository.sumMontantConfirmeByOrganisateurId(organizerId);
         return revenue != null ? revenue : 0.0;
     }
 
     @Override
     public Integer getConfirmedPlacesCountByEvent(Long eventId) {
-        Integer count = reservationRepository.sumNombrePlacesByEventAndStatut(eventId, ReservationStatus.CONFIRMEE);
+        Integer count = eventRepository.findPlacesConfirmeesById(eventId);
         return count != null ? count : 0;
     }
 
@@ -243,6 +316,15 @@ public class ReservationServiceImpl implements ReservationService {
                 userId, eventId, List.of(ReservationStatus.EN_ATTENTE, ReservationStatus.CONFIRMEE));
     }
 
+    @Override
+    public Set<Long> hasUserReserved(Long userId, Collection<Long> eventIds) {
+        if (userId == null || eventIds == null || eventIds.isEmpty()) {
+            return new HashSet<>();
+        }
+        return new HashSet<>(reservationRepository.findReservedEventIds(
+                userId, eventIds, List.of(ReservationStatus.EN_ATTENTE, ReservationStatus.CONFIRMEE)));
+    }
+
     @Override
     public List<Reservation> getUpcomingReservationsByUser(Long userId) {
         return reservationRepository.findUpcomingReservationsByUser(userId, LocalDateTime.now());
@@ -252,4 +334,11 @@ public class ReservationServiceImpl implements ReservationService {
     public List<Reservation> getReservationHistoryByUser(Long userId) {
         return reservationRepository.findPastReservationsByUser(userId, LocalDateTime.now());
     }
-}
\ No newline at end of file
+
+    // Compteurs de l'événement, à appeler après une transition conditionnelle réussie (statut encore l'ancien)
+    private void recordTransition(Reservation reservation, ReservationStatus to) {
+        Double montant = reservation.getMontantTotal();
+        seatInventoryService.recordTransition(reservation.getEvenement().getId(), reservation.getNombrePlaces(),
+                montant != null ? montant : 0.0, reservation.getStatut(), to);
+    }
+}
@@ -0,0 +1,142 @@
+package com.eventbooking.service.impl;
+
+import com.eventbooking.entity.enums.ReservationStatus;
+import com.eventbooking.repository.EventRepository;
+import com.eventbooking.repository.ReservationRepository;
+import com.eventbooking.service.SeatAvailabilityBroadcaster;
+import com.eventbooking.service.SeatInventoryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@Transactional
+public class SeatInventoryServiceImpl implements SeatInventoryService {
+
+    private static final String LOG_PREFIX = "[reservation-counters] ";
+    // Identifiants cités au plus dans la trace d'un passage de réconciliation
+    private static final int MAX_LOGGED_IDS = 20;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private SeatAvailabilityBroadcaster seatAvailabilityBroadcaster;
+
+    // Durée pendant laquelle une réservation en attente bloque ses places
+    @Value("${reservation.hold.ttl:PT48H}")
+    private Duration holdTtl;
+
+    @Override
+    public boolean acquire(Long eventId, int places) {
+        if (places < 1) {
+            throw new IllegalArgumentException("Le nombre de places doit être au moins 1");
+        }
+        // Le test et le décrément se font dans la même instruction UPDATE : aucune survente possible
+        if (eventRepository.decrementPlacesRestantes(eventId, places) == 1) {
+            seatAvailabilityBroadcaster.seatsChanged(eventId);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void release(Long eventId, int places) {
+        if (places > 0) {
+            eventRepository.incrementPlacesRestantes(eventId, places);
+            seatAvailabilityBroadcaster.seatsChanged(eventId);
+        }
+    }
+
+    @Override
+    public void adjustCapacity(Long eventId, int delta) {
+        if (delta > 0) {
+            eventRepository.incrementPlacesRestantes(eventId, delta);
+        } else if (delta < 0 && eventRepository.decrementPlacesRestantes(eventId, -delta) == 0) {
+            throw new IllegalStateException("La capacité ne peut pas être inférieure aux places déjà réservées");
+        }
+        if (delta != 0) {
+            seatAvailabilityBroadcaster.seatsChanged(eventId);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int getRemainingPlaces(Long eventId) {
+        Integer remaining = eventRepository.findPlacesRestantesById(eventId);
+        if (remaining == null) {
+            throw new IllegalArgumentException("Événement non trouvé");
+        }
+        return remaining;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${reservation.hold.check-interval:PT1M}")
+    public int expirePendingHolds() {
+        LocalDateTime limit = LocalDateTime.now().minus(holdTtl);
+        int expired = 0;
+
+        for (Object[] hold : reservationRepository.findHoldsByStatutBefore(ReservationStatus.EN_ATTENTE, limit)) {
+            Long reservationId = (Long) hold[0];
+            // Transition conditionnelle : si une confirmation est passée entre-temps, on ne libère rien
+            if (reservationRepository.updateStatut(reservationId,
+                    ReservationStatus.EN_ATTENTE, ReservationStatus.ANNULEE) == 1) {
+                Long eventId = (Long) hold[1];
+                int places = ((Number) hold[2]).intValue();
+                release(eventId, places);
+                // Montant sans effet : seules les places confirmées portent le montant
+                recordTransition(eventId, places, 0, ReservationStatus.EN_ATTENTE, ReservationStatus.ANNULEE);
+                expired++;
+            }
+        }
+        return expired;
+    }
+
+    @Override
+    public void recordTransition(Long eventId, int places, double montant,
+                                 ReservationStatus from, ReservationStatus to) {
+        int confirmees = delta(places, from, to, ReservationStatus.CONFIRMEE);
+        int enAttente = delta(places, from, to, ReservationStatus.EN_ATTENTE);
+        if (confirmees != 0 || enAttente != 0) {
+            eventRepository.addToReservationCounters(eventId, confirmees, enAttente,
+                    Integer.signum(confirmees) * montant);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${reservation.counters.reconcile-interval:PT1H}",
+               initialDelayString = "${reservation.counters.reconcile-interval:PT1H}")
+    public int reconcileCounters() {
+        int repaired = 0;
+        List<Long> eventIds = new ArrayList<>();
+        for (Object[] expected : eventRepository.findReservationCounterMismatches()) {
+            Long eventId = (Long) expected[0];
+            eventIds.add(eventId);
+            repaired += eventRepository.recomputeReservationCounters(eventId);
+            seatAvailabilityBroadcaster.seatsChanged(eventId);
+        }
+        // Une seule ligne par passage, et seulement en cas de dérive
+        if (!eventIds.isEmpty()) {
+            System.err.println(LOG_PREFIX + eventIds.size() + " événement(s) aux compteurs divergents recalculé(s) : "
+                    + (eventIds.size() > MAX_LOGGED_IDS ? eventIds.subList(0, MAX_LOGGED_IDS) + "…" : eventIds));
+        }
+        return repaired;
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    // Variation des places d'un statut donné : + en entrant dans le statut, - en le quittant
+    private static int delta(int places, ReservationStatus from, ReservationStatus to, ReservationStatus statut) {
+        return (to == statut ? places : 0) - (from == statut ? places : 0);
+    }
+}
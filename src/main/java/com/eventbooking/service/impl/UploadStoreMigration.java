@@ -0,0 +1,56 @@
+package com.eventbooking.service.impl;
+
+import com.eventbooking.repository.EventRepository;
+import com.eventbooking.service.FileStorageService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+
+/**
+ * Migration des images d'événements de l'ancien dossier à plat (uploads/prefix_UUID.ext)
+ * vers le store adressé par contenu. Idempotente : sans effet une fois les URL migrées.
+ * Les doublons fusionnent en un seul fichier ; les anciens fichiers sont supprimés après commit.
+ */
+@Component
+public class UploadStoreMigration {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private PublishedEventsCache publishedEventsCache;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void migrateLegacyUploads() {
+        int migrated = 0;
+        for (String legacyUrl : eventRepository.findUploadedImageUrls()) {
+            if (FileStorageService.isContentAddressed(legacyUrl)) {
+                continue;
+            }
+            try {
+                String storedUrl = fileStorageService.importLegacyFile(legacyUrl);
+                if (storedUrl == null) {
+                    continue;
+                }
+                eventRepository.updateImageUrl(legacyUrl, storedUrl);
+                fileStorageService.deleteFile(legacyUrl);
+                migrated++;
+            } catch (IOException e) {
+                System.err.println("Image non migrée " + legacyUrl + " : " + e.getMessage());
+            }
+        }
+
+        if (migrated > 0) {
+            publishedEventsCache.invalidate();
+            System.out.println("Store d'uploads : " + migrated + " image(s) migrée(s)");
+        }
+    }
+}
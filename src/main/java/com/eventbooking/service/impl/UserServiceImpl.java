@@ -5,8 +5,10 @@ import com.eventbooking.entity.enums.UserRole;
 import com.eventbooking.repository.UserRepository;
 import com.eventbooking.repository.ReservationRepository;
 import com.eventbooking.repository.EventRepository;
+import com.eventbooking.repository.SearchPattern;
 import com.eventbooking.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -63,7 +65,7 @@ public class UserServiceImpl implements UserService {
         long reservationCount = reservationRepository.countByUtilisateurId(id);
 
         // Vérifier les événements associés (pour les organisateurs)
-        long eventCount = eventRepository.findByOrganisateurId(id).size();
+        long eventCount = eventRepository.countByOrganisateurId(id);
 
         // Construire un message d'erreur personnalisé
         StringBuilder errorMessage = new StringBuilder();
@@ -184,6 +186,16 @@ public class UserServiceImpl implements UserService {
         return userRepository.findByActif(true);
     }
 
+    @Override
+    public List<User> findUsers(String keyword, UserRole role, Pageable pageable) {
+        return userRepository.findPage(SearchPattern.of(keyword), role, Pagination.withDefaultSort(pageable));
+    }
+
+    @Override
+    public long countUsers(String keyword, UserRole role) {
+        return userRepository.countPage(SearchPattern.of(keyword), role);
+    }
+
     @Override
     public boolean changePassword(Long userId, String oldPassword, String newPassword) {
         User user = userRepository.findById(userId)
@@ -214,4 +226,4 @@ public class UserServiceImpl implements UserService {
 
 
 
-}
\ No newline at end of file
+}
@@ -1,19 +1,115 @@
 package com.eventbooking.util;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.Random;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Codes de réservation uniques sans consultation de la base (type Snowflake) :
+ * 64 bits = horodatage en ms (41) | nœud (10) | séquence (12), encodés en base32
+ * Crockford sur 13 caractères, suivis d'un caractère de contrôle (Luhn mod 32).
+ * Exemple : RES-0A8MZBWT80C00D
+ */
 @Component
 public class ReservationCodeGenerator {
 
-    private Random random = new Random();
+    public static final String PREFIX = "RES-";
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int BASE = ALPHABET.length;
+
+    private static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static final int BODY_LENGTH = 13;
+    private static final int CODE_LENGTH = PREFIX.length() + BODY_LENGTH + 1;
+
+    private final long nodeId;
+
+    // (horodatage << SEQUENCE_BITS) | séquence du dernier code émis ; strictement croissant
+    private final AtomicLong lastState = new AtomicLong();
+
+    public ReservationCodeGenerator(@Value("${reservation.code.node-id:0}") long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("reservation.code.node-id doit être compris entre 0 et " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+    }
 
     public String generateCode() {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyMMddHHmm"));
-        String randomDigits = String.format("%03d", random.nextInt(1000));
-        return "RES-" + timestamp + "-" + randomDigits;
+        return encode(nextId());
+    }
+
+    // Vérifie le format et le caractère de contrôle (faute de frappe, inversion de deux caractères)
+    public static boolean isValid(String code) {
+        if (code == null || code.length() != CODE_LENGTH || !code.startsWith(PREFIX)) {
+            return false;
+        }
+        int sum = 0;
+        for (int i = PREFIX.length(); i < CODE_LENGTH; i++) {
+            int value = decode(code.charAt(i));
+            if (value < 0) {
+                return false;
+            }
+            sum += luhnTerm(value, CODE_LENGTH - 1 - i);
+        }
+        return sum % BASE == 0;
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    // Sans verrou : une seule CAS ; au-delà de 4096 codes par ms, la séquence déborde
+    // sur la milliseconde suivante, l'unicité et l'ordre sont conservés
+    long nextId() {
+        long now = (System.currentTimeMillis() - EPOCH) << SEQUENCE_BITS;
+        long previous;
+        long next;
+        do {
+            previous = lastState.get();
+            next = Math.max(previous + 1, now);
+        } while (!lastState.compareAndSet(previous, next));
+
+        long timestamp = next >>> SEQUENCE_BITS;
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+    }
+
+    private static String encode(long id) {
+        char[] code = new char[CODE_LENGTH];
+        PREFIX.getChars(0, PREFIX.length(), code, 0);
+
+        int sum = 0;
+        long remaining = id;
+        for (int i = PREFIX.length() + BODY_LENGTH - 1; i >= PREFIX.length(); i--) {
+            int value = (int) (remaining & (BASE - 1));
+            remaining >>>= 5;
+            code[i] = ALPHABET[value];
+            sum += luhnTerm(value, CODE_LENGTH - 1 - i);
+        }
+        code[CODE_LENGTH - 1] = ALPHABET[(BASE - sum % BASE) % BASE];
+        return new String(code);
+    }
+
+    // Luhn mod N : un caractère sur deux (en partant de la droite) est doublé
+    private static int luhnTerm(int value, int positionFromRight) {
+        if (positionFromRight % 2 == 0) {
+            return value;
+        }
+        int doubled = value * 2;
+        return doubled / BASE + doubled % BASE;
+    }
+
+    private static int decode(char c) {
+        char upper = Character.toUpperCase(c);
+        for (int i = 0; i < BASE; i++) {
+            if (ALPHABET[i] == upper) {
+                return i;
+            }
+        }
+        return -1;
     }
-}
\ No newline at end of file
+}
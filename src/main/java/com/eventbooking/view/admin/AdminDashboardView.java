@@ -4,10 +4,15 @@ import com.eventbooking.entity.Event;
 import com.eventbooking.entity.Reservation;
 import com.eventbooking.entity.User;
 import com.eventbooking.entity.enums.*;
+import com.eventbooking.service.AnalyticsService;
 import com.eventbooking.service.EventService;
 import com.eventbooking.service.ReservationService;
 import com.eventbooking.service.UserService;
 import com.eventbooking.service.dto.DashboardFilter;
+import com.eventbooking.service.dto.DashboardStats;
+import com.eventbooking.service.dto.EventCardRow;
+import com.eventbooking.service.dto.RankingEntry;
+import com.eventbooking.service.dto.ReservationRow;
 import com.eventbooking.view.admin.components.AdminSidebar;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
@@ -26,13 +31,13 @@ import com.vaadin.flow.data.renderer.ComponentRenderer;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
 import jakarta.annotation.security.PermitAll;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Route("admin/dashboard")
 @PageTitle("Dashboard Admin | Event Booking")
@@ -48,7 +53,11 @@ public class AdminDashboardView extends HorizontalLayout {
     @Autowired
     private ReservationService reservationService;
 
+    @Autowired
+    private AnalyticsService analyticsService;
+
     private DashboardFilter currentFilter;
+    private DashboardStats dashboardStats;
 
     private User currentUser;
     private TabSheet dashboardTabs;
@@ -58,10 +67,12 @@ public class AdminDashboardView extends HorizontalLayout {
 
     public AdminDashboardView(UserService userService,
                               EventService eventService,
-                              ReservationService reservationService) {
+                              ReservationService reservationService,
+                              AnalyticsService analyticsService) {
         this.userService = userService;
         this.eventService = eventService;
         this.reservationService = reservationService;
+        this.analyticsService = analyticsService;
 
 
         setSizeFull();
@@ -254,6 +265,9 @@ public class AdminDashboardView extends HorizontalLayout {
         tabs.setWidthFull();
         tabs.setHeight("700px");
 
+        // Chiffres clés chargés une seule fois pour tous les onglets
+        dashboardStats = analyticsService.getDashboardStats();
+
         // Onglet Vue d'ensemble (principal)
         VerticalLayout overviewTab = createOverviewTab();
         tabs.add("🏠 Vue d'ensemble", overviewTab);
@@ -300,11 +314,10 @@ public class AdminDashboardView extends HorizontalLayout {
         stats.setSpacing(true);
 
         try {
-            long totalUsers = userService.getTotalUsersCount();
-            long totalEvents = eventService.getTotalEventsCount();
-            long totalReservations = reservationService.getTotalReservationsCount();
-            double totalRevenue = reservationService.getTotalRevenue();
-            long clientCount = userService.getUsersByRole(UserRole.CLIENT).size();
+            long totalEvents = dashboardStats.getTotalEvents();
+            long totalReservations = dashboardStats.getTotalReservations();
+            double totalRevenue = dashboardStats.getTotalRevenue();
+            long clientCount = dashboardStats.getUsersCount(UserRole.CLIENT);
 
 
             stats.add(
@@ -332,10 +345,9 @@ public class AdminDashboardView extends HorizontalLayout {
         stats.setSpacing(true);
 
         try {
-            long upcomingEvents = eventService.getUpcomingEventsCount();
-            long confirmedReservations = reservationService.getReservationsByStatus(ReservationStatus.CONFIRMEE).size();
-            long activeUsers = userService.getAllUsers().stream().filter(User::getActif).count();
-            long organizerCount = userService.getUsersByRole(UserRole.ORGANIZER).size();
+            long upcomingEvents = dashboardStats.getUpcomingEvents();
+            long confirmedReservations = dashboardStats.getReservationsCount(ReservationStatus.CONFIRMEE);
+            long organizerCount = dashboardStats.getUsersCount(UserRole.ORGANIZER);
 
 
             stats.add(
@@ -445,16 +457,10 @@ public class AdminDashboardView extends HorizontalLayout {
         eventStats.setSpacing(true);
 
         try {
-            long publishedEvents = eventService.getAllEvents().stream()
-                    .filter(e -> e.getStatut() == EventStatus.PUBLIE)
-                    .count();
-            long upcomingEvents = eventService.getUpcomingEventsCount();
-            long draftEvents = eventService.getAllEvents().stream()
-                    .filter(e -> e.getStatut() == EventStatus.BROUILLON)
-                    .count();
-            long cancelledEvents = eventService.getAllEvents().stream()
-                    .filter(e -> e.getStatut() == EventStatus.ANNULE)
-                    .count();
+            long publishedEvents = dashboardStats.getEventsCount(EventStatus.PUBLIE);
+            long upcomingEvents = dashboardStats.getUpcomingEvents();
+            long draftEvents = dashboardStats.getEventsCount(EventStatus.BROUILLON);
+            long cancelledEvents = dashboardStats.getEventsCount(EventStatus.ANNULE);
 
             eventStats.add(
                     createStatCard(VaadinIcon.BULLETS, "Publiés", String.valueOf(publishedEvents), "#1976d2", null),
@@ -466,7 +472,7 @@ public class AdminDashboardView extends HorizontalLayout {
             eventStats.add(new Paragraph("Erreur: " + e.getMessage()));
         }
 
-        // Liste complète des événements
+        // Liste des événements (paginée)
         VerticalLayout eventsList = createEventsListSection();
 
         layout.add(eventStats, eventsList);
@@ -484,10 +490,10 @@ public class AdminDashboardView extends HorizontalLayout {
         reservationStats.setSpacing(true);
 
         try {
-            long confirmedReservations = reservationService.getReservationsByStatus(ReservationStatus.CONFIRMEE).size();
-            long pendingReservations = reservationService.getReservationsByStatus(ReservationStatus.EN_ATTENTE).size();
-            long cancelledReservations = reservationService.getReservationsByStatus(ReservationStatus.ANNULEE).size();
-            long totalReservations = reservationService.getTotalReservationsCount();
+            long confirmedReservations = dashboardStats.getReservationsCount(ReservationStatus.CONFIRMEE);
+            long pendingReservations = dashboardStats.getReservationsCount(ReservationStatus.EN_ATTENTE);
+            long cancelledReservations = dashboardStats.getReservationsCount(ReservationStatus.ANNULEE);
+            long totalReservations = dashboardStats.getTotalReservations();
 
             reservationStats.add(
                     createStatCard(VaadinIcon.CHECK, "Confirmées", String.valueOf(confirmedReservations), "#2e7d32", null),
@@ -499,7 +505,7 @@ public class AdminDashboardView extends HorizontalLayout {
             reservationStats.add(new Paragraph("Erreur: " + e.getMessage()));
         }
 
-        // Liste complète des réservations
+        // Liste des réservations (paginée)
         VerticalLayout reservationsList = createReservationsListSection();
 
         layout.add(reservationStats, reservationsList);
@@ -618,10 +624,9 @@ public class AdminDashboardView extends HorizontalLayout {
         H4 title = new H4("🎪 Événements par Catégorie");
         title.getStyle().set("margin-top", "0").set("color", "#1e293b");
 
-        Map<EventCategory, Long> categoryCounts = eventService.getAllEvents().stream()
-                .collect(Collectors.groupingBy(Event::getCategorie, Collectors.counting()));
+        Map<EventCategory, Long> categoryCounts = analyticsService.getEventsByCategory(null);
 
-        long totalEvents = eventService.getTotalEventsCount();
+        long totalEvents = dashboardStats.getTotalEvents();
 
         VerticalLayout bars = new VerticalLayout();
         bars.setSpacing(true);
@@ -682,10 +687,9 @@ public class AdminDashboardView extends HorizontalLayout {
         H4 title = new H4("📋 Réservations par Statut");
         title.getStyle().set("margin-top", "0").set("color", "#1e293b");
 
-        Map<ReservationStatus, Long> statusCounts = reservationService.getAllReservations().stream()
-                .collect(Collectors.groupingBy(Reservation::getStatut, Collectors.counting()));
+        Map<ReservationStatus, Long> statusCounts = dashboardStats.getReservationsByStatus();
 
-        long totalReservations = reservationService.getTotalReservationsCount();
+        long totalReservations = dashboardStats.getTotalReservations();
 
         VerticalLayout bars = new VerticalLayout();
         bars.setSpacing(true);
@@ -780,14 +784,7 @@ public class AdminDashboardView extends HorizontalLayout {
         grid.addColumn(event -> getStatusLabel(event.getStatut()))
                 .setHeader("Statut");
 
-        List<Event> recentEvents = eventService.getAllEvents().stream()
-                .sorted((e1, e2) -> {
-                    if (e1.getDateCreation() == null) return 1;
-                    if (e2.getDateCreation() == null) return -1;
-                    return e2.getDateCreation().compareTo(e1.getDateCreation());
-                })
-                .limit(10)
-                .collect(Collectors.toList());
+        List<Event> recentEvents = analyticsService.getRecentEvents();
 
         grid.setItems(recentEvents);
         section.add(header, grid);
@@ -838,14 +835,7 @@ public class AdminDashboardView extends HorizontalLayout {
         grid.addColumn(reservation -> getReservationStatusLabel(reservation.getStatut()))
                 .setHeader("Statut");
 
-        List<Reservation> recentReservations = reservationService.getAllReservations().stream()
-                .sorted((r1, r2) -> {
-                    if (r1.getDateReservation() == null) return 1;
-                    if (r2.getDateReservation() == null) return -1;
-                    return r2.getDateReservation().compareTo(r1.getDateReservation());
-                })
-                .limit(10)
-                .collect(Collectors.toList());
+        List<Reservation> recentReservations = analyticsService.getRecentReservations();
 
         grid.setItems(recentReservations);
         section.add(header, grid);
@@ -865,24 +855,15 @@ public class AdminDashboardView extends HorizontalLayout {
         H3 title = new H3("🏆 Top 5 Événements Populaires");
         title.getStyle().set("margin", "0").set("color", "#1e293b");
 
-        List<Event> popularEvents = eventService.getAllEvents().stream()
-                .filter(e -> e.getStatut() == EventStatus.PUBLIE)
-                .sorted((e1, e2) -> {
-                    int r1 = reservationService.getReservationsByEvent(e1.getId()).size();
-                    int r2 = reservationService.getReservationsByEvent(e2.getId()).size();
-                    return Integer.compare(r2, r1);
-                })
-                .limit(5)
-                .collect(Collectors.toList());
+        List<RankingEntry> popularEvents = analyticsService.getTopEvents(5);
 
         Div list = new Div();
         list.getStyle().set("width", "100%");
 
         int rank = 1;
-        for (Event event : popularEvents) {
-            int reservationCount = reservationService.getReservationsByEvent(event.getId()).size();
-            double fillRate = event.getCapaciteMax() > 0 ?
-                    (reservationCount * 100.0 / event.getCapaciteMax()) : 0;
+        for (RankingEntry event : popularEvents) {
+            long reservationCount = event.getReservationCount();
+            double fillRate = event.getFillRate();
 
             Div item = new Div();
             item.getStyle()
@@ -895,7 +876,7 @@ public class AdminDashboardView extends HorizontalLayout {
             Div left = new Div();
             Span rankSpan = new Span(rank + ". ");
             rankSpan.getStyle().set("font-weight", "bold").set("color", "#1976d2");
-            Span nameSpan = new Span(event.getTitre());
+            Span nameSpan = new Span(event.getLabel());
             nameSpan.getStyle().set("margin-left", "5px");
             left.add(rankSpan, nameSpan);
 
@@ -928,22 +909,14 @@ public class AdminDashboardView extends HorizontalLayout {
         H3 title = new H3("👑 Top 5 Clients");
         title.getStyle().set("margin", "0").set("color", "#1e293b");
 
-        List<User> topClients = userService.getAllUsers().stream()
-                .filter(u -> u.getRole() == UserRole.CLIENT)
-                .sorted((u1, u2) -> {
-                    long r1 = reservationService.getUserReservationsCount(u1.getId());
-                    long r2 = reservationService.getUserReservationsCount(u2.getId());
-                    return Long.compare(r2, r1);
-                })
-                .limit(5)
-                .collect(Collectors.toList());
+        List<RankingEntry> topClients = analyticsService.getTopClients(5);
 
         Div list = new Div();
         list.getStyle().set("width", "100%");
 
         int rank = 1;
-        for (User user : topClients) {
-            long reservationCount = reservationService.getUserReservationsCount(user.getId());
+        for (RankingEntry client : topClients) {
+            long reservationCount = client.getReservationCount();
 
             Div item = new Div();
             item.getStyle()
@@ -956,7 +929,7 @@ public class AdminDashboardView extends HorizontalLayout {
             Div left = new Div();
             Span rankSpan = new Span(rank + ". ");
             rankSpan.getStyle().set("font-weight", "bold").set("color", "#1976d2");
-            Span nameSpan = new Span(user.getPrenom() + " " + user.getNom());
+            Span nameSpan = new Span(client.getLabel());
             nameSpan.getStyle().set("margin-left", "5px");
             left.add(rankSpan, nameSpan);
 
@@ -998,11 +971,11 @@ public class AdminDashboardView extends HorizontalLayout {
 
         header.add(title, newEvent);
 
-        Grid<Event> grid = new Grid<>(Event.class, false);
+        Grid<EventCardRow> grid = new Grid<>(EventCardRow.class, false);
         grid.setWidthFull();
         grid.setHeight("500px");
 
-        grid.addColumn(Event::getTitre)
+        grid.addColumn(EventCardRow::getTitre)
                 .setHeader("Titre")
                 .setWidth("250px");
 
@@ -1017,11 +990,12 @@ public class AdminDashboardView extends HorizontalLayout {
         grid.addColumn(event -> getStatusLabel(event.getStatut()))
                 .setHeader("Statut");
 
-        grid.addColumn(Event::getCapaciteMax)
+        grid.addColumn(EventCardRow::getCapaciteMax)
                 .setHeader("Capacité");
 
         grid.addColumn(new ComponentRenderer<>(event -> {
-            int reservationCount = reservationService.getReservationsByEvent(event.getId()).size();
+            // Places confirmées et en attente, lues sur les compteurs de la ligne
+            int reservationCount = event.getReservedPlaces();
             double fillRate = event.getCapaciteMax() > 0 ?
                     (reservationCount * 100.0 / event.getCapaciteMax()) : 0;
 
@@ -1051,8 +1025,11 @@ public class AdminDashboardView extends HorizontalLayout {
             return div;
         })).setHeader("Remplissage");
 
-        List<Event> allEvents = eventService.getAllEvents();
-        grid.setItems(allEvents);
+        // Chargement paresseux : seule la page visible est lue en base
+        grid.setItems(
+                query -> eventService.findEventRows(null, null, null,
+                        VaadinSpringDataHelpers.toSpringPageRequest(query)).stream(),
+                query -> (int) eventService.countEvents(null, null, null));
 
         section.add(header, grid);
         return section;
@@ -1071,19 +1048,18 @@ public class AdminDashboardView extends HorizontalLayout {
         H3 title = new H3("📋 Toutes les Réservations");
         title.getStyle().set("margin", "0");
 
-        Grid<Reservation> grid = new Grid<>(Reservation.class, false);
+        Grid<ReservationRow> grid = new Grid<>(ReservationRow.class, false);
         grid.setWidthFull();
         grid.setHeight("500px");
 
-        grid.addColumn(reservation -> reservation.getUtilisateur().getPrenom() + " " +
-                        reservation.getUtilisateur().getNom())
+        grid.addColumn(reservation -> reservation.getClientPrenom() + " " + reservation.getClientNom())
                 .setHeader("Client");
 
-        grid.addColumn(reservation -> reservation.getEvenement().getTitre())
+        grid.addColumn(ReservationRow::getTitreEvenement)
                 .setHeader("Événement")
                 .setWidth("200px");
 
-        grid.addColumn(Reservation::getNombrePlaces)
+        grid.addColumn(ReservationRow::getNombrePlaces)
                 .setHeader("Places");
 
         grid.addColumn(reservation -> reservation.getMontantTotal() + " MAD")
@@ -1105,8 +1081,11 @@ public class AdminDashboardView extends HorizontalLayout {
                         : "")
                 .setHeader("Date réservation");
 
-        List<Reservation> allReservations = reservationService.getAllReservations();
-        grid.setItems(allReservations);
+        // Chargement paresseux : seule la page visible est lue en base
+        grid.setItems(
+                query -> reservationService.findReservationRows(null, null,
+                        VaadinSpringDataHelpers.toSpringPageRequest(query)).stream(),
+                query -> (int) reservationService.countReservations(null, null));
 
         section.add(title, grid);
         return section;
@@ -4,10 +4,15 @@ import com.eventbooking.entity.Event;
 import com.eventbooking.entity.Reservation;
 import com.eventbooking.entity.User;
 import com.eventbooking.entity.enums.*;
+import com.eventbooking.service.AnalyticsService;
 import com.eventbooking.service.EventService;
+import com.eventbooking.service.ExportJobService;
 import com.eventbooking.service.ReservationService;
 import com.eventbooking.service.UserService;
+import com.eventbooking.service.dto.DashboardFilter;
+import com.eventbooking.service.dto.DashboardStats;
 import com.eventbooking.view.admin.components.AdminSidebar;
+import com.eventbooking.view.components.ExportJobsPanel;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
@@ -27,7 +32,9 @@ import com.vaadin.flow.server.VaadinSession;
 import jakarta.annotation.security.PermitAll;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -45,11 +52,19 @@ public class AdminReportsView extends HorizontalLayout {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private ExportJobService exportJobService;
+
     private User currentUser;
+    private DashboardStats dashboardStats;
     private DatePicker dateFromPicker;
     private DatePicker dateToPicker;
     private ComboBox<String> periodComboBox;
     private TabSheet tabs;
+    private ExportJobsPanel exportJobsPanel;
     private LocalDate filterStartDate;
     private LocalDate filterEndDate;
 
@@ -71,10 +86,14 @@ public class AdminReportsView extends HorizontalLayout {
 
     public AdminReportsView(EventService eventService,
                             ReservationService reservationService,
-                            UserService userService) {
+                            UserService userService,
+                            AnalyticsService analyticsService,
+                            ExportJobService exportJobService) {
         this.eventService = eventService;
         this.reservationService = reservationService;
         this.userService = userService;
+        this.analyticsService = analyticsService;
+        this.exportJobService = exportJobService;
 
         setSizeFull();
         setPadding(false);
@@ -108,9 +127,10 @@ public class AdminReportsView extends HorizontalLayout {
 
         HorizontalLayout header = createHeader();
         HorizontalLayout filters = createFilters();
+        exportJobsPanel = new ExportJobsPanel(exportJobService, currentUser.getId());
         tabs = createTabSheet();
 
-        content.add(header, filters, tabs);
+        content.add(header, filters, exportJobsPanel, tabs);
         return content;
     }
 
@@ -134,7 +154,11 @@ public class AdminReportsView extends HorizontalLayout {
         refreshBtn.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
         refreshBtn.addClickListener(e -> refreshData());
 
-        actions.add(backBtn, refreshBtn);
+        Button exportBtn = new Button("📄 Exporter le rapport");
+        exportBtn.addThemeVariants(ButtonVariant.LUMO_SUCCESS);
+        exportBtn.addClickListener(e -> exportReport());
+
+        actions.add(backBtn, exportBtn, refreshBtn);
         header.add(title, actions);
 
         return header;
@@ -217,6 +241,9 @@ public class AdminReportsView extends HorizontalLayout {
         tabs.setWidthFull();
         tabs.setHeight("700px");
 
+        // Chiffres clés chargés une seule fois pour tous les onglets
+        dashboardStats = analyticsService.getDashboardStats();
+
         tabs.add("📈 Vue d'ensemble", createOverviewTab());
         tabs.add("🎪 Événements", createEventsTab());
         tabs.add("📋 Réservations", createReservationsTab());
@@ -514,57 +541,28 @@ public class AdminReportsView extends HorizontalLayout {
     // ==================== DONNÉES POUR LES GRAPHIQUES ====================
 
     private Map<String, Number> getEventsByCategoryData() {
-        Map<EventCategory, Long> categoryCounts = eventService.getAllEvents().stream()
-                .filter(e -> isEventInDateRange(e))
-                .collect(Collectors.groupingBy(Event::getCategorie, Collectors.counting()));
-
         Map<String, Number> result = new LinkedHashMap<>();
-        for (Map.Entry<EventCategory, Long> entry : categoryCounts.entrySet()) {
+        for (Map.Entry<EventCategory, Long> entry : analyticsService.getEventsByCategory(getFilter()).entrySet()) {
             result.put(getCategoryLabel(entry.getKey()), entry.getValue());
         }
         return result;
     }
 
     private Map<String, Number> getReservationsByStatusData() {
-        Map<ReservationStatus, Long> statusCounts = reservationService.getAllReservations().stream()
-                .filter(r -> isReservationInDateRange(r))
-                .collect(Collectors.groupingBy(Reservation::getStatut, Collectors.counting()));
-
         Map<String, Number> result = new LinkedHashMap<>();
-        for (Map.Entry<ReservationStatus, Long> entry : statusCounts.entrySet()) {
+        for (Map.Entry<ReservationStatus, Long> entry : analyticsService.getReservationsByStatus(getFilter()).entrySet()) {
             result.put(getReservationStatusLabel(entry.getKey()), entry.getValue());
         }
         return result;
     }
 
     private Map<String, Number> getUserGrowthData() {
-        Map<String, Number> growthData = new LinkedHashMap<>();
-        LocalDate today = LocalDate.now();
-        for (int i = 5; i >= 0; i--) {
-            LocalDate month = today.minusMonths(i);
-            String monthKey = month.getMonth().toString().substring(0, 3);
-
-            long count = userService.getAllUsers().stream()
-                    .filter(u -> {
-                        if (u.getDateInscription() == null) return false;
-                        LocalDate inscriptionDate = u.getDateInscription().toLocalDate();
-                        return inscriptionDate.getMonth() == month.getMonth() &&
-                                inscriptionDate.getYear() == month.getYear();
-                    })
-                    .count();
-
-            growthData.put(monthKey, count);
-        }
-        return growthData;
+        return getNewUsersData();
     }
 
     private Map<String, Number> getEventsByStatusData() {
-        Map<EventStatus, Long> statusCounts = eventService.getAllEvents().stream()
-                .filter(e -> isEventInDateRange(e))
-                .collect(Collectors.groupingBy(Event::getStatut, Collectors.counting()));
-
         Map<String, Number> result = new LinkedHashMap<>();
-        for (Map.Entry<EventStatus, Long> entry : statusCounts.entrySet()) {
+        for (Map.Entry<EventStatus, Long> entry : analyticsService.getEventsByStatus(getFilter()).entrySet()) {
             result.put(getStatusLabel(entry.getKey()), entry.getValue());
         }
         return result;
@@ -572,82 +570,32 @@ public class AdminReportsView extends HorizontalLayout {
 
     private Map<String, Number> getEventsByMonthData() {
         Map<String, Number> result = new LinkedHashMap<>();
-        LocalDate today = LocalDate.now();
-
-        for (int i = 5; i >= 0; i--) {
-            LocalDate month = today.minusMonths(i);
-            String monthKey = month.getMonth().toString().substring(0, 3);
-
-            long count = eventService.getAllEvents().stream()
-                    .filter(e -> {
-                        if (e.getDateCreation() == null) return false;
-                        LocalDate creationDate = e.getDateCreation().toLocalDate();
-                        return creationDate.getMonth() == month.getMonth() &&
-                                creationDate.getYear() == month.getYear();
-                    })
-                    .count();
-
-            result.put(monthKey, count);
+        for (Map.Entry<YearMonth, Long> entry : analyticsService.getEventsCreatedByMonth(6).entrySet()) {
+            result.put(getMonthKey(entry.getKey()), entry.getValue());
         }
         return result;
     }
 
     private Map<String, Number> getReservationsByDayData() {
         Map<String, Number> result = new LinkedHashMap<>();
-        String[] days = {"Lun", "Mar", "Mer", "Jeu", "Ven", "Sam", "Dim"};
-
-        List<Reservation> filteredReservations = reservationService.getAllReservations().stream()
-                .filter(r -> isReservationInDateRange(r))
-                .toList();
-
-        // Initialiser toutes les journées à 0
-        for (String day : days) {
-            result.put(day, 0L);
-        }
-
-        // Compter par jour
-        for (Reservation reservation : filteredReservations) {
-            if (reservation.getDateReservation() != null) {
-                String dayOfWeek = reservation.getDateReservation().getDayOfWeek().toString();
-                String frenchDay = getFrenchDay(dayOfWeek);
-                if (result.containsKey(frenchDay)) {
-                    result.put(frenchDay, result.get(frenchDay).longValue() + 1);
-                }
-            }
+        for (Map.Entry<DayOfWeek, Long> entry : analyticsService.getReservationsByDayOfWeek(getFilter()).entrySet()) {
+            result.put(getFrenchDay(entry.getKey().toString()), entry.getValue());
         }
-
         return result;
     }
 
     private Map<String, Number> getReservationTrendData() {
         Map<String, Number> result = new LinkedHashMap<>();
-        LocalDate today = LocalDate.now();
-
-        for (int i = 5; i >= 0; i--) {
-            LocalDate weekStart = today.minusWeeks(i);
-            String weekKey = "Sem " + (6 - i);
-
-            long count = reservationService.getAllReservations().stream()
-                    .filter(r -> {
-                        if (r.getDateReservation() == null) return false;
-                        LocalDate reservationDate = r.getDateReservation().toLocalDate();
-                        return !reservationDate.isBefore(weekStart.minusDays(6)) &&
-                                !reservationDate.isAfter(weekStart);
-                    })
-                    .count();
-
-            result.put(weekKey, count);
+        int week = 1;
+        for (Long count : analyticsService.getReservationsByWeek(6).values()) {
+            result.put("Sem " + week++, count);
         }
         return result;
     }
 
     private Map<String, Number> getRoleDistributionData() {
-        Map<UserRole, Long> roleCounts = userService.getAllUsers().stream()
-                .filter(u -> isUserInDateRange(u))
-                .collect(Collectors.groupingBy(User::getRole, Collectors.counting()));
-
         Map<String, Number> result = new LinkedHashMap<>();
-        for (Map.Entry<UserRole, Long> entry : roleCounts.entrySet()) {
+        for (Map.Entry<UserRole, Long> entry : analyticsService.getUsersByRole(getFilter()).entrySet()) {
             result.put(getRoleLabel(entry.getKey()), entry.getValue());
         }
         return result;
@@ -655,95 +603,36 @@ public class AdminReportsView extends HorizontalLayout {
 
     private Map<String, Number> getNewUsersData() {
         Map<String, Number> result = new LinkedHashMap<>();
-        LocalDate today = LocalDate.now();
-
-        for (int i = 5; i >= 0; i--) {
-            LocalDate month = today.minusMonths(i);
-            String monthKey = month.getMonth().toString().substring(0, 3);
-
-            long count = userService.getAllUsers().stream()
-                    .filter(u -> {
-                        if (u.getDateInscription() == null) return false;
-                        LocalDate inscriptionDate = u.getDateInscription().toLocalDate();
-                        return inscriptionDate.getMonth() == month.getMonth() &&
-                                inscriptionDate.getYear() == month.getYear();
-                    })
-                    .count();
-
-            result.put(monthKey, count);
+        for (Map.Entry<YearMonth, Long> entry : analyticsService.getNewUsersByMonth(6).entrySet()) {
+            result.put(getMonthKey(entry.getKey()), entry.getValue());
         }
         return result;
     }
 
     private Map<String, Number> getRevenueByCategoryData() {
         Map<String, Number> result = new LinkedHashMap<>();
-
-        List<Reservation> confirmedReservations = reservationService.getReservationsByStatus(ReservationStatus.CONFIRMEE);
-
-        for (EventCategory category : EventCategory.values()) {
-            double categoryRevenue = confirmedReservations.stream()
-                    .filter(r -> r.getEvenement() != null &&
-                            r.getEvenement().getCategorie() == category &&
-                            isReservationInDateRange(r))
-                    .mapToDouble(r -> r.getMontantTotal() != null ? r.getMontantTotal() : 0)
-                    .sum();
-
-            result.put(getCategoryLabel(category), Math.round(categoryRevenue * 100.0) / 100.0);
+        for (Map.Entry<EventCategory, Double> entry : analyticsService.getRevenueByCategory(getFilter()).entrySet()) {
+            result.put(getCategoryLabel(entry.getKey()), Math.round(entry.getValue() * 100.0) / 100.0);
         }
-
         return result;
     }
 
     private Map<String, Number> getRevenueTrendData() {
         Map<String, Number> result = new LinkedHashMap<>();
-        LocalDate today = LocalDate.now();
-
-        List<Reservation> confirmedReservations = reservationService.getReservationsByStatus(ReservationStatus.CONFIRMEE);
-
-        for (int i = 5; i >= 0; i--) {
-            LocalDate month = today.minusMonths(i);
-            String monthKey = month.getMonth().toString().substring(0, 3);
-
-            double monthlyRevenue = confirmedReservations.stream()
-                    .filter(r -> {
-                        if (r.getDateReservation() == null) return false;
-                        LocalDate reservationDate = r.getDateReservation().toLocalDate();
-                        return reservationDate.getMonth() == month.getMonth() &&
-                                reservationDate.getYear() == month.getYear();
-                    })
-                    .mapToDouble(r -> r.getMontantTotal() != null ? r.getMontantTotal() : 0)
-                    .sum();
-
-            result.put(monthKey, Math.round(monthlyRevenue * 100.0) / 100.0);
+        for (Map.Entry<YearMonth, Double> entry : analyticsService.getRevenueByMonth(6).entrySet()) {
+            result.put(getMonthKey(entry.getKey()), Math.round(entry.getValue() * 100.0) / 100.0);
         }
-
         return result;
     }
 
     // ==================== MÉTHODES UTILITAIRES ====================
 
-    private boolean isEventInDateRange(Event event) {
-        if (filterStartDate == null || filterEndDate == null || event.getDateCreation() == null) {
-            return true;
-        }
-        LocalDate eventDate = event.getDateCreation().toLocalDate();
-        return !eventDate.isBefore(filterStartDate) && !eventDate.isAfter(filterEndDate);
-    }
-
-    private boolean isReservationInDateRange(Reservation reservation) {
-        if (filterStartDate == null || filterEndDate == null || reservation.getDateReservation() == null) {
-            return true;
-        }
-        LocalDate reservationDate = reservation.getDateReservation().toLocalDate();
-        return !reservationDate.isBefore(filterStartDate) && !reservationDate.isAfter(filterEndDate);
+    private DashboardFilter getFilter() {
+        return new DashboardFilter(filterStartDate, filterEndDate);
     }
 
-    private boolean isUserInDateRange(User user) {
-        if (filterStartDate == null || filterEndDate == null || user.getDateInscription() == null) {
-            return true;
-        }
-        LocalDate inscriptionDate = user.getDateInscription().toLocalDate();
-        return !inscriptionDate.isBefore(filterStartDate) && !inscriptionDate.isAfter(filterEndDate);
+    private String getMonthKey(YearMonth month) {
+        return month.getMonth().toString().substring(0, 3);
     }
 
     private String getFrenchDay(String englishDay) {
@@ -766,6 +655,18 @@ public class AdminReportsView extends HorizontalLayout {
         Notification.show("Filtres appliqués", 1000, Notification.Position.TOP_CENTER);
     }
 
+    // Rapport PDF généré en arrière-plan sur la période appliquée
+    private void exportReport() {
+        try {
+            exportJobService.submitStatisticsReport(currentUser.getId(), getFilter());
+            exportJobsPanel.refresh();
+            Notification.show("Export lancé, le rapport sera disponible dans « Mes exports »", 3000,
+                    Notification.Position.TOP_CENTER);
+        } catch (Exception e) {
+            Notification.show("Erreur lors de l'export: " + e.getMessage(), 3000, Notification.Position.TOP_CENTER);
+        }
+    }
+
     private void refreshData() {
         int selectedIndex = tabs.getSelectedIndex();
         TabSheet newTabs = createTabSheet();
@@ -791,10 +692,10 @@ public class AdminReportsView extends HorizontalLayout {
         stats.setSpacing(true);
 
         try {
-            long totalUsers = userService.getAllUsers().size();
-            long totalEvents = eventService.getTotalEventsCount();
-            long totalReservations = reservationService.getTotalReservationsCount();
-            double totalRevenue = reservationService.getTotalRevenue();
+            long totalUsers = dashboardStats.getTotalUsers();
+            long totalEvents = dashboardStats.getTotalEvents();
+            long totalReservations = dashboardStats.getTotalReservations();
+            double totalRevenue = dashboardStats.getTotalRevenue();
 
             stats.add(
                     createStatCard("👥", "Utilisateurs", String.valueOf(totalUsers), "#7b1fa2"),
@@ -817,16 +718,10 @@ public class AdminReportsView extends HorizontalLayout {
         stats.setSpacing(true);
 
         try {
-            long publishedEvents = eventService.getAllEvents().stream()
-                    .filter(e -> e.getStatut() == EventStatus.PUBLIE)
-                    .count();
-            long upcomingEvents = eventService.getUpcomingEventsCount();
-            long draftEvents = eventService.getAllEvents().stream()
-                    .filter(e -> e.getStatut() == EventStatus.BROUILLON)
-                    .count();
-            long cancelledEvents = eventService.getAllEvents().stream()
-                    .filter(e -> e.getStatut() == EventStatus.ANNULE)
-                    .count();
+            long publishedEvents = dashboardStats.getEventsCount(EventStatus.PUBLIE);
+            long upcomingEvents = dashboardStats.getUpcomingEvents();
+            long draftEvents = dashboardStats.getEventsCount(EventStatus.BROUILLON);
+            long cancelledEvents = dashboardStats.getEventsCount(EventStatus.ANNULE);
 
             stats.add(
                     createStatCard("📢", "Publiés", String.valueOf(publishedEvents), "#1976d2"),
@@ -847,10 +742,10 @@ public class AdminReportsView extends HorizontalLayout {
         stats.setSpacing(true);
 
         try {
-            long confirmedReservations = reservationService.getReservationsByStatus(ReservationStatus.CONFIRMEE).size();
-            long pendingReservations = reservationService.getReservationsByStatus(ReservationStatus.EN_ATTENTE).size();
-            long cancelledReservations = reservationService.getReservationsByStatus(ReservationStatus.ANNULEE).size();
-            long totalReservations = reservationService.getTotalReservationsCount();
+            long confirmedReservations = dashboardStats.getReservationsCount(ReservationStatus.CONFIRMEE);
+            long pendingReservations = dashboardStats.getReservationsCount(ReservationStatus.EN_ATTENTE);
+            long cancelledReservations = dashboardStats.getReservationsCount(ReservationStatus.ANNULEE);
+            long totalReservations = dashboardStats.getTotalReservations();
 
             stats.add(
                     createStatCard("✅", "Confirmées", String.valueOf(confirmedReservations), "#2e7d32"),
@@ -871,13 +766,13 @@ public class AdminReportsView extends HorizontalLayout {
         stats.setSpacing(true);
 
         try {
-            List<User> allUsers = userService.getAllUsers();
-            long activeUsers = allUsers.stream().filter(User::getActif).count();
-            long organizers = userService.getUsersByRole(UserRole.ORGANIZER).size();
-            long clients = userService.getUsersByRole(UserRole.CLIENT).size();
+            long totalUsers = dashboardStats.getTotalUsers();
+            long activeUsers = dashboardStats.getActiveUsers();
+            long organizers = dashboardStats.getUsersCount(UserRole.ORGANIZER);
+            long clients = dashboardStats.getUsersCount(UserRole.CLIENT);
 
             stats.add(
-                    createStatCard("👥", "Total", String.valueOf(allUsers.size()), "#7b1fa2"),
+                    createStatCard("👥", "Total", String.valueOf(totalUsers), "#7b1fa2"),
                     createStatCard("✅", "Actifs", String.valueOf(activeUsers), "#2e7d32"),
                     createStatCard("🎪", "Organisateurs", String.valueOf(organizers), "#ed6c02"),
                     createStatCard("👤", "Clients", String.valueOf(clients), "#1976d2")
@@ -895,16 +790,14 @@ public class AdminReportsView extends HorizontalLayout {
         stats.setSpacing(true);
 
         try {
-            double totalRevenue = reservationService.getTotalRevenue();
-            double confirmedRevenue = reservationService.getAllReservations().stream()
-                    .filter(r -> r.getStatut() == ReservationStatus.CONFIRMEE)
-                    .mapToDouble(r -> r.getMontantTotal() != null ? r.getMontantTotal() : 0)
-                    .sum();
-            long totalTickets = reservationService.getTotalReservationsCount();
+            // Réservé = confirmé + en attente (hors annulations) ; confirmé = encaissé
+            double confirmedRevenue = dashboardStats.getRevenue(ReservationStatus.CONFIRMEE);
+            double totalRevenue = confirmedRevenue + dashboardStats.getRevenue(ReservationStatus.EN_ATTENTE);
+            long totalTickets = dashboardStats.getTotalReservations();
             double avgRevenue = totalTickets > 0 ? totalRevenue / totalTickets : 0;
 
             stats.add(
-                    createStatCard("💰", "Revenu Total", String.format("%.2f MAD", totalRevenue), "#2e7d32"),
+                    createStatCard("💰", "Revenu réservé", String.format("%.2f MAD", totalRevenue), "#2e7d32"),
                     createStatCard("✅", "Confirmé", String.format("%.2f MAD", confirmedRevenue), "#1976d2"),
                     createStatCard("🎫", "Tickets vendus", String.valueOf(totalTickets), "#ed6c02"),
                     createStatCard("📊", "Moyenne/ticket", String.format("%.2f MAD", avgRevenue), "#7b1fa2")
@@ -7,7 +7,9 @@ import com.eventbooking.entity.enums.EventStatus;
 import com.eventbooking.entity.enums.UserRole;
 import com.eventbooking.service.EventService;
 import com.eventbooking.service.FileStorageService;
+import com.eventbooking.service.ImageDerivativeService;
 import com.eventbooking.service.UserService;
+import com.eventbooking.service.dto.EventCardRow;
 import com.eventbooking.view.admin.components.AdminSidebar;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
@@ -33,15 +35,20 @@ import com.vaadin.flow.component.textfield.NumberField;
 import com.vaadin.flow.component.textfield.TextArea;
 import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.component.upload.Upload;
-import com.vaadin.flow.component.upload.receivers.MemoryBuffer;
+import com.vaadin.flow.component.upload.receivers.FileBuffer;
 import com.vaadin.flow.data.renderer.ComponentRenderer;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import com.vaadin.flow.server.StreamResource;
 import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
 import jakarta.annotation.security.PermitAll;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 
@@ -59,14 +66,14 @@ public class AllEventsManagementView extends HorizontalLayout {
     @Autowired
     private FileStorageService fileStorageService;
 
-    private Grid<Event> eventGrid;
+    private Grid<EventCardRow> eventGrid;
     private ComboBox<EventCategory> categoryFilter;
     private ComboBox<EventStatus> statusFilter;
     private TextField searchField;
     private User currentUser;
 
     // CORRECTION: Variables d'instance pour gérer l'image
-    private String tempImageBase64;
+    private File tempImageFile;
     private String tempImageUrl;
     private Image previewImage;
     private Div previewContainer;
@@ -116,7 +123,7 @@ public class AllEventsManagementView extends HorizontalLayout {
         return content;
     }
 
-    private void showEventDetailsDialog(Event event) {
+    private void showEventDetailsDialog(EventCardRow event) {
         Dialog dialog = new Dialog();
         dialog.setModal(true);
         dialog.setDraggable(false);
@@ -176,7 +183,7 @@ public class AllEventsManagementView extends HorizontalLayout {
             try {
                 String imageUrl = event.getImageUrl();
                 if (!imageUrl.startsWith("http")) {
-                    imageUrl = "/api/files" + imageUrl;
+                    imageUrl = "/api/files" + imageUrl + ImageDerivativeService.Size.CARD.query();
                 }
 
                 Div imageContainer = new Div();
@@ -303,9 +310,9 @@ public class AllEventsManagementView extends HorizontalLayout {
         Div prixField = createStyledInfoField("Prix",
                 event.getPrixUnitaire() + " MAD", VaadinIcon.MONEY);
 
-        String organizerText = event.getOrganisateur() != null ?
-                event.getOrganisateur().getPrenom() + " " + event.getOrganisateur().getNom() +
-                        " (" + event.getOrganisateur().getEmail() + ")" : "Non assigné";
+        String organizerText = event.hasOrganisateur() ?
+                event.getOrganisateurPrenom() + " " + event.getOrganisateurNom() +
+                        " (" + event.getOrganisateurEmail() + ")" : "Non assigné";
         Div organisateurField = createStyledInfoField("Organisateur", organizerText, VaadinIcon.USER);
 
         String createdText = event.getDateCreation() != null ?
@@ -378,7 +385,7 @@ public class AllEventsManagementView extends HorizontalLayout {
                 .set("font-weight", "600");
         editBtn.addClickListener(e -> {
             dialog.close();
-            openEventDialog(event);
+            editEvent(event);
         });
 
         Button closeDialogBtn = new Button("Fermer", new Icon(VaadinIcon.CLOSE));
@@ -532,11 +539,12 @@ public class AllEventsManagementView extends HorizontalLayout {
         return filters;
     }
 
-    private Grid<Event> createEventGrid() {
-        Grid<Event> grid = new Grid<>(Event.class, false);
+    private Grid<EventCardRow> createEventGrid() {
+        Grid<EventCardRow> grid = new Grid<>(EventCardRow.class, false);
         grid.setHeight("600px");
+        grid.setPageSize(50);
 
-        grid.addColumn(Event::getId)
+        grid.addColumn(EventCardRow::getId)
                 .setHeader("ID")
                 .setWidth("70px")
                 .setFlexGrow(0);
@@ -551,7 +559,7 @@ public class AllEventsManagementView extends HorizontalLayout {
                 try {
                     String imageUrl = event.getImageUrl();
                     if (!imageUrl.startsWith("http")) {
-                        imageUrl = "/api/files" + imageUrl;
+                        imageUrl = "/api/files" + imageUrl + ImageDerivativeService.Size.THUMBNAIL.query();
                     }
 
                     Image image = new Image(imageUrl, event.getTitre());
@@ -580,7 +588,7 @@ public class AllEventsManagementView extends HorizontalLayout {
             cell.add(titleSpan);
 
             return cell;
-        })).setHeader("Événement").setSortable(true).setWidth("300px");
+        })).setHeader("Événement").setSortProperty("titre").setWidth("300px");
 
         grid.addColumn(new ComponentRenderer<>(event -> {
             Span badge = new Span(getCategoryLabel(event.getCategorie()));
@@ -597,13 +605,13 @@ public class AllEventsManagementView extends HorizontalLayout {
         grid.addColumn(event -> event.getDateDebut().format(
                         DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")))
                 .setHeader("Date Début")
-                .setSortable(true)
+                .setSortProperty("dateDebut")
                 .setWidth("170px");
 
-        grid.addColumn(Event::getVille).setHeader("Ville").setWidth("120px");
+        grid.addColumn(EventCardRow::getVille).setHeader("Ville").setWidth("120px");
 
-        grid.addColumn(event -> event.getOrganisateur() != null
-                        ? event.getOrganisateur().getPrenom() + " " + event.getOrganisateur().getNom()
+        grid.addColumn(event -> event.hasOrganisateur()
+                        ? event.getOrganisateurPrenom() + " " + event.getOrganisateurNom()
                         : "N/A")
                 .setHeader("Organisateur")
                 .setWidth("180px");
@@ -620,10 +628,8 @@ public class AllEventsManagementView extends HorizontalLayout {
             return statusBadge;
         })).setHeader("Statut").setWidth("140px");
 
-        grid.addColumn(event -> {
-            int available = eventService.getAvailablePlaces(event.getId());
-            return available + "/" + event.getCapaciteMax();
-        }).setHeader("Places").setWidth("100px");
+        // Compteur lu avec la ligne : aucune requête par ligne affichée
+        grid.addColumn(event -> event.getAvailablePlaces() + "/" + event.getCapaciteMax()).setHeader("Places").setWidth("100px");
 
         grid.addColumn(event -> event.getPrixUnitaire() + " MAD")
                 .setHeader("Prix")
@@ -641,7 +647,7 @@ public class AllEventsManagementView extends HorizontalLayout {
             Button editBtn = new Button(new Icon(VaadinIcon.EDIT));
             editBtn.addThemeVariants(ButtonVariant.LUMO_SMALL, ButtonVariant.LUMO_PRIMARY);
             editBtn.getElement().setAttribute("title", "Modifier");
-            editBtn.addClickListener(e -> openEventDialog(event));
+            editBtn.addClickListener(e -> editEvent(event));
 
             Button publishBtn = new Button(new Icon(
                     event.getStatut() == EventStatus.PUBLIE ? VaadinIcon.CLOSE : VaadinIcon.CHECK));
@@ -667,36 +673,30 @@ public class AllEventsManagementView extends HorizontalLayout {
 
     private void loadEvents() {
         try {
-            List<Event> events = eventService.getAllEvents();
-            eventGrid.setItems(events);
+            // Chargement paresseux : seule la page visible est lue en base (filtres et tri côté SQL)
+            eventGrid.setItems(
+                    query -> eventService.findEventRows(
+                            searchField.getValue(), categoryFilter.getValue(), statusFilter.getValue(),
+                            VaadinSpringDataHelpers.toSpringPageRequest(query)).stream(),
+                    query -> (int) eventService.countEvents(
+                            searchField.getValue(), categoryFilter.getValue(), statusFilter.getValue()));
         } catch (Exception e) {
             showNotification("Erreur de chargement: " + e.getMessage(), NotificationVariant.LUMO_ERROR);
         }
     }
 
     private void filterEvents() {
-        String searchTerm = searchField.getValue().toLowerCase();
-        EventCategory selectedCategory = categoryFilter.getValue();
-        EventStatus selectedStatus = statusFilter.getValue();
-
-        List<Event> filteredEvents = eventService.getAllEvents().stream()
-                .filter(event -> {
-                    boolean matchesSearch = searchTerm.isEmpty() ||
-                            event.getTitre().toLowerCase().contains(searchTerm) ||
-                            event.getLieu().toLowerCase().contains(searchTerm) ||
-                            event.getVille().toLowerCase().contains(searchTerm);
-
-                    boolean matchesCategory = selectedCategory == null ||
-                            event.getCategorie() == selectedCategory;
-
-                    boolean matchesStatus = selectedStatus == null ||
-                            event.getStatut() == selectedStatus;
-
-                    return matchesSearch && matchesCategory && matchesStatus;
-                })
-                .toList();
+        eventGrid.getDataProvider().refreshAll();
+    }
 
-        eventGrid.setItems(filteredEvents);
+    // La grille ne porte que des lignes : le formulaire d'édition travaille sur l'entité complète
+    private void editEvent(EventCardRow row) {
+        eventService.getEventById(row.getId()).ifPresentOrElse(
+                this::openEventDialog,
+                () -> {
+                    showNotification("Événement introuvable", NotificationVariant.LUMO_ERROR);
+                    loadEvents();
+                });
     }
 
     private void openEventDialog(Event event) {
@@ -707,7 +707,7 @@ public class AllEventsManagementView extends HorizontalLayout {
         dialog.setMaxHeight("90vh");
 
         // CORRECTION: Réinitialiser correctement les variables
-        tempImageBase64 = null;
+        clearTempImage();
         tempImageUrl = event != null ? event.getImageUrl() : null;
 
         H2 dialogTitle = new H2(event == null ? "➕ Nouvel Événement" : "✏️ Modifier Événement");
@@ -771,7 +771,7 @@ public class AllEventsManagementView extends HorizontalLayout {
         if (event != null && event.getImageUrl() != null && !event.getImageUrl().isEmpty()) {
             String imageUrl = event.getImageUrl();
             if (!imageUrl.startsWith("http")) {
-                imageUrl = "/api/files" + imageUrl;
+                imageUrl = "/api/files" + imageUrl + ImageDerivativeService.Size.CARD.query();
             }
             previewImage.setSrc(imageUrl);
             previewImage.setVisible(true);
@@ -783,7 +783,8 @@ public class AllEventsManagementView extends HorizontalLayout {
             previewContainer.add(defaultIcon);
         }
 
-        MemoryBuffer buffer = new MemoryBuffer();
+        // Fichier temporaire sur disque : l'image n'est jamais chargée entièrement en mémoire
+        FileBuffer buffer = new FileBuffer();
         Upload upload = new Upload(buffer);
         upload.setAcceptedFileTypes("image/jpeg", "image/png", "image/gif", "image/webp");
         upload.setMaxFileSize(5 * 1024 * 1024);
@@ -804,18 +805,17 @@ public class AllEventsManagementView extends HorizontalLayout {
         // CORRECTION: Gestionnaire d'upload amélioré
         upload.addSucceededListener(e -> {
             try {
-                InputStream fileData = buffer.getInputStream();
-                byte[] imageBytes = fileData.readAllBytes();
-
-                String base64Image = java.util.Base64.getEncoder().encodeToString(imageBytes);
-                String mimeType = getMimeType(e.getFileName());
-                String dataUrl = "data:" + mimeType + ";base64," + base64Image;
-
-                tempImageBase64 = dataUrl;
+                clearTempImage();
+                File uploadedFile = buffer.getFileData().getFile();
+                tempImageFile = uploadedFile;
                 tempImageUrl = null;
 
+                StreamResource preview = new StreamResource(e.getFileName(),
+                        (out, session) -> Files.copy(uploadedFile.toPath(), out));
+                preview.setContentType(getMimeType(e.getFileName()));
+
                 previewContainer.removeAll();
-                previewImage.setSrc(dataUrl);
+                previewImage.setSrc(preview);
                 previewImage.setVisible(true);
                 previewContainer.add(previewImage);
 
@@ -839,10 +839,10 @@ public class AllEventsManagementView extends HorizontalLayout {
         removeImageBtn = new Button("🗑️ Supprimer l'image", new Icon(VaadinIcon.TRASH));
         removeImageBtn.setWidthFull();
         removeImageBtn.addThemeVariants(ButtonVariant.LUMO_ERROR, ButtonVariant.LUMO_SMALL);
-        removeImageBtn.setVisible((event != null && event.getImageUrl() != null) || tempImageBase64 != null);
+        removeImageBtn.setVisible((event != null && event.getImageUrl() != null) || tempImageFile != null);
         removeImageBtn.addClickListener(e -> {
             tempImageUrl = null;
-            tempImageBase64 = null;
+            clearTempImage();
             previewContainer.removeAll();
             Icon defaultIcon = VaadinIcon.PICTURE.create();
             defaultIcon.setSize("60px");
@@ -855,6 +855,17 @@ public class AllEventsManagementView extends HorizontalLayout {
         return imageSection;
     }
 
+    private void clearTempImage() {
+        if (tempImageFile != null) {
+            try {
+                Files.deleteIfExists(tempImageFile.toPath());
+            } catch (IOException ignored) {
+                // Fichier temporaire : le système le nettoiera
+            }
+            tempImageFile = null;
+        }
+    }
+
     private String getMimeType(String fileName) {
         String lowerFileName = fileName.toLowerCase();
         if (lowerFileName.endsWith(".jpg") || lowerFileName.endsWith(".jpeg")) {
@@ -984,8 +995,11 @@ public class AllEventsManagementView extends HorizontalLayout {
                     // CORRECTION: Logique de sauvegarde améliorée
                     if (event == null) {
                         // Création d'un nouvel événement
-                        if (tempImageBase64 != null) {
-                            eventService.createEventWithImage(newEvent, tempImageBase64);
+                        if (tempImageFile != null) {
+                            try (InputStream image = Files.newInputStream(tempImageFile.toPath())) {
+                                eventService.createEventWithImage(newEvent, image);
+                            }
+                            clearTempImage();
                             showNotification("✓ Événement créé avec image", NotificationVariant.LUMO_SUCCESS);
                         } else {
                             eventService.createEvent(newEvent);
@@ -993,9 +1007,12 @@ public class AllEventsManagementView extends HorizontalLayout {
                         }
                     } else {
                         // Mise à jour d'un événement existant
-                        if (tempImageBase64 != null) {
+                        if (tempImageFile != null) {
                             // Nouvelle image uploadée
-                            eventService.updateEventWithImage(event.getId(), newEvent, tempImageBase64);
+                            try (InputStream image = Files.newInputStream(tempImageFile.toPath())) {
+                                eventService.updateEventWithImage(event.getId(), newEvent, image);
+                            }
+                            clearTempImage();
                             showNotification("✓ Événement modifié avec nouvelle image", NotificationVariant.LUMO_SUCCESS);
                         } else if (tempImageUrl == null && event.getImageUrl() != null) {
                             // Image supprimée
@@ -1071,7 +1088,7 @@ public class AllEventsManagementView extends HorizontalLayout {
         return true;
     }
 
-    private void toggleEventStatus(Event event) {
+    private void toggleEventStatus(EventCardRow event) {
         try {
             if (event.getStatut() == EventStatus.PUBLIE) {
                 eventService.cancelEvent(event.getId());
@@ -1086,7 +1103,7 @@ public class AllEventsManagementView extends HorizontalLayout {
         }
     }
 
-    private void confirmDeleteEvent(Event event) {
+    private void confirmDeleteEvent(EventCardRow event) {
         ConfirmDialog dialog = new ConfirmDialog();
         dialog.setHeader("⚠️ Confirmer la suppression");
         dialog.setText("Êtes-vous sûr de vouloir supprimer l'événement \"" +
@@ -1102,7 +1119,7 @@ public class AllEventsManagementView extends HorizontalLayout {
         dialog.open();
     }
 
-    private void deleteEvent(Event event) {
+    private void deleteEvent(EventCardRow event) {
         try {
             eventService.deleteEventWithImage(event.getId());
             showNotification("✓ Événement supprimé", NotificationVariant.LUMO_SUCCESS);
@@ -1,18 +1,18 @@
 package com.eventbooking.view.admin;
 
-import com.eventbooking.entity.Reservation;
 import com.eventbooking.entity.User;
 import com.eventbooking.entity.enums.ReservationStatus;
 import com.eventbooking.entity.enums.UserRole;
+import com.eventbooking.service.ExportJobService;
 import com.eventbooking.service.ReservationService;
+import com.eventbooking.service.dto.ReservationRow;
 import com.eventbooking.view.admin.components.AdminSidebar;
-import com.vaadin.flow.component.UI;
+import com.eventbooking.view.components.ExportJobsPanel;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.combobox.ComboBox;
 import com.vaadin.flow.component.confirmdialog.ConfirmDialog;
 import com.vaadin.flow.component.grid.Grid;
-import com.vaadin.flow.component.html.Anchor;
 import com.vaadin.flow.component.html.H1;
 import com.vaadin.flow.component.html.H2;
 import com.vaadin.flow.component.html.Span;
@@ -26,18 +26,12 @@ import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.data.renderer.ComponentRenderer;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
-import com.vaadin.flow.server.StreamResource;
 import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
 import jakarta.annotation.security.PermitAll;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.PrintWriter;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @Route("admin/reservations")
 @PageTitle("Gestion Réservations | Event Booking Admin")
@@ -47,14 +41,19 @@ public class AllReservationsView extends HorizontalLayout {
     @Autowired
     private ReservationService reservationService;
 
-    private Grid<Reservation> reservationGrid;
+    @Autowired
+    private ExportJobService exportJobService;
+
+    private Grid<ReservationRow> reservationGrid;
     private ComboBox<ReservationStatus> statusFilter;
     private TextField searchField;
+    private ExportJobsPanel exportJobsPanel;
     private User currentUser;
-    private List<Reservation> currentReservations;
 
-    public AllReservationsView(ReservationService reservationService) {
+    public AllReservationsView(ReservationService reservationService,
+                               ExportJobService exportJobService) {
         this.reservationService = reservationService;
+        this.exportJobService = exportJobService;
 
         setSizeFull();
         setPadding(false);
@@ -93,9 +92,10 @@ public class AllReservationsView extends HorizontalLayout {
 
         HorizontalLayout header = createHeader();
         HorizontalLayout filters = createFilters();
+        exportJobsPanel = new ExportJobsPanel(exportJobService, currentUser.getId());
         reservationGrid = createReservationGrid();
 
-        content.add(header, filters, reservationGrid);
+        content.add(header, filters, exportJobsPanel, reservationGrid);
         return content;
     }
 
@@ -159,35 +159,36 @@ public class AllReservationsView extends HorizontalLayout {
         return filters;
     }
 
-    private Grid<Reservation> createReservationGrid() {
-        Grid<Reservation> grid = new Grid<>(Reservation.class, false);
+    private Grid<ReservationRow> createReservationGrid() {
+        Grid<ReservationRow> grid = new Grid<>(ReservationRow.class, false);
         grid.setHeight("600px");
+        grid.setPageSize(50);
 
-        grid.addColumn(Reservation::getId)
+        grid.addColumn(ReservationRow::getId)
                 .setHeader("ID")
                 .setWidth("70px")
                 .setFlexGrow(0);
 
-        grid.addColumn(Reservation::getCodeReservation)
+        grid.addColumn(ReservationRow::getCodeReservation)
                 .setHeader("Code Réservation")
-                .setSortable(true)
+                .setSortProperty("codeReservation")
                 .setWidth("150px");
 
-        grid.addColumn(res -> res.getUtilisateur().getPrenom() + " " + res.getUtilisateur().getNom())
+        grid.addColumn(res -> res.getClientPrenom() + " " + res.getClientNom())
                 .setHeader("Client")
-                .setSortable(true)
+                .setSortProperty("utilisateur.nom", "utilisateur.prenom")
                 .setWidth("180px");
 
-        grid.addColumn(res -> res.getUtilisateur().getEmail())
+        grid.addColumn(ReservationRow::getClientEmail)
                 .setHeader("Email")
                 .setWidth("200px");
 
-        grid.addColumn(res -> res.getEvenement().getTitre())
+        grid.addColumn(ReservationRow::getTitreEvenement)
                 .setHeader("Événement")
-                .setSortable(true)
+                .setSortProperty("evenement.titre")
                 .setWidth("200px");
 
-        grid.addColumn(Reservation::getNombrePlaces)
+        grid.addColumn(ReservationRow::getNombrePlaces)
                 .setHeader("Places")
                 .setWidth("80px");
 
@@ -198,7 +199,7 @@ public class AllReservationsView extends HorizontalLayout {
         grid.addColumn(res -> res.getDateReservation().format(
                         DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")))
                 .setHeader("Date Réservation")
-                .setSortable(true)
+                .setSortProperty("dateReservation")
                 .setWidth("170px");
 
         grid.addColumn(new ComponentRenderer<>(reservation -> {
@@ -247,185 +248,44 @@ public class AllReservationsView extends HorizontalLayout {
 
     private void loadReservations() {
         try {
-            currentReservations = reservationService.getAllReservations();
-            reservationGrid.setItems(currentReservations);
+            // Chargement paresseux : seule la page visible est lue en base (filtres et tri côté SQL)
+            reservationGrid.setItems(
+                    query -> reservationService.findReservationRows(
+                            searchField.getValue(), statusFilter.getValue(),
+                            VaadinSpringDataHelpers.toSpringPageRequest(query)).stream(),
+                    query -> (int) reservationService.countReservations(
+                            searchField.getValue(), statusFilter.getValue()));
         } catch (Exception e) {
             showNotification("Erreur de chargement: " + e.getMessage(), NotificationVariant.LUMO_ERROR);
         }
     }
 
     private void filterReservations() {
-        String searchTerm = searchField.getValue().toLowerCase();
-        ReservationStatus selectedStatus = statusFilter.getValue();
-
-        currentReservations = reservationService.getAllReservations().stream()
-                .filter(reservation -> {
-                    boolean matchesSearch = searchTerm.isEmpty() ||
-                            reservation.getCodeReservation().toLowerCase().contains(searchTerm) ||
-                            reservation.getUtilisateur().getNom().toLowerCase().contains(searchTerm) ||
-                            reservation.getUtilisateur().getPrenom().toLowerCase().contains(searchTerm) ||
-                            reservation.getUtilisateur().getEmail().toLowerCase().contains(searchTerm) ||
-                            reservation.getEvenement().getTitre().toLowerCase().contains(searchTerm);
-
-                    boolean matchesStatus = selectedStatus == null ||
-                            reservation.getStatut() == selectedStatus;
-
-                    return matchesSearch && matchesStatus;
-                })
-                .collect(Collectors.toList());
-
-        reservationGrid.setItems(currentReservations);
+        reservationGrid.getDataProvider().refreshAll();
     }
 
-    // ============== EXPORT CSV ==============
+    // ============== EXPORTS (en arrière-plan) ==============
     private void exportToCSV() {
         try {
-            StreamResource resource = new StreamResource("reservations.csv", () -> {
-                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-                PrintWriter writer = new PrintWriter(outputStream);
-
-                // En-têtes CSV
-                writer.println("ID,Code Réservation,Client,Email,Téléphone,Événement,Places,Montant (MAD),Date Réservation,Statut,Commentaire");
-
-                // Données
-                for (Reservation res : currentReservations) {
-                    writer.printf("%d,\"%s\",\"%s %s\",\"%s\",\"%s\",\"%s\",%d,%.2f,\"%s\",\"%s\",\"%s\"%n",
-                            res.getId(),
-                            res.getCodeReservation(),
-                            res.getUtilisateur().getPrenom(),
-                            res.getUtilisateur().getNom(),
-                            res.getUtilisateur().getEmail(),
-                            res.getUtilisateur().getTelephone() != null ? res.getUtilisateur().getTelephone() : "",
-                            res.getEvenement().getTitre(),
-                            res.getNombrePlaces(),
-                            res.getMontantTotal(),
-                            res.getDateReservation().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")),
-                            getStatusLabel(res.getStatut()),
-                            res.getCommentaire() != null ? res.getCommentaire().replace("\"", "\"\"") : ""
-                    );
-                }
-
-                writer.flush();
-                return new ByteArrayInputStream(outputStream.toByteArray());
-            });
-
-            // Créer un lien de téléchargement
-            Anchor downloadLink = new Anchor(resource, "");
-            downloadLink.getElement().setAttribute("download", true);
-            downloadLink.setId("csv-download-link");
-
-            // Ajouter temporairement à la page et déclencher le téléchargement
-            add(downloadLink);
-            UI.getCurrent().getPage().executeJs("document.getElementById('csv-download-link').click();");
-
-            // Retirer le lien après le téléchargement
-            UI.getCurrent().getPage().executeJs(
-                    "setTimeout(function() { " +
-                            "   var link = document.getElementById('csv-download-link'); " +
-                            "   if(link) link.remove(); " +
-                            "}, 1000);"
-            );
-
-            showNotification("✓ Export CSV généré avec succès!", NotificationVariant.LUMO_SUCCESS);
-
+            exportJobService.submitReservationsCsv(currentUser.getId(), searchField.getValue(), statusFilter.getValue());
+            exportJobsPanel.refresh();
+            showNotification("Export CSV lancé, le fichier sera disponible dans « Mes exports »", NotificationVariant.LUMO_SUCCESS);
         } catch (Exception e) {
             showNotification("Erreur lors de l'export CSV: " + e.getMessage(), NotificationVariant.LUMO_ERROR);
         }
     }
 
-    // ============== EXPORT PDF ==============
     private void exportToPDF() {
         try {
-            StreamResource resource = new StreamResource("reservations.pdf", () -> {
-                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-
-                // Générer un PDF simple (HTML to PDF)
-                String htmlContent = generatePDFContent();
-
-                // Pour un vrai PDF, vous devriez utiliser une bibliothèque comme iText ou Apache PDFBox
-                // Ici on génère un fichier texte formaté comme exemple
-                try {
-                    outputStream.write(htmlContent.getBytes());
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                }
-
-                return new ByteArrayInputStream(outputStream.toByteArray());
-            });
-
-            // Créer un lien de téléchargement
-            Anchor downloadLink = new Anchor(resource, "");
-            downloadLink.getElement().setAttribute("download", true);
-            downloadLink.setId("pdf-download-link");
-
-            add(downloadLink);
-            UI.getCurrent().getPage().executeJs("document.getElementById('pdf-download-link').click();");
-
-            UI.getCurrent().getPage().executeJs(
-                    "setTimeout(function() { " +
-                            "   var link = document.getElementById('pdf-download-link'); " +
-                            "   if(link) link.remove(); " +
-                            "}, 1000);"
-            );
-
-            showNotification("✓ Export PDF généré avec succès!", NotificationVariant.LUMO_SUCCESS);
-
+            exportJobService.submitReservationsPdf(currentUser.getId(), searchField.getValue(), statusFilter.getValue());
+            exportJobsPanel.refresh();
+            showNotification("Export PDF lancé, le fichier sera disponible dans « Mes exports »", NotificationVariant.LUMO_SUCCESS);
         } catch (Exception e) {
             showNotification("Erreur lors de l'export PDF: " + e.getMessage(), NotificationVariant.LUMO_ERROR);
         }
     }
 
-    private String generatePDFContent() {
-        StringBuilder html = new StringBuilder();
-        html.append("<!DOCTYPE html><html><head><meta charset='UTF-8'>");
-        html.append("<style>");
-        html.append("body { font-family: Arial, sans-serif; margin: 20px; }");
-        html.append("h1 { color: #2e7d32; text-align: center; }");
-        html.append("table { width: 100%; border-collapse: collapse; margin-top: 20px; }");
-        html.append("th, td { border: 1px solid #ddd; padding: 8px; text-align: left; }");
-        html.append("th { background-color: #2e7d32; color: white; }");
-        html.append("tr:nth-child(even) { background-color: #f2f2f2; }");
-        html.append(".footer { margin-top: 30px; text-align: center; color: #666; }");
-        html.append("</style></head><body>");
-
-        html.append("<h1>📋 Rapport des Réservations</h1>");
-        html.append("<p><strong>Date d'export:</strong> ").append(
-                java.time.LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"))
-        ).append("</p>");
-        html.append("<p><strong>Nombre total de réservations:</strong> ").append(currentReservations.size()).append("</p>");
-
-        html.append("<table>");
-        html.append("<thead><tr>");
-        html.append("<th>ID</th><th>Code</th><th>Client</th><th>Email</th>");
-        html.append("<th>Événement</th><th>Places</th><th>Montant</th><th>Date</th><th>Statut</th>");
-        html.append("</tr></thead><tbody>");
-
-        for (Reservation res : currentReservations) {
-            html.append("<tr>");
-            html.append("<td>").append(res.getId()).append("</td>");
-            html.append("<td>").append(res.getCodeReservation()).append("</td>");
-            html.append("<td>").append(res.getUtilisateur().getPrenom()).append(" ")
-                    .append(res.getUtilisateur().getNom()).append("</td>");
-            html.append("<td>").append(res.getUtilisateur().getEmail()).append("</td>");
-            html.append("<td>").append(res.getEvenement().getTitre()).append("</td>");
-            html.append("<td>").append(res.getNombrePlaces()).append("</td>");
-            html.append("<td>").append(String.format("%.2f MAD", res.getMontantTotal())).append("</td>");
-            html.append("<td>").append(res.getDateReservation()
-                    .format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"))).append("</td>");
-            html.append("<td>").append(getStatusLabel(res.getStatut())).append("</td>");
-            html.append("</tr>");
-        }
-
-        html.append("</tbody></table>");
-        html.append("<div class='footer'>");
-        html.append("<p>Event Booking System - Rapport généré automatiquement</p>");
-        html.append("</div>");
-        html.append("</body></html>");
-
-        return html.toString();
-    }
-
-    private void confirmReservation(Reservation reservation) {
+    private void confirmReservation(ReservationRow reservation) {
         try {
             reservationService.confirmReservation(reservation.getId());
             showNotification("✓ Réservation confirmée", NotificationVariant.LUMO_SUCCESS);
@@ -435,7 +295,7 @@ public class AllReservationsView extends HorizontalLayout {
         }
     }
 
-    private void confirmCancelReservation(Reservation reservation) {
+    private void confirmCancelReservation(ReservationRow reservation) {
         ConfirmDialog dialog = new ConfirmDialog();
         dialog.setHeader("⚠️ Confirmer l'annulation");
         dialog.setText("Êtes-vous sûr de vouloir annuler cette réservation ?");
@@ -450,7 +310,7 @@ public class AllReservationsView extends HorizontalLayout {
         dialog.open();
     }
 
-    private void cancelReservation(Reservation reservation) {
+    private void cancelReservation(ReservationRow reservation) {
         try {
             reservationService.cancelReservation(reservation.getId(), "Annulé par l'administrateur");
             showNotification("✓ Réservation annulée", NotificationVariant.LUMO_SUCCESS);
@@ -460,7 +320,7 @@ public class AllReservationsView extends HorizontalLayout {
         }
     }
 
-    private void confirmDeleteReservation(Reservation reservation) {
+    private void confirmDeleteReservation(ReservationRow reservation) {
         ConfirmDialog dialog = new ConfirmDialog();
         dialog.setHeader("⚠️ Confirmer la suppression");
         dialog.setText("Êtes-vous sûr de vouloir supprimer cette réservation ? Cette action est irréversible.");
@@ -475,7 +335,7 @@ public class AllReservationsView extends HorizontalLayout {
         dialog.open();
     }
 
-    private void deleteReservation(Reservation reservation) {
+    private void deleteReservation(ReservationRow reservation) {
         try {
             reservationService.deleteReservation(reservation.getId());
             showNotification("✓ Réservation supprimée", NotificationVariant.LUMO_SUCCESS);
@@ -27,11 +27,11 @@ import com.vaadin.flow.data.renderer.ComponentRenderer;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
 import jakarta.annotation.security.PermitAll;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 
 @Route("admin/users")
 @PageTitle("Gestion Utilisateurs | Event Booking Admin")
@@ -148,6 +148,7 @@ public class UserManagementView extends HorizontalLayout {
     private Grid<User> createUserGrid() {
         Grid<User> grid = new Grid<>(User.class, false);
         grid.setHeight("600px");
+        grid.setPageSize(50);
 
         grid.addColumn(User::getId)
                 .setHeader("ID")
@@ -156,11 +157,11 @@ public class UserManagementView extends HorizontalLayout {
 
         grid.addColumn(user -> user.getNom() + " " + user.getPrenom())
                 .setHeader("Nom Complet")
-                .setSortable(true);
+                .setSortProperty("nom", "prenom");
 
         grid.addColumn(User::getEmail)
                 .setHeader("Email")
-                .setSortable(true);
+                .setSortProperty("email");
 
         grid.addColumn(User::getTelephone)
                 .setHeader("Téléphone");
@@ -229,31 +230,19 @@ public class UserManagementView extends HorizontalLayout {
 
     private void loadUsers() {
         try {
-            List<User> users = userService.getAllUsers();
-            userGrid.setItems(users);
+            // Chargement paresseux : seule la page visible est lue en base (filtres et tri côté SQL)
+            userGrid.setItems(
+                    query -> userService.findUsers(
+                            searchField.getValue(), roleFilter.getValue(),
+                            VaadinSpringDataHelpers.toSpringPageRequest(query)).stream(),
+                    query -> (int) userService.countUsers(searchField.getValue(), roleFilter.getValue()));
         } catch (Exception e) {
             showNotification("Erreur de chargement: " + e.getMessage(), NotificationVariant.LUMO_ERROR);
         }
     }
 
     private void filterUsers() {
-        String searchTerm = searchField.getValue().toLowerCase();
-        UserRole selectedRole = roleFilter.getValue();
-
-        List<User> filteredUsers = userService.getAllUsers().stream()
-                .filter(user -> {
-                    boolean matchesSearch = searchTerm.isEmpty() ||
-                            user.getNom().toLowerCase().contains(searchTerm) ||
-                            user.getPrenom().toLowerCase().contains(searchTerm) ||
-                            user.getEmail().toLowerCase().contains(searchTerm);
-
-                    boolean matchesRole = selectedRole == null || user.getRole() == selectedRole;
-
-                    return matchesSearch && matchesRole;
-                })
-                .toList();
-
-        userGrid.setItems(filteredUsers);
+        userGrid.getDataProvider().refreshAll();
     }
 
     private void openUserDialog(User user) {
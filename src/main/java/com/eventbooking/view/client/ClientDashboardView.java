@@ -3,6 +3,7 @@ package com.eventbooking.view.client;
 import com.eventbooking.entity.User;
 import com.eventbooking.service.ReservationService;
 import com.eventbooking.service.EventService;
+import com.eventbooking.service.dto.EventCardRow;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.charts.Chart;
@@ -409,7 +410,7 @@ public class ClientDashboardView extends VerticalLayout {
                 .set("color", "#667eea");
 
         // Récupérer les événements à venir
-        List<com.eventbooking.entity.Event> upcomingEvents = eventService.getUpcomingEvents();
+        List<EventCardRow> upcomingEvents = eventService.getUpcomingEvents();
 
         if (upcomingEvents.isEmpty()) {
             Paragraph noEvents = new Paragraph("Aucun événement à venir");
@@ -421,7 +422,7 @@ public class ClientDashboardView extends VerticalLayout {
                     .limit(3)
                     .toList();
 
-            for (com.eventbooking.entity.Event event : upcomingEvents) {
+            for (EventCardRow event : upcomingEvents) {
                 section.add(createUpcomingEventItem(event));
             }
         }
@@ -430,7 +431,7 @@ public class ClientDashboardView extends VerticalLayout {
     }
 
     // Dans la méthode createUpcomingEventItem, corriger le bouton:
-    private HorizontalLayout createUpcomingEventItem(com.eventbooking.entity.Event event) {
+    private HorizontalLayout createUpcomingEventItem(EventCardRow event) {
         HorizontalLayout item = new HorizontalLayout();
         item.setWidthFull();
         item.setAlignItems(Alignment.CENTER);
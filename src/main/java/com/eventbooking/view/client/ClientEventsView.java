@@ -1,10 +1,11 @@
 package com.eventbooking.view.client;
 
-import com.eventbooking.entity.Event;
 import com.eventbooking.entity.User;
 import com.eventbooking.service.EventService;
 import com.eventbooking.service.ReservationService;
+import com.eventbooking.service.SeatAvailabilityBroadcaster;
 import com.eventbooking.service.UserService;
+import com.eventbooking.service.dto.EventCardRow;
 import com.eventbooking.view.components.EventCard;
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.button.Button;
@@ -28,6 +29,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Route("client/events")
 @PageTitle("Événements - Client")
@@ -36,9 +39,10 @@ public class ClientEventsView extends VerticalLayout {
     private final EventService eventService;
     private final ReservationService reservationService;
     private final UserService userService;
+    private final SeatAvailabilityBroadcaster seatAvailabilityBroadcaster;
     private final User currentUser;
 
-    private List<Event> allEvents;
+    private List<EventCardRow> allEvents;
     private Div eventsContainer;
     private TextField searchField;
     private Select<String> categoryFilter;
@@ -50,10 +54,12 @@ public class ClientEventsView extends VerticalLayout {
     @Autowired
     public ClientEventsView(EventService eventService,
                             ReservationService reservationService,
-                            UserService userService) {
+                            UserService userService,
+                            SeatAvailabilityBroadcaster seatAvailabilityBroadcaster) {
         this.eventService = eventService;
         this.reservationService = reservationService;
         this.userService = userService;
+        this.seatAvailabilityBroadcaster = seatAvailabilityBroadcaster;
         this.currentUser = (User) VaadinSession.getCurrent().getAttribute("currentUser");
 
         setPadding(false);
@@ -213,15 +219,15 @@ public class ClientEventsView extends VerticalLayout {
     }
 
     private void filterEvents() {
-        String searchTerm = searchField.getValue().toLowerCase();
+        String searchTerm = searchField.getValue();
         String category = categoryFilter.getValue();
         String city = cityFilter.getValue();
         LocalDate dateFrom = dateFromFilter.getValue();
         LocalDate dateTo = dateToFilter.getValue();
         boolean freeOnly = freeEventsOnly.getValue();
 
-        List<Event> filtered = allEvents.stream()
-                .filter(e -> searchTerm.isEmpty() || e.getTitre().toLowerCase().contains(searchTerm))
+        // Recherche plein texte : événements correspondants, du plus pertinent au moins pertinent
+        List<EventCardRow> filtered = eventService.rankBySearch(allEvents, searchTerm).stream()
                 .filter(e -> category.equals("Toutes") || e.getCategorie().name().equals(category))
                 .filter(e -> city.equals("Toutes") || e.getVille().equalsIgnoreCase(city))
                 .filter(e -> dateFrom == null || !e.getDateDebut().toLocalDate().isBefore(dateFrom))
@@ -232,7 +238,7 @@ public class ClientEventsView extends VerticalLayout {
         displayEvents(filtered);
     }
 
-    private void displayEvents(List<Event> events) {
+    private void displayEvents(List<EventCardRow> events) {
         eventsContainer.removeAll();
 
         if (events.isEmpty()) {
@@ -257,9 +263,18 @@ public class ClientEventsView extends VerticalLayout {
             emptyState.add(icon, message, suggestion);
             eventsContainer.add(emptyState);
         } else {
+            // Disponibilités et réservations de l'utilisateur chargées en lot pour toutes les cartes
+            List<Long> eventIds = events.stream().map(EventCardRow::getId).toList();
+            Map<Long, Integer> availablePlaces = eventService.getAvailablePlaces(eventIds);
+            Set<Long> reservedEventIds = currentUser != null
+                    ? reservationService.hasUserReserved(currentUser.getId(), eventIds)
+                    : Set.of();
+
             events.forEach(event -> {
                 EventCard eventCard = new EventCard(event, "http://localhost:8080",
-                        eventService, reservationService, userService);
+                        eventService, reservationService, userService,
+                        availablePlaces.get(event.getId()), reservedEventIds.contains(event.getId()),
+                        seatAvailabilityBroadcaster);
                 eventsContainer.add(eventCard);
             });
         }
@@ -1,8 +1,8 @@
 package com.eventbooking.view.client;
 
-import com.eventbooking.entity.Reservation;
 import com.eventbooking.entity.User;
 import com.eventbooking.service.ReservationService;
+import com.eventbooking.service.dto.ReservationRow;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.charts.Chart;
 import com.vaadin.flow.component.charts.model.*;
@@ -19,7 +19,9 @@ import com.vaadin.flow.router.Route;
 import com.vaadin.flow.server.VaadinSession;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
 import java.util.List;
 
 @Route(value = "client/history", layout = ClientMainLayout.class)
@@ -29,7 +31,7 @@ public class ClientHistoryView extends VerticalLayout {
     private final ReservationService reservationService;
     private User currentUser;
 
-    private Grid<Reservation> historyGrid;
+    private Grid<ReservationRow> historyGrid;
     private Tabs filterTabs;
     private Chart reservationChart;
 
@@ -124,7 +126,7 @@ public class ClientHistoryView extends VerticalLayout {
 
         DataSeries series = new DataSeries();
 
-        List<Reservation> allReservations = reservationService.getReservationsByUser(currentUser.getId());
+        List<ReservationRow> allReservations = reservationService.getReservationRowsByUser(currentUser.getId());
 
         long confirmed = allReservations.stream()
                 .filter(r -> r.getStatut().toString().equals("CONFIRMEE"))
@@ -147,8 +149,8 @@ public class ClientHistoryView extends VerticalLayout {
         return chart;
     }
 
-    private Grid<Reservation> createHistoryGrid() {
-        Grid<Reservation> grid = new Grid<>(Reservation.class, false);
+    private Grid<ReservationRow> createHistoryGrid() {
+        Grid<ReservationRow> grid = new Grid<>(ReservationRow.class, false);
         grid.setWidthFull();
         grid.setHeight("500px");
         grid.getStyle()
@@ -156,12 +158,12 @@ public class ClientHistoryView extends VerticalLayout {
                 .set("border-radius", "12px")
                 .set("margin-top", "20px");
 
-        grid.addColumn(reservation -> reservation.getEvenement().getTitre())
+        grid.addColumn(ReservationRow::getTitreEvenement)
                 .setHeader("Événement")
                 .setAutoWidth(true)
                 .setSortable(true);
 
-        grid.addColumn(reservation -> reservation.getEvenement().getDateDebut()
+        grid.addColumn(reservation -> reservation.getDateDebutEvenement()
                         .format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")))
                 .setHeader("Date de l'événement")
                 .setAutoWidth(true)
@@ -173,7 +175,7 @@ public class ClientHistoryView extends VerticalLayout {
                 .setAutoWidth(true)
                 .setSortable(true);
 
-        grid.addColumn(Reservation::getNombrePlaces)
+        grid.addColumn(ReservationRow::getNombrePlaces)
                 .setHeader("Places")
                 .setAutoWidth(true);
 
@@ -181,7 +183,7 @@ public class ClientHistoryView extends VerticalLayout {
                 .setHeader("Montant")
                 .setAutoWidth(true);
 
-        grid.addColumn(Reservation::getCodeReservation)
+        grid.addColumn(ReservationRow::getCodeReservation)
                 .setHeader("Code")
                 .setAutoWidth(true);
 
@@ -209,38 +211,47 @@ public class ClientHistoryView extends VerticalLayout {
     }
 
     private void loadAllReservations() {
-        List<Reservation> reservations = reservationService.getReservationsByUser(currentUser.getId());
+        List<ReservationRow> reservations = reservationService.getReservationRowsByUser(currentUser.getId());
         historyGrid.setItems(reservations);
         updateChart(reservations);
     }
 
     private void loadConfirmedReservations() {
-        List<Reservation> allReservations = reservationService.getReservationsByUser(currentUser.getId());
-        List<Reservation> confirmed = allReservations.stream()
+        List<ReservationRow> allReservations = reservationService.getReservationRowsByUser(currentUser.getId());
+        List<ReservationRow> confirmed = allReservations.stream()
                 .filter(r -> r.getStatut().toString().equals("CONFIRMEE"))
                 .toList();
         historyGrid.setItems(confirmed);
     }
 
     private void loadCancelledReservations() {
-        List<Reservation> allReservations = reservationService.getReservationsByUser(currentUser.getId());
-        List<Reservation> cancelled = allReservations.stream()
+        List<ReservationRow> allReservations = reservationService.getReservationRowsByUser(currentUser.getId());
+        List<ReservationRow> cancelled = allReservations.stream()
                 .filter(r -> r.getStatut().toString().equals("ANNULEE"))
                 .toList();
         historyGrid.setItems(cancelled);
     }
 
+    // À venir / passées : mêmes lignes, triées par date de l'événement comme les requêtes dédiées
     private void loadUpcomingReservations() {
-        List<Reservation> upcoming = reservationService.getUpcomingReservationsByUser(currentUser.getId());
+        LocalDateTime now = LocalDateTime.now();
+        List<ReservationRow> upcoming = reservationService.getReservationRowsByUser(currentUser.getId()).stream()
+                .filter(r -> r.getDateDebutEvenement().isAfter(now))
+                .sorted(Comparator.comparing(ReservationRow::getDateDebutEvenement))
+                .toList();
         historyGrid.setItems(upcoming);
     }
 
     private void loadPastReservations() {
-        List<Reservation> past = reservationService.getReservationHistoryByUser(currentUser.getId());
+        LocalDateTime now = LocalDateTime.now();
+        List<ReservationRow> past = reservationService.getReservationRowsByUser(currentUser.getId()).stream()
+                .filter(r -> !r.getDateDebutEvenement().isAfter(now))
+                .sorted(Comparator.comparing(ReservationRow::getDateDebutEvenement).reversed())
+                .toList();
         historyGrid.setItems(past);
     }
 
-    private void updateChart(List<Reservation> reservations) {
+    private void updateChart(List<ReservationRow> reservations) {
         // Mettre à jour le graphique
         long confirmed = reservations.stream()
                 .filter(r -> r.getStatut().toString().equals("CONFIRMEE"))
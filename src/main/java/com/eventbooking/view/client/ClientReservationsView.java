@@ -3,6 +3,7 @@ package com.eventbooking.view.client;
 import com.eventbooking.entity.Reservation;
 import com.eventbooking.entity.User;
 import com.eventbooking.service.ReservationService;
+import com.eventbooking.service.dto.ReservationRow;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
@@ -29,7 +30,7 @@ public class ClientReservationsView extends VerticalLayout {
 
     private final ReservationService reservationService;
     private User currentUser;
-    private Grid<Reservation> reservationGrid;
+    private Grid<ReservationRow> reservationGrid;
 
     @Autowired
     public ClientReservationsView(ReservationService reservationService) {
@@ -162,8 +163,8 @@ public class ClientReservationsView extends VerticalLayout {
         return card;
     }
 
-    private Grid<Reservation> createReservationGrid() {
-        Grid<Reservation> grid = new Grid<>(Reservation.class, false);
+    private Grid<ReservationRow> createReservationGrid() {
+        Grid<ReservationRow> grid = new Grid<>(ReservationRow.class, false);
         grid.setWidthFull();
         grid.setHeight("500px");
         grid.getStyle()
@@ -171,18 +172,18 @@ public class ClientReservationsView extends VerticalLayout {
                 .set("border-radius", "12px")
                 .set("margin-top", "20px");
 
-        grid.addColumn(reservation -> reservation.getEvenement().getTitre())
+        grid.addColumn(ReservationRow::getTitreEvenement)
                 .setHeader("Événement")
                 .setAutoWidth(true)
                 .setSortable(true);
 
-        grid.addColumn(reservation -> reservation.getEvenement().getDateDebut()
+        grid.addColumn(reservation -> reservation.getDateDebutEvenement()
                         .format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")))
                 .setHeader("Date")
                 .setAutoWidth(true)
                 .setSortable(true);
 
-        grid.addColumn(Reservation::getNombrePlaces)
+        grid.addColumn(ReservationRow::getNombrePlaces)
                 .setHeader("Places")
                 .setAutoWidth(true)
                 .setSortable(true);
@@ -192,7 +193,7 @@ public class ClientReservationsView extends VerticalLayout {
                 .setAutoWidth(true)
                 .setSortable(true);
 
-        grid.addColumn(Reservation::getCodeReservation)
+        grid.addColumn(ReservationRow::getCodeReservation)
                 .setHeader("Code")
                 .setAutoWidth(true);
 
@@ -253,27 +254,27 @@ public class ClientReservationsView extends VerticalLayout {
     }
 
     private void loadReservations() {
-        List<Reservation> reservations = reservationService.getReservationsByUser(currentUser.getId());
+        List<ReservationRow> reservations = reservationService.getReservationRowsByUser(currentUser.getId());
         reservationGrid.setItems(reservations);
     }
 
     private void searchReservations(String keyword) {
-        List<Reservation> allReservations = reservationService.getReservationsByUser(currentUser.getId());
+        List<ReservationRow> allReservations = reservationService.getReservationRowsByUser(currentUser.getId());
 
         if (keyword == null || keyword.trim().isEmpty()) {
             reservationGrid.setItems(allReservations);
             return;
         }
 
-        List<Reservation> filtered = allReservations.stream()
+        List<ReservationRow> filtered = allReservations.stream()
                 .filter(r -> r.getCodeReservation().toLowerCase().contains(keyword.toLowerCase()) ||
-                        r.getEvenement().getTitre().toLowerCase().contains(keyword.toLowerCase()))
+                        r.getTitreEvenement().toLowerCase().contains(keyword.toLowerCase()))
                 .toList();
 
         reservationGrid.setItems(filtered);
     }
 
-    private void showReservationDetails(Reservation reservation) {
+    private void showReservationDetails(ReservationRow reservation) {
         Dialog dialog = new Dialog();
         dialog.setWidth("600px");
         dialog.setMaxWidth("90vw");
@@ -307,10 +308,10 @@ public class ClientReservationsView extends VerticalLayout {
 
         details.add(
                 createDetailRow("Code:", reservation.getCodeReservation()),
-                createDetailRow("Événement:", reservation.getEvenement().getTitre()),
-                createDetailRow("Date:", reservation.getEvenement().getDateDebut()
+                createDetailRow("Événement:", reservation.getTitreEvenement()),
+                createDetailRow("Date:", reservation.getDateDebutEvenement()
                         .format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"))),
-                createDetailRow("Lieu:", reservation.getEvenement().getLieu() + ", " + reservation.getEvenement().getVille()),
+                createDetailRow("Lieu:", reservation.getLieu() + ", " + reservation.getVille()),
                 createDetailRow("Nombre de places:", reservation.getNombrePlaces().toString()),
                 createDetailRow("Montant total:", reservation.getMontantTotal() + " MAD"),
                 createDetailRow("Statut:", reservation.getStatut().toString()),
@@ -347,7 +348,7 @@ public class ClientReservationsView extends VerticalLayout {
         return row;
     }
 
-    private void printReceipt(Reservation reservation) {
+    private void printReceipt(ReservationRow reservation) {
         // Naviguer vers la vue reçu
         getUI().ifPresent(ui -> {
             ui.navigate("receipt/" + reservation.getId());
@@ -546,7 +547,7 @@ public class ClientReservationsView extends VerticalLayout {
         );
     }
 
-    private void cancelReservation(Reservation reservation) {
+    private void cancelReservation(ReservationRow reservation) {
         Dialog confirmDialog = new Dialog();
         confirmDialog.setWidth("400px");
 
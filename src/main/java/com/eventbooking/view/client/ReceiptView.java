@@ -3,9 +3,12 @@ package com.eventbooking.view.client;
 import com.eventbooking.entity.Reservation;
 import com.eventbooking.entity.User;
 import com.eventbooking.service.HtmlReceiptService;
+import com.eventbooking.service.PdfRenderingService;
 import com.eventbooking.service.ReservationService;
+import com.vaadin.flow.component.html.Anchor;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.router.*;
+import com.vaadin.flow.server.StreamResource;
 import com.vaadin.flow.server.VaadinSession;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -15,12 +18,15 @@ public class ReceiptView extends Div implements BeforeEnterObserver {
 
     private final ReservationService reservationService;
     private final HtmlReceiptService htmlReceiptService;
+    private final PdfRenderingService pdfRenderingService;
 
     @Autowired
     public ReceiptView(ReservationService reservationService,
-                       HtmlReceiptService htmlReceiptService) {
+                       HtmlReceiptService htmlReceiptService,
+                       PdfRenderingService pdfRenderingService) {
         this.reservationService = reservationService;
         this.htmlReceiptService = htmlReceiptService;
+        this.pdfRenderingService = pdfRenderingService;
 
         setSizeFull();
         getStyle().set("overflow", "auto");
@@ -112,6 +118,8 @@ public class ReceiptView extends Div implements BeforeEnterObserver {
                 this.appendChild(backBtn);
             """, htmlContent);
 
+            add(createPdfLink(reservation));
+
         } catch (NumberFormatException e) {
             showError("ID de réservation invalide");
         } catch (Exception e) {
@@ -120,6 +128,28 @@ public class ReceiptView extends Div implements BeforeEnterObserver {
         }
     }
 
+    // Téléchargement du reçu au format PDF
+    private Anchor createPdfLink(Reservation reservation) {
+        StreamResource resource = new StreamResource("recu-" + reservation.getCodeReservation() + ".pdf",
+                (outputStream, session) -> pdfRenderingService.writeReceipt(reservation, outputStream));
+        resource.setContentType("application/pdf");
+
+        Anchor pdfLink = new Anchor(resource, "📥 Télécharger en PDF");
+        pdfLink.getElement().setAttribute("download", true);
+        pdfLink.getStyle()
+                .set("position", "fixed")
+                .set("top", "10px")
+                .set("right", "200px")
+                .set("z-index", "1000")
+                .set("padding", "10px 20px")
+                .set("background", "#38a169")
+                .set("color", "white")
+                .set("border-radius", "5px")
+                .set("text-decoration", "none")
+                .set("box-shadow", "0 2px 10px rgba(0,0,0,0.2)");
+        return pdfLink;
+    }
+
     private void showError(String message) {
         getElement().setProperty("innerHTML",
                 "<div style='padding: 40px; text-align: center;'>" +
@@ -1,12 +1,14 @@
 package com.eventbooking.view.components;
 
-import com.eventbooking.entity.Event;
 import com.eventbooking.entity.Reservation;
 import com.eventbooking.entity.User;
 import com.eventbooking.entity.enums.EventCategory;
 import com.eventbooking.service.EventService;
+import com.eventbooking.service.ImageDerivativeService;
 import com.eventbooking.service.ReservationService;
+import com.eventbooking.service.SeatAvailabilityBroadcaster;
 import com.eventbooking.service.UserService;
+import com.eventbooking.service.dto.EventCardRow;
 import com.eventbooking.view.publicview.LoginView;
 import com.eventbooking.view.publicview.RegisterView;
 import com.vaadin.flow.component.*;
@@ -32,27 +34,50 @@ import org.springframework.beans.factory.annotation.Autowired;
 import java.time.format.DateTimeFormatter;
 import java.time.LocalDateTime;
 import java.time.Duration;
+import java.util.function.IntConsumer;
 
 public class EventCard extends VerticalLayout {
 
-    private final Event event;
+    // Ligne en lecture seule : la carte ne retient aucune entité JPA dans la session Vaadin
+    private final EventCardRow event;
     private final String baseUrl;
     private Button reserveButton;
     private Button detailsButton;
     private Div imageContainer;
+    private VerticalLayout infoLayout;
+    private Div placesContainer;
 
     // Services
     private EventService eventService;
     private ReservationService reservationService;
     private UserService userService;
+    private SeatAvailabilityBroadcaster seatAvailabilityBroadcaster;
+
+    // Abonnement aux places disponibles, actif tant que la carte est affichée
+    private IntConsumer seatListener;
 
     private User currentUser;
 
+    // Valeurs préchargées par la vue (null = à calculer par la carte)
+    private Integer preloadedAvailablePlaces;
+    private Boolean preloadedAlreadyReserved;
+
     // Constructeur pour injection manuelle de services
-    public EventCard(Event event, String baseUrl,
+    public EventCard(EventCardRow event, String baseUrl,
                      EventService eventService,
                      ReservationService reservationService,
                      UserService userService) {
+        this(event, baseUrl, eventService, reservationService, userService, null, null, null);
+    }
+
+    // Constructeur pour les listes de cartes : disponibilité et réservation chargées en lot par la vue
+    public EventCard(EventCardRow event, String baseUrl,
+                     EventService eventService,
+                     ReservationService reservationService,
+                     UserService userService,
+                     Integer availablePlaces,
+                     Boolean alreadyReserved,
+                     SeatAvailabilityBroadcaster seatAvailabilityBroadcaster) {
         this.event = event;
         this.baseUrl = baseUrl != null ? baseUrl : "http://localhost:8080";
 
@@ -60,6 +85,10 @@ public class EventCard extends VerticalLayout {
         this.eventService = eventService;
         this.reservationService = reservationService;
         this.userService = userService;
+        this.seatAvailabilityBroadcaster = seatAvailabilityBroadcaster;
+
+        this.preloadedAvailablePlaces = availablePlaces;
+        this.preloadedAlreadyReserved = alreadyReserved;
 
         // Récupérer l'utilisateur connecté depuis la session
         Object userObj = VaadinSession.getCurrent().getAttribute("currentUser");
@@ -69,7 +98,7 @@ public class EventCard extends VerticalLayout {
     }
 
     // Constructeur sans services (pour compatibilité)
-    public EventCard(Event event, String baseUrl) {
+    public EventCard(EventCardRow event, String baseUrl) {
         this.event = event;
         this.baseUrl = baseUrl != null ? baseUrl : "http://localhost:8080";
 
@@ -204,6 +233,8 @@ public class EventCard extends VerticalLayout {
                     } else {
                         finalUrl = "/api/files/uploads/" + imageUrl;
                     }
+                    // Déclinaison redimensionnée plutôt que l'original
+                    finalUrl += ImageDerivativeService.Size.CARD.query();
 
                     if (!finalUrl.startsWith("http")) {
                         finalUrl = baseUrl + finalUrl;
@@ -303,7 +334,7 @@ public class EventCard extends VerticalLayout {
                 .set("-webkit-box-orient", "vertical");
 
         // Info icons with improved styling
-        VerticalLayout infoLayout = new VerticalLayout();
+        infoLayout = new VerticalLayout();
         infoLayout.setSpacing(true);
         infoLayout.setPadding(false);
         infoLayout.getStyle().set("margin-bottom", "16px");
@@ -328,14 +359,7 @@ public class EventCard extends VerticalLayout {
 
         // Available places with dynamic color
         int availablePlaces = calculateAvailablePlaces();
-        String placesText = availablePlaces + " places disponibles";
-        String placesColor = availablePlaces > 10 ? "#38a169" :
-                availablePlaces > 0 ? "#d69e2e" : "#e53e3e";
-        Div placesContainer = createInfoItem(
-                VaadinIcon.USERS,
-                placesText,
-                placesColor
-        );
+        placesContainer = createPlacesItem(availablePlaces);
 
         infoLayout.add(dateTimeContainer, locationContainer, placesContainer);
 
@@ -423,21 +447,13 @@ public class EventCard extends VerticalLayout {
         boolean isEventPast = event.getDateDebut().isBefore(LocalDateTime.now());
         boolean isEventFull = availablePlaces <= 0;
 
-        if (isEventPast || isEventFull) {
+        if (isEventPast) {
             reserveButton.setEnabled(false);
-            if (isEventPast) {
-                reserveButton.setText("Terminé");
-                reserveButton.addThemeVariants(ButtonVariant.LUMO_CONTRAST);
-                reserveButton.getStyle()
-                        .set("background", "#a0aec0")
-                        .set("cursor", "not-allowed");
-            } else if (isEventFull) {
-                reserveButton.setText("Complet");
-                reserveButton.addThemeVariants(ButtonVariant.LUMO_ERROR);
-                reserveButton.getStyle()
-                        .set("background", "#fc8181")
-                        .set("cursor", "not-allowed");
-            }
+            reserveButton.setText("Terminé");
+            reserveButton.addThemeVariants(ButtonVariant.LUMO_CONTRAST);
+            reserveButton.getStyle()
+                    .set("background", "#a0aec0")
+                    .set("cursor", "not-allowed");
         } else {
             // Add hover effect
             reserveButton.getElement().addEventListener("mouseenter", e -> {
@@ -451,6 +467,11 @@ public class EventCard extends VerticalLayout {
                 e.getSource().getElement().executeJs("event.stopPropagation()");
                 showReservationDialog();
             });
+
+            // Un bouton désactivé ne reçoit pas les clics ; il est réactivé si des places se libèrent
+            if (isEventFull) {
+                showReserveButtonFull(true);
+            }
         }
 
         buttonsContainer.add(detailsButton, reserveButton);
@@ -464,6 +485,72 @@ public class EventCard extends VerticalLayout {
         return content;
     }
 
+    private Div createPlacesItem(int availablePlaces) {
+        String placesText = availablePlaces + " places disponibles";
+        String placesColor = availablePlaces > 10 ? "#38a169" :
+                availablePlaces > 0 ? "#d69e2e" : "#e53e3e";
+        return createInfoItem(
+                VaadinIcon.USERS,
+                placesText,
+                placesColor
+        );
+    }
+
+    private void showReserveButtonFull(boolean full) {
+        reserveButton.setEnabled(!full);
+        if (full) {
+            reserveButton.setText("Complet");
+            reserveButton.addThemeVariants(ButtonVariant.LUMO_ERROR);
+            reserveButton.getStyle()
+                    .set("background", "#fc8181")
+                    .set("cursor", "not-allowed");
+        } else {
+            reserveButton.setText("Réserver");
+            reserveButton.removeThemeVariants(ButtonVariant.LUMO_ERROR);
+            reserveButton.getStyle()
+                    .set("background", "linear-gradient(135deg, #667eea 0%, #764ba2 100%)")
+                    .set("cursor", "pointer");
+        }
+    }
+
+    // ==================== PLACES EN DIRECT ====================
+
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+        if (seatAvailabilityBroadcaster == null || event.getId() == null) {
+            return;
+        }
+        UI ui = attachEvent.getUI();
+        // Appelé depuis le thread de diffusion : la mise à jour passe par la session de la carte
+        seatListener = places -> ui.access(() -> updateAvailablePlaces(places));
+        seatAvailabilityBroadcaster.addListener(event.getId(), seatListener);
+    }
+
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        if (seatListener != null) {
+            seatAvailabilityBroadcaster.removeListener(event.getId(), seatListener);
+            seatListener = null;
+        }
+        super.onDetach(detachEvent);
+    }
+
+    private void updateAvailablePlaces(int availablePlaces) {
+        preloadedAvailablePlaces = availablePlaces;
+
+        Div updated = createPlacesItem(availablePlaces);
+        infoLayout.replace(placesContainer, updated);
+        placesContainer = updated;
+
+        // Carte déjà réservée par l'utilisateur ou événement passé : le bouton ne change pas
+        boolean isEventPast = event.getDateDebut().isBefore(LocalDateTime.now());
+        boolean shownFull = "Complet".equals(reserveButton.getText());
+        if (!isEventPast && !Boolean.TRUE.equals(preloadedAlreadyReserved) && shownFull != (availablePlaces <= 0)) {
+            showReserveButtonFull(availablePlaces <= 0);
+        }
+    }
+
     private Div createInfoItem(VaadinIcon vaadinIcon, String text, String iconColor) {
         Div container = new Div();
         container.getStyle()
@@ -501,13 +588,18 @@ public class EventCard extends VerticalLayout {
     }
 
     private int calculateAvailablePlaces() {
+        if (preloadedAvailablePlaces != null) {
+            return preloadedAvailablePlaces;
+        }
+
         if (event.getCapaciteMax() == null) {
             return 0;
         }
 
         if (eventService != null) {
             try {
-                return eventService.getAvailablePlaces(event.getId());
+                preloadedAvailablePlaces = eventService.getAvailablePlaces(event.getId());
+                return preloadedAvailablePlaces;
             } catch (Exception e) {
                 return event.getCapaciteMax();
             }
@@ -726,8 +818,8 @@ public class EventCard extends VerticalLayout {
         Div organizerCard = createDetailCard(
                 new Icon(VaadinIcon.USER),
                 "Organisateur",
-                event.getOrganisateur() != null ? event.getOrganisateur().getNom() : "Non spécifié",
-                event.getOrganisateur() != null ? event.getOrganisateur().getEmail() : "N/A",
+                event.hasOrganisateur() ? event.getOrganisateurNom() : "Non spécifié",
+                event.hasOrganisateur() ? event.getOrganisateurEmail() : "N/A",
                 "#805ad5"
         );
 
@@ -1011,8 +1103,11 @@ public class EventCard extends VerticalLayout {
             return;
         }
 
-        // Vérifier si l'utilisateur a déjà réservé cet événement
-        if (reservationService.hasUserReservedEvent(currentUser.getId(), event.getId())) {
+        // Vérifier si l'utilisateur a déjà réservé cet événement (valeur préchargée si disponible)
+        boolean reserved = preloadedAlreadyReserved != null
+                ? preloadedAlreadyReserved
+                : reservationService.hasUserReservedEvent(currentUser.getId(), event.getId());
+        if (reserved) {
             Notification.show("Vous avez déjà réservé cet événement!", 3000, Notification.Position.MIDDLE);
             return;
         }
@@ -1486,6 +1581,9 @@ public class EventCard extends VerticalLayout {
     }
 
     private void refreshCardAfterReservation() {
+        preloadedAlreadyReserved = true;
+        preloadedAvailablePlaces = null;
+
         // Animation de confirmation
         getStyle().set("border", "2px solid #38a169");
 
@@ -1867,7 +1965,7 @@ public class EventCard extends VerticalLayout {
         return row;
     }
 
-    private String getEventImageUrl(Event event) {
+    private String getEventImageUrl(EventCardRow event) {
         if (event == null) {
             return null;
         }
@@ -1940,7 +2038,7 @@ public class EventCard extends VerticalLayout {
     }
 
     // ==================== GETTERS ====================
-    public Event getEvent() {
+    public EventCardRow getEvent() {
         return event;
     }
 
@@ -0,0 +1,140 @@
+package com.eventbooking.view.components;
+
+import com.eventbooking.service.ExportJobService;
+import com.eventbooking.service.dto.ExportJob;
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.DetachEvent;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.html.Anchor;
+import com.vaadin.flow.component.html.H3;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.orderedlayout.FlexComponent;
+import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
+import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.progressbar.ProgressBar;
+import com.vaadin.flow.server.StreamResource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Liste des exports de l'utilisateur : progression mise à jour par push,
+ * lien de téléchargement une fois le fichier prêt.
+ */
+public class ExportJobsPanel extends VerticalLayout {
+
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("dd/MM HH:mm");
+
+    private final ExportJobService exportJobService;
+    private final Long ownerId;
+    private final VerticalLayout jobList = new VerticalLayout();
+    private Consumer<ExportJob> listener;
+
+    public ExportJobsPanel(ExportJobService exportJobService, Long ownerId) {
+        this.exportJobService = exportJobService;
+        this.ownerId = ownerId;
+
+        setPadding(true);
+        setSpacing(false);
+        setWidthFull();
+        getStyle()
+                .set("background", "white")
+                .set("border-radius", "12px")
+                .set("box-shadow", "0 2px 8px rgba(0,0,0,0.1)");
+
+        H3 title = new H3("📁 Mes exports");
+        title.getStyle().set("margin", "0 0 10px 0").set("font-size", "16px");
+
+        jobList.setPadding(false);
+        jobList.setSpacing(true);
+
+        add(title, jobList);
+        refresh();
+    }
+
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+        UI ui = attachEvent.getUI();
+        // Appelé depuis les threads d'export : la mise à jour passe par la session de la vue
+        listener = job -> ui.access(this::refresh);
+        exportJobService.addListener(ownerId, listener);
+        refresh();
+    }
+
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        exportJobService.removeListener(ownerId, listener);
+        listener = null;
+        super.onDetach(detachEvent);
+    }
+
+    public void refresh() {
+        jobList.removeAll();
+        List<ExportJob> jobs = exportJobService.getJobs(ownerId);
+        if (jobs.isEmpty()) {
+            Span empty = new Span("Aucun export récent");
+            empty.getStyle().set("color", "#666").set("font-size", "13px");
+            jobList.add(empty);
+            setVisible(false);
+            return;
+        }
+
+        setVisible(true);
+        for (ExportJob job : jobs) {
+            jobList.add(createJobRow(job));
+        }
+    }
+
+    private HorizontalLayout createJobRow(ExportJob job) {
+        HorizontalLayout row = new HorizontalLayout();
+        row.setWidthFull();
+        row.setAlignItems(FlexComponent.Alignment.CENTER);
+
+        Span label = new Span(job.getLabel() + " · " + TIME_FORMATTER.format(job.getDateCreation()));
+        label.getStyle().set("font-size", "13px").set("min-width", "260px");
+        row.add(label);
+
+        switch (job.getStatus()) {
+            case EN_ATTENTE -> row.add(createStatus("⏳ En file d'attente", "#666"));
+            case EN_COURS -> {
+                ProgressBar progressBar = new ProgressBar();
+                progressBar.setWidth("200px");
+                if (job.getTotal() > 0) {
+                    progressBar.setValue(job.getProgress());
+                } else {
+                    progressBar.setIndeterminate(true);
+                }
+                row.add(progressBar, createStatus(job.getProcessed() + " / " + job.getTotal(), "#1976d2"));
+            }
+            case TERMINE -> row.add(createDownloadLink(job));
+            case ECHEC -> row.add(createStatus("❌ Échec : " + job.getError(), "#d32f2f"));
+        }
+        return row;
+    }
+
+    private Span createStatus(String text, String color) {
+        Span status = new Span(text);
+        status.getStyle().set("font-size", "13px").set("color", color);
+        return status;
+    }
+
+    private Anchor createDownloadLink(ExportJob job) {
+        StreamResource resource = new StreamResource(job.getFileName(), (outputStream, session) -> {
+            Optional<Path> artifact = exportJobService.getArtifact(job.getId(), ownerId);
+            if (artifact.isEmpty()) {
+                throw new IllegalStateException("Export expiré ou introuvable");
+            }
+            Files.copy(artifact.get(), outputStream);
+        });
+
+        Anchor download = new Anchor(resource, "⬇️ Télécharger " + job.getFileName());
+        download.getElement().setAttribute("download", true);
+        download.getStyle().set("font-size", "13px").set("color", "#2e7d32");
+        return download;
+    }
+}
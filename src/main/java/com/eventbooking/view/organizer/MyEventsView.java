@@ -7,6 +7,8 @@ import com.eventbooking.entity.enums.EventStatus;
 import com.eventbooking.entity.enums.UserRole;
 import com.eventbooking.service.EventService;
 import com.eventbooking.service.FileStorageService;
+import com.eventbooking.service.ImageDerivativeService;
+import com.eventbooking.service.dto.EventCardRow;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
@@ -32,15 +34,19 @@ import com.vaadin.flow.component.textfield.NumberField;
 import com.vaadin.flow.component.textfield.TextArea;
 import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.component.upload.Upload;
-import com.vaadin.flow.component.upload.receivers.MemoryBuffer;
+import com.vaadin.flow.component.upload.receivers.FileBuffer;
 import com.vaadin.flow.data.renderer.ComponentRenderer;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import com.vaadin.flow.server.StreamResource;
 import com.vaadin.flow.server.VaadinSession;
 import jakarta.annotation.security.RolesAllowed;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -53,12 +59,12 @@ public class MyEventsView extends VerticalLayout {
     private final EventService eventService;
     private final FileStorageService fileStorageService;
     private User currentUser;
-    private Grid<Event> eventGrid;
+    private Grid<EventCardRow> eventGrid;
     private ComboBox<EventStatus> statusFilter;
     private TextField searchField;
 
     // Variables pour la gestion de l'image
-    private String tempImageBase64;
+    private File tempImageFile;
     private String tempImageUrl;
     private Image previewImage;
     private Div previewContainer;
@@ -144,17 +150,17 @@ public class MyEventsView extends VerticalLayout {
         return filters;
     }
 
-    private Grid<Event> createEventGrid() {
-        Grid<Event> grid = new Grid<>(Event.class, false);
+    private Grid<EventCardRow> createEventGrid() {
+        Grid<EventCardRow> grid = new Grid<>(EventCardRow.class, false);
         grid.setHeight("600px");
 
-        grid.addColumn(Event::getId)
+        grid.addColumn(EventCardRow::getId)
                 .setHeader("ID")
                 .setWidth("70px")
                 .setFlexGrow(0);
 
         // CORRECTION: Colonne avec image - spécifier explicitement les types
-        grid.addColumn(new ComponentRenderer<HorizontalLayout, Event>(event -> {
+        grid.addColumn(new ComponentRenderer<HorizontalLayout, EventCardRow>(event -> {
             HorizontalLayout cell = new HorizontalLayout();
             cell.setSpacing(true);
             cell.setAlignItems(Alignment.CENTER);
@@ -163,7 +169,7 @@ public class MyEventsView extends VerticalLayout {
                 try {
                     String imageUrl = event.getImageUrl();
                     if (!imageUrl.startsWith("http")) {
-                        imageUrl = "/api/files" + imageUrl;
+                        imageUrl = "/api/files" + imageUrl + ImageDerivativeService.Size.THUMBNAIL.query();
                     }
 
                     Image image = new Image(imageUrl, event.getTitre());
@@ -195,7 +201,7 @@ public class MyEventsView extends VerticalLayout {
         })).setHeader("Événement").setSortable(true).setWidth("300px");
 
         // CORRECTION: Colonne catégorie - spécifier explicitement les types
-        grid.addColumn(new ComponentRenderer<Span, Event>(event -> {
+        grid.addColumn(new ComponentRenderer<Span, EventCardRow>(event -> {
             Span badge = new Span(getCategoryLabel(event.getCategorie()));
             badge.getStyle()
                     .set("background", "#e3f2fd")
@@ -213,19 +219,17 @@ public class MyEventsView extends VerticalLayout {
                 .setSortable(true)
                 .setWidth("170px");
 
-        grid.addColumn(Event::getVille).setHeader("Ville").setWidth("120px");
+        grid.addColumn(EventCardRow::getVille).setHeader("Ville").setWidth("120px");
 
-        grid.addColumn(event -> {
-            int available = eventService.getAvailablePlaces(event.getId());
-            return available + "/" + event.getCapaciteMax();
-        }).setHeader("Places").setWidth("100px");
+        // Compteur lu avec la ligne : aucune requête par ligne affichée
+        grid.addColumn(event -> event.getAvailablePlaces() + "/" + event.getCapaciteMax()).setHeader("Places").setWidth("100px");
 
         grid.addColumn(event -> event.getPrixUnitaire() + " MAD")
                 .setHeader("Prix")
                 .setWidth("100px");
 
         // CORRECTION: Colonne statut - spécifier explicitement les types
-        grid.addColumn(new ComponentRenderer<Span, Event>(event -> {
+        grid.addColumn(new ComponentRenderer<Span, EventCardRow>(event -> {
             Span statusBadge = new Span(getStatusLabel(event.getStatut()));
             statusBadge.getStyle()
                     .set("background", getStatusColor(event.getStatut()))
@@ -238,7 +242,7 @@ public class MyEventsView extends VerticalLayout {
         })).setHeader("Statut").setWidth("140px");
 
         // CORRECTION: Colonne actions - spécifier explicitement les types
-        grid.addColumn(new ComponentRenderer<HorizontalLayout, Event>(event -> {
+        grid.addColumn(new ComponentRenderer<HorizontalLayout, EventCardRow>(event -> {
             HorizontalLayout actions = new HorizontalLayout();
             actions.setSpacing(true);
 
@@ -250,7 +254,7 @@ public class MyEventsView extends VerticalLayout {
             Button editBtn = new Button(new Icon(VaadinIcon.EDIT));
             editBtn.addThemeVariants(ButtonVariant.LUMO_SMALL, ButtonVariant.LUMO_PRIMARY);
             editBtn.getElement().setAttribute("title", "Modifier");
-            editBtn.addClickListener(e -> openEventDialog(event));
+            editBtn.addClickListener(e -> editEvent(event));
 
             Button publishBtn = new Button(new Icon(
                     event.getStatut() == EventStatus.PUBLIE ? VaadinIcon.CLOSE : VaadinIcon.CHECK));
@@ -278,7 +282,7 @@ public class MyEventsView extends VerticalLayout {
 
     private void loadEvents() {
         try {
-            List<Event> events = eventService.getEventsByOrganizer(currentUser.getId());
+            List<EventCardRow> events = eventService.getEventRowsByOrganizer(currentUser.getId());
             eventGrid.setItems(events);
         } catch (Exception e) {
             showNotification("Erreur de chargement: " + e.getMessage(), NotificationVariant.LUMO_ERROR);
@@ -289,7 +293,7 @@ public class MyEventsView extends VerticalLayout {
         String searchTerm = searchField.getValue().toLowerCase();
         EventStatus selectedStatus = statusFilter.getValue();
 
-        List<Event> filteredEvents = eventService.getEventsByOrganizer(currentUser.getId()).stream()
+        List<EventCardRow> filteredEvents = eventService.getEventRowsByOrganizer(currentUser.getId()).stream()
                 .filter(event -> {
                     boolean matchesSearch = searchTerm.isEmpty() ||
                             event.getTitre().toLowerCase().contains(searchTerm) ||
@@ -306,7 +310,7 @@ public class MyEventsView extends VerticalLayout {
         eventGrid.setItems(filteredEvents);
     }
 
-    private void showEventDetailsDialog(Event event) {
+    private void showEventDetailsDialog(EventCardRow event) {
         Dialog dialog = new Dialog();
         dialog.setModal(true);
         dialog.setDraggable(false);
@@ -337,7 +341,7 @@ public class MyEventsView extends VerticalLayout {
             try {
                 String imageUrl = event.getImageUrl();
                 if (!imageUrl.startsWith("http")) {
-                    imageUrl = "/api/files" + imageUrl;
+                    imageUrl = "/api/files" + imageUrl + ImageDerivativeService.Size.CARD.query();
                 }
                 Image image = new Image(imageUrl, event.getTitre());
                 image.setWidth("100%");
@@ -437,7 +441,7 @@ public class MyEventsView extends VerticalLayout {
         editBtn.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
         editBtn.addClickListener(e -> {
             dialog.close();
-            openEventDialog(event);
+            editEvent(event);
         });
 
 
@@ -458,6 +462,16 @@ public class MyEventsView extends VerticalLayout {
         dialog.open();
     }
 
+    // La grille ne porte que des lignes : le formulaire d'édition travaille sur l'entité complète
+    private void editEvent(EventCardRow row) {
+        eventService.getEventById(row.getId()).ifPresentOrElse(
+                this::openEventDialog,
+                () -> {
+                    showNotification("Événement introuvable", NotificationVariant.LUMO_ERROR);
+                    loadEvents();
+                });
+    }
+
     private void openEventDialog(Event event) {
         Dialog dialog = new Dialog();
         dialog.setModal(true);
@@ -466,7 +480,7 @@ public class MyEventsView extends VerticalLayout {
         dialog.setMaxHeight("90vh");
 
         // Réinitialiser les variables d'image
-        tempImageBase64 = null;
+        clearTempImage();
         tempImageUrl = event != null ? event.getImageUrl() : null;
 
         H2 dialogTitle = new H2(event == null ? "➕ Nouvel Événement" : "✏️ Modifier Événement");
@@ -528,7 +542,7 @@ public class MyEventsView extends VerticalLayout {
         if (event != null && event.getImageUrl() != null && !event.getImageUrl().isEmpty()) {
             String imageUrl = event.getImageUrl();
             if (!imageUrl.startsWith("http")) {
-                imageUrl = "/api/files" + imageUrl;
+                imageUrl = "/api/files" + imageUrl + ImageDerivativeService.Size.CARD.query();
             }
             previewImage.setSrc(imageUrl);
             previewImage.setVisible(true);
@@ -540,7 +554,8 @@ public class MyEventsView extends VerticalLayout {
             previewContainer.add(defaultIcon);
         }
 
-        MemoryBuffer buffer = new MemoryBuffer();
+        // Fichier temporaire sur disque : l'image n'est jamais chargée entièrement en mémoire
+        FileBuffer buffer = new FileBuffer();
         Upload upload = new Upload(buffer);
         upload.setAcceptedFileTypes("image/jpeg", "image/png", "image/gif", "image/webp");
         upload.setMaxFileSize(5 * 1024 * 1024);
@@ -560,18 +575,17 @@ public class MyEventsView extends VerticalLayout {
 
         upload.addSucceededListener(e -> {
             try {
-                InputStream fileData = buffer.getInputStream();
-                byte[] imageBytes = fileData.readAllBytes();
-
-                String base64Image = java.util.Base64.getEncoder().encodeToString(imageBytes);
-                String mimeType = getMimeType(e.getFileName());
-                String dataUrl = "data:" + mimeType + ";base64," + base64Image;
-
-                tempImageBase64 = dataUrl;
+                clearTempImage();
+                File uploadedFile = buffer.getFileData().getFile();
+                tempImageFile = uploadedFile;
                 tempImageUrl = null;
 
+                StreamResource preview = new StreamResource(e.getFileName(),
+                        (out, session) -> Files.copy(uploadedFile.toPath(), out));
+                preview.setContentType(getMimeType(e.getFileName()));
+
                 previewContainer.removeAll();
-                previewImage.setSrc(dataUrl);
+                previewImage.setSrc(preview);
                 previewImage.setVisible(true);
                 previewContainer.add(previewImage);
 
@@ -594,10 +608,10 @@ public class MyEventsView extends VerticalLayout {
         removeImageBtn = new Button("🗑️ Supprimer l'image", new Icon(VaadinIcon.TRASH));
         removeImageBtn.setWidthFull();
         removeImageBtn.addThemeVariants(ButtonVariant.LUMO_ERROR, ButtonVariant.LUMO_SMALL);
-        removeImageBtn.setVisible((event != null && event.getImageUrl() != null) || tempImageBase64 != null);
+        removeImageBtn.setVisible((event != null && event.getImageUrl() != null) || tempImageFile != null);
         removeImageBtn.addClickListener(e -> {
             tempImageUrl = null;
-            tempImageBase64 = null;
+            clearTempImage();
             previewContainer.removeAll();
             Icon defaultIcon = VaadinIcon.PICTURE.create();
             defaultIcon.setSize("60px");
@@ -610,6 +624,17 @@ public class MyEventsView extends VerticalLayout {
         return imageSection;
     }
 
+    private void clearTempImage() {
+        if (tempImageFile != null) {
+            try {
+                Files.deleteIfExists(tempImageFile.toPath());
+            } catch (IOException ignored) {
+                // Fichier temporaire : le système le nettoiera
+            }
+            tempImageFile = null;
+        }
+    }
+
     private String getMimeType(String fileName) {
         String lowerFileName = fileName.toLowerCase();
         if (lowerFileName.endsWith(".jpg") || lowerFileName.endsWith(".jpeg")) {
@@ -724,8 +749,11 @@ public class MyEventsView extends VerticalLayout {
 
                     if (event == null) {
                         // Création d'un nouvel événement
-                        if (tempImageBase64 != null) {
-                            eventService.createEventWithImage(newEvent, tempImageBase64);
+                        if (tempImageFile != null) {
+                            try (InputStream image = Files.newInputStream(tempImageFile.toPath())) {
+                                eventService.createEventWithImage(newEvent, image);
+                            }
+                            clearTempImage();
                             showNotification("✓ Événement créé avec image", NotificationVariant.LUMO_SUCCESS);
                         } else {
                             eventService.createEvent(newEvent);
@@ -733,9 +761,12 @@ public class MyEventsView extends VerticalLayout {
                         }
                     } else {
                         // Mise à jour d'un événement existant
-                        if (tempImageBase64 != null) {
+                        if (tempImageFile != null) {
                             // Nouvelle image uploadée
-                            eventService.updateEventWithImage(event.getId(), newEvent, tempImageBase64);
+                            try (InputStream image = Files.newInputStream(tempImageFile.toPath())) {
+                                eventService.updateEventWithImage(event.getId(), newEvent, image);
+                            }
+                            clearTempImage();
                             showNotification("✓ Événement modifié avec nouvelle image", NotificationVariant.LUMO_SUCCESS);
                         } else if (tempImageUrl == null && event.getImageUrl() != null) {
                             // Image supprimée
@@ -805,7 +836,7 @@ public class MyEventsView extends VerticalLayout {
         return true;
     }
 
-    private void toggleEventStatus(Event event) {
+    private void toggleEventStatus(EventCardRow event) {
         try {
             if (event.getStatut() == EventStatus.PUBLIE) {
                 eventService.cancelEvent(event.getId());
@@ -820,7 +851,7 @@ public class MyEventsView extends VerticalLayout {
         }
     }
 
-    private void confirmDeleteEvent(Event event) {
+    private void confirmDeleteEvent(EventCardRow event) {
         ConfirmDialog dialog = new ConfirmDialog();
         dialog.setHeader("⚠️ Confirmer la suppression");
         dialog.setText("Êtes-vous sûr de vouloir supprimer l'événement \"" +
@@ -836,7 +867,7 @@ public class MyEventsView extends VerticalLayout {
         dialog.open();
     }
 
-    private void deleteEvent(Event event) {
+    private void deleteEvent(EventCardRow event) {
         try {
             if (event.getImageUrl() != null && !event.getImageUrl().isEmpty()) {
                 eventService.deleteEventWithImage(event.getId());
@@ -271,19 +271,12 @@ public class OrganizerDashboardView extends VerticalLayout {
             return layout1;
         })).setHeader("Événement").setAutoWidth(true);
 
-        grid.addColumn(event -> {
-            int totalPlaces = event.getCapaciteMax();
-            int reservedPlaces = reservationService.getConfirmedPlacesCountByEvent(event.getId());
-            return reservedPlaces + " / " + totalPlaces;
-        }).setHeader("Places").setAutoWidth(true);
-
-        grid.addColumn(event -> {
-            double revenue = reservationService.getReservationsByEvent(event.getId()).stream()
-                    .filter(r -> r.getStatut().name().equals("CONFIRMEE"))
-                    .mapToDouble(r -> r.getMontantTotal() != null ? r.getMontantTotal() : 0)
-                    .sum();
-            return String.format("%.2f DH", revenue);
-        }).setHeader("Revenu").setAutoWidth(true);
+        // Places et revenu confirmés lus sur l'événement (compteurs tenus à jour à chaque réservation)
+        grid.addColumn(event -> event.getPlacesConfirmees() + " / " + event.getCapaciteMax())
+                .setHeader("Places").setAutoWidth(true);
+
+        grid.addColumn(event -> String.format("%.2f DH", event.getMontantConfirme()))
+                .setHeader("Revenu").setAutoWidth(true);
 
         // Charger les événements à venir de l'organisateur
         List<com.eventbooking.entity.Event> upcomingEvents = eventService.getUpcomingEventsByOrganisateur(currentUser.getId());
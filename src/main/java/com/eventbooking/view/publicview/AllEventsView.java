@@ -1,12 +1,13 @@
 package com.eventbooking.view.publicview;
 
-import com.eventbooking.entity.Event;
 import com.eventbooking.entity.User;
 import com.eventbooking.entity.enums.EventCategory;
 import com.eventbooking.service.EventService;
 import com.eventbooking.service.FileStorageService;
 import com.eventbooking.service.ReservationService;
+import com.eventbooking.service.SeatAvailabilityBroadcaster;
 import com.eventbooking.service.UserService;
+import com.eventbooking.service.dto.EventCardRow;
 import com.eventbooking.view.components.EventCard;
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.UI;
@@ -28,6 +29,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Route("all-events")
 @PageTitle("Tous les Événements - EventBooking")
@@ -37,9 +40,10 @@ public class AllEventsView extends VerticalLayout {
     private final FileStorageService fileStorageService;
     private final ReservationService reservationService;
     private final UserService userService;
+    private final SeatAvailabilityBroadcaster seatAvailabilityBroadcaster;
 
     private VerticalLayout eventsContainer;
-    private List<Event> allEvents;
+    private List<EventCardRow> allEvents;
     private TextField searchField;
     private Select<String> categoryFilter;
     private Select<String> sortFilter;
@@ -49,11 +53,13 @@ public class AllEventsView extends VerticalLayout {
     public AllEventsView(EventService eventService,
                          FileStorageService fileStorageService,
                          ReservationService reservationService,
-                         UserService userService) {
+                         UserService userService,
+                         SeatAvailabilityBroadcaster seatAvailabilityBroadcaster) {
         this.eventService = eventService;
         this.fileStorageService = fileStorageService;
         this.reservationService = reservationService;
         this.userService = userService;
+        this.seatAvailabilityBroadcaster = seatAvailabilityBroadcaster;
 
         addClassNames("all-events-view");
         setPadding(false);
@@ -528,27 +534,24 @@ public class AllEventsView extends VerticalLayout {
     }
 
     private void filterEvents() {
-        String keyword = searchField.getValue() != null ? searchField.getValue().toLowerCase() : "";
+        String keyword = searchField.getValue() != null ? searchField.getValue() : "";
         String category = categoryFilter.getValue();
         String sort = sortFilter.getValue();
 
-        List<Event> filtered = allEvents.stream()
-                .filter(e -> keyword.isEmpty() ||
-                        e.getTitre().toLowerCase().contains(keyword) ||
-                        (e.getDescription() != null && e.getDescription().toLowerCase().contains(keyword)) ||
-                        (e.getVille() != null && e.getVille().toLowerCase().contains(keyword)))
+        // Recherche plein texte : événements correspondants, du plus pertinent au moins pertinent
+        List<EventCardRow> filtered = eventService.rankBySearch(allEvents, keyword).stream()
                 .filter(e -> category == null || category.equals("Toutes") ||
                         e.getCategorie().name().equals(category))
                 .toList();
 
         // Appliquer le tri
-        List<Event> sorted = applySorting(filtered, sort);
+        List<EventCardRow> sorted = applySorting(filtered, sort);
 
         displayEvents(sorted);
         updateResultsCount(sorted.size());
     }
 
-    private List<Event> applySorting(List<Event> events, String sortCriteria) {
+    private List<EventCardRow> applySorting(List<EventCardRow> events, String sortCriteria) {
         if (sortCriteria == null) {
             return events;
         }
@@ -578,7 +581,7 @@ public class AllEventsView extends VerticalLayout {
         };
     }
 
-    private void displayEvents(List<Event> events) {
+    private void displayEvents(List<EventCardRow> events) {
         eventsContainer.removeAll();
         eventsContainer.addClassNames("events-container");
 
@@ -616,12 +619,21 @@ public class AllEventsView extends VerticalLayout {
             return;
         }
 
+        // Disponibilités et réservations de l'utilisateur chargées en lot pour toutes les cartes
+        List<Long> eventIds = events.stream().map(EventCardRow::getId).toList();
+        Map<Long, Integer> availablePlaces = eventService.getAvailablePlaces(eventIds);
+        Object userObj = VaadinSession.getCurrent().getAttribute("currentUser");
+        Set<Long> reservedEventIds = userObj instanceof User user
+                ? reservationService.hasUserReserved(user.getId(), eventIds)
+                : Set.of();
+
         // Grille d'événements
         Div grid = new Div();
         grid.addClassNames("events-grid");
 
-        for (Event event : events) {
-            EventCard eventCard = createEnhancedEventCard(event);
+        for (EventCardRow event : events) {
+            EventCard eventCard = createEnhancedEventCard(event,
+                    availablePlaces.get(event.getId()), reservedEventIds.contains(event.getId()));
             eventCard.addClassNames("event-card");
             grid.add(eventCard);
         }
@@ -630,10 +642,11 @@ public class AllEventsView extends VerticalLayout {
     }
 
 
-    private EventCard createEnhancedEventCard(Event event) {
+    private EventCard createEnhancedEventCard(EventCardRow event, Integer availablePlaces, boolean alreadyReserved) {
         String baseUrl = getBaseUrlFromService();
 
-        EventCard card = new EventCard(event, baseUrl, eventService, reservationService, userService);
+        EventCard card = new EventCard(event, baseUrl, eventService, reservationService, userService,
+                availablePlaces, alreadyReserved, seatAvailabilityBroadcaster);
 
         // Style moderne pour la carte
         card.getStyle()
@@ -2,6 +2,11 @@ package com.eventbooking.view.publicview;
 
 import com.eventbooking.entity.Event;
 import com.eventbooking.service.EventService;
+import com.eventbooking.service.ImageDerivativeService;
+import com.eventbooking.service.SeatAvailabilityBroadcaster;
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.DetachEvent;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.html.*;
@@ -12,16 +17,25 @@ import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.router.*;
 
 import java.time.format.DateTimeFormatter;
+import java.util.function.IntConsumer;
 
 @Route("event/:id")
 @PageTitle("Détails de l'événement - EventBooking")
 public class EventDetailView extends VerticalLayout implements HasUrlParameter<String> {
 
     private final EventService eventService;
+    private final SeatAvailabilityBroadcaster seatAvailabilityBroadcaster;
     private Event event;
 
-    public EventDetailView(EventService eventService) {
+    // Places disponibles mises à jour par push tant que la vue est affichée
+    private Div placesText;
+    private Button reserveButton;
+    private Long subscribedEventId;
+    private IntConsumer seatListener;
+
+    public EventDetailView(EventService eventService, SeatAvailabilityBroadcaster seatAvailabilityBroadcaster) {
         this.eventService = eventService;
+        this.seatAvailabilityBroadcaster = seatAvailabilityBroadcaster;
         setPadding(false);
         setSpacing(false);
         setWidthFull();
@@ -38,6 +52,7 @@ public class EventDetailView extends VerticalLayout implements HasUrlParameter<S
             } else {
                 showEventDetails();
             }
+            getUI().ifPresent(this::subscribe);
         } catch (NumberFormatException e) {
             showNotFound();
         }
@@ -182,12 +197,25 @@ public class EventDetailView extends VerticalLayout implements HasUrlParameter<S
 
         priceInfo.add(priceIcon, priceText);
 
-        infoList.add(locationInfo, timeInfo, priceInfo);
+        // Places disponibles
+        HorizontalLayout placesInfo = new HorizontalLayout();
+        placesInfo.setAlignItems(Alignment.CENTER);
+        placesInfo.setSpacing(true);
+
+        Icon placesIcon = VaadinIcon.USERS.create();
+        placesIcon.setColor("#667eea");
+
+        placesText = new Div();
+        placesText.getStyle().set("font-size", "16px");
+
+        placesInfo.add(placesIcon, placesText);
+
+        infoList.add(locationInfo, timeInfo, priceInfo, placesInfo);
         infoSection.add(infoTitle, infoList);
         mainContent.add(infoSection);
 
         // Bouton de réservation
-        Button reserveButton = new Button("Réserver maintenant", VaadinIcon.TICKET.create());
+        reserveButton = new Button("Réserver maintenant", VaadinIcon.TICKET.create());
         reserveButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY, ButtonVariant.LUMO_LARGE);
         reserveButton.getStyle()
                 .set("margin", "40px auto")
@@ -200,17 +228,67 @@ public class EventDetailView extends VerticalLayout implements HasUrlParameter<S
             getUI().ifPresent(ui -> ui.navigate("client/reservation/" + event.getId()));
         });
 
+        showAvailablePlaces(eventService.getAvailablePlaces(event.getId()));
+
         add(header, mainContent, reserveButton);
     }
 
+    private void showAvailablePlaces(int availablePlaces) {
+        placesText.setText(availablePlaces > 0 ? availablePlaces + " places disponibles" : "Complet");
+        placesText.getStyle().set("color", availablePlaces > 10 ? "#38a169" :
+                availablePlaces > 0 ? "#d69e2e" : "#e53e3e");
+        reserveButton.setEnabled(availablePlaces > 0);
+        reserveButton.setText(availablePlaces > 0 ? "Réserver maintenant" : "Complet");
+    }
+
+    // ==================== PLACES EN DIRECT ====================
+
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+        subscribe(attachEvent.getUI());
+    }
+
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        unsubscribe();
+        super.onDetach(detachEvent);
+    }
+
+    // Un seul abonnement, à l'événement affiché (la vue peut être réutilisée pour un autre identifiant)
+    private void subscribe(UI ui) {
+        Long eventId = event != null ? event.getId() : null;
+        if (eventId != null && eventId.equals(subscribedEventId)) {
+            return;
+        }
+        unsubscribe();
+        if (eventId == null) {
+            return;
+        }
+        seatListener = places -> ui.access(() -> showAvailablePlaces(places));
+        seatAvailabilityBroadcaster.addListener(eventId, seatListener);
+        subscribedEventId = eventId;
+    }
+
+    private void unsubscribe() {
+        if (seatListener != null) {
+            seatAvailabilityBroadcaster.removeListener(subscribedEventId, seatListener);
+            seatListener = null;
+            subscribedEventId = null;
+        }
+    }
+
     private String getEventImageUrl(Event event) {
         if (event.getImageUrl() == null || event.getImageUrl().isEmpty()) {
             return "url('https://images.unsplash.com/photo-1501281668745-f6f2610a4ab0?w=1200&h=400&fit=crop&auto=format')";
         }
 
         String imageUrl = event.getImageUrl();
-        if (!imageUrl.startsWith("http") && !imageUrl.startsWith("/uploads/")) {
-            imageUrl = "/uploads/" + imageUrl;
+        if (!imageUrl.startsWith("http")) {
+            if (!imageUrl.startsWith("/uploads/")) {
+                imageUrl = "/uploads/" + imageUrl;
+            }
+            imageUrl = "/api/files" + imageUrl + ImageDerivativeService.Size.DETAIL.query();
         }
 
         return "url('" + imageUrl + "')";
@@ -1,12 +1,13 @@
 package com.eventbooking.view.publicview;
 
-import com.eventbooking.entity.Event;
 import com.eventbooking.entity.User;
 import com.eventbooking.entity.enums.UserRole;
 import com.eventbooking.service.EventService;
 import com.eventbooking.service.FileStorageService;
 import com.eventbooking.service.ReservationService;
+import com.eventbooking.service.SeatAvailabilityBroadcaster;
 import com.eventbooking.service.UserService;
+import com.eventbooking.service.dto.EventCardRow;
 import com.eventbooking.view.components.EventCard;
 import com.vaadin.flow.component.*;
 import com.vaadin.flow.component.avatar.Avatar;
@@ -30,6 +31,8 @@ import com.vaadin.flow.theme.lumo.LumoUtility;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Route("")
 @PageTitle("Accueil - EventBooking")
@@ -39,9 +42,10 @@ public class HomeView extends VerticalLayout {
     private final FileStorageService fileStorageService;
     private final ReservationService reservationService;
     private final UserService userService;
+    private final SeatAvailabilityBroadcaster seatAvailabilityBroadcaster;
 
     private VerticalLayout eventsContainer;
-    private List<Event> allEvents;
+    private List<EventCardRow> allEvents;
     private TextField searchField;
     private Select<String> categoryFilter;
     private Select<String> sortFilter;
@@ -50,11 +54,13 @@ public class HomeView extends VerticalLayout {
     public HomeView(EventService eventService,
                     FileStorageService fileStorageService,
                     ReservationService reservationService,
-                    UserService userService) {
+                    UserService userService,
+                    SeatAvailabilityBroadcaster seatAvailabilityBroadcaster) {
         this.eventService = eventService;
         this.fileStorageService = fileStorageService;
         this.reservationService = reservationService;
         this.userService = userService;
+        this.seatAvailabilityBroadcaster = seatAvailabilityBroadcaster;
 
         addClassNames("home-view", LumoUtility.Overflow.HIDDEN);
         setPadding(false);
@@ -1757,13 +1763,11 @@ public class HomeView extends VerticalLayout {
     }
 
     private void filterEvents() {
-        String keyword = searchField.getValue().toLowerCase();
+        String keyword = searchField.getValue();
         String category = categoryFilter.getValue();
 
-        List<Event> filtered = allEvents.stream()
-                .filter(e -> keyword.isEmpty() ||
-                        e.getTitre().toLowerCase().contains(keyword) ||
-                        (e.getDescription() != null && e.getDescription().toLowerCase().contains(keyword)))
+        // Recherche plein texte : événements correspondants, du plus pertinent au moins pertinent
+        List<EventCardRow> filtered = eventService.rankBySearch(allEvents, keyword).stream()
                 .filter(e -> category == null || category.equals("Toutes") ||
                         e.getCategorie().name().equals(category))
                 .toList();
@@ -1771,7 +1775,7 @@ public class HomeView extends VerticalLayout {
         displayEvents(filtered);
     }
 
-    private void displayEvents(List<Event> events) {
+    private void displayEvents(List<EventCardRow> events) {
         eventsContainer.removeAll();
 
         if (events.isEmpty()) {
@@ -1816,9 +1820,18 @@ public class HomeView extends VerticalLayout {
                 .set("overflow-x", "auto")
                 .set("padding", "20px 0");
 
+        // Disponibilités et réservations de l'utilisateur chargées en lot pour toutes les cartes
+        List<Long> eventIds = events.stream().map(EventCardRow::getId).toList();
+        Map<Long, Integer> availablePlaces = eventService.getAvailablePlaces(eventIds);
+        User currentUser = getCurrentUser();
+        Set<Long> reservedEventIds = currentUser != null
+                ? reservationService.hasUserReserved(currentUser.getId(), eventIds)
+                : Set.of();
+
         // Ajouter chaque carte
-        for (Event event : events) {
-            EventCard eventCard = createEnhancedEventCard(event);
+        for (EventCardRow event : events) {
+            EventCard eventCard = createEnhancedEventCard(event,
+                    availablePlaces.get(event.getId()), reservedEventIds.contains(event.getId()));
             eventCard.addClassNames("event-card", "scale-up");
             eventCard.getStyle()
                     .set("flex-shrink", "0")
@@ -1832,10 +1845,11 @@ public class HomeView extends VerticalLayout {
     }
 
 
-    private EventCard createEnhancedEventCard(Event event) {
+    private EventCard createEnhancedEventCard(EventCardRow event, Integer availablePlaces, boolean alreadyReserved) {
         String baseUrl = getBaseUrlFromService();
 
-        EventCard card = new EventCard(event, baseUrl, eventService, reservationService, userService);
+        EventCard card = new EventCard(event, baseUrl, eventService, reservationService, userService,
+                availablePlaces, alreadyReserved, seatAvailabilityBroadcaster);
 
         // Style pour l'affichage en ligne
         card.getStyle()
@@ -5,3 +5,11 @@ TRUNCATE TABLE events;
 TRUNCATE TABLE users;
 
 SET REFERENTIAL_INTEGRITY TRUE;
+
+-- Index des chemins de requête fréquents (également déclarés sur les entités)
+CREATE INDEX IF NOT EXISTS idx_reservations_evenement_statut ON reservations (evenement_id, statut, nombre_places);
+CREATE INDEX IF NOT EXISTS idx_reservations_utilisateur_statut ON reservations (utilisateur_id, statut);
+CREATE INDEX IF NOT EXISTS idx_reservations_statut_date ON reservations (statut, date_reservation);
+CREATE INDEX IF NOT EXISTS idx_events_statut_date_debut ON events (statut, date_debut);
+CREATE INDEX IF NOT EXISTS idx_events_organisateur ON events (organisateur_id);
+CREATE INDEX IF NOT EXISTS idx_users_role_actif ON users (role, actif);
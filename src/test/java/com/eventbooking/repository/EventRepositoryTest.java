@@ -0,0 +1,81 @@
+package com.eventbooking.repository;
+
+import com.eventbooking.entity.enums.EventStatus;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Vérifie par EXPLAIN que le SQL généré pour les requêtes fréquentes sur les événements utilise un index (1M lignes)
+@DataJpaTest(properties = SqlRecorder.PROPERTY)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DirtiesContext
+class EventRepositoryTest {
+
+    private static final int ORGANIZERS = 10_000;
+    private static final int EVENTS = 1_000_000;
+    private static final int CHUNK = 100_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    // Jeu de données inséré une seule fois, hors transaction de test ; la base est jetée avec le contexte en fin de classe
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("INSERT INTO users (id, nom, prenom, email, password, role, date_inscription, actif) " +
+                "SELECT 1000000 + X, 'Nom' || X, 'Prenom', 'organizer' || X || '@test.ma', 'x', 'ORGANIZER', " +
+                "CURRENT_TIMESTAMP, TRUE FROM SYSTEM_RANGE(1, " + ORGANIZERS + ")");
+        // Événements répartis sur ~2 ans ; 1 sur 10 en brouillon, 1 sur 100 annulé (insérés par tranches)
+        for (int from = 1; from <= EVENTS; from += CHUNK) {
+            jdbcTemplate.update("INSERT INTO events (id, titre, categorie, date_debut, capacite_max, places_restantes, " +
+                    "prix_unitaire, organisateur_id, statut, date_creation) " +
+                    "SELECT 1000000 + X, 'Evenement ' || X, 'CONCERT', DATEADD('MINUTE', X, CURRENT_TIMESTAMP), 100, 100, 10.0, " +
+                    "1000001 + MOD(X, " + ORGANIZERS + "), " +
+                    "CASE WHEN MOD(X, 100) = 0 THEN 'ANNULE' WHEN MOD(X, 10) = 0 THEN 'BROUILLON' ELSE 'PUBLIE' END, " +
+                    "CURRENT_TIMESTAMP FROM SYSTEM_RANGE(" + from + ", " + Math.min(from + CHUNK - 1, EVENTS) + ")");
+        }
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void upcomingPublishedEventsUseStatusDateIndex() {
+        // Borne proche de la fin de la plage pour ne charger que les derniers événements
+        LocalDateTime after = LocalDateTime.now().plusMinutes(999_000);
+        SqlRecorder.clear();
+        eventRepository.findUpcomingPublishedEvents(after);
+        assertUsesIndex("idx_events_statut_date_debut", after);
+    }
+
+    @Test
+    void eventsByStatusUseStatusDateIndex() {
+        SqlRecorder.clear();
+        eventRepository.countByStatut(EventStatus.ANNULE);
+        assertUsesIndex("idx_events_statut_date_debut", EventStatus.ANNULE.name());
+    }
+
+    @Test
+    void eventsByOrganizerUseOrganizerIndex() {
+        SqlRecorder.clear();
+        eventRepository.findByOrganisateurId(1_000_042L);
+        assertUsesIndex("idx_events_organisateur", 1_000_042L);
+    }
+
+    // Les paramètres sont rejoués dans l'ordre où ils apparaissent dans le SQL capturé
+    private void assertUsesIndex(String indexName, Object... params) {
+        String sql = SqlRecorder.lastSelect();
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, params);
+        assertTrue(plan.toUpperCase().contains(indexName.toUpperCase()), plan);
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+}
@@ -0,0 +1,229 @@
+package com.eventbooking.repository;
+
+import com.eventbooking.entity.Event;
+import com.eventbooking.entity.Reservation;
+import com.eventbooking.entity.enums.EventStatus;
+import com.eventbooking.entity.enums.ReservationStatus;
+import com.eventbooking.service.dto.EventCardRow;
+import com.eventbooking.service.dto.ReservationRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Nombre de requêtes SQL par plan de chargement : une seule, associations du plan comprises
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class FetchPlanTest {
+
+    private static final long ORGANIZER_ID = 3_000_001L;
+    private static final long CLIENT_ID = 3_000_011L;
+    private static final long EVENT_ID = 3_000_001L;
+    private static final int RESERVATIONS = 20;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @BeforeEach
+    void seed() {
+        // Organisateurs 3000001-3000005, clients 3000011-3000030
+        jdbcTemplate.update("INSERT INTO users (id, nom, prenom, email, password, role, date_inscription, actif) " +
+                "SELECT 3000000 + X, 'Nom' || X, 'Prenom', 'fetch' || X || '@test.ma', 'x', " +
+                "CASE WHEN X <= 5 THEN 'ORGANIZER' ELSE 'CLIENT' END, CURRENT_TIMESTAMP, TRUE " +
+                "FROM SYSTEM_RANGE(1, 30)");
+        // Un événement par organisateur
+        jdbcTemplate.update("INSERT INTO events (id, titre, categorie, date_debut, capacite_max, places_restantes, " +
+                "prix_unitaire, organisateur_id, statut, date_creation) " +
+                "SELECT 3000000 + X, 'Evenement ' || X, 'CONCERT', DATEADD('DAY', X, CURRENT_TIMESTAMP), 100, 100, " +
+                "10.0, 3000000 + X, 'PUBLIE', CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, 5)");
+        // Chaque client réserve un événement ; le premier événement reçoit une réservation sur cinq
+        jdbcTemplate.update("INSERT INTO reservations (id, utilisateur_id, evenement_id, nombre_places, montant_total, " +
+                "date_reservation, statut, code_reservation) " +
+                "SELECT 3000000 + X, 3000010 + X, 3000001 + MOD(X - 1, 5), 1, 10.0, CURRENT_TIMESTAMP, 'CONFIRMEE', " +
+                "'FETCH-' || X FROM SYSTEM_RANGE(1, " + RESERVATIONS + ")");
+        entityManager.clear();
+    }
+
+    // ==================== RÉSERVATIONS ====================
+
+    @Test
+    void receiptLoadsClientEventAndOrganizerInOneStatement() {
+        Reservation reservation = countStatements(1, () -> {
+            Reservation loaded = reservationRepository.findById(3_000_001L).orElseThrow();
+            loaded.getUtilisateur().getEmail();
+            loaded.getEvenement().getOrganisateur().getEmail();
+            return loaded;
+        });
+        assertEquals(CLIENT_ID, reservation.getUtilisateur().getId());
+
+        countStatements(1, () -> {
+            Reservation loaded = reservationRepository.findByCodeReservation("FETCH-2").orElseThrow();
+            return loaded.getEvenement().getOrganisateur().getNom();
+        });
+    }
+
+    @Test
+    void gridRowLoadsClientAndEventButNotOrganizer() {
+        Page<Reservation> page = countStatements(2, () -> {
+            // Page puis comptage
+            Page<Reservation> loaded = reservationRepository.findAll(
+                    (Specification<Reservation>) (root, query, cb) -> cb.like(root.get("codeReservation"), "FETCH-%"),
+                    PageRequest.of(0, 10));
+            loaded.forEach(reservation -> {
+                reservation.getUtilisateur().getNom();
+                reservation.getEvenement().getTitre();
+            });
+            return loaded;
+        });
+        assertEquals(10, page.getNumberOfElements());
+        assertFalse(Hibernate.isInitialized(page.getContent().get(0).getEvenement().getOrganisateur()));
+
+        List<Reservation> byUser = countStatements(1, () -> {
+            List<Reservation> loaded = reservationRepository.findByUtilisateurId(CLIENT_ID);
+            loaded.forEach(reservation -> reservation.getEvenement().getTitre());
+            return loaded;
+        });
+        assertEquals(1, byUser.size());
+    }
+
+    @Test
+    void dashboardLoadsEventOnly() {
+        List<Reservation> reservations = countStatements(1, () -> {
+            List<Reservation> loaded = reservationRepository.findByEvenementId(EVENT_ID);
+            loaded.forEach(reservation -> reservation.getEvenement().getTitre());
+            return loaded;
+        });
+        assertEquals(RESERVATIONS / 5, reservations.size());
+        assertFalse(Hibernate.isInitialized(reservations.get(0).getUtilisateur()));
+
+        countStatements(1, () -> {
+            List<Reservation> loaded = reservationRepository.findUpcomingReservationsByUser(CLIENT_ID,
+                    LocalDateTime.now().minusDays(1));
+            loaded.forEach(reservation -> reservation.getEvenement().getDateDebut());
+            return loaded;
+        });
+    }
+
+    // ==================== ÉVÉNEMENTS ====================
+
+    @Test
+    void eventGridRowLoadsOrganizerInOneStatement() {
+        List<Event> events = countStatements(1, () -> {
+            List<Event> loaded = eventRepository.findByStatut(EventStatus.PUBLIE);
+            loaded.forEach(event -> event.getOrganisateur().getNom());
+            return loaded;
+        });
+        assertTrue(events.stream().allMatch(event -> Hibernate.isInitialized(event.getOrganisateur())));
+
+        countStatements(1, () -> eventRepository.findById(EVENT_ID).orElseThrow().getOrganisateur().getEmail());
+        countStatements(1, () -> {
+            List<Event> loaded = eventRepository.findUpcomingPublishedEvents(LocalDateTime.now());
+            loaded.forEach(event -> event.getOrganisateur().getNom());
+            return loaded;
+        });
+    }
+
+    @Test
+    void recentEventsDoNotLoadOrganizer() {
+        List<Event> events = countStatements(1, eventRepository::findTop10ByOrderByDateCreationDesc);
+        assertFalse(events.isEmpty());
+        assertFalse(Hibernate.isInitialized(events.get(0).getOrganisateur()));
+    }
+
+    // ==================== LIGNES EN LECTURE SEULE ====================
+
+    @Test
+    void reservationRowsSelectColumnsWithoutManagedEntities() {
+        List<ReservationRow> rows = countStatements(1, () -> reservationRepository.findRowsByUtilisateurId(CLIENT_ID));
+        assertEquals(1, rows.size());
+        assertEquals("Evenement 1", rows.get(0).getTitreEvenement());
+        assertEquals("fetch11@test.ma", rows.get(0).getClientEmail());
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount(), "entités gérées");
+
+        // Une page de la grille : une seule requête, le comptage est fait à part
+        List<ReservationRow> page = countStatements(1, () -> reservationRepository.findRows("%fetch-%",
+                ReservationStatus.CONFIRMEE, PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "evenement.titre"))));
+        assertEquals(5, page.size());
+        assertEquals("Evenement 5", page.get(0).getTitreEvenement());
+        // Comptage de la grille : mêmes filtres que les lignes (et que le curseur d'export)
+        assertEquals(RESERVATIONS, countStatements(1, () -> reservationRepository.countRows("%fetch-%",
+                ReservationStatus.CONFIRMEE)));
+        assertEquals(RESERVATIONS / 5, reservationRepository.countRows("%evenement 3%", null));
+    }
+
+    @Test
+    void eventRowsFlattenOrganizerInOneStatement() {
+        List<EventCardRow> upcoming = countStatements(1, () ->
+                eventRepository.findUpcomingPublishedRows(LocalDateTime.now()));
+        EventCardRow first = upcoming.stream().filter(row -> row.getId() == EVENT_ID).findFirst().orElseThrow();
+        assertEquals("fetch1@test.ma", first.getOrganisateurEmail());
+        assertTrue(first.hasOrganisateur());
+
+        List<EventCardRow> byOrganizer = countStatements(1, () -> eventRepository.findRowsByOrganisateurId(ORGANIZER_ID));
+        assertEquals(1, byOrganizer.size());
+
+        List<EventCardRow> page = countStatements(1, () -> eventRepository.findRows("%evenement%", null,
+                EventStatus.PUBLIE, PageRequest.of(0, 2, Sort.by("titre"))));
+        assertEquals(2, page.size());
+        assertEquals(5L, countStatements(1, () -> eventRepository.countRows("%evenement%", null, EventStatus.PUBLIE)));
+        assertEquals(0L, eventRepository.countRows("%evenement%", null, EventStatus.BROUILLON));
+    }
+
+    // ==================== SUPPRESSION EN BLOC ====================
+
+    @Test
+    void eventDeletionRemovesReservationsWithoutLoadingThem() {
+        int deleted = countStatements(2, () -> {
+            int rows = reservationRepository.deleteAllByEvenementIdInBulk(EVENT_ID);
+            eventRepository.deleteEventById(EVENT_ID);
+            return rows;
+        });
+        assertEquals(RESERVATIONS / 5, deleted);
+        assertFalse(eventRepository.existsById(EVENT_ID));
+        assertEquals(RESERVATIONS - RESERVATIONS / 5, reservationRepository.count(
+                (Specification<Reservation>) (root, query, cb) -> cb.like(root.get("codeReservation"), "FETCH-%")));
+
+        assertEquals(0, countStatements(1, () -> eventRepository.deleteEventById(EVENT_ID)));
+        assertEquals(1L, countStatements(1, () -> eventRepository.countByOrganisateurId(ORGANIZER_ID + 1)));
+    }
+
+    // Exécute l'action sur un contexte de persistance vide et vérifie le nombre de requêtes préparées
+    private <T> T countStatements(long expected, Supplier<T> action) {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        T result = action.get();
+        assertEquals(expected, statistics.getPrepareStatementCount(), "requêtes SQL exécutées");
+        return result;
+    }
+}
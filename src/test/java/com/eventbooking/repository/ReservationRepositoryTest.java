@@ -0,0 +1,114 @@
+package com.eventbooking.repository;
+
+import com.eventbooking.entity.enums.ReservationStatus;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Vérifie par EXPLAIN que le SQL généré pour les requêtes fréquentes sur les réservations utilise un index (1M lignes)
+@DataJpaTest(properties = SqlRecorder.PROPERTY)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DirtiesContext
+class ReservationRepositoryTest {
+
+    private static final int USERS = 10_000;
+    private static final int EVENTS = 10_000;
+    private static final int RESERVATIONS = 1_000_000;
+    private static final int CHUNK = 100_000;
+    private static final long EVENT_ID = 1_000_042L;
+    private static final long USER_ID = 1_000_042L;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    // Jeu de données inséré une seule fois, hors transaction de test ; la base est jetée avec le contexte en fin de classe
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("INSERT INTO users (id, nom, prenom, email, password, role, date_inscription, actif) " +
+                "SELECT 1000000 + X, 'Nom' || X, 'Prenom', 'seed' || X || '@test.ma', 'x', 'CLIENT', CURRENT_TIMESTAMP, TRUE " +
+                "FROM SYSTEM_RANGE(1, " + USERS + ")");
+        jdbcTemplate.update("INSERT INTO events (id, titre, categorie, date_debut, capacite_max, places_restantes, " +
+                "prix_unitaire, organisateur_id, statut, date_creation) " +
+                "SELECT 1000000 + X, 'Evenement ' || X, 'CONCERT', DATEADD('DAY', MOD(X, 365) + 1, CURRENT_TIMESTAMP), " +
+                "1000, 1000, 10.0, 1000001, 'PUBLIE', CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, " + EVENTS + ")");
+        // Par tranches : une seule instruction d'un million de lignes sature le journal d'annulation de H2
+        for (int from = 1; from <= RESERVATIONS; from += CHUNK) {
+            jdbcTemplate.update("INSERT INTO reservations (id, utilisateur_id, evenement_id, nombre_places, montant_total, " +
+                    "date_reservation, statut, code_reservation) " +
+                    "SELECT 1000000 + X, 1000001 + MOD(X * 7, " + USERS + "), 1000001 + MOD(X, " + EVENTS + "), 1 + MOD(X, 4), 10.0, " +
+                    "DATEADD('MINUTE', -X, CURRENT_TIMESTAMP), " +
+                    "CASE MOD(X, 3) WHEN 0 THEN 'EN_ATTENTE' WHEN 1 THEN 'CONFIRMEE' ELSE 'ANNULEE' END, 'SEED-' || X " +
+                    "FROM SYSTEM_RANGE(" + from + ", " + Math.min(from + CHUNK - 1, RESERVATIONS) + ")");
+        }
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void confirmedPlacesByEventUsesEventStatusIndex() {
+        SqlRecorder.clear();
+        reservationRepository.sumNombrePlacesByEventAndStatut(EVENT_ID, ReservationStatus.CONFIRMEE);
+        assertUsesIndex("idx_reservations_evenement_statut", EVENT_ID, ReservationStatus.CONFIRMEE.name());
+
+        SqlRecorder.clear();
+        reservationRepository.countConfirmedPlacesByEvent(EVENT_ID);
+        assertUsesIndex("idx_reservations_evenement_statut", EVENT_ID);
+    }
+
+    @Test
+    void reservationsByEventAvoidTableScan() {
+        SqlRecorder.clear();
+        reservationRepository.findByEvenementId(EVENT_ID);
+        // Sans filtre de statut, H2 peut préférer l'index de la clé étrangère : seul le parcours complet est exclu
+        String plan = explain(EVENT_ID);
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    @Test
+    void userCountsByStatusUseUserStatusIndex() {
+        SqlRecorder.clear();
+        reservationRepository.countByUtilisateurIdAndStatut(USER_ID, ReservationStatus.CONFIRMEE);
+        assertUsesIndex("idx_reservations_utilisateur_statut", USER_ID, ReservationStatus.CONFIRMEE.name());
+    }
+
+    @Test
+    void existingReservationCheckAvoidsTableScan() {
+        SqlRecorder.clear();
+        reservationRepository.existsByUtilisateurIdAndEvenementIdAndStatutIn(USER_ID, EVENT_ID,
+                List.of(ReservationStatus.EN_ATTENTE, ReservationStatus.CONFIRMEE));
+        String plan = explain(USER_ID, EVENT_ID,
+                ReservationStatus.EN_ATTENTE.name(), ReservationStatus.CONFIRMEE.name());
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    @Test
+    void expiredHoldsUseStatusDateIndex() {
+        LocalDateTime before = LocalDateTime.now().minusDays(600);
+        SqlRecorder.clear();
+        reservationRepository.findHoldsByStatutBefore(ReservationStatus.EN_ATTENTE, before);
+        assertUsesIndex("idx_reservations_statut_date", ReservationStatus.EN_ATTENTE.name(), before);
+    }
+
+    // Les paramètres sont rejoués dans l'ordre où ils apparaissent dans le SQL capturé
+    private void assertUsesIndex(String indexName, Object... params) {
+        String plan = explain(params);
+        assertTrue(plan.toUpperCase().contains(indexName.toUpperCase()), plan);
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    private String explain(Object... params) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + SqlRecorder.lastSelect(), String.class, params);
+    }
+}
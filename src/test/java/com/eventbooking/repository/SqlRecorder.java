@@ -0,0 +1,36 @@
+package com.eventbooking.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Capture le SQL généré par Hibernate pour pouvoir l'EXPLAIN tel qu'il est réellement envoyé à la base
+public class SqlRecorder implements StatementInspector {
+
+    static final String PROPERTY =
+            "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.eventbooking.repository.SqlRecorder";
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    static void clear() {
+        STATEMENTS.clear();
+    }
+
+    // Dernière requête de lecture émise depuis le dernier clear()
+    static String lastSelect() {
+        for (int i = STATEMENTS.size() - 1; i >= 0; i--) {
+            String sql = STATEMENTS.get(i);
+            if (sql.trim().toLowerCase().startsWith("select")) {
+                return sql;
+            }
+        }
+        throw new IllegalStateException("Aucune requête SELECT capturée");
+    }
+}
@@ -0,0 +1,69 @@
+package com.eventbooking.service;
+
+import com.eventbooking.EventBookingApplication;
+import com.eventbooking.service.dto.DashboardFilter;
+import com.eventbooking.service.dto.ExportJob;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = EventBookingApplication.class)
+class ExportJobServiceTest {
+
+    @Autowired
+    private ExportJobService exportJobService;
+
+    @Test
+    void csvJobProducesDownloadableArtifactForItsOwnerOnly() throws Exception {
+        Long ownerId = 9001L;
+        List<ExportJob.Status> notified = new CopyOnWriteArrayList<>();
+        Consumer<ExportJob> listener = job -> notified.add(job.getStatus());
+        exportJobService.addListener(ownerId, listener);
+        try {
+            ExportJob job = exportJobService.submitReservationsCsv(ownerId, null, null);
+            // La notification finale suit le changement d'état
+            await(() -> notified.contains(ExportJob.Status.TERMINE) || job.getStatus() == ExportJob.Status.ECHEC);
+
+            assertEquals(ExportJob.Status.TERMINE, job.getStatus());
+            assertEquals(job, exportJobService.getJobs(ownerId).get(0));
+
+            Path artifact = exportJobService.getArtifact(job.getId(), ownerId).orElseThrow();
+            assertTrue(Files.readString(artifact, StandardCharsets.UTF_8).startsWith("\uFEFFID,Code Réservation"));
+            assertFalse(exportJobService.getArtifact(job.getId(), ownerId + 1).isPresent());
+        } finally {
+            exportJobService.removeListener(ownerId, listener);
+        }
+    }
+
+    @Test
+    void statisticsJobWritesPdf() throws Exception {
+        ExportJob job = exportJobService.submitStatisticsReport(9002L,
+                new DashboardFilter(LocalDate.now().minusMonths(1), LocalDate.now()));
+        await(job::isFinished);
+
+        assertEquals(ExportJob.Status.TERMINE, job.getStatus());
+        Path artifact = exportJobService.getArtifact(job.getId(), 9002L).orElseThrow();
+        assertTrue(new String(Files.readAllBytes(artifact), StandardCharsets.ISO_8859_1).startsWith("%PDF-"));
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(condition.getAsBoolean(), "export non terminé");
+    }
+}
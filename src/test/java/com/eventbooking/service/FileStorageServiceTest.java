@@ -0,0 +1,279 @@
+package com.eventbooking.service;
+
+import com.eventbooking.EventBookingApplication;
+import com.eventbooking.entity.Event;
+import com.eventbooking.entity.enums.EventCategory;
+import com.eventbooking.entity.enums.EventStatus;
+import com.eventbooking.repository.EventRepository;
+import com.eventbooking.service.impl.UploadStoreMigration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = EventBookingApplication.class, properties = {
+        "file.upload-dir=" + FileStorageServiceTest.UPLOAD_DIR,
+        "file.spool-dir=" + FileStorageServiceTest.SPOOL_DIR})
+class FileStorageServiceTest {
+
+    static final String UPLOAD_DIR = "target/test-uploads";
+    static final String SPOOL_DIR = "target/test-upload-spool";
+
+    private static final byte[] PNG_HEADER = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 0x0D};
+
+    @Value("${file.max-image-size}")
+    private DataSize maxImageSize;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private UploadStoreMigration uploadStoreMigration;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // ==================== VALIDATION DES IMAGES ====================
+
+    @Test
+    void imageTypeComesFromMagicBytes() throws IOException {
+        byte[] png = withHeader(PNG_HEADER, uniqueContent());
+        String url = fileStorageService.storeImage(new ByteArrayInputStream(png));
+
+        assertTrue(url.endsWith(".png"), url);
+        assertTrue(Arrays.equals(png, Files.readAllBytes(pathOf(url))));
+        assertSpoolEmpty();
+    }
+
+    @Test
+    void nonImageIsRejectedAndSpoolFileRemoved() {
+        byte[] script = "<svg onload=alert(1)>".getBytes(StandardCharsets.UTF_8);
+
+        IOException error = assertThrows(IOException.class,
+                () -> fileStorageService.storeImage(new ByteArrayInputStream(script)));
+        assertTrue(error.getMessage().contains("Format d'image non supporté"));
+        assertSpoolEmpty();
+    }
+
+    @Test
+    void oversizedImageIsRejectedAndSpoolFileRemoved() throws IOException {
+        byte[] tooLarge = withHeader(PNG_HEADER, new byte[(int) maxImageSize.toBytes()]);
+
+        IOException error = assertThrows(IOException.class,
+                () -> fileStorageService.storeImage(new ByteArrayInputStream(tooLarge)));
+        assertTrue(error.getMessage().contains("Image trop volumineuse"));
+        assertSpoolEmpty();
+
+        // Rien n'a été publié dans le dossier servi
+        String hash = HexFormat.of().formatHex(sha256(tooLarge));
+        assertFalse(Files.exists(Paths.get(UPLOAD_DIR, hash.substring(0, 2), hash.substring(2, 4), hash + ".png")));
+        try (Stream<Path> served = Files.list(Paths.get(UPLOAD_DIR))) {
+            assertTrue(served.noneMatch(path -> path.getFileName().toString().endsWith(".tmp")));
+        }
+    }
+
+    // ==================== COMPTAGE DES RÉFÉRENCES ====================
+
+    @Test
+    void fileStoredInOpenTransactionIsNotDeletedBeforeItEnds() throws Exception {
+        byte[] content = uniqueContent();
+        ExecutorService other = Executors.newSingleThreadExecutor();
+        try {
+            String url = new TransactionTemplate(transactionManager).execute(status -> {
+                String stored = store(content);
+                // Une autre requête tente de supprimer le fichier pendant la transaction
+                assertFalse(call(other.submit(() -> fileStorageService.deleteFile(stored))));
+                assertTrue(Files.exists(pathOf(stored)));
+                return stored;
+            });
+
+            // Transaction terminée sans événement qui référence le fichier
+            assertTrue(fileStorageService.deleteFile(url));
+            assertFalse(Files.exists(pathOf(url)));
+        } finally {
+            other.shutdownNow();
+        }
+    }
+
+    @Test
+    void sharedFileIsDeletedWithItsLastReference() throws IOException {
+        byte[] content = uniqueContent();
+        String url = store(content);
+        assertEquals(url, store(content));
+
+        Event first = createEvent(url);
+        Event second = createEvent(url);
+        assertFalse(fileStorageService.deleteFile(url));
+
+        eventRepository.delete(first);
+        assertFalse(fileStorageService.deleteFile(url));
+        assertTrue(Files.exists(pathOf(url)));
+
+        eventRepository.delete(second);
+        assertTrue(fileStorageService.deleteFile(url));
+        assertFalse(Files.exists(pathOf(url)));
+    }
+
+    @Test
+    void concurrentDeletionNeverRemovesAFileBeingReused() throws Exception {
+        byte[] content = uniqueContent();
+        String url = store(content);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService deleter = Executors.newSingleThreadExecutor();
+        try {
+            // Suppressions en boucle pendant que le même contenu est réutilisé
+            Future<?> deletions = deleter.submit(() -> {
+                while (running.get()) {
+                    fileStorageService.deleteFile(url);
+                }
+                return null;
+            });
+
+            for (int i = 0; i < 50; i++) {
+                Event event = transaction.execute(status -> createEvent(store(content)));
+                assertTrue(Files.exists(pathOf(url)), "fichier référencé supprimé (itération " + i + ")");
+                eventRepository.delete(event);
+            }
+
+            running.set(false);
+            deletions.get(30, TimeUnit.SECONDS);
+        } finally {
+            running.set(false);
+            deleter.shutdownNow();
+        }
+    }
+
+    // ==================== MIGRATION DE L'ANCIEN DOSSIER ====================
+
+    @Test
+    void migrationMovesLegacyFilesIntoTheStoreAndMergesDuplicates() throws IOException {
+        byte[] content = uniqueContent();
+        Path uploads = Paths.get(UPLOAD_DIR);
+        Files.createDirectories(uploads);
+        String suffix = UUID.randomUUID().toString();
+        Path legacyA = Files.write(uploads.resolve("event_a_" + suffix + ".jpg"), content);
+        Path legacyB = Files.write(uploads.resolve("event_b_" + suffix + ".jpg"), content);
+
+        Event first = createEvent("/uploads/" + legacyA.getFileName());
+        Event second = createEvent("/uploads/" + legacyB.getFileName());
+        Event missing = createEvent("/uploads/absent_" + suffix + ".jpg");
+
+        uploadStoreMigration.migrateLegacyUploads();
+
+        String firstUrl = reload(first).getImageUrl();
+        assertTrue(FileStorageService.isContentAddressed(firstUrl), firstUrl);
+        assertTrue(firstUrl.endsWith(".jpg"));
+        assertEquals(firstUrl, reload(second).getImageUrl());
+        assertTrue(Files.exists(pathOf(firstUrl)));
+        assertFalse(Files.exists(legacyA));
+        assertFalse(Files.exists(legacyB));
+        // Fichier introuvable : URL laissée telle quelle
+        assertEquals(missing.getImageUrl(), reload(missing).getImageUrl());
+
+        // Idempotente
+        uploadStoreMigration.migrateLegacyUploads();
+        assertEquals(firstUrl, reload(first).getImageUrl());
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    private String store(byte[] content) {
+        try {
+            return fileStorageService.storeFile(new MockMultipartFile(
+                    "file", "photo.jpg", "image/jpeg", content));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void assertSpoolEmpty() {
+        try (Stream<Path> spooled = Files.list(Paths.get(SPOOL_DIR))) {
+            assertEquals(0, spooled.count());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] withHeader(byte[] header, byte[] body) {
+        byte[] content = Arrays.copyOf(header, header.length + body.length);
+        System.arraycopy(body, 0, content, header.length, body.length);
+        return content;
+    }
+
+    private static byte[] sha256(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static <T> T call(Future<T> future) {
+        try {
+            return future.get(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] uniqueContent() {
+        return ("contenu " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Path pathOf(String url) {
+        return Paths.get(UPLOAD_DIR).resolve(url.substring("/uploads/".length()));
+    }
+
+    private Event reload(Event event) {
+        return eventRepository.findById(event.getId()).orElseThrow();
+    }
+
+    private Event createEvent(String imageUrl) {
+        Event event = new Event();
+        event.setTitre("Test d'image " + UUID.randomUUID());
+        event.setCategorie(EventCategory.CONCERT);
+        event.setDateDebut(LocalDateTime.now().plusDays(30));
+        event.setDateFin(LocalDateTime.now().plusDays(30).plusHours(3));
+        event.setLieu("Salle de test");
+        event.setVille("Casablanca");
+        event.setCapaciteMax(100);
+        event.setPlacesRestantes(100);
+        event.setPrixUnitaire(100.0);
+        event.setStatut(EventStatus.BROUILLON);
+        event.setDateCreation(LocalDateTime.now());
+        event.setImageUrl(imageUrl);
+        return eventRepository.save(event);
+    }
+}
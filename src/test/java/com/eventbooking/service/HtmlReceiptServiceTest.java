@@ -0,0 +1,112 @@
+package com.eventbooking.service;
+
+import com.eventbooking.entity.Event;
+import com.eventbooking.entity.Reservation;
+import com.eventbooking.entity.User;
+import com.eventbooking.entity.enums.EventCategory;
+import com.eventbooking.entity.enums.ReservationStatus;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HtmlReceiptServiceTest {
+
+    private final HtmlReceiptService service = new HtmlReceiptService(100);
+
+    @Test
+    void rendersFieldsEscaped() {
+        Reservation reservation = createReservation();
+        reservation.getEvenement().setTitre("Jazz <script>alert('x')</script> & Co");
+        reservation.setCommentaire("\"VIP\" <b>");
+
+        String html = service.generateReceiptHtml(reservation);
+
+        assertTrue(html.contains("Jazz &lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt; &amp; Co"));
+        assertTrue(html.contains("<strong>Commentaire:</strong> &quot;VIP&quot; &lt;b&gt;</p>"));
+        assertFalse(html.contains("<script>alert"));
+        assertTrue(html.contains("<td>15/03/2025 20:30</td>"));
+        assertTrue(html.contains("<td>3 places</td>"));
+        assertTrue(html.contains("<td>83.33 MAD</td>"));
+        assertTrue(html.contains("250.00 MAD</td>"));
+        assertTrue(html.contains("<td>Amina Benali</td>"));
+        assertTrue(html.contains("<td>Non renseigné</td>"));
+        assertTrue(html.contains("const code = 'RES-0A8MZBWT80C00D';"));
+    }
+
+    @Test
+    void cachesUntilReceiptContentChanges() throws IOException {
+        Reservation reservation = createReservation();
+
+        String first = service.generateReceiptHtml(reservation);
+        assertEquals(withoutGenerationInfo(first), withoutGenerationInfo(service.generateReceiptHtml(reservation)));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        service.writeReceipt(reservation, output);
+        assertEquals(withoutGenerationInfo(first), withoutGenerationInfo(output.toString(StandardCharsets.UTF_8)));
+
+        reservation.setStatut(ReservationStatus.ANNULEE);
+        String cancelled = service.generateReceiptHtml(reservation);
+        assertNotEquals(withoutGenerationInfo(first), withoutGenerationInfo(cancelled));
+        assertTrue(cancelled.contains("✓ ANNULEE"));
+    }
+
+    @Test
+    void generationInfoIsWrittenOnEachRender() throws InterruptedException {
+        Reservation reservation = createReservation();
+
+        String first = service.generateReceiptHtml(reservation);
+        Thread.sleep(5);
+        String second = service.generateReceiptHtml(reservation);
+
+        assertTrue(first.contains("ID du document: REC-1-"));
+        assertNotEquals(documentId(first), documentId(second));
+        assertEquals(first.length(), second.length());
+        assertEquals(withoutGenerationInfo(first), withoutGenerationInfo(second));
+        assertFalse(withoutGenerationInfo(first).contains("REC-"));
+    }
+
+    // Date de génération et identifiant du document : propres à chaque envoi
+    private static String withoutGenerationInfo(String html) {
+        return html.replaceAll("Document généré le [^<]*<br>\\s*ID du document: REC-\\d+-\\d+", "");
+    }
+
+    private static String documentId(String html) {
+        int start = html.indexOf("REC-");
+        return html.substring(start, html.indexOf('\n', start));
+    }
+
+    private Reservation createReservation() {
+        User client = new User();
+        client.setId(42L);
+        client.setPrenom("Amina");
+        client.setNom("Benali");
+        client.setEmail("amina@example.ma");
+
+        Event event = new Event();
+        event.setId(7L);
+        event.setTitre("Concert");
+        event.setCategorie(EventCategory.CONCERT);
+        event.setDateDebut(LocalDateTime.of(2025, 3, 15, 20, 30));
+        event.setLieu("Théâtre Mohammed V");
+        event.setVille("Rabat");
+
+        Reservation reservation = new Reservation();
+        reservation.setId(1L);
+        reservation.setUtilisateur(client);
+        reservation.setEvenement(event);
+        reservation.setNombrePlaces(3);
+        reservation.setMontantTotal(250.0);
+        reservation.setDateReservation(LocalDateTime.of(2025, 1, 10, 9, 5));
+        reservation.setStatut(ReservationStatus.CONFIRMEE);
+        reservation.setCodeReservation("RES-0A8MZBWT80C00D");
+        return reservation;
+    }
+}
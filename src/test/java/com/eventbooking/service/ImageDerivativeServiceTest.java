@@ -0,0 +1,114 @@
+package com.eventbooking.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.FileSystemUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImageDerivativeServiceTest {
+
+    private static final String UPLOAD_DIR = "target/test-derivatives";
+    private static final String HASH = "ab".repeat(32);
+    private static final String FILE_NAME = "ab/ab/" + HASH + ".png";
+
+    private ImageDerivativeService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        FileSystemUtils.deleteRecursively(Paths.get(UPLOAD_DIR));
+        Files.createDirectories(original().getParent());
+        service = new ImageDerivativeService(1);
+        ReflectionTestUtils.setField(service, "uploadDir", UPLOAD_DIR);
+        ReflectionTestUtils.setField(service, "maxPixels", 40_000_000L);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        service.shutdown();
+        FileSystemUtils.deleteRecursively(Paths.get(UPLOAD_DIR));
+    }
+
+    @Test
+    void generatesEverySizeForADecodableImage() throws Exception {
+        writePng(800, 600);
+
+        assertTrue(service.findDerivative(FILE_NAME, ImageDerivativeService.Size.CARD).isEmpty());
+        Path card = awaitDerivative(ImageDerivativeService.Size.CARD).orElseThrow();
+
+        assertTrue(card.getFileName().toString().startsWith(HASH + "_card"));
+        assertTrue(ImageIO.read(card.toFile()).getWidth() <= ImageDerivativeService.Size.CARD.getMaxWidth());
+    }
+
+    @Test
+    void undecodableImageIsMarkedAndNotRescheduled() throws Exception {
+        // En-tête WebP : aucun décodeur dans le JDK
+        Files.write(original(), "RIFF\0\0\0\0WEBPVP8 ".getBytes(StandardCharsets.ISO_8859_1));
+
+        service.findDerivative(FILE_NAME, ImageDerivativeService.Size.CARD);
+        Path marker = Paths.get(UPLOAD_DIR, "derivatives", HASH + ".unsupported");
+        awaitFile(marker);
+
+        // Le contenu devient décodable : le marqueur empêche toute nouvelle génération
+        writePng(200, 100);
+        assertTrue(service.findDerivative(FILE_NAME, ImageDerivativeService.Size.THUMBNAIL).isEmpty());
+        assertTrue(awaitDerivative(ImageDerivativeService.Size.THUMBNAIL).isEmpty());
+
+        // L'éviction efface le marqueur : la génération reprend
+        service.evict(FILE_NAME);
+        assertFalse(Files.exists(marker));
+        service.findDerivative(FILE_NAME, ImageDerivativeService.Size.THUMBNAIL);
+        assertTrue(awaitDerivative(ImageDerivativeService.Size.THUMBNAIL).isPresent());
+    }
+
+    @Test
+    void oversizedImageIsMarkedWithoutDecoding() throws Exception {
+        ReflectionTestUtils.setField(service, "maxPixels", 1_000L);
+        writePng(100, 100);
+
+        service.findDerivative(FILE_NAME, ImageDerivativeService.Size.DETAIL);
+        awaitFile(Paths.get(UPLOAD_DIR, "derivatives", HASH + ".unsupported"));
+        assertTrue(service.findDerivative(FILE_NAME, ImageDerivativeService.Size.DETAIL).isEmpty());
+    }
+
+    // ==================== MÉTHODES UTILITAIRES ====================
+
+    private Path original() {
+        return Paths.get(UPLOAD_DIR).resolve(FILE_NAME);
+    }
+
+    private void writePng(int width, int height) throws IOException {
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", original().toFile());
+    }
+
+    // Génération asynchrone : attend au plus 5 s la déclinaison, sans en replanifier
+    private Optional<Path> awaitDerivative(ImageDerivativeService.Size size) throws InterruptedException {
+        Path derivative = Paths.get(UPLOAD_DIR, "derivatives", HASH + "_" + size.name().toLowerCase() + ".jpg");
+        for (int i = 0; i < 50; i++) {
+            if (Files.exists(derivative)) {
+                return Optional.of(derivative);
+            }
+            Thread.sleep(100);
+        }
+        return Optional.empty();
+    }
+
+    private void awaitFile(Path file) throws InterruptedException {
+        for (int i = 0; i < 50 && !Files.exists(file); i++) {
+            Thread.sleep(100);
+        }
+        assertTrue(Files.exists(file), file + " absent");
+    }
+}
@@ -0,0 +1,130 @@
+package com.eventbooking.service;
+
+import com.eventbooking.entity.Event;
+import com.eventbooking.entity.Reservation;
+import com.eventbooking.entity.User;
+import com.eventbooking.entity.enums.EventCategory;
+import com.eventbooking.entity.enums.ReservationStatus;
+import com.eventbooking.service.dto.ReservationExportRow;
+import com.lowagie.text.pdf.PdfReader;
+import com.lowagie.text.pdf.parser.PdfTextExtractor;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PdfRenderingServiceTest {
+
+    private final PdfRenderingService service = new PdfRenderingService();
+
+    @Test
+    void receiptIsSinglePagePdf() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        service.writeReceipt(createReservation(1), output);
+
+        PdfReader pdf = read(output);
+        assertEquals(1, pdf.getNumberOfPages());
+        assertTrue(new PdfTextExtractor(pdf).getTextFromPage(1).contains("Festival de Jazz – édition d'été"));
+    }
+
+    @Test
+    void arabicTextIsRenderedWithAnEmbeddedUnicodeFont() throws IOException {
+        Reservation reservation = createReservation(1);
+        reservation.getUtilisateur().setPrenom("أمينة");
+        reservation.getUtilisateur().setNom("بنعلي");
+        reservation.getEvenement().setTitre("مهرجان الجاز – Rabat");
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        service.writeReceipt(reservation, output);
+
+        String raw = output.toString(StandardCharsets.ISO_8859_1);
+        assertTrue(raw.contains("/FontFile2"), "police embarquée");
+        assertTrue(raw.contains("DejaVuSans"));
+        String text = new PdfTextExtractor(read(output)).getTextFromPage(1);
+        assertTrue(text.contains("Rabat"));
+        assertTrue(text.codePoints().anyMatch(PdfRenderingServiceTest::isArabic), text);
+        assertFalse(text.contains("?"), text);
+    }
+
+    @Test
+    void reportSpreadsRowsOverPages() throws IOException {
+        List<ReservationExportRow> reservations = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            reservations.add(new ReservationExportRow((long) i, "RES-0A8MZBWT80C00D", "Amina", "Benali (" + i + ")",
+                    "amina" + i + "@example.ma", null, "Festival de Jazz – édition d'été", 2, 300.0,
+                    LocalDateTime.of(2025, 1, 10, 9, 5), ReservationStatus.CONFIRMEE, null));
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        service.writeReservationReport(reservations, output);
+
+        assertTrue(read(output).getNumberOfPages() > 1);
+    }
+
+    @Test
+    void statisticsReportPaginatesSections() throws IOException {
+        Map<String, Map<String, String>> sections = new LinkedHashMap<>();
+        for (int s = 0; s < 12; s++) {
+            Map<String, String> lines = new LinkedHashMap<>();
+            for (int l = 0; l < 8; l++) {
+                lines.put("Ligne " + l, l + " réservations");
+            }
+            sections.put("Section " + s, lines);
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        service.writeStatisticsReport("Rapport & Statistiques", "Toute période", sections, output);
+
+        assertTrue(read(output).getNumberOfPages() > 1);
+    }
+
+    // Document relu sans reconstruction : la table xref est cohérente
+    private static PdfReader read(ByteArrayOutputStream output) throws IOException {
+        PdfReader reader = new PdfReader(output.toByteArray());
+        assertFalse(reader.isRebuilt(), "table xref reconstruite");
+        return reader;
+    }
+
+    private static boolean isArabic(int codePoint) {
+        Character.UnicodeBlock block = Character.UnicodeBlock.of(codePoint);
+        return block == Character.UnicodeBlock.ARABIC
+                || block == Character.UnicodeBlock.ARABIC_PRESENTATION_FORMS_A
+                || block == Character.UnicodeBlock.ARABIC_PRESENTATION_FORMS_B;
+    }
+
+    private Reservation createReservation(int i) {
+        User client = new User();
+        client.setId((long) i);
+        client.setPrenom("Amina");
+        client.setNom("Benali (" + i + ")");
+        client.setEmail("amina" + i + "@example.ma");
+
+        Event event = new Event();
+        event.setId(7L);
+        event.setTitre("Festival de Jazz – édition d'été");
+        event.setCategorie(EventCategory.CONCERT);
+        event.setDateDebut(LocalDateTime.of(2025, 3, 15, 20, 30));
+        event.setVille("Rabat");
+
+        Reservation reservation = new Reservation();
+        reservation.setId((long) i);
+        reservation.setUtilisateur(client);
+        reservation.setEvenement(event);
+        reservation.setNombrePlaces(2);
+        reservation.setMontantTotal(300.0);
+        reservation.setDateReservation(LocalDateTime.of(2025, 1, 10, 9, 5));
+        reservation.setStatut(ReservationStatus.CONFIRMEE);
+        reservation.setCodeReservation("RES-0A8MZBWT80C00D");
+        return reservation;
+    }
+}
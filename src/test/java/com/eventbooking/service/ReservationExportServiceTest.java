@@ -0,0 +1,115 @@
+package com.eventbooking.service;
+
+import com.eventbooking.EventBookingApplication;
+import com.eventbooking.entity.Event;
+import com.eventbooking.entity.Reservation;
+import com.eventbooking.entity.User;
+import com.eventbooking.entity.enums.EventCategory;
+import com.eventbooking.entity.enums.EventStatus;
+import com.eventbooking.entity.enums.ReservationStatus;
+import com.eventbooking.entity.enums.UserRole;
+import com.eventbooking.repository.EventRepository;
+import com.eventbooking.repository.ReservationRepository;
+import com.eventbooking.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = EventBookingApplication.class)
+class ReservationExportServiceTest {
+
+    @Autowired
+    private ReservationExportService reservationExportService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void escapesQuotesCommasAndLineBreaks() throws IOException {
+        String marker = UUID.randomUUID().toString().substring(0, 8);
+        Reservation reservation = createReservation(marker, "Place \"VIP\", rang A\nprès de la scène");
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long rows = reservationExportService.writeCsv(marker, null, output);
+
+        String csv = output.toString(StandardCharsets.UTF_8);
+        assertEquals(1, rows);
+        assertTrue(csv.contains("\"" + reservation.getCodeReservation() + "\""));
+        assertTrue(csv.contains(",3,450.00,"));
+        assertTrue(csv.contains("\"Place \"\"VIP\"\", rang A\nprès de la scène\"\r\n"));
+    }
+
+    @Test
+    void neutralizesFormulaCells() throws IOException {
+        String marker = UUID.randomUUID().toString().substring(0, 8);
+        createReservation(marker, "=HYPERLINK(\"http://evil.test\",\"clic\")");
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        reservationExportService.writeCsv(marker, null, output);
+
+        String csv = output.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.contains(",\"'=HYPERLINK(\"\"http://evil.test\"\",\"\"clic\"\")\"\r\n"));
+        assertFalse(csv.contains(",\"=HYPERLINK"));
+    }
+
+    @Test
+    void appliesStatusFilter() throws IOException {
+        String marker = UUID.randomUUID().toString().substring(0, 8);
+        createReservation(marker, null);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        assertEquals(0, reservationExportService.writeCsv(marker, ReservationStatus.ANNULEE, output));
+        assertEquals(1, reservationExportService.writeCsv(marker, ReservationStatus.CONFIRMEE, output));
+    }
+
+    private Reservation createReservation(String marker, String commentaire) {
+        User client = new User();
+        client.setNom("Export");
+        client.setPrenom("Test");
+        client.setEmail("export-" + marker + "@test.ma");
+        client.setPassword("password");
+        client.setRole(UserRole.CLIENT);
+        client.setDateInscription(LocalDateTime.now());
+        client = userRepository.save(client);
+
+        Event event = new Event();
+        event.setTitre("Export " + marker);
+        event.setCategorie(EventCategory.CONFERENCE);
+        event.setDateDebut(LocalDateTime.now().plusDays(10));
+        event.setDateFin(LocalDateTime.now().plusDays(10).plusHours(2));
+        event.setVille("Casablanca");
+        event.setCapaciteMax(50);
+        event.setPlacesRestantes(50);
+        event.setPrixUnitaire(150.0);
+        event.setStatut(EventStatus.PUBLIE);
+        event.setDateCreation(LocalDateTime.now());
+        event = eventRepository.save(event);
+
+        Reservation reservation = new Reservation();
+        reservation.setUtilisateur(client);
+        reservation.setEvenement(event);
+        reservation.setNombrePlaces(3);
+        reservation.setMontantTotal(450.0);
+        reservation.setDateReservation(LocalDateTime.now());
+        reservation.setStatut(ReservationStatus.CONFIRMEE);
+        reservation.setCodeReservation("RES-EXP" + marker.toUpperCase());
+        reservation.setCommentaire(commentaire);
+        return reservationRepository.save(reservation);
+    }
+}
@@ -0,0 +1,237 @@
+package com.eventbooking.service;
+
+import com.eventbooking.EventBookingApplication;
+import com.eventbooking.entity.Event;
+import com.eventbooking.entity.Reservation;
+import com.eventbooking.entity.User;
+import com.eventbooking.entity.enums.EventCategory;
+import com.eventbooking.entity.enums.EventStatus;
+import com.eventbooking.entity.enums.ReservationStatus;
+import com.eventbooking.entity.enums.UserRole;
+import com.eventbooking.repository.EventRepository;
+import com.eventbooking.repository.ReservationRepository;
+import com.eventbooking.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = EventBookingApplication.class)
+class ReservationServiceTest {
+
+    private static final int CAPACITY = 100;
+    private static final int BOOKERS = 500;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private SeatAvailabilityBroadcaster seatAvailabilityBroadcaster;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void concurrentBookersNeverOversell() throws InterruptedException {
+        Event event = createPublishedEvent(CAPACITY);
+        List<User> clients = createClients(BOOKERS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        for (User client : clients) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    reservationService.createReservation(event.getId(), client.getId(), 1, null);
+                    booked.incrementAndGet();
+                } catch (Exception e) {
+                    rejected.incrementAndGet();
+                }
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES));
+
+        int remaining = seatInventoryService.getRemainingPlaces(event.getId());
+        int heldInDatabase = heldPlaces(event.getId());
+
+        assertEquals(BOOKERS, booked.get() + rejected.get());
+        assertEquals(CAPACITY, booked.get());
+        assertEquals(0, remaining);
+        assertEquals(CAPACITY, heldInDatabase);
+        assertEquals(CAPACITY, eventRepository.findById(event.getId()).orElseThrow().getPlacesEnAttente());
+    }
+
+    @Test
+    void cancellingReleasesSeatsOnlyOnce() {
+        Event event = createPublishedEvent(10);
+        User client = createClients(1).get(0);
+
+        Reservation reservation = reservationService.createReservation(event.getId(), client.getId(), 4, null);
+        assertEquals(6, seatInventoryService.getRemainingPlaces(event.getId()));
+
+        reservationService.cancelReservation(reservation.getId(), "test");
+        reservationService.cancelReservation(reservation.getId(), "test");
+        assertEquals(10, seatInventoryService.getRemainingPlaces(event.getId()));
+
+        // Reconfirmer une réservation annulée bloque de nouveau ses places
+        reservationService.confirmReservation(reservation.getId());
+        assertEquals(6, seatInventoryService.getRemainingPlaces(event.getId()));
+    }
+
+    @Test
+    void countersFollowReservationLifecycle() {
+        Event event = createPublishedEvent(10);
+        User client = createClients(1).get(0);
+
+        Reservation reservation = reservationService.createReservation(event.getId(), client.getId(), 3, null);
+        assertCounters(event.getId(), 0, 3, 0.0);
+
+        reservationService.confirmReservation(reservation.getId());
+        assertCounters(event.getId(), 3, 0, 300.0);
+        assertEquals(7, eventService.getAvailablePlaces(event.getId()));
+        assertEquals(3, reservationService.getConfirmedPlacesCountByEvent(event.getId()));
+
+        reservationService.cancelReservation(reservation.getId(), "test");
+        assertCounters(event.getId(), 0, 0, 0.0);
+
+        reservationService.confirmReservation(reservation.getId());
+        reservationService.deleteReservation(reservation.getId());
+        assertCounters(event.getId(), 0, 0, 0.0);
+        assertEquals(10, eventService.getAvailablePlaces(event.getId()));
+    }
+
+    @Test
+    void reconciliationRepairsDriftedCounters() {
+        Event event = createPublishedEvent(10);
+        User client = createClients(1).get(0);
+        Reservation reservation = reservationService.createReservation(event.getId(), client.getId(), 2, null);
+        reservationService.confirmReservation(reservation.getId());
+
+        // Écart simulé : places en attente fantômes
+        seatInventoryService.recordTransition(event.getId(), 5, 0, null, ReservationStatus.EN_ATTENTE);
+        assertCounters(event.getId(), 2, 5, 200.0);
+
+        assertTrue(seatInventoryService.reconcileCounters() >= 1);
+        assertCounters(event.getId(), 2, 0, 200.0);
+        assertEquals(8, eventService.getAvailablePlaces(event.getId()));
+    }
+
+    @Test
+    void reconciliationRepairsDriftedSeatStock() {
+        Event event = createPublishedEvent(10);
+        User client = createClients(1).get(0);
+        Reservation reservation = reservationService.createReservation(event.getId(), client.getId(), 3, null);
+        reservationService.confirmReservation(reservation.getId());
+        assertEquals(7, eventService.getAvailablePlaces(event.getId()));
+
+        // Écart simulé : places rendues au stock sans changement de réservation
+        seatInventoryService.release(event.getId(), 4);
+        assertEquals(11, eventService.getAvailablePlaces(event.getId()));
+
+        assertTrue(seatInventoryService.reconcileCounters() >= 1);
+        assertEquals(7, eventService.getAvailablePlaces(event.getId()));
+    }
+
+    @Test
+    void seatChangesAreCoalescedPerEvent() throws InterruptedException {
+        Event event = createPublishedEvent(50);
+        List<User> clients = createClients(20);
+
+        List<Integer> pushed = new CopyOnWriteArrayList<>();
+        IntConsumer listener = pushed::add;
+        seatAvailabilityBroadcaster.addListener(event.getId(), listener);
+        try {
+            for (User client : clients) {
+                Reservation reservation = reservationService.createReservation(event.getId(), client.getId(), 1, null);
+                reservationService.confirmReservation(reservation.getId());
+            }
+
+            // 20 réservations en rafale : une diffusion immédiate puis au plus une par intervalle
+            long deadline = System.currentTimeMillis() + 5_000;
+            while ((pushed.isEmpty() || pushed.get(pushed.size() - 1) != 30) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertEquals(30, pushed.get(pushed.size() - 1));
+            assertTrue(pushed.size() < 10, "diffusions: " + pushed.size());
+        } finally {
+            seatAvailabilityBroadcaster.removeListener(event.getId(), listener);
+        }
+    }
+
+    private Event createPublishedEvent(int capacity) {
+        Event event = new Event();
+        event.setTitre("Test de charge " + UUID.randomUUID());
+        event.setCategorie(EventCategory.CONCERT);
+        event.setDateDebut(LocalDateTime.now().plusDays(30));
+        event.setDateFin(LocalDateTime.now().plusDays(30).plusHours(3));
+        event.setLieu("Salle de test");
+        event.setVille("Casablanca");
+        event.setCapaciteMax(capacity);
+        event.setPlacesRestantes(capacity);
+        event.setPrixUnitaire(100.0);
+        event.setStatut(EventStatus.PUBLIE);
+        event.setDateCreation(LocalDateTime.now());
+        return eventRepository.save(event);
+    }
+
+    private List<User> createClients(int count) {
+        String batch = UUID.randomUUID().toString().substring(0, 8);
+        List<User> clients = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            User client = new User();
+            client.setNom("Client" + i);
+            client.setPrenom("Test");
+            client.setEmail("client" + i + "-" + batch + "@test.ma");
+            client.setPassword("password");
+            client.setRole(UserRole.CLIENT);
+            client.setDateInscription(LocalDateTime.now());
+            clients.add(client);
+        }
+        return userRepository.saveAll(clients);
+    }
+
+    private void assertCounters(Long eventId, int confirmed, int pending, double revenue) {
+        Event event = eventRepository.findById(eventId).orElseThrow();
+        assertEquals(confirmed, event.getPlacesConfirmees());
+        assertEquals(pending, event.getPlacesEnAttente());
+        assertEquals(revenue, event.getMontantConfirme().doubleValue(), 0.001);
+    }
+
+    private int heldPlaces(Long eventId) {
+        Integer pending = reservationRepository.sumNombrePlacesByEventAndStatut(eventId, ReservationStatus.EN_ATTENTE);
+        Integer confirmed = reservationRepository.sumNombrePlacesByEventAndStatut(eventId, ReservationStatus.CONFIRMEE);
+        return (pending != null ? pending : 0) + (confirmed != null ? confirmed : 0);
+    }
+}
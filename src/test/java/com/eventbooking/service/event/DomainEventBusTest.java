@@ -0,0 +1,101 @@
+package com.eventbooking.service.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DomainEventBusTest {
+
+    private DomainEventBus bus;
+
+    @AfterEach
+    void tearDown() {
+        if (bus != null) {
+            bus.shutdown();
+        }
+    }
+
+    @Test
+    void failingListenerDoesNotAffectOthers() throws InterruptedException {
+        CountDownLatch received = new CountDownLatch(5);
+        List<DomainEvent> recorded = new CopyOnWriteArrayList<>();
+        bus = createBus(Map.of(
+                "failing", listener(ReservationCreated.class, event -> {
+                    throw new IllegalStateException("panne");
+                }),
+                "recording", listener(DomainEvent.class, event -> {
+                    recorded.add(event);
+                    received.countDown();
+                })), 100);
+
+        for (long i = 0; i < 5; i++) {
+            bus.publish(new ReservationCreated(i, 1L, 2L, 1, 100.0, LocalDateTime.now()));
+        }
+
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+        assertEquals(5, recorded.size());
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (bus.getFailedCount() < 5 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(5, bus.getFailedCount());
+    }
+
+    @Test
+    void fullQueueDropsForSlowListenerWithoutBlockingPublisher() {
+        CountDownLatch release = new CountDownLatch(1);
+        bus = createBus(Map.of("slow", listener(EventPublished.class, event -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        })), 1);
+
+        long start = System.nanoTime();
+        for (long i = 0; i < 10; i++) {
+            bus.publish(new EventPublished(i, 1L, LocalDateTime.now()));
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        release.countDown();
+
+        // Un événement en cours, un en file, les autres abandonnés après une attente bornée
+        assertEquals(8, bus.getDroppedCount());
+        assertTrue(elapsedMillis < 2_000, "publication bloquée " + elapsedMillis + " ms");
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private DomainEventBus createBus(Map<String, Object> listeners, int queueCapacity) {
+        ObjectProvider provider = new StaticListableBeanFactory(listeners).getBeanProvider(DomainEventListener.class);
+        DomainEventBus created = new DomainEventBus(provider, queueCapacity, Duration.ofMillis(20));
+        created.afterSingletonsInstantiated();
+        return created;
+    }
+
+    private <E extends DomainEvent> DomainEventListener<E> listener(Class<E> type, Consumer<E> action) {
+        return new DomainEventListener<>() {
+            @Override
+            public Class<E> eventType() {
+                return type;
+            }
+
+            @Override
+            public void onEvent(E event) {
+                action.accept(event);
+            }
+        };
+    }
+}
@@ -0,0 +1,132 @@
+package com.eventbooking.service.impl;
+
+import com.eventbooking.entity.Event;
+import com.eventbooking.entity.enums.EventStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventSearchIndexTest {
+
+    // Hors transaction, update et remove s'appliquent immédiatement
+    private final EventSearchIndex index = new EventSearchIndex();
+
+    @Test
+    void prefixMatchesWhileTyping() {
+        index.update(event(1L, "Conférence Java", "Casablanca"));
+        index.update(event(2L, "Concert de jazz", "Rabat"));
+        index.update(event(3L, "Marathon", "Marrakech"));
+
+        assertEquals(List.of(1L, 2L), index.search("con"));
+        assertEquals(List.of(1L), index.search("confe"));
+        // Accents et majuscules ignorés
+        assertEquals(List.of(1L), index.search("CONFÉRENCE"));
+    }
+
+    @Test
+    void everyWordMustMatchAndTitleOutranksPlace() {
+        index.update(event(1L, "Festival de jazz", "Rabat"));
+        index.update(event(2L, "Concert", "Jazz Club Rabat"));
+        index.update(event(3L, "Festival de jazz", "Agadir"));
+
+        assertEquals(List.of(1L, 3L, 2L), index.search("jazz"));
+        assertEquals(List.of(1L, 2L), index.search("jazz rabat"));
+        assertEquals(List.of(1L), index.search("festival rabat"));
+        assertTrue(index.search("jazz tanger").isEmpty());
+    }
+
+    @Test
+    void oneTypoIsToleratedOnlyWithoutExactOrPrefixMatch() {
+        index.update(event(1L, "Marathon", "Marrakech"));
+        index.update(event(2L, "Maraton solidaire", "Fès"));
+
+        assertEquals(List.of(1L), index.search("marrakesh"));
+        // Un préfixe existe : pas de correspondance approchée
+        assertEquals(List.of(1L), index.search("marath"));
+        // Deux fautes : aucun résultat
+        assertTrue(index.search("marrakxsh").isEmpty());
+        // Mot trop court pour la tolérance
+        assertTrue(index.search("fex").isEmpty());
+    }
+
+    @Test
+    void unpublishedOrRemovedEventsLeaveTheIndex() {
+        Event event = event(1L, "Salon du livre", "Tanger");
+        index.update(event);
+        assertEquals(List.of(1L), index.search("livre"));
+
+        event.setStatut(EventStatus.BROUILLON);
+        index.update(event);
+        assertTrue(index.search("livre").isEmpty());
+
+        event.setStatut(EventStatus.PUBLIE);
+        event.setTitre("Salon de la bande dessinée");
+        index.update(event);
+        assertTrue(index.search("livre").isEmpty());
+        assertEquals(List.of(1L), index.search("bande"));
+
+        index.remove(1L);
+        assertTrue(index.search("salon").isEmpty());
+    }
+
+    @Test
+    void concurrentUpdatesRemovalsAndSearchesStayConsistent() throws Exception {
+        int writers = 4;
+        int perWriter = 250;
+        ExecutorService executor = Executors.newFixedThreadPool(writers + 2);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                long first = (long) w * perWriter + 1;
+                tasks.add(executor.submit(() -> {
+                    for (long id = first; id < first + perWriter; id++) {
+                        index.update(event(id, "Concert " + id, "Rabat"));
+                        if (id % 2 == 0) {
+                            index.remove(id);
+                        }
+                    }
+                }));
+            }
+            for (int r = 0; r < 2; r++) {
+                tasks.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        for (Long id : index.search("concert rabat")) {
+                            assertTrue(id > 0);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Seuls les événements impairs restent, à score égal classés par identifiant
+        List<Long> expected = new ArrayList<>();
+        for (long id = 1; id <= (long) writers * perWriter; id += 2) {
+            expected.add(id);
+        }
+        assertEquals(expected, index.search("concert rabat"));
+        // Correspondance exacte avant les préfixes (71, 73, ...)
+        assertEquals(7L, index.search("7").get(0));
+    }
+
+    private static Event event(Long id, String titre, String ville) {
+        Event event = new Event();
+        event.setId(id);
+        event.setTitre(titre);
+        event.setVille(ville);
+        event.setStatut(EventStatus.PUBLIE);
+        return event;
+    }
+}
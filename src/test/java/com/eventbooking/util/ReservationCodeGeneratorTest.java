@@ -0,0 +1,74 @@
+package com.eventbooking.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReservationCodeGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int CODES_PER_THREAD = 100_000;
+
+    @Test
+    void concurrentCodesAreUnique() throws InterruptedException {
+        ReservationCodeGenerator generator = new ReservationCodeGenerator(7);
+        Set<String> codes = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < CODES_PER_THREAD; i++) {
+                    codes.add(generator.generateCode());
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        assertEquals(THREADS * CODES_PER_THREAD, codes.size());
+    }
+
+    @Test
+    void codesFromDifferentNodesNeverCollide() {
+        String first = new ReservationCodeGenerator(1).generateCode();
+        String second = new ReservationCodeGenerator(2).generateCode();
+
+        assertFalse(first.equals(second));
+    }
+
+    @Test
+    void checksumDetectsTyposAndTranspositions() {
+        String code = new ReservationCodeGenerator(0).generateCode();
+        assertTrue(ReservationCodeGenerator.isValid(code));
+        assertTrue(ReservationCodeGenerator.isValid(code.toLowerCase().replace("res-", "RES-")));
+
+        char[] typo = code.toCharArray();
+        typo[8] = typo[8] == 'A' ? 'B' : 'A';
+        assertFalse(ReservationCodeGenerator.isValid(new String(typo)));
+
+        char[] swapped = code.toCharArray();
+        // Luhn mod 32 ne détecte pas l'inversion 0 <-> Z (comme 09 <-> 90 en base 10)
+        int i = 10;
+        while (swapped[i] == swapped[i + 1] || swapped[i] + swapped[i + 1] == '0' + 'Z') {
+            i++;
+        }
+        char tmp = swapped[i];
+        swapped[i] = swapped[i + 1];
+        swapped[i + 1] = tmp;
+        assertFalse(ReservationCodeGenerator.isValid(new String(swapped)));
+    }
+
+    @Test
+    void rejectsOutOfRangeNodeId() {
+        assertThrows(IllegalArgumentException.class, () -> new ReservationCodeGenerator(1024));
+    }
+}